@@ -17,9 +17,11 @@
 package de.adorsys.psd2.aspsp.profile.domain;
 
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 
 import java.util.List;
@@ -27,6 +29,7 @@ import java.util.Map;
 import java.util.Set;
 
 @Data
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class AspspSettings {
     private int frequencyPerDay;
@@ -58,4 +61,6 @@ public class AspspSettings {
     private boolean forceXs2aBaseUrl;
     private String xs2aBaseUrl;
     private ScaRedirectFlow scaRedirectFlow;
+    private List<TransactionStatus> terminalTransactionStatuses;
+    private int maxBulkPaymentSize;
 }
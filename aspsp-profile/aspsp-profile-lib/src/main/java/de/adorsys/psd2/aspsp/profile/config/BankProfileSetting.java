@@ -20,6 +20,7 @@ import de.adorsys.psd2.aspsp.profile.domain.MulticurrencyAccountLevel;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import lombok.Data;
@@ -182,4 +183,16 @@ public class BankProfileSetting {
      * This field indicates what variant of Redirect approach will be used
      */
     private ScaRedirectFlow scaRedirectFlow;
+
+    /**
+     * Transaction statuses, after which the status of the payment can't be changed by the ASPSP anymore.
+     * Status of payments with such statuses is read from CMS without calling the ASPSP
+     */
+    private List<TransactionStatus> terminalTransactionStatuses = new ArrayList<>();
+
+    /**
+     * Maximum number of payments in one bulk payment. Bulk payments with more payments are rejected before validation
+     * of single payments. Zero means that the number of payments isn't limited
+     */
+    private int maxBulkPaymentSize;
 }
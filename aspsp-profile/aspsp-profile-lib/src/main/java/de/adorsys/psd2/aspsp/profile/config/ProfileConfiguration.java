@@ -19,14 +19,17 @@ package de.adorsys.psd2.aspsp.profile.config;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import lombok.Data;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.InitializingBean;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static de.adorsys.psd2.xs2a.core.ais.BookingStatus.BOOKED;
 
@@ -40,6 +43,15 @@ public class ProfileConfiguration implements InitializingBean {
         setDefaultBookingStatus(BOOKED);
         setAvailableAccountReferenceField(SupportedAccountReferenceField.IBAN); //Sets default Account Reference Field
         setDefaultScaRedirectFlow();
+        setDefaultTerminalTransactionStatuses();
+    }
+
+    private void setDefaultTerminalTransactionStatuses() {
+        if (CollectionUtils.isEmpty(setting.getTerminalTransactionStatuses())) {
+            setting.setTerminalTransactionStatuses(Arrays.stream(TransactionStatus.values())
+                                                       .filter(TransactionStatus::isFinalisedStatus)
+                                                       .collect(Collectors.toList()));
+        }
     }
 
     private void setDefaultScaRedirectFlow() {
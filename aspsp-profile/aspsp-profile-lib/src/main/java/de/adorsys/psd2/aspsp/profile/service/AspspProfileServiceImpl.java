@@ -62,7 +62,9 @@ public class AspspProfileServiceImpl implements AspspProfileService {
             setting.isPsuInInitialRequestMandated(),
             setting.isForceXs2aBaseUrl(),
             setting.getXs2aBaseUrl(),
-            setting.getScaRedirectFlow()
+            setting.getScaRedirectFlow(),
+            setting.getTerminalTransactionStatuses(),
+            setting.getMaxBulkPaymentSize()
         );
     }
 
@@ -84,5 +84,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
         setting.setForceXs2aBaseUrl(aspspSettings.isForceXs2aBaseUrl());
         setting.setXs2aBaseUrl(aspspSettings.getXs2aBaseUrl());
         setting.setScaRedirectFlow(aspspSettings.getScaRedirectFlow());
+        setting.setTerminalTransactionStatuses(aspspSettings.getTerminalTransactionStatuses());
+        setting.setMaxBulkPaymentSize(aspspSettings.getMaxBulkPaymentSize());
     }
 }
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.aspsp.profile.config;
 
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import org.junit.Before;
 import org.junit.Test;
@@ -24,6 +25,8 @@ import org.mockito.internal.util.reflection.Whitebox;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.core.io.DefaultResourceLoader;
 
+import java.util.Arrays;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
@@ -90,4 +93,19 @@ public class BankProfileReaderConfigurationTest {
         //Then
         assertEquals(ScaRedirectFlow.REDIRECT, configurationWithCustomProfile.getSetting().getScaRedirectFlow());
     }
+
+    @Test
+    public void profileConfigurationDefaultTerminalTransactionStatuses() {
+        //Given
+        //When
+        Whitebox.setInternalState(bankProfileReaderConfiguration,
+                                  "customBankProfile",
+                                  "classpath:bank_profile_missing_fields.yml");
+
+        ProfileConfiguration configurationWithCustomProfile = bankProfileReaderConfiguration.profileConfiguration();
+        configurationWithCustomProfile.afterPropertiesSet();
+        //Then
+        assertEquals(Arrays.asList(TransactionStatus.ACCC, TransactionStatus.ACSC, TransactionStatus.RJCT, TransactionStatus.CANC),
+                     configurationWithCustomProfile.getSetting().getTerminalTransactionStatuses());
+    }
 }
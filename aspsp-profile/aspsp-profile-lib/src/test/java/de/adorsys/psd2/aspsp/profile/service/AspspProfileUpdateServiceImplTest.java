@@ -23,6 +23,7 @@ import de.adorsys.psd2.aspsp.profile.domain.MulticurrencyAccountLevel;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import org.assertj.core.api.Assertions;
@@ -71,6 +72,8 @@ public class AspspProfileUpdateServiceImplTest {
     private static final boolean FORCE_XS2A_BASE_URL = true;
     private static final String XS2A_BASE_URL = "http://myhost.com/";
     private static final ScaRedirectFlow SCA_REDIRECT_FLOW = ScaRedirectFlow.REDIRECT;
+    private static final List<TransactionStatus> TERMINAL_TRANSACTION_STATUSES = Arrays.asList(TransactionStatus.ACCC, TransactionStatus.ACSC, TransactionStatus.RJCT, TransactionStatus.CANC);
+    private static final int MAX_BULK_PAYMENT_SIZE = 10000;
 
     @InjectMocks
     private AspspProfileUpdateServiceImpl aspspProfileUpdateService;
@@ -99,7 +102,8 @@ public class AspspProfileUpdateServiceImplTest {
                                                                         MULTICURRENCY_ACCOUNT_LEVEL, BANK_OFFERED_CONSENT_SUPPORT, AVAILABLE_BOOKING_STATUSES, SUPPORTED_ACCOUNT_REFERENCE_FIELDS, CONSENT_LIFETIME, TRANSACTION_LIFETIME, ALL_PSD_2_SUPPORT,
                                                                         TRANSACTIONS_WITHOUT_BALANCES_SUPPORTED, SIGNING_BASKET_SUPPORTED, PAYMENT_CANCELLATION_AUTHORIZATION_MANDATED, PIIS_CONSENT_SUPPORTED, DELTA_REPORT_SUPPORTED, REDIRECT_URL_EXPIRATION_TIME_MS,
                                                                         PIS_CANCELLATION_REDIRECT_LINK, NOT_CONFIRMED_CONSENT_EXPIRATION_PERIOD_MS, NOT_CONFIRMED_PAYMENT_EXPIRATION_PERIOD_MS, SUPPORTED_PAYMENT_TYPE_AND_PRODUCT_MATRIX, PAYMENT_CANCELLATION_REDIRECT_URL_EXPIRATION_TIME_MS,
-                                                                        AVAILABLE_ACCOUNTS_CONSENT_SUPPORTED, SCA_BY_ONE_TIME_AVAILABLE_CONSENT_REQUIRED, PSU_IN_INITIAL_REQUEST_MANDATED, FORCE_XS2A_BASE_URL, XS2A_BASE_URL, SCA_REDIRECT_FLOW));
+                                                                        AVAILABLE_ACCOUNTS_CONSENT_SUPPORTED, SCA_BY_ONE_TIME_AVAILABLE_CONSENT_REQUIRED, PSU_IN_INITIAL_REQUEST_MANDATED, FORCE_XS2A_BASE_URL, XS2A_BASE_URL, SCA_REDIRECT_FLOW,
+                                                                        TERMINAL_TRANSACTION_STATUSES, MAX_BULK_PAYMENT_SIZE));
 
         //Then:
         BankProfileSetting setting = profileConfiguration.getSetting();
@@ -132,6 +136,8 @@ public class AspspProfileUpdateServiceImplTest {
         Assertions.assertThat(setting.isForceXs2aBaseUrl()).isEqualTo(FORCE_XS2A_BASE_URL);
         Assertions.assertThat(setting.getXs2aBaseUrl()).isEqualTo(XS2A_BASE_URL);
         Assertions.assertThat(setting.getScaRedirectFlow()).isEqualTo(SCA_REDIRECT_FLOW);
+        Assertions.assertThat(setting.getTerminalTransactionStatuses()).isEqualTo(TERMINAL_TRANSACTION_STATUSES);
+        Assertions.assertThat(setting.getMaxBulkPaymentSize()).isEqualTo(MAX_BULK_PAYMENT_SIZE);
     }
 
     private static List<SupportedAccountReferenceField> getSupportedAccountReferenceFields() {
@@ -15,33 +15,86 @@
  */
 package de.adorsys.psd2.aspsp.profile.config;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class AspspProfileRestConfig {
     @Value("${http-client.read-timeout.ms:10000}")
     private int readTimeout;
     @Value("${http-client.connection-timeout.ms:10000}")
     private int connectionTimeout;
+    @Value("${http-client.connection-pool.enabled:true}")
+    private boolean connectionPoolEnabled;
+    @Value("${http-client.connection-pool.max-total:20}")
+    private int maxTotalConnections;
+    @Value("${http-client.connection-pool.max-per-route:10}")
+    private int maxConnectionsPerRoute;
+    @Value("${http-client.connection-pool.keep-alive.ms:30000}")
+    private long keepAlive;
+    @Value("${http-client.connection-pool.idle-eviction.ms:60000}")
+    private long idleEviction;
+    @Value("${http-client.gzip.enabled:true}")
+    private boolean gzipEnabled;
 
     @Bean(name = "aspspProfileRestTemplate")
     public RestTemplate aspspProfileRestTemplate() {
-        RestTemplate rest = new RestTemplate(clientHttpRequestFactory());
+        RestTemplate rest = new RestTemplate(aspspProfileClientHttpRequestFactory());
         rest.getMessageConverters().removeIf(m -> m.getClass().isAssignableFrom(MappingJackson2XmlHttpMessageConverter.class));
         rest.setErrorHandler(new AspspProfileRestErrorHandler());
         return rest;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
+    @Bean
+    public ClientHttpRequestFactory aspspProfileClientHttpRequestFactory() {
+        if (connectionPoolEnabled) {
+            // closes the pooled HTTP client on context shutdown
+            return new HttpComponentsClientHttpRequestFactory(pooledHttpClient());
+        }
+
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setReadTimeout(readTimeout);
         factory.setConnectTimeout(connectionTimeout);
         return factory;
     }
+
+    private CloseableHttpClient pooledHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotalConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                                          .setConnectTimeout(connectionTimeout)
+                                          .setSocketTimeout(readTimeout)
+                                          .setConnectionRequestTimeout(connectionTimeout)
+                                          .build();
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                                        .setConnectionManager(connectionManager)
+                                        .setDefaultRequestConfig(requestConfig)
+                                        .setKeepAliveStrategy((response, context) -> {
+                                            // Keep-Alive header of the server takes precedence over configured value
+                                            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                                            return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+                                        })
+                                        .evictExpiredConnections()
+                                        .evictIdleConnections(idleEviction, TimeUnit.MILLISECONDS);
+        if (!gzipEnabled) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
 }
@@ -18,16 +18,41 @@ package de.adorsys.psd2.aspsp.profile.service;
 
 import de.adorsys.psd2.aspsp.profile.config.AspspProfileRemoteUrls;
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.exception.AspspProfileRestException;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 
+/**
+ * Reads ASPSP profile from the remote profile server and keeps the last read values as local snapshots.
+ * Snapshots are revalidated against the server (using ETag) after the configured refresh interval,
+ * while only one thread performs revalidation and the others keep using the current snapshot.
+ * Collections of the snapshots are unmodifiable and every caller gets its own copy of ASPSP settings,
+ * so that changes of the returned values don't affect other callers.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AspspProfileServiceRemote implements AspspProfileService {
@@ -35,16 +60,127 @@ public class AspspProfileServiceRemote implements AspspProfileService {
     private final RestTemplate aspspProfileRestTemplate;
     private final AspspProfileRemoteUrls aspspProfileRemoteUrls;
 
+    @Value("${aspsp-profile.cache.refresh-interval.ms:5000}")
+    private long refreshIntervalMs;
+
+    private final AtomicReference<ProfileSnapshot<AspspSettings>> aspspSettingsSnapshot = new AtomicReference<>();
+    private final AtomicReference<ProfileSnapshot<List<ScaApproach>>> scaApproachesSnapshot = new AtomicReference<>();
+    private final AtomicBoolean aspspSettingsRefreshInProgress = new AtomicBoolean();
+    private final AtomicBoolean scaApproachesRefreshInProgress = new AtomicBoolean();
+
+    private final LongAdder remoteFetches = new LongAdder();
+    private final LongAdder avoidedRemoteFetches = new LongAdder();
+
     @Override
     public AspspSettings getAspspSettings() {
-        return aspspProfileRestTemplate.exchange(
-            aspspProfileRemoteUrls.getAspspSettings(), HttpMethod.GET, null, AspspSettings.class).getBody();
+        AspspSettings aspspSettings = readFromSnapshot(aspspSettingsSnapshot, aspspSettingsRefreshInProgress, aspspProfileRemoteUrls.getAspspSettings(),
+                                                       new ParameterizedTypeReference<AspspSettings>() {
+                                                       }, this::toUnmodifiableCollections);
+        return aspspSettings == null
+                   ? null
+                   : aspspSettings.toBuilder().build();
     }
 
     @Override
     public List<ScaApproach> getScaApproaches() {
-        return aspspProfileRestTemplate.exchange(
-            aspspProfileRemoteUrls.getScaApproaches(), HttpMethod.GET, null, new ParameterizedTypeReference<List<ScaApproach>>() {
-            }).getBody();
+        return readFromSnapshot(scaApproachesSnapshot, scaApproachesRefreshInProgress, aspspProfileRemoteUrls.getScaApproaches(),
+                                new ParameterizedTypeReference<List<ScaApproach>>() {
+                                }, this::unmodifiableList);
+    }
+
+    /**
+     * Returns age of the local ASPSP settings snapshot
+     *
+     * @return age in milliseconds or <code>-1</code> if there is no snapshot yet
+     */
+    public long getAspspSettingsSnapshotAgeMs() {
+        ProfileSnapshot<AspspSettings> snapshot = aspspSettingsSnapshot.get();
+        return snapshot == null
+                   ? -1
+                   : System.currentTimeMillis() - snapshot.getFetchedAt();
+    }
+
+    public long getRemoteFetchCount() {
+        return remoteFetches.sum();
+    }
+
+    public long getAvoidedRemoteFetchCount() {
+        return avoidedRemoteFetches.sum();
+    }
+
+    private <T> T readFromSnapshot(AtomicReference<ProfileSnapshot<T>> snapshotHolder, AtomicBoolean refreshInProgress,
+                                   String url, ParameterizedTypeReference<T> responseType, UnaryOperator<T> unmodifiableView) {
+        if (refreshIntervalMs <= 0) {
+            return fetch(url, responseType, unmodifiableView, null, System.currentTimeMillis()).getValue();
+        }
+
+        long now = System.currentTimeMillis();
+        ProfileSnapshot<T> snapshot = snapshotHolder.get();
+        if (snapshot == null) {
+            ProfileSnapshot<T> fetched = fetch(url, responseType, unmodifiableView, null, now);
+            snapshotHolder.set(fetched);
+            return fetched.getValue();
+        }
+
+        if (snapshot.isFresh(now, refreshIntervalMs) || !refreshInProgress.compareAndSet(false, true)) {
+            avoidedRemoteFetches.increment();
+            return snapshot.getValue();
+        }
+
+        try {
+            ProfileSnapshot<T> refreshed = fetch(url, responseType, unmodifiableView, snapshot, now);
+            snapshotHolder.set(refreshed);
+            return refreshed.getValue();
+        } catch (RestClientException | AspspProfileRestException e) {
+            log.warn("Couldn't refresh ASPSP profile from {}, previous snapshot will be used: {}", url, e.getMessage());
+            return snapshot.getValue();
+        } finally {
+            refreshInProgress.set(false);
+        }
+    }
+
+    private <T> ProfileSnapshot<T> fetch(String url, ParameterizedTypeReference<T> responseType, UnaryOperator<T> unmodifiableView,
+                                         ProfileSnapshot<T> snapshot, long now) {
+        HttpHeaders headers = new HttpHeaders();
+        if (snapshot != null && snapshot.getETag() != null) {
+            headers.setIfNoneMatch(snapshot.getETag());
+        }
+
+        ResponseEntity<T> response = aspspProfileRestTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), responseType);
+        remoteFetches.increment();
+
+        if (snapshot != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return snapshot.revalidated(now);
+        }
+        return new ProfileSnapshot<>(unmodifiableView.apply(response.getBody()), response.getHeaders().getETag(), now);
+    }
+
+    private AspspSettings toUnmodifiableCollections(AspspSettings aspspSettings) {
+        if (aspspSettings == null) {
+            return null;
+        }
+
+        return aspspSettings.toBuilder()
+                   .availableBookingStatuses(unmodifiableList(aspspSettings.getAvailableBookingStatuses()))
+                   .supportedAccountReferenceFields(unmodifiableList(aspspSettings.getSupportedAccountReferenceFields()))
+                   .supportedPaymentTypeAndProductMatrix(unmodifiableMatrix(aspspSettings.getSupportedPaymentTypeAndProductMatrix()))
+                   .terminalTransactionStatuses(unmodifiableList(aspspSettings.getTerminalTransactionStatuses()))
+                   .build();
+    }
+
+    private <E> List<E> unmodifiableList(List<E> list) {
+        return list == null
+                   ? null
+                   : Collections.unmodifiableList(list);
+    }
+
+    private Map<PaymentType, Set<String>> unmodifiableMatrix(Map<PaymentType, Set<String>> matrix) {
+        if (matrix == null) {
+            return null;
+        }
+
+        Map<PaymentType, Set<String>> copy = new EnumMap<>(PaymentType.class);
+        matrix.forEach((paymentType, products) -> copy.put(paymentType, products == null ? null : Collections.unmodifiableSet(products)));
+        return Collections.unmodifiableMap(copy);
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of a value, read from the remote ASPSP profile
+ *
+ * @param <T> type of the value
+ */
+@Value
+class ProfileSnapshot<T> {
+    private T value;
+    private String eTag;
+    private long fetchedAt;
+
+    boolean isFresh(long now, long refreshIntervalMs) {
+        return now - fetchedAt < refreshIntervalMs;
+    }
+
+    ProfileSnapshot<T> revalidated(long now) {
+        return new ProfileSnapshot<>(value, eTag, now);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.aspsp.profile.service;
+
+import de.adorsys.psd2.aspsp.profile.config.AspspProfileRemoteUrls;
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.exception.AspspProfileRestException;
+import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AspspProfileServiceRemoteTest {
+    private static final String ASPSP_SETTINGS_URL = "http://localhost:48080/api/v1/aspsp-profile";
+    private static final String E_TAG = "\"0a1b2c3d\"";
+
+    @Mock
+    private RestTemplate aspspProfileRestTemplate;
+    @Mock
+    private AspspProfileRemoteUrls aspspProfileRemoteUrls;
+
+    private AspspSettings aspspSettings;
+
+    private AspspProfileServiceRemote aspspProfileServiceRemote;
+
+    @Before
+    public void setUp() {
+        aspspProfileServiceRemote = new AspspProfileServiceRemote(aspspProfileRestTemplate, aspspProfileRemoteUrls);
+        aspspSettings = AspspSettings.builder()
+                            .frequencyPerDay(5)
+                            .availableBookingStatuses(new ArrayList<>(Collections.singletonList(BookingStatus.BOOKED)))
+                            .supportedPaymentTypeAndProductMatrix(new HashMap<>(Collections.singletonMap(PaymentType.SINGLE, new HashSet<>(Collections.singletonList("sepa-credit-transfers")))))
+                            .build();
+        when(aspspProfileRemoteUrls.getAspspSettings()).thenReturn(ASPSP_SETTINGS_URL);
+    }
+
+    @Test
+    public void getAspspSettings_freshSnapshot_remoteCallAvoided() {
+        // Given
+        setRefreshInterval(60000);
+        mockResponse(new ResponseEntity<>(aspspSettings, eTagHeaders(), HttpStatus.OK));
+
+        // When
+        AspspSettings first = aspspProfileServiceRemote.getAspspSettings();
+        AspspSettings second = aspspProfileServiceRemote.getAspspSettings();
+
+        // Then
+        assertThat(first).isEqualTo(aspspSettings);
+        assertThat(second).isEqualTo(aspspSettings);
+        verify(aspspProfileRestTemplate, times(1)).exchange(eq(ASPSP_SETTINGS_URL), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        assertThat(aspspProfileServiceRemote.getRemoteFetchCount()).isEqualTo(1);
+        assertThat(aspspProfileServiceRemote.getAvoidedRemoteFetchCount()).isEqualTo(1);
+        assertThat(aspspProfileServiceRemote.getAspspSettingsSnapshotAgeMs()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getAspspSettings_staleSnapshotNotModified_snapshotRevalidated() {
+        // Given
+        setRefreshInterval(1);
+        mockResponse(new ResponseEntity<>(aspspSettings, eTagHeaders(), HttpStatus.OK));
+        aspspProfileServiceRemote.getAspspSettings();
+        waitForStaleSnapshot();
+        mockResponse(new ResponseEntity<>(eTagHeaders(), HttpStatus.NOT_MODIFIED));
+
+        // When
+        AspspSettings actual = aspspProfileServiceRemote.getAspspSettings();
+
+        // Then
+        assertThat(actual).isEqualTo(aspspSettings);
+        ArgumentCaptor<HttpEntity> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(aspspProfileRestTemplate, times(2)).exchange(eq(ASPSP_SETTINGS_URL), eq(HttpMethod.GET), entityCaptor.capture(), any(ParameterizedTypeReference.class));
+        assertThat(entityCaptor.getValue().getHeaders().getIfNoneMatch()).containsExactly(E_TAG);
+    }
+
+    @Test
+    public void getAspspSettings_staleSnapshotRefreshFailed_previousSnapshotReturned() {
+        // Given
+        setRefreshInterval(1);
+        mockResponse(new ResponseEntity<>(aspspSettings, eTagHeaders(), HttpStatus.OK));
+        aspspProfileServiceRemote.getAspspSettings();
+        waitForStaleSnapshot();
+        when(aspspProfileRestTemplate.exchange(eq(ASPSP_SETTINGS_URL), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenThrow(new AspspProfileRestException(500, "Internal Server Error"));
+
+        // When
+        AspspSettings actual = aspspProfileServiceRemote.getAspspSettings();
+
+        // Then
+        assertThat(actual).isEqualTo(aspspSettings);
+    }
+
+    @Test
+    public void getAspspSettings_cacheDisabled_alwaysFetched() {
+        // Given
+        setRefreshInterval(0);
+        mockResponse(new ResponseEntity<>(aspspSettings, HttpStatus.OK));
+
+        // When
+        aspspProfileServiceRemote.getAspspSettings();
+        aspspProfileServiceRemote.getAspspSettings();
+
+        // Then
+        verify(aspspProfileRestTemplate, times(2)).exchange(eq(ASPSP_SETTINGS_URL), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        assertThat(aspspProfileServiceRemote.getAspspSettingsSnapshotAgeMs()).isEqualTo(-1);
+    }
+
+    @Test
+    public void getAspspSettings_changedByCaller_snapshotNotChanged() {
+        // Given
+        setRefreshInterval(60000);
+        mockResponse(new ResponseEntity<>(aspspSettings, HttpStatus.OK));
+        AspspSettings first = aspspProfileServiceRemote.getAspspSettings();
+
+        // When
+        first.setFrequencyPerDay(100);
+        AspspSettings second = aspspProfileServiceRemote.getAspspSettings();
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getFrequencyPerDay()).isEqualTo(5);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getAspspSettings_snapshotList_unmodifiable() {
+        // Given
+        setRefreshInterval(60000);
+        mockResponse(new ResponseEntity<>(aspspSettings, HttpStatus.OK));
+
+        // When
+        aspspProfileServiceRemote.getAspspSettings().getAvailableBookingStatuses().add(BookingStatus.PENDING);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getAspspSettings_snapshotPaymentProducts_unmodifiable() {
+        // Given
+        setRefreshInterval(60000);
+        mockResponse(new ResponseEntity<>(aspspSettings, HttpStatus.OK));
+
+        // When
+        aspspProfileServiceRemote.getAspspSettings().getSupportedPaymentTypeAndProductMatrix().get(PaymentType.SINGLE).add("instant-sepa-credit-transfers");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockResponse(ResponseEntity<AspspSettings> response) {
+        when(aspspProfileRestTemplate.exchange(eq(ASPSP_SETTINGS_URL), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenReturn(response);
+    }
+
+    private HttpHeaders eTagHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(E_TAG);
+        return headers;
+    }
+
+    private void setRefreshInterval(long refreshIntervalMs) {
+        ReflectionTestUtils.setField(aspspProfileServiceRemote, "refreshIntervalMs", refreshIntervalMs);
+    }
+
+    private void waitForStaleSnapshot() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
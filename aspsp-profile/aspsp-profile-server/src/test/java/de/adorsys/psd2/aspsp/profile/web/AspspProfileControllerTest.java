@@ -22,6 +22,7 @@ import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import org.junit.Before;
@@ -71,6 +72,8 @@ public class AspspProfileControllerTest {
     private static final boolean FORCE_XS2A_BASE_URL = false;
     private static final String XS2A_BASEURL = "http://myhost.com/";
     private static final ScaRedirectFlow SCA_REDIRECT_FLOW = ScaRedirectFlow.REDIRECT;
+    private static final List<TransactionStatus> TERMINAL_TRANSACTION_STATUSES = Arrays.asList(TransactionStatus.ACCC, TransactionStatus.ACSC, TransactionStatus.RJCT, TransactionStatus.CANC);
+    private static final int MAX_BULK_PAYMENT_SIZE = 10000;
 
 
     @InjectMocks
@@ -143,7 +146,9 @@ public class AspspProfileControllerTest {
             PSU_IN_INITIAL_REQUEST_MANDATED,
             FORCE_XS2A_BASE_URL,
             XS2A_BASEURL,
-            SCA_REDIRECT_FLOW);
+            SCA_REDIRECT_FLOW,
+            TERMINAL_TRANSACTION_STATUSES,
+            MAX_BULK_PAYMENT_SIZE);
     }
 
     private static List<SupportedAccountReferenceField> getSupportedAccountReferenceFields() {
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.benchmark;
+
+import de.adorsys.psd2.consent.service.security.DecryptedData;
+import de.adorsys.psd2.consent.service.security.EncryptedData;
+import de.adorsys.psd2.consent.service.security.provider.AesEcbCryptoProviderImpl;
+import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
+import de.adorsys.psd2.consent.service.security.provider.JweCryptoProviderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time of an encryption and decryption round trip of a consent ID by CMS crypto providers.
+ * Cached providers derive the secret key once and take it from the {@link DerivedKeyCache} afterwards,
+ * uncached providers use a cache of size 0 and derive the key on both encryption and decryption, as before the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CryptoProviderBenchmark {
+    private static final byte[] CONSENT_ID = "d4ec8c3a-7a0b-4c5e-9c1f-3b1d2a6f8e90".getBytes(StandardCharsets.UTF_8);
+    private static final String PASSWORD = "b8c29fd7-9f45-4a5b-8e9c-2f2c3c1d1a7e";
+
+    private CryptoProvider cachedAesEcbCryptoProvider;
+    private CryptoProvider uncachedAesEcbCryptoProvider;
+    private CryptoProvider cachedJweCryptoProvider;
+    private CryptoProvider uncachedJweCryptoProvider;
+
+    @Setup
+    public void setUp() {
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(1000, 3600000);
+        DerivedKeyCache disabledDerivedKeyCache = new DerivedKeyCache(0, 0);
+
+        cachedAesEcbCryptoProvider = new AesEcbCryptoProviderImpl(derivedKeyCache);
+        uncachedAesEcbCryptoProvider = new AesEcbCryptoProviderImpl(disabledDerivedKeyCache);
+        cachedJweCryptoProvider = new JweCryptoProviderImpl(derivedKeyCache);
+        uncachedJweCryptoProvider = new JweCryptoProviderImpl(disabledDerivedKeyCache);
+    }
+
+    @Benchmark
+    public byte[] aesEcbCached() {
+        return roundTrip(cachedAesEcbCryptoProvider);
+    }
+
+    @Benchmark
+    public byte[] aesEcbUncached() {
+        return roundTrip(uncachedAesEcbCryptoProvider);
+    }
+
+    @Benchmark
+    public byte[] jweCached() {
+        return roundTrip(cachedJweCryptoProvider);
+    }
+
+    @Benchmark
+    public byte[] jweUncached() {
+        return roundTrip(uncachedJweCryptoProvider);
+    }
+
+    private byte[] roundTrip(CryptoProvider cryptoProvider) {
+        byte[] encrypted = cryptoProvider.encryptData(CONSENT_ID, PASSWORD)
+                               .map(EncryptedData::getData)
+                               .orElseThrow(() -> new IllegalStateException("Encryption failed"));
+        return cryptoProvider.decryptData(encrypted, PASSWORD)
+                   .map(DecryptedData::getData)
+                   .orElseThrow(() -> new IllegalStateException("Decryption failed"));
+    }
+}
@@ -0,0 +1,89 @@
+-- Load test for CMS lookup indexes (migrations 0061 and 0062) on PostgreSQL.
+-- Seeds :rows consents, authorisations, payments, account references and events with IDs above :base_id,
+-- prints lookup plans and latencies without the indexes (dropped inside a rolled back transaction) and with them,
+-- and removes the seeded rows afterwards, so the test can be repeated on the same database.
+-- Run via pg-index-load-test.sh
+
+\set ON_ERROR_STOP on
+\timing on
+
+\echo 'Seeding test data...'
+INSERT INTO tpp_info (tpp_info_id, authorisation_number, authority_id, instance_id)
+VALUES (:base_id, 'LOAD-TEST', 'LOAD-TEST', 'UNDEFINED');
+
+INSERT INTO ais_consent (id, external_id, consent_status, consent_type, expected_frequency_per_day, expire_date,
+                         recurring_indicator, request_date_time, tpp_frequency_per_day, tpp_redirect_preferred,
+                         ais_consent_request_type, tpp_info_id, instance_id, creation_timestamp,
+                         multilevel_sca_required, combined_service_indicator)
+SELECT :base_id + g, md5('ais' || g), CASE WHEN g % 10 = 0 THEN 'RECEIVED' ELSE 'VALID' END, 'AIS', 4,
+       current_date + (g % 400) - 10, true, now(), 4, false, 'GLOBAL', :base_id, 'UNDEFINED',
+       now() - g * interval '1 second', false, false
+FROM generate_series(1, :rows) g;
+
+INSERT INTO ais_consent_authorization (authorization_id, external_id, consent_id, sca_status, instance_id, sca_approach)
+SELECT :base_id + g, md5('ais-auth' || g), :base_id + g, 'RECEIVED', 'UNDEFINED', 'REDIRECT'
+FROM generate_series(1, :rows) g;
+
+INSERT INTO pis_common_payment (id, payment_id, payment_type, payment_product, transaction_status, tpp_info_id,
+                                instance_id, creation_timestamp, multilevel_sca_required)
+SELECT :base_id + g, md5('pis' || g), 'SINGLE', 'sepa-credit-transfers',
+       CASE WHEN g % 10 = 0 THEN 'RCVD' ELSE 'ACSC' END, :base_id, 'UNDEFINED', now() - g * interval '1 second', false
+FROM generate_series(1, :rows) g;
+
+INSERT INTO pis_consent_authorization (authorization_id, external_id, payment_id, sca_status, authorization_type,
+                                       instance_id, sca_approach)
+SELECT :base_id + g, md5('pis-auth' || g), :base_id + g, 'RECEIVED', 'CREATED', 'UNDEFINED', 'REDIRECT'
+FROM generate_series(1, :rows) g;
+
+INSERT INTO account_reference (account_reference_id, iban, currency)
+SELECT :base_id + g, 'DE' || lpad(g::text, 20, '0'), 'EUR'
+FROM generate_series(1, :rows) g;
+
+INSERT INTO event (id, timestamp, consent_id, event_origin, event_type, instance_id)
+SELECT :base_id + g, now() - g * interval '1 second', md5('ais' || g), 'TPP', 'GET_ACCOUNT_LIST_REQUEST_RECEIVED', 'UNDEFINED'
+FROM generate_series(1, :rows) g;
+
+ANALYZE;
+
+\set lookup_ais 'EXPLAIN (ANALYZE, COSTS OFF) SELECT * FROM ais_consent WHERE external_id = md5(''ais42'')'
+\set lookup_ais_auth 'EXPLAIN (ANALYZE, COSTS OFF) SELECT * FROM ais_consent_authorization WHERE external_id = md5(''ais-auth42'')'
+\set lookup_pis 'EXPLAIN (ANALYZE, COSTS OFF) SELECT * FROM pis_common_payment WHERE payment_id = md5(''pis42'')'
+\set lookup_pis_auth 'EXPLAIN (ANALYZE, COSTS OFF) SELECT * FROM pis_consent_authorization WHERE external_id = md5(''pis-auth42'')'
+\set lookup_account 'EXPLAIN (ANALYZE, COSTS OFF) SELECT * FROM account_reference WHERE iban = ''DE00000000000000000042'' AND currency = ''EUR'''
+\set lookup_event 'EXPLAIN (ANALYZE, COSTS OFF) SELECT * FROM event WHERE timestamp BETWEEN now() - interval ''1 minute'' AND now()'
+\set scan_not_confirmed 'EXPLAIN (ANALYZE, COSTS OFF) SELECT id FROM ais_consent WHERE consent_status = ''RECEIVED'' AND creation_timestamp < now() - interval ''11 days'''
+\set scan_expired 'EXPLAIN (ANALYZE, COSTS OFF) SELECT id FROM ais_consent WHERE consent_status IN (''RECEIVED'', ''VALID'') AND expire_date < current_date ORDER BY id LIMIT 1000'
+
+\echo '=== Without indexes ==='
+BEGIN;
+DROP INDEX IF EXISTS uniq_ais_consent_ext_id, uniq_ais_cons_auth_ext_id, uniq_pis_cmn_pmt_payment_id,
+    uniq_pis_cons_auth_ext_id, idx_acc_ref_iban_currency, idx_event_timestamp, idx_ais_cons_status_created,
+    idx_ais_cons_status_exp_date;
+:lookup_ais;
+:lookup_ais_auth;
+:lookup_pis;
+:lookup_pis_auth;
+:lookup_account;
+:lookup_event;
+:scan_not_confirmed;
+:scan_expired;
+ROLLBACK;
+
+\echo '=== With indexes ==='
+:lookup_ais;
+:lookup_ais_auth;
+:lookup_pis;
+:lookup_pis_auth;
+:lookup_account;
+:lookup_event;
+:scan_not_confirmed;
+:scan_expired;
+
+\echo 'Removing test data...'
+DELETE FROM event WHERE id > :base_id;
+DELETE FROM account_reference WHERE account_reference_id > :base_id;
+DELETE FROM pis_consent_authorization WHERE authorization_id > :base_id;
+DELETE FROM pis_common_payment WHERE id > :base_id;
+DELETE FROM ais_consent_authorization WHERE authorization_id > :base_id;
+DELETE FROM ais_consent WHERE id > :base_id;
+DELETE FROM tpp_info WHERE tpp_info_id = :base_id;
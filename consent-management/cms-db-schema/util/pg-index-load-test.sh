@@ -0,0 +1,10 @@
+#!/usr/bin/env bash
+
+# Seeds a local postgres CMS database, migrated with liquibase, with test data and compares lookup
+# latencies without and with the indexes from migrations 0061 and 0062. Seeded data is removed afterwards.
+# Usage: pg-index-load-test.sh [rows] (1000000 by default); connection is configured via PGHOST, PGUSER etc.
+set -e
+ROWS=${1:-1000000}
+echo "Run CMS index load test with $ROWS rows per table"
+PGOPTIONS='-c search_path=consent' psql -U "${PGUSER:-cms}" -d "${PGDATABASE:-consent}" \
+    -v rows="$ROWS" -v base_id=900000000 -f "$(dirname "$0")/index-load-test.sql"
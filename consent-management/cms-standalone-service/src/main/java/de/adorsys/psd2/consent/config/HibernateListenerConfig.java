@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.config;
 
+import de.adorsys.psd2.consent.service.notification.StatusChangeNotificationEventListener;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.EventType;
@@ -34,6 +35,7 @@ public class HibernateListenerConfig {
     private EntityManagerFactory entityManagerFactory;
 
     private final ServiceInstanceIdEventListener serviceInstanceIdEventListener;
+    private final StatusChangeNotificationEventListener statusChangeNotificationEventListener;
 
     @PostConstruct
     public void registerListeners() {
@@ -46,6 +48,8 @@ public class HibernateListenerConfig {
 
             registry.getEventListenerGroup(EventType.PRE_INSERT)
                 .appendListener(serviceInstanceIdEventListener);
+            registry.getEventListenerGroup(EventType.POST_UPDATE)
+                .appendListener(statusChangeNotificationEventListener);
         }
     }
 }
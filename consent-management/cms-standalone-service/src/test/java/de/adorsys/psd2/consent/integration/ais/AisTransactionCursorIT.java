@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.ais;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.ais.AisAccountAccessInfo;
+import de.adorsys.psd2.consent.api.ais.AisTransactionCursor;
+import de.adorsys.psd2.consent.api.ais.CreateAisConsentRequest;
+import de.adorsys.psd2.consent.api.service.AisConsentService;
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.repository.AisTransactionCursorRepository;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the transaction cursor of the account is written atomically by concurrent reports
+ */
+@ActiveProfiles("integration-test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AisTransactionCursorIT {
+    private static final String RESOURCE_ID = "account id";
+    private static final String TPP_ID = "Test TppId";
+    private static final String AUTHORITY_ID = "test authority ID";
+
+    @Autowired
+    private AisConsentService aisConsentService;
+    @Autowired
+    private AisConsentRepository aisConsentRepository;
+    @Autowired
+    private AisTransactionCursorRepository aisTransactionCursorRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private TransactionTemplate transactionTemplate;
+    private String consentId;
+
+    @Before
+    public void setUp() {
+        AspspSettings aspspSettings = mock(AspspSettings.class);
+        when(aspspSettings.getNotConfirmedPaymentExpirationPeriodMs()).thenReturn(86400000L);
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        consentId = transactionTemplate.execute(status -> aisConsentService.createConsent(buildCreateAisConsentRequest())).get();
+    }
+
+    @After
+    public void tearDown() {
+        transactionTemplate.execute(status -> {
+            aisTransactionCursorRepository.deleteAll();
+            aisConsentRepository.deleteAll();
+            return null;
+        });
+    }
+
+    @Test
+    public void updateTransactionCursor_concurrentFirstWrites_shouldCreateOneCursorAtLatestBooking() throws Exception {
+        // Given
+        int threads = 2;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < threads; i++) {
+            AisTransactionCursor cursor = new AisTransactionCursor("entry " + i, LocalDate.of(2019, 1, 1).plusDays(i));
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return transactionTemplate.execute(status -> aisConsentService.updateTransactionCursor(consentId, RESOURCE_ID, cursor));
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get(30, TimeUnit.SECONDS)).isTrue();
+        }
+        executorService.shutdown();
+
+        // Then
+        assertThat(aisTransactionCursorRepository.count()).isEqualTo(1);
+        assertThat(aisConsentService.getTransactionCursor(consentId, RESOURCE_ID))
+            .isEqualTo(Optional.of(new AisTransactionCursor("entry 1", LocalDate.of(2019, 1, 2))));
+    }
+
+    @Test
+    public void updateTransactionCursor_rolledBackFirstWrite_shouldLeaveEmptyCursor() {
+        // When
+        transactionTemplate.execute(status -> {
+            aisConsentService.updateTransactionCursor(consentId, RESOURCE_ID, new AisTransactionCursor("entry", LocalDate.of(2019, 1, 1)));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        // Then
+        assertThat(aisConsentService.getTransactionCursor(consentId, RESOURCE_ID))
+            .isEqualTo(Optional.of(new AisTransactionCursor(null, null)));
+    }
+
+    private CreateAisConsentRequest buildCreateAisConsentRequest() {
+        CreateAisConsentRequest createAisConsentRequest = new CreateAisConsentRequest();
+        createAisConsentRequest.setAllowedFrequencyPerDay(5);
+        createAisConsentRequest.setAccess(new AisAccountAccessInfo());
+        createAisConsentRequest.setRecurringIndicator(false);
+        createAisConsentRequest.setValidUntil(LocalDate.now().plusDays(1));
+        createAisConsentRequest.setTppInfo(buildTppInfo());
+        return createAisConsentRequest;
+    }
+
+    private TppInfo buildTppInfo() {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(TPP_ID);
+        tppInfo.setAuthorityId(AUTHORITY_ID);
+        return tppInfo;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.batch;
+
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.event.EventEntity;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.EventRepository;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.xs2a.core.event.EventOrigin;
+import de.adorsys.psd2.xs2a.core.event.EventType;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.tpp.TppRole;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmark of inserting large amounts of CMS entities, relying on pooled id generation and JDBC batching.
+ * Prints inserts per second and checks that the number of JDBC statements doesn't grow with the number of inserted rows.
+ */
+@Slf4j
+@ActiveProfiles("integration-test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.generate_statistics = true"})
+@DataJpaTest
+public class BatchInsertBenchmarkIT {
+    private static final int BULK_PAYMENT_SIZE = 1000;
+    private static final int LARGE_BULK_PAYMENT_SIZE = 10000;
+    private static final int EVENT_COUNT = 1000;
+    // One statement per JDBC batch and per allocated block of ids, with some room for the other entities of the payment
+    private static final long MAX_STATEMENT_COUNT = 100;
+    private static final long MAX_LARGE_BULK_STATEMENT_COUNT = 2 * LARGE_BULK_PAYMENT_SIZE / 50 + MAX_STATEMENT_COUNT;
+
+    @Autowired
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void saveBulkPayment_shouldBatchInserts() {
+        // Given
+        PisCommonPaymentData bulkPayment = buildBulkPayment(BULK_PAYMENT_SIZE);
+
+        // When
+        long start = System.nanoTime();
+        pisCommonPaymentDataRepository.save(bulkPayment);
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - start;
+
+        // Then
+        logResult("Bulk payment", BULK_PAYMENT_SIZE, elapsedNanos);
+        assertTrue(statistics.getPrepareStatementCount() < MAX_STATEMENT_COUNT);
+    }
+
+    @Test
+    public void saveLargeBulkPayment_shouldBatchInserts() {
+        // Given
+        PisCommonPaymentData bulkPayment = buildBulkPayment(LARGE_BULK_PAYMENT_SIZE);
+
+        // When
+        long allocatedBytesBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        pisCommonPaymentDataRepository.save(bulkPayment);
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - start;
+        long allocatedBytes = getAllocatedBytes() - allocatedBytesBefore;
+
+        // Then
+        logResult("Large bulk payment", LARGE_BULK_PAYMENT_SIZE, elapsedNanos);
+        log.info("Large bulk payment: {} KB allocated while persisting", allocatedBytes / 1024);
+        assertTrue(statistics.getPrepareStatementCount() < MAX_LARGE_BULK_STATEMENT_COUNT);
+    }
+
+    @Test
+    public void saveEvents_shouldBatchInserts() {
+        // Given
+        List<EventEntity> events = buildEvents();
+
+        // When
+        long start = System.nanoTime();
+        eventRepository.saveAll(events);
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - start;
+
+        // Then
+        logResult("Events", EVENT_COUNT, elapsedNanos);
+        assertTrue(statistics.getPrepareStatementCount() < MAX_STATEMENT_COUNT);
+    }
+
+    private void logResult(String name, int rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000d;
+        log.info("{}: {} rows inserted in {} ms ({} inserts/sec, {} JDBC statements prepared)",
+                 name, rows, Math.round(seconds * 1000), Math.round(rows / seconds), statistics.getPrepareStatementCount());
+    }
+
+    private long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private PisCommonPaymentData buildBulkPayment(int size) {
+        PisCommonPaymentData commonPayment = new PisCommonPaymentData();
+        commonPayment.setPaymentId(UUID.randomUUID().toString());
+        commonPayment.setPaymentType(PaymentType.BULK);
+        commonPayment.setPaymentProduct("sepa-credit-transfers");
+        commonPayment.setTransactionStatus(TransactionStatus.RCVD);
+        commonPayment.setTppInfo(buildTppInfo());
+
+        List<PisPaymentData> payments = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            PisPaymentData payment = new PisPaymentData();
+            payment.setPaymentId(UUID.randomUUID().toString());
+            payment.setCurrency(Currency.getInstance("EUR"));
+            payment.setAmount(BigDecimal.TEN);
+            payment.setCreditorName("Creditor " + i);
+            payment.setPaymentData(commonPayment);
+            payments.add(payment);
+        }
+        commonPayment.setPayments(payments);
+        return commonPayment;
+    }
+
+    private TppInfoEntity buildTppInfo() {
+        TppInfoEntity tppInfo = new TppInfoEntity();
+        tppInfo.setAuthorisationNumber("tpp authorisation number");
+        tppInfo.setAuthorityId("tpp authority id");
+        tppInfo.setTppRoles(Collections.singletonList(TppRole.PISP));
+        return tppInfo;
+    }
+
+    private List<EventEntity> buildEvents() {
+        List<EventEntity> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            EventEntity event = new EventEntity();
+            event.setTimestamp(OffsetDateTime.now());
+            event.setEventOrigin(EventOrigin.TPP);
+            event.setEventType(EventType.PAYMENT_INITIATION_REQUEST_RECEIVED);
+            events.add(event);
+        }
+        return events;
+    }
+}
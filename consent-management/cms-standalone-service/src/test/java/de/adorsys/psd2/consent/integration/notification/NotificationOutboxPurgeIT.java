@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.integration.notification;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import de.adorsys.psd2.consent.repository.SchedulerLockRepository;
+import de.adorsys.psd2.consent.service.scheduler.NotificationOutboxPurgeScheduleTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the purge of the notification outbox deletes only finished notifications older than the retention
+ * and runs under the scheduler lock
+ */
+@ActiveProfiles("integration-test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"cms.notification.retention.ms=86400000", "cms.scheduler.lock.enabled=true"})
+public class NotificationOutboxPurgeIT {
+    private static final String LOCK_NAME = "notification-outbox-purge";
+    private static final String NOTIFICATION_URI = "https://tpp.example.com/notifications";
+    private static final String TPP_ID = "Test TppId";
+
+    @Autowired
+    private NotificationOutboxPurgeScheduleTask notificationOutboxPurgeScheduleTask;
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    @Before
+    public void setUp() {
+        AspspSettings aspspSettings = mock(AspspSettings.class);
+        when(aspspSettings.getNotConfirmedPaymentExpirationPeriodMs()).thenReturn(86400000L);
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+    }
+
+    @After
+    public void tearDown() {
+        notificationOutboxRepository.deleteAll();
+        schedulerLockRepository.deleteAll();
+    }
+
+    @Test
+    public void purgeFinishedNotifications_shouldDeleteOnlyFinishedNotificationsOlderThanRetention() {
+        // Given
+        OffsetDateTime outdated = OffsetDateTime.now().minusDays(2);
+        OffsetDateTime recent = OffsetDateTime.now().minusHours(1);
+        saveNotification("old delivered", NotificationDeliveryState.DELIVERED, outdated);
+        saveNotification("old failed", NotificationDeliveryState.FAILED, outdated);
+        saveNotification("old pending", NotificationDeliveryState.PENDING, outdated);
+        saveNotification("recent delivered", NotificationDeliveryState.DELIVERED, recent);
+        saveNotification("recent failed", NotificationDeliveryState.FAILED, recent);
+
+        // When
+        notificationOutboxPurgeScheduleTask.purgeFinishedNotifications();
+
+        // Then
+        assertThat(findRemainingResourceIds()).containsExactlyInAnyOrder("old pending", "recent delivered", "recent failed");
+        assertThat(notificationOutboxPurgeScheduleTask.getPurgedNotificationCount()).isEqualTo(2);
+        assertThat(schedulerLockRepository.existsById(LOCK_NAME)).isTrue();
+    }
+
+    @Test
+    public void purgeFinishedNotifications_lockedByPreviousRun_shouldSkipPurge() {
+        // Given
+        notificationOutboxPurgeScheduleTask.purgeFinishedNotifications();
+        saveNotification("old delivered", NotificationDeliveryState.DELIVERED, OffsetDateTime.now().minusDays(2));
+
+        // When
+        notificationOutboxPurgeScheduleTask.purgeFinishedNotifications();
+
+        // Then
+        assertThat(findRemainingResourceIds()).containsExactly("old delivered");
+    }
+
+    private void saveNotification(String resourceId, NotificationDeliveryState deliveryState, OffsetDateTime lastAttempt) {
+        NotificationOutboxEntity entry = new NotificationOutboxEntity(NotificationResourceType.PAYMENT, resourceId, "ACSC", NOTIFICATION_URI, TPP_ID);
+        entry.setDeliveryState(deliveryState);
+        entry.setNextAttemptTimestamp(lastAttempt);
+        notificationOutboxRepository.save(entry);
+    }
+
+    private List<String> findRemainingResourceIds() {
+        return StreamSupport.stream(notificationOutboxRepository.findAll().spliterator(), false)
+                   .map(NotificationOutboxEntity::getResourceId)
+                   .collect(Collectors.toList());
+    }
+}
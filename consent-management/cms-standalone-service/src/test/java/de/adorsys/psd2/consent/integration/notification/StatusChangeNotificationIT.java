@@ -0,0 +1,251 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.notification;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
+import de.adorsys.psd2.consent.service.notification.NotificationDispatcher;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that status changes are written to the notification outbox together with the change
+ * and delivered by the dispatcher to a local HTTP stub of the TPP
+ */
+@ActiveProfiles("integration-test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"cms.notification.enabled=true", "cms.notification.dispatch.delay.ms=3600000"})
+public class StatusChangeNotificationIT {
+    private static final String PAYMENT_ID = "notified payment id";
+    private static final String TPP_ID = "Test TppId";
+    private static final String AUTHORITY_ID = "test authority ID";
+
+    @Autowired
+    private PisCommonPaymentService pisCommonPaymentService;
+    @Autowired
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+    @Autowired
+    private PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private TransactionTemplate transactionTemplate;
+    private HttpServer tppStub;
+    private final List<String> receivedNotifications = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        AspspSettings aspspSettings = mock(AspspSettings.class);
+        when(aspspSettings.getNotConfirmedPaymentExpirationPeriodMs()).thenReturn(86400000L);
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        tppStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        tppStub.createContext("/notifications", this::receiveNotification);
+        tppStub.start();
+    }
+
+    @After
+    public void tearDown() {
+        tppStub.stop(0);
+        transactionTemplate.execute(status -> {
+            notificationOutboxRepository.deleteAll();
+            pisCommonPaymentDataRepository.deleteAll();
+            return null;
+        });
+    }
+
+    @Test
+    public void updateStatus_withNotificationUri_shouldDeliverNotificationToTpp() {
+        // Given
+        createPayment("http://localhost:" + tppStub.getAddress().getPort() + "/notifications");
+
+        // When
+        transactionTemplate.execute(status -> pisCommonPaymentService.updateCommonPaymentStatusById(PAYMENT_ID, TransactionStatus.ACSP));
+
+        // Then
+        List<NotificationOutboxEntity> outbox = findOutbox();
+        assertThat(outbox).hasSize(1);
+        NotificationOutboxEntity entry = outbox.get(0);
+        assertThat(entry.getResourceType()).isEqualTo(NotificationResourceType.PAYMENT);
+        assertThat(entry.getResourceId()).isEqualTo(PAYMENT_ID);
+        assertThat(entry.getStatus()).isEqualTo(TransactionStatus.ACSP.name());
+        assertThat(entry.getDeliveryState()).isEqualTo(NotificationDeliveryState.PENDING);
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        assertThat(receivedNotifications).hasSize(1);
+        assertThat(receivedNotifications.get(0)).contains("\"resourceId\":\"" + PAYMENT_ID + "\"", "\"status\":\"ACSP\"");
+        assertThat(findOutbox()).extracting(NotificationOutboxEntity::getDeliveryState)
+            .containsExactly(NotificationDeliveryState.DELIVERED);
+    }
+
+    @Test
+    public void updateStatus_rolledBack_shouldNotWriteOutbox() {
+        // Given
+        createPayment("http://localhost:" + tppStub.getAddress().getPort() + "/notifications");
+
+        // When
+        transactionTemplate.execute(status -> {
+            pisCommonPaymentService.updateCommonPaymentStatusById(PAYMENT_ID, TransactionStatus.ACSP);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        // Then
+        assertThat(findOutbox()).isEmpty();
+    }
+
+    @Test
+    public void updateStatus_withoutNotificationUri_shouldNotWriteOutbox() {
+        // Given
+        createPayment(null);
+
+        // When
+        transactionTemplate.execute(status -> pisCommonPaymentService.updateCommonPaymentStatusById(PAYMENT_ID, TransactionStatus.ACSP));
+
+        // Then
+        assertThat(findOutbox()).isEmpty();
+    }
+
+    @Test
+    public void updateNotConfirmedPayments_withNotificationUri_shouldWriteOutbox() {
+        // Given
+        createPayment("http://localhost:" + tppStub.getAddress().getPort() + "/notifications");
+        transactionTemplate.execute(status -> {
+            PisCommonPaymentData payment = pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID).get();
+            payment.setCreationTimestamp(OffsetDateTime.now().minusDays(2));
+            return null;
+        });
+
+        // When
+        int rejected = pisCommonPaymentConfirmationExpirationService.updateNotConfirmedPaymentsOnConfirmationExpiration();
+
+        // Then
+        assertThat(rejected).isEqualTo(1);
+        List<NotificationOutboxEntity> outbox = findOutbox();
+        assertThat(outbox).hasSize(1);
+        NotificationOutboxEntity entry = outbox.get(0);
+        assertThat(entry.getResourceType()).isEqualTo(NotificationResourceType.PAYMENT);
+        assertThat(entry.getResourceId()).isEqualTo(PAYMENT_ID);
+        assertThat(entry.getStatus()).isEqualTo(TransactionStatus.RJCT.name());
+        assertThat(entry.getTppAuthorisationNumber()).isEqualTo(TPP_ID);
+    }
+
+    @Test
+    public void updateNotConfirmedPayments_withoutNotificationUri_shouldNotWriteOutbox() {
+        // Given
+        createPayment(null);
+        transactionTemplate.execute(status -> {
+            PisCommonPaymentData payment = pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID).get();
+            payment.setCreationTimestamp(OffsetDateTime.now().minusDays(2));
+            return null;
+        });
+
+        // When
+        int rejected = pisCommonPaymentConfirmationExpirationService.updateNotConfirmedPaymentsOnConfirmationExpiration();
+
+        // Then
+        assertThat(rejected).isEqualTo(1);
+        assertThat(findOutbox()).isEmpty();
+    }
+
+    private void createPayment(String notificationUri) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(TPP_ID);
+        tppInfo.setAuthorityId(AUTHORITY_ID);
+        tppInfo.setTppNotificationUri(notificationUri);
+
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setPaymentProduct("sepa-credit-transfers");
+        pisPaymentInfo.setPaymentType(PaymentType.SINGLE);
+        pisPaymentInfo.setTppInfo(tppInfo);
+        pisPaymentInfo.setPsuDataList(Collections.singletonList(new PsuIdData(null, null, null, null)));
+        pisPaymentInfo.setPaymentId(PAYMENT_ID);
+        pisPaymentInfo.setTransactionStatus(TransactionStatus.RCVD);
+
+        transactionTemplate.execute(status -> pisCommonPaymentService.createCommonPayment(pisPaymentInfo));
+    }
+
+    private List<NotificationOutboxEntity> findOutbox() {
+        return transactionTemplate.execute(status -> {
+            List<NotificationOutboxEntity> outbox = new CopyOnWriteArrayList<>();
+            notificationOutboxRepository.findAll().forEach(outbox::add);
+            return outbox;
+        });
+    }
+
+    private void receiveNotification(HttpExchange exchange) throws IOException {
+        receivedNotifications.add(StreamUtils.copyToString(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.integration.pis;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
+import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
+import de.adorsys.psd2.consent.domain.PsuData;
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.tpp.TppRole;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark of polling the status of a large bulk payment. Replays the CMS reads, done by get payment status request
+ * of XS2A, before and after the status-only projection was introduced:
+ * <ul>
+ * <li>before: whole common payment and PSU data;</li>
+ * <li>after, status to be read from the ASPSP: status info and whole common payment;</li>
+ * <li>after, terminal status: status info only.</li>
+ * </ul>
+ * Prints the time per poll and checks that only polls of terminal statuses don't load single payments of the bulk payment.
+ */
+@Slf4j
+@ActiveProfiles("integration-test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.generate_statistics = true"})
+@DataJpaTest
+public class PaymentStatusPollingBenchmarkIT {
+    private static final int BULK_PAYMENT_SIZE = 1000;
+    private static final int POLL_COUNT = 50;
+
+    @Autowired
+    private PisCommonPaymentService pisCommonPaymentService;
+    @Autowired
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private Statistics statistics;
+    private String paymentId;
+
+    @Before
+    public void setUp() {
+        AspspSettings aspspSettings = mock(AspspSettings.class);
+        when(aspspSettings.getNotConfirmedPaymentExpirationPeriodMs()).thenReturn(86400000L);
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+
+        PisCommonPaymentData bulkPayment = buildBulkPayment();
+        pisCommonPaymentDataRepository.save(bulkPayment);
+        paymentId = bulkPayment.getPaymentId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void pollStatus_beforeAndAfterStatusInfo() {
+        // When
+        PollResult before = poll(() -> {
+            assertTrue(pisCommonPaymentService.getCommonPaymentById(paymentId).isPresent());
+            assertTrue(pisCommonPaymentService.getPsuDataListByPaymentId(paymentId).isPresent());
+        });
+        PollResult afterNotTerminal = poll(() -> {
+            assertTrue(pisCommonPaymentService.getCommonPaymentStatusInfoById(paymentId).isPresent());
+            assertTrue(pisCommonPaymentService.getCommonPaymentById(paymentId).isPresent());
+        });
+        PollResult afterTerminal = poll(() -> {
+            Optional<PisCommonPaymentStatusInfo> statusInfo = pisCommonPaymentService.getCommonPaymentStatusInfoById(paymentId);
+            assertTrue(statusInfo.isPresent());
+            assertEquals(TransactionStatus.ACSP, statusInfo.get().getTransactionStatus());
+        });
+
+        // Then
+        before.print("Before");
+        afterNotTerminal.print("After, not terminal status");
+        afterTerminal.print("After, terminal status");
+        // Status to be read from the ASPSP still needs the whole payment
+        assertTrue(before.entityLoads >= POLL_COUNT * BULK_PAYMENT_SIZE);
+        assertTrue(afterNotTerminal.entityLoads >= POLL_COUNT * BULK_PAYMENT_SIZE);
+        // Only TPP info and PSU data are loaded as entities by the projection
+        assertTrue(afterTerminal.entityLoads <= POLL_COUNT * 2L);
+    }
+
+    private PollResult poll(Runnable cmsReads) {
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < POLL_COUNT; i++) {
+            cmsReads.run();
+            entityManager.clear();
+        }
+        return new PollResult(System.nanoTime() - start, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+    }
+
+    @RequiredArgsConstructor
+    private static class PollResult {
+        private final long elapsedNanos;
+        private final long statements;
+        private final long entityLoads;
+
+        private void print(String name) {
+            log.info("{}: {} polls in {} ms ({} us/poll, {} JDBC statements prepared, {} entities loaded)",
+                     name, POLL_COUNT, elapsedNanos / 1_000_000, elapsedNanos / 1_000 / POLL_COUNT, statements, entityLoads);
+        }
+    }
+
+    private PisCommonPaymentData buildBulkPayment() {
+        PisCommonPaymentData commonPayment = new PisCommonPaymentData();
+        commonPayment.setPaymentId(UUID.randomUUID().toString());
+        commonPayment.setPaymentType(PaymentType.BULK);
+        commonPayment.setPaymentProduct("sepa-credit-transfers");
+        commonPayment.setTransactionStatus(TransactionStatus.ACSP);
+        commonPayment.setTppInfo(buildTppInfo());
+        commonPayment.setPsuDataList(new ArrayList<>(Collections.singletonList(new PsuData("psu id", null, null, null))));
+
+        List<PisPaymentData> payments = new ArrayList<>();
+        for (int i = 0; i < BULK_PAYMENT_SIZE; i++) {
+            PisPaymentData payment = new PisPaymentData();
+            payment.setPaymentId(UUID.randomUUID().toString());
+            payment.setCurrency(Currency.getInstance("EUR"));
+            payment.setAmount(BigDecimal.TEN);
+            payment.setCreditorName("Creditor " + i);
+            payment.setPaymentData(commonPayment);
+            payments.add(payment);
+        }
+        commonPayment.setPayments(payments);
+        return commonPayment;
+    }
+
+    private TppInfoEntity buildTppInfo() {
+        TppInfoEntity tppInfo = new TppInfoEntity();
+        tppInfo.setAuthorisationNumber("tpp authorisation number");
+        tppInfo.setAuthorityId("tpp authority id");
+        tppInfo.setTppRoles(Collections.singletonList(TppRole.PISP));
+        return tppInfo;
+    }
+}
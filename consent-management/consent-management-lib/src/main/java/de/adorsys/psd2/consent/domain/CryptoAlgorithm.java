@@ -20,6 +20,8 @@ import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
@@ -31,7 +33,10 @@ public class CryptoAlgorithm {
     @Id
     @Column(name = "algorithm_id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "crypto_algorithm_generator")
-    @SequenceGenerator(name = "crypto_algorithm_generator", sequenceName = "crypto_algorithm_id_seq", allocationSize = 1)
+    @GenericGenerator(name = "crypto_algorithm_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "crypto_algorithm_id_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
     @ApiModelProperty(value = "External Id", required = true, example = "nML0IXWdMa")
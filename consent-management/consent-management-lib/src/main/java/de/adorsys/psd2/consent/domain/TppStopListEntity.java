@@ -18,6 +18,8 @@ package de.adorsys.psd2.consent.domain;
 
 import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.jetbrains.annotations.Nullable;
 
 import javax.persistence.*;
@@ -34,7 +36,10 @@ public class TppStopListEntity extends InstanceDependableEntity {
     @Id
     @Column(name = "id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tpp_stop_list_generator")
-    @SequenceGenerator(name = "tpp_stop_list_generator", sequenceName = "tpp_stop_list_id_seq", allocationSize = 1)
+    @GenericGenerator(name = "tpp_stop_list_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "tpp_stop_list_id_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
     @Column(name = "tpp_authorisation_number", nullable = false)
@@ -52,6 +57,10 @@ public class TppStopListEntity extends InstanceDependableEntity {
     @Column(name = "expiration_timestamp")
     private OffsetDateTime blockingExpirationTimestamp;
 
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_change_timestamp")
+    private OffsetDateTime lastChangeTimestamp;
+
     public void block(@Nullable Duration lockPeriod) {
         this.status = TppStatus.BLOCKED;
         this.blockingExpirationTimestamp = lockPeriod != null
@@ -64,6 +73,12 @@ public class TppStopListEntity extends InstanceDependableEntity {
         this.blockingExpirationTimestamp = null;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void updateLastChangeTimestamp() {
+        lastChangeTimestamp = OffsetDateTime.now();
+    }
+
     public boolean isBlocked() {
         return status == TppStatus.BLOCKED;
     }
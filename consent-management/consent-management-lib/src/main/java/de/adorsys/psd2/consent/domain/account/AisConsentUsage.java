@@ -18,20 +18,26 @@ package de.adorsys.psd2.consent.domain.account;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 
 @Data
 @Entity(name = "ais_consent_usage")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uniq_ais_cons_usage_cons_date", columnNames = {"consent_id", "usage_date"}))
 @NoArgsConstructor
 public class AisConsentUsage {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ais_consent_usage_generator")
-    @SequenceGenerator(name = "ais_consent_usage_generator", sequenceName = "ais_consent_usage_id_seq", allocationSize = 1)
+    @GenericGenerator(name = "ais_consent_usage_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "ais_consent_usage_id_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne
     @JoinColumn(name = "consent_id", nullable = false)
     private AisConsent consent;
 
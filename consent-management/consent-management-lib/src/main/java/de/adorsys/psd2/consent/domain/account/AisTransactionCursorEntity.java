@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.account;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Data
+@Entity(name = "ais_transaction_cursor")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uniq_ais_trn_cursor_account", columnNames = {"consent_id", "resource_id"}))
+@NoArgsConstructor
+public class AisTransactionCursorEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ais_transaction_cursor_generator")
+    @GenericGenerator(name = "ais_transaction_cursor_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "ais_transaction_cursor_id_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")})
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "consent_id", nullable = false)
+    private AisConsent consent;
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Column(name = "entry_reference")
+    private String entryReference;
+
+    @Column(name = "booking_date")
+    private LocalDate bookingDate;
+
+    public AisTransactionCursorEntity(AisConsent consent, String resourceId) {
+        this.consent = consent;
+        this.resourceId = resourceId;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.notification;
+
+public enum NotificationDeliveryState {
+    /**
+     * Notification is waiting for its (next) delivery attempt
+     */
+    PENDING,
+    /**
+     * Notification was accepted by the TPP
+     */
+    DELIVERED,
+    /**
+     * Notification couldn't be delivered within the maximum number of attempts
+     */
+    FAILED
+}
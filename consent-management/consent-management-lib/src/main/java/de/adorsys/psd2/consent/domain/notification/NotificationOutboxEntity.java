@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.notification;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Entry of the transactional outbox: status change of a payment or consent, that is to be sent to the notification URI of the TPP.
+ * Entries are written in the same transaction as the status change and delivered afterwards by the dispatcher.
+ */
+@Data
+@NoArgsConstructor
+@Entity(name = "notification_outbox")
+public class NotificationOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_generator")
+    @GenericGenerator(name = "notification_outbox_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "notification_outbox_id_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")})
+    private Long id;
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Column(name = "resource_type", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private NotificationResourceType resourceType;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "notification_uri", nullable = false)
+    private String notificationUri;
+
+    @Column(name = "tpp_authorisation_number", nullable = false)
+    private String tppAuthorisationNumber;
+
+    @Column(name = "delivery_state", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private NotificationDeliveryState deliveryState = NotificationDeliveryState.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_timestamp", nullable = false)
+    private OffsetDateTime nextAttemptTimestamp;
+
+    @Column(name = "creation_timestamp", nullable = false)
+    private OffsetDateTime creationTimestamp = OffsetDateTime.now();
+
+    public NotificationOutboxEntity(NotificationResourceType resourceType, String resourceId, String status,
+                                    String notificationUri, String tppAuthorisationNumber) {
+        this.resourceType = resourceType;
+        this.resourceId = resourceId;
+        this.status = status;
+        this.notificationUri = notificationUri;
+        this.tppAuthorisationNumber = tppAuthorisationNumber;
+        this.nextAttemptTimestamp = creationTimestamp;
+    }
+}
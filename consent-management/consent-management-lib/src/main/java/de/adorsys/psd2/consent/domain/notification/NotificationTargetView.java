@@ -0,0 +1,31 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.notification;
+
+import lombok.Value;
+
+/**
+ * Projection of a consent or a payment, whose status is changed by a bulk update: its external ID and the notification URI
+ * and authorisation number of its TPP. Bulk updates bypass entity listeners, so their notifications are written from this view.
+ */
+@Value
+public class NotificationTargetView {
+    private String resourceId;
+    private String notificationUri;
+    private String tppAuthorisationNumber;
+}
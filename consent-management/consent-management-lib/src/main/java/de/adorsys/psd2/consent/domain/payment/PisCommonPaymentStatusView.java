@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.domain.payment;
+
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Projection of {@link PisCommonPaymentData}, containing only the status of the payment and the data, needed for
+ * validation of status requests. Payment data, single payments of the common payment and authorisations are not loaded.
+ */
+@Value
+public class PisCommonPaymentStatusView {
+    private Long id;
+    private String paymentId;
+    private PaymentType paymentType;
+    private String paymentProduct;
+    private TransactionStatus transactionStatus;
+    private OffsetDateTime creationTimestamp;
+    private OffsetDateTime statusChangeTimestamp;
+    private TppInfoEntity tppInfo;
+
+    public boolean isConfirmationExpired(long expirationPeriodMs) {
+        return transactionStatus == TransactionStatus.RCVD
+                   && creationTimestamp.plus(expirationPeriodMs, ChronoUnit.MILLIS).isBefore(OffsetDateTime.now());
+    }
+}
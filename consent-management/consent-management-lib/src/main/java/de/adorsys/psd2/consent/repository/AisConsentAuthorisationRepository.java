@@ -17,13 +17,32 @@
 package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.account.AisConsentAuthorization;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
 public interface AisConsentAuthorisationRepository
     extends CrudRepository<AisConsentAuthorization, Long>, JpaSpecificationExecutor<AisConsentAuthorization> {
 
     Optional<AisConsentAuthorization> findByExternalId(String externalId);
+
+    @Modifying
+    @Query(
+        "update ais_consent_authorization a " +
+            "set a.scaStatus = :scaStatus " +
+            "where a.consent.id in (" +
+            "select c.id from ais_consent c " +
+            "where c.consentStatus = :consentStatus " +
+            "and c.creationTimestamp < :createdBefore)"
+    )
+    int updateScaStatusByConsentStatusAndCreatedBefore(@Param("scaStatus") ScaStatus scaStatus,
+                                                       @Param("consentStatus") ConsentStatus consentStatus,
+                                                       @Param("createdBefore") OffsetDateTime createdBefore);
 }
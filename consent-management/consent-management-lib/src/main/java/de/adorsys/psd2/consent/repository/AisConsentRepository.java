@@ -17,19 +17,23 @@
 package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface AisConsentRepository extends CrudRepository<AisConsent, Long>, JpaSpecificationExecutor<AisConsent> {
-    List<AisConsent> findByConsentStatusIn(Set<ConsentStatus> statuses);
-
     Optional<AisConsent> findByExternalId(String externalId);
 
     @Query(
@@ -48,4 +52,68 @@ public interface AisConsentRepository extends CrudRepository<AisConsent, Long>,
                                                        @Param("instanceId") String instanceId,
                                                        @Param("newConsentId") String newConsentId,
                                                        @Param("consentStatuses") Set<ConsentStatus> consentStatuses);
+
+    @Query(
+        "select c.id from ais_consent c " +
+            "where c.id > :lastId " +
+            "and c.consentStatus in :consentStatuses " +
+            "and c.expireDate < :currentDate " +
+            "order by c.id"
+    )
+    List<Long> findExpiredConsentIdsAfter(@Param("lastId") Long lastId,
+                                          @Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                                          @Param("currentDate") LocalDate currentDate,
+                                          Pageable pageable);
+
+    @Query(
+        "select new de.adorsys.psd2.consent.domain.notification.NotificationTargetView(c.externalId, t.notificationUri, t.authorisationNumber) " +
+            "from ais_consent c " +
+            "join c.tppInfo t " +
+            "where c.id in :ids " +
+            "and c.consentStatus in :consentStatuses " +
+            "and c.expireDate < :currentDate " +
+            "and t.notificationUri is not null"
+    )
+    List<NotificationTargetView> findNotificationTargetsOfExpiredConsents(@Param("ids") List<Long> ids,
+                                                                          @Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                                                                          @Param("currentDate") LocalDate currentDate);
+
+    @Transactional
+    @Modifying
+    @Query(
+        "update ais_consent c " +
+            "set c.consentStatus = :newStatus, c.statusChangeTimestamp = :statusChangeTimestamp " +
+            "where c.id in :ids " +
+            "and c.consentStatus in :consentStatuses " +
+            "and c.expireDate < :currentDate"
+    )
+    int updateExpiredConsentStatus(@Param("ids") List<Long> ids,
+                                   @Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                                   @Param("currentDate") LocalDate currentDate,
+                                   @Param("newStatus") ConsentStatus newStatus,
+                                   @Param("statusChangeTimestamp") OffsetDateTime statusChangeTimestamp);
+
+    @Query(
+        "select new de.adorsys.psd2.consent.domain.notification.NotificationTargetView(c.externalId, t.notificationUri, t.authorisationNumber) " +
+            "from ais_consent c " +
+            "join c.tppInfo t " +
+            "where c.consentStatus = :consentStatus " +
+            "and c.creationTimestamp < :createdBefore " +
+            "and t.notificationUri is not null"
+    )
+    List<NotificationTargetView> findNotificationTargetsByConsentStatusAndCreatedBefore(@Param("consentStatus") ConsentStatus consentStatus,
+                                                                                         @Param("createdBefore") OffsetDateTime createdBefore);
+
+    @Modifying
+    @Query(
+        "update ais_consent c " +
+            "set c.consentStatus = :newStatus, c.lastActionDate = :lastActionDate, c.statusChangeTimestamp = :statusChangeTimestamp " +
+            "where c.consentStatus = :consentStatus " +
+            "and c.creationTimestamp < :createdBefore"
+    )
+    int updateConsentStatusByConsentStatusAndCreatedBefore(@Param("newStatus") ConsentStatus newStatus,
+                                                           @Param("lastActionDate") LocalDate lastActionDate,
+                                                           @Param("statusChangeTimestamp") OffsetDateTime statusChangeTimestamp,
+                                                           @Param("consentStatus") ConsentStatus consentStatus,
+                                                           @Param("createdBefore") OffsetDateTime createdBefore);
 }
@@ -18,17 +18,65 @@ package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.persistence.LockModeType;
 import java.time.LocalDate;
 import java.util.Optional;
 
+/**
+ * Usage counters are changed by atomic conditional updates in the transaction of the caller, so that the usage is counted
+ * only if the whole access is committed. Only the row of the first usage of the day is inserted in its own transaction.
+ */
 public interface AisConsentUsageRepository extends CrudRepository<AisConsentUsage, Long> {
-    @Lock(value = LockModeType.OPTIMISTIC_FORCE_INCREMENT)
-    Optional<AisConsentUsage> findWriteByConsentAndUsageDate(AisConsent aisConsent, LocalDate usageDate);
+    @Transactional
+    @Modifying
+    @Query(
+        "update ais_consent_usage u " +
+            "set u.usage = u.usage + 1, u.version = u.version + 1 " +
+            "where u.consent = :consent " +
+            "and u.usageDate = :usageDate " +
+            "and u.usage < :limit"
+    )
+    int incrementUsage(@Param("consent") AisConsent consent,
+                       @Param("usageDate") LocalDate usageDate,
+                       @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(
+        "update ais_consent_usage u " +
+            "set u.usage = 0, u.version = u.version + 1 " +
+            "where u.consent = :consent " +
+            "and u.usageDate = :usageDate"
+    )
+    int resetUsage(@Param("consent") AisConsent consent,
+                   @Param("usageDate") LocalDate usageDate);
+
+    /**
+     * Inserts the usage row of the day in its own transaction, so that the unique index violation caused by a concurrent
+     * insert doesn't break the transaction of the caller. The row should be inserted with zero usage and incremented
+     * afterwards by {@link #incrementUsage(AisConsent, LocalDate, int)}, so that nothing is counted if the caller's
+     * transaction is rolled back. Fails with {@link org.springframework.dao.DataIntegrityViolationException},
+     * if the row has been concurrently inserted by another request
+     *
+     * @param aisConsentUsage usage to be inserted
+     * @return inserted usage
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    default AisConsentUsage insertUsage(AisConsentUsage aisConsentUsage) {
+        return save(aisConsentUsage);
+    }
 
-    @Lock(value = LockModeType.OPTIMISTIC)
-    Optional<AisConsentUsage> findReadByConsentAndUsageDate(AisConsent aisConsent, LocalDate usageDate);
+    @Query(
+        "select u.usage from ais_consent_usage u " +
+            "where u.consent = :consent " +
+            "and u.usageDate = :usageDate"
+    )
+    Optional<Integer> findUsage(@Param("consent") AisConsent consent,
+                                @Param("usageDate") LocalDate usageDate);
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.account.AisTransactionCursorEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Transaction cursors are moved by atomic conditional updates in the transaction of the caller, as reports of the same
+ * account may be served concurrently. Only the empty cursor of the account is inserted in its own transaction.
+ */
+public interface AisTransactionCursorRepository extends CrudRepository<AisTransactionCursorEntity, Long> {
+    Optional<AisTransactionCursorEntity> findByConsentAndResourceId(AisConsent consent, String resourceId);
+
+    /**
+     * Moves the cursor, unless it already points to a later booking date
+     *
+     * @return number of updated cursors
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "update ais_transaction_cursor c " +
+            "set c.entryReference = :entryReference, c.bookingDate = :bookingDate " +
+            "where c.consent = :consent " +
+            "and c.resourceId = :resourceId " +
+            "and (c.bookingDate is null or c.bookingDate <= :bookingDate)"
+    )
+    int updateCursorIfNotBefore(@Param("consent") AisConsent consent,
+                                @Param("resourceId") String resourceId,
+                                @Param("entryReference") String entryReference,
+                                @Param("bookingDate") LocalDate bookingDate);
+
+    /**
+     * Moves the cursor to the given entry reference without the booking date
+     *
+     * @return number of updated cursors
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "update ais_transaction_cursor c " +
+            "set c.entryReference = :entryReference, c.bookingDate = null " +
+            "where c.consent = :consent " +
+            "and c.resourceId = :resourceId"
+    )
+    int updateCursorWithoutBookingDate(@Param("consent") AisConsent consent,
+                                       @Param("resourceId") String resourceId,
+                                       @Param("entryReference") String entryReference);
+
+    /**
+     * Inserts the empty cursor of the account in its own transaction, so that the unique index violation caused by a
+     * concurrent insert doesn't break the transaction of the caller. Fails with
+     * {@link org.springframework.dao.DataIntegrityViolationException}, if the cursor has been concurrently inserted by
+     * another request
+     *
+     * @param cursor empty cursor to be inserted
+     * @return inserted cursor
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    default AisTransactionCursorEntity insertCursor(AisTransactionCursorEntity cursor) {
+        return save(cursor);
+    }
+}
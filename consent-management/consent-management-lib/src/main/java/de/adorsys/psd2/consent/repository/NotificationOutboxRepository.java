@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+public interface NotificationOutboxRepository extends CrudRepository<NotificationOutboxEntity, Long> {
+    List<NotificationOutboxEntity> findByDeliveryStateAndNextAttemptTimestampLessThanEqualOrderByNextAttemptTimestamp(NotificationDeliveryState deliveryState,
+                                                                                                                      OffsetDateTime now,
+                                                                                                                      Pageable pageable);
+
+    /**
+     * Claims the due entry for delivery by moving its next attempt to the end of the lease,
+     * so that other CMS instances don't deliver it at the same time
+     *
+     * @return number of claimed entries: <code>1</code> if the entry was claimed by this call, <code>0</code> otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "update notification_outbox n " +
+            "set n.nextAttemptTimestamp = :leaseUntil " +
+            "where n.id = :id " +
+            "and n.deliveryState = :deliveryState " +
+            "and n.nextAttemptTimestamp <= :now"
+    )
+    int claimForDelivery(@Param("id") Long id,
+                         @Param("deliveryState") NotificationDeliveryState deliveryState,
+                         @Param("now") OffsetDateTime now,
+                         @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    /**
+     * Deletes entries in given delivery states, which were last attempted before given timestamp
+     *
+     * @return number of deleted entries
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "delete from notification_outbox n " +
+            "where n.deliveryState in :deliveryStates " +
+            "and n.nextAttemptTimestamp < :before"
+    )
+    int deleteByDeliveryStateInAndNextAttemptTimestampBefore(@Param("deliveryStates") Set<NotificationDeliveryState> deliveryStates,
+                                                             @Param("before") OffsetDateTime before);
+}
@@ -18,13 +18,32 @@ package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.api.CmsAuthorisationType;
 import de.adorsys.psd2.consent.domain.payment.PisAuthorization;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
 public interface PisAuthorisationRepository extends CrudRepository<PisAuthorization, Long>, JpaSpecificationExecutor<PisAuthorization> {
     Optional<PisAuthorization> findByExternalId(String externalId);
 
     Optional<PisAuthorization> findByExternalIdAndAuthorizationType(String externalId, CmsAuthorisationType authorizationType);
+
+    @Modifying
+    @Query(
+        "update pis_consent_authorization a " +
+            "set a.scaStatus = :scaStatus " +
+            "where a.paymentData.id in (" +
+            "select p.id from pis_common_payment p " +
+            "where p.transactionStatus = :transactionStatus " +
+            "and p.creationTimestamp < :createdBefore)"
+    )
+    int updateScaStatusByPaymentStatusAndCreatedBefore(@Param("scaStatus") ScaStatus scaStatus,
+                                                       @Param("transactionStatus") TransactionStatus transactionStatus,
+                                                       @Param("createdBefore") OffsetDateTime createdBefore);
 }
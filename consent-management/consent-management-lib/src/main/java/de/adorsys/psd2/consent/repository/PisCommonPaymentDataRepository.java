@@ -16,19 +16,62 @@
 
 package de.adorsys.psd2.consent.repository;
 
+import de.adorsys.psd2.consent.domain.PsuData;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 public interface PisCommonPaymentDataRepository extends CrudRepository<PisCommonPaymentData, Long>, JpaSpecificationExecutor<PisCommonPaymentData> {
     Optional<PisCommonPaymentData> findByPaymentIdAndTransactionStatusIn(String paymentId, List<TransactionStatus> status);// todo method should be changed to  findByPaymentIdAndTransactionStatus https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/534
 
     Optional<PisCommonPaymentData> findByPaymentId(String paymentId);
 
-    List<PisCommonPaymentData> findByTransactionStatusIn(Set<TransactionStatus> statuses);
+    @Query(
+        "select new de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView(" +
+            "p.id, p.paymentId, p.paymentType, p.paymentProduct, p.transactionStatus, p.creationTimestamp, p.statusChangeTimestamp, t) " +
+            "from pis_common_payment p " +
+            "left join p.tppInfo t " +
+            "where p.paymentId = :paymentId"
+    )
+    Optional<PisCommonPaymentStatusView> findStatusViewByPaymentId(@Param("paymentId") String paymentId);
+
+    @Query(
+        "select psu from pis_common_payment p " +
+            "join p.psuDataList psu " +
+            "where p.id = :id"
+    )
+    List<PsuData> findPsuDataListById(@Param("id") Long id);
+
+    @Query(
+        "select new de.adorsys.psd2.consent.domain.notification.NotificationTargetView(p.paymentId, t.notificationUri, t.authorisationNumber) " +
+            "from pis_common_payment p " +
+            "join p.tppInfo t " +
+            "where p.transactionStatus = :transactionStatus " +
+            "and p.creationTimestamp < :createdBefore " +
+            "and t.notificationUri is not null"
+    )
+    List<NotificationTargetView> findNotificationTargetsByTransactionStatusAndCreatedBefore(@Param("transactionStatus") TransactionStatus transactionStatus,
+                                                                                            @Param("createdBefore") OffsetDateTime createdBefore);
+
+    @Modifying
+    @Query(
+        "update pis_common_payment p " +
+            "set p.transactionStatus = :newStatus, p.statusChangeTimestamp = :statusChangeTimestamp " +
+            "where p.transactionStatus = :transactionStatus " +
+            "and p.creationTimestamp < :createdBefore"
+    )
+    int updateTransactionStatusByTransactionStatusAndCreatedBefore(@Param("newStatus") TransactionStatus newStatus,
+                                                                   @Param("statusChangeTimestamp") OffsetDateTime statusChangeTimestamp,
+                                                                   @Param("transactionStatus") TransactionStatus transactionStatus,
+                                                                   @Param("createdBefore") OffsetDateTime createdBefore);
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.SchedulerLockEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Lock operations are committed in their own transactions, independently of the transaction of the scheduled task
+ */
+public interface SchedulerLockRepository extends CrudRepository<SchedulerLockEntity, String> {
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(
+        "update scheduler_lock l " +
+            "set l.lockUntil = :lockUntil, l.lockedAt = :now, l.lockedBy = :lockedBy " +
+            "where l.name = :name " +
+            "and l.lockUntil <= :now"
+    )
+    int acquireExpiredLock(@Param("name") String name,
+                           @Param("lockUntil") OffsetDateTime lockUntil,
+                           @Param("now") OffsetDateTime now,
+                           @Param("lockedBy") String lockedBy);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(
+        value = "insert into scheduler_lock (name, lock_until, locked_at, locked_by) " +
+                    "values (:name, :lockUntil, :now, :lockedBy)",
+        nativeQuery = true
+    )
+    int insertLock(@Param("name") String name,
+                   @Param("lockUntil") OffsetDateTime lockUntil,
+                   @Param("now") OffsetDateTime now,
+                   @Param("lockedBy") String lockedBy);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(
+        "update scheduler_lock l " +
+            "set l.lockUntil = :lockUntil " +
+            "where l.name = :name " +
+            "and l.lockedBy = :lockedBy"
+    )
+    int releaseLock(@Param("name") String name,
+                    @Param("lockUntil") OffsetDateTime lockUntil,
+                    @Param("lockedBy") String lockedBy);
+}
@@ -30,4 +30,8 @@ public interface TppStopListRepository extends CrudRepository<TppStopListEntity,
     Optional<TppStopListEntity> findByTppAuthorisationNumberAndNationalAuthorityIdAndInstanceId(@NotNull String tppAuthorisationNumber, @NotNull String nationalAuthorityId, @NotNull String instanceId);
 
     List<TppStopListEntity> findAllByStatusAndBlockingExpirationTimestampLessThanEqual(@NotNull TppStatus tppStatus, @NotNull OffsetDateTime dateTimeToCompare);
+
+    List<TppStopListEntity> findAllByInstanceIdAndStatus(@NotNull String instanceId, @NotNull TppStatus tppStatus);
+
+    List<TppStopListEntity> findAllByInstanceIdAndLastChangeTimestampGreaterThanEqual(@NotNull String instanceId, @NotNull OffsetDateTime changedSince);
 }
@@ -18,25 +18,32 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
+import de.adorsys.psd2.consent.repository.AisConsentAuthorisationRepository;
 import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.service.notification.BulkStatusChangeNotificationService;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.IterableUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AisConsentConfirmationExpirationService {
     private final AisConsentRepository aisConsentRepository;
+    private final AisConsentAuthorisationRepository aisConsentAuthorisationRepository;
     private final AspspProfileService aspspProfileService;
+    private final BulkStatusChangeNotificationService bulkStatusChangeNotificationService;
 
     @Transactional
     public AisConsent checkAndUpdateOnConfirmationExpiration(AisConsent consent) {
@@ -57,15 +64,27 @@ public class AisConsentConfirmationExpirationService {
         return aisConsentRepository.save(obsoleteConsent(consent));
     }
 
+    /**
+     * Expires all consents, that haven't been confirmed within the not confirmed consent expiration period from the ASPSP profile,
+     * and fails their authorisations. Notifications about the expiration are written in the same transaction.
+     *
+     * @return number of expired consents
+     */
     @Transactional
-    public List<AisConsent> updateConsentListOnConfirmationExpiration(List<AisConsent> consents) {
-        return IterableUtils.toList(aisConsentRepository.saveAll(obsoleteConsentList(consents)));
-    }
+    public int updateNotConfirmedConsentsOnConfirmationExpiration() {
+        long expirationPeriodMs = aspspProfileService.getAspspSettings().getNotConfirmedConsentExpirationPeriodMs();
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime createdBefore = now.minus(expirationPeriodMs, ChronoUnit.MILLIS);
+
+        List<NotificationTargetView> notificationTargets = bulkStatusChangeNotificationService.isEnabled()
+                                                               ? aisConsentRepository.findNotificationTargetsByConsentStatusAndCreatedBefore(ConsentStatus.RECEIVED, createdBefore)
+                                                               : Collections.emptyList();
 
-    private List<AisConsent> obsoleteConsentList(List<AisConsent> consents) {
-        return consents.stream()
-                   .map(this::obsoleteConsent)
-                   .collect(Collectors.toList());
+        aisConsentAuthorisationRepository.updateScaStatusByConsentStatusAndCreatedBefore(ScaStatus.FAILED, ConsentStatus.RECEIVED, createdBefore);
+        int updated = aisConsentRepository.updateConsentStatusByConsentStatusAndCreatedBefore(ConsentStatus.EXPIRED, now.toLocalDate(), now,
+                                                                                              ConsentStatus.RECEIVED, createdBefore);
+        bulkStatusChangeNotificationService.addToOutbox(NotificationResourceType.CONSENT, ConsentStatus.EXPIRED.name(), notificationTargets);
+        return updated;
     }
 
     private AisConsent obsoleteConsent(AisConsent consent) {
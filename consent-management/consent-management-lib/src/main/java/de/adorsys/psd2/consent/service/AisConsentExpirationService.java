@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
+import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.service.notification.BulkStatusChangeNotificationService;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class AisConsentExpirationService {
+    private final AisConsentRepository aisConsentRepository;
+    private final BulkStatusChangeNotificationService bulkStatusChangeNotificationService;
+
+    /**
+     * Expires consents with given IDs, which are still in one of given statuses and whose expiration date is before the current date.
+     * Notifications about the expiration are written in the same transaction.
+     *
+     * @return number of expired consents
+     */
+    @Transactional
+    public int expireConsents(List<Long> ids, Set<ConsentStatus> consentStatuses, LocalDate currentDate) {
+        List<NotificationTargetView> notificationTargets = bulkStatusChangeNotificationService.isEnabled()
+                                                               ? aisConsentRepository.findNotificationTargetsOfExpiredConsents(ids, consentStatuses, currentDate)
+                                                               : Collections.emptyList();
+
+        int updated = aisConsentRepository.updateExpiredConsentStatus(ids, consentStatuses, currentDate, ConsentStatus.EXPIRED, OffsetDateTime.now());
+        bulkStatusChangeNotificationService.addToOutbox(NotificationResourceType.CONSENT, ConsentStatus.EXPIRED.name(), notificationTargets);
+        return updated;
+    }
+}
@@ -21,16 +21,19 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.ais.AisAccountAccessInfo;
 import de.adorsys.psd2.consent.api.ais.AisAccountConsent;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisTransactionCursor;
 import de.adorsys.psd2.consent.api.ais.CreateAisConsentRequest;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
 import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.consent.domain.account.AisConsentAction;
+import de.adorsys.psd2.consent.domain.account.AisTransactionCursorEntity;
 import de.adorsys.psd2.consent.domain.account.AspspAccountAccessHolder;
 import de.adorsys.psd2.consent.domain.account.TppAccountAccessHolder;
 import de.adorsys.psd2.consent.repository.AisConsentActionRepository;
 import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.repository.AisTransactionCursorRepository;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.mapper.TppInfoMapper;
@@ -42,6 +45,7 @@ import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -58,6 +62,8 @@ import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.*;
 @Transactional(readOnly = true)
 // TODO temporary solution to switch off Hibernate dirty check. Need to understand why objects are changed here. https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/364
 public class AisConsentServiceInternal implements AisConsentService {
+    private static final int MAX_CURSOR_UPDATE_ATTEMPTS = 3;
+
     private final AisConsentRepository aisConsentRepository;
     private final AisConsentActionRepository aisConsentActionRepository;
     private final AisConsentMapper consentMapper;
@@ -67,6 +73,7 @@ public class AisConsentServiceInternal implements AisConsentService {
     private final TppInfoMapper tppInfoMapper;
     private final CmsPsuService cmsPsuService;
     private final AisConsentUsageService aisConsentUsageService;
+    private final AisTransactionCursorRepository aisTransactionCursorRepository;
 
     /**
      * Create AIS consent
@@ -269,6 +276,53 @@ public class AisConsentServiceInternal implements AisConsentService {
         return true;
     }
 
+    @Override
+    public Optional<AisTransactionCursor> getTransactionCursor(String consentId, String resourceId) {
+        return aisConsentRepository.findByExternalId(consentId)
+                   .flatMap(consent -> aisTransactionCursorRepository.findByConsentAndResourceId(consent, resourceId))
+                   .map(cursor -> new AisTransactionCursor(cursor.getEntryReference(), cursor.getBookingDate()));
+    }
+
+    @Override
+    @Transactional
+    public boolean updateTransactionCursor(String consentId, String resourceId, AisTransactionCursor cursor) {
+        Optional<AisConsent> aisConsentOptional = getActualAisConsent(consentId);
+        if (!aisConsentOptional.isPresent()) {
+            log.info("Consent ID: [{}]. Update transaction cursor failed, because consent is not found or has finalised status",
+                     consentId);
+            return false;
+        }
+
+        AisConsent consent = aisConsentOptional.get();
+
+        // Reports may be served concurrently, so the cursor is moved atomically and never back to an earlier booking
+        for (int attempt = 1; attempt <= MAX_CURSOR_UPDATE_ATTEMPTS; attempt++) {
+            if (moveTransactionCursor(consent, resourceId, cursor) > 0
+                    || aisTransactionCursorRepository.findByConsentAndResourceId(consent, resourceId).isPresent()) {
+                return true;
+            }
+
+            try {
+                aisTransactionCursorRepository.insertCursor(new AisTransactionCursorEntity(consent, resourceId));
+            } catch (DataIntegrityViolationException e) {
+                // The cursor has been inserted by a parallel request
+                log.debug("Consent ID: [{}]. Transaction cursor has been created concurrently", consentId);
+            }
+        }
+
+        log.warn("Consent ID: [{}]. Transaction cursor couldn't be updated after {} attempts",
+                 consentId, MAX_CURSOR_UPDATE_ATTEMPTS);
+        return false;
+    }
+
+    private int moveTransactionCursor(AisConsent consent, String resourceId, AisTransactionCursor cursor) {
+        if (cursor.getBookingDate() == null) {
+            return aisTransactionCursorRepository.updateCursorWithoutBookingDate(consent, resourceId, cursor.getEntryReference());
+        }
+
+        return aisTransactionCursorRepository.updateCursorIfNotBefore(consent, resourceId, cursor.getEntryReference(), cursor.getBookingDate());
+    }
+
     private AisConsent createConsentFromRequest(CreateAisConsentRequest request) {
 
         AisConsent consent = new AisConsent();
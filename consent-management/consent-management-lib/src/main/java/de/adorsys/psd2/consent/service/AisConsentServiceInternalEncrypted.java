@@ -16,13 +16,12 @@
 
 package de.adorsys.psd2.consent.service;
 
-import de.adorsys.psd2.consent.api.ais.AisAccountAccessInfo;
-import de.adorsys.psd2.consent.api.ais.AisAccountConsent;
-import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
-import de.adorsys.psd2.consent.api.ais.CreateAisConsentRequest;
+import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.consent.api.ais.*;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +39,7 @@ import java.util.Optional;
 public class AisConsentServiceInternalEncrypted implements AisConsentServiceEncrypted {
     private final SecurityDataService securityDataService;
     private final AisConsentService aisConsentService;
+    private final AspspDataService aspspDataService;
 
     @Override
     @Transactional
@@ -136,4 +136,59 @@ public class AisConsentServiceInternalEncrypted implements AisConsentServiceEncr
                        return false;
                    });
     }
+
+    @Override
+    public Optional<AisTransactionCursor> getTransactionCursor(String encryptedConsentId, String resourceId) {
+        return securityDataService.decryptId(encryptedConsentId)
+                   .flatMap(consentId -> aisConsentService.getTransactionCursor(consentId, resourceId));
+    }
+
+    @Override
+    @Transactional
+    public boolean updateTransactionCursor(String encryptedConsentId, String resourceId, AisTransactionCursor cursor) {
+        return securityDataService.decryptId(encryptedConsentId)
+                   .map(consentId -> aisConsentService.updateTransactionCursor(consentId, resourceId, cursor))
+                   .orElseGet(() -> {
+                       log.info("Encrypted Consent ID: [{}]. Update transaction cursor failed, couldn't decrypt consent id",
+                                encryptedConsentId);
+                       return false;
+                   });
+    }
+
+    @Override
+    @Transactional
+    public Optional<AisConsentAccessContext> prepareAisAccess(String encryptedConsentId) {
+        return getAisAccountConsentById(encryptedConsentId)
+                   .map(consent -> new AisConsentAccessContext(consent, readAspspConsentData(encryptedConsentId)));
+    }
+
+    @Override
+    @Transactional
+    public boolean completeAisAccess(String encryptedConsentId, AisConsentAccessCompletionRequest request) {
+        boolean completed = true;
+
+        if (request.isUpdateAspspConsentData()) {
+            completed = aspspDataService.updateAspspConsentData(new AspspConsentData(request.getAspspConsentData(), encryptedConsentId));
+        }
+
+        if (request.getActionStatus() != null) {
+            checkConsentAndSaveActionLog(new AisConsentActionRequest(request.getTppId(), encryptedConsentId, request.getActionStatus()));
+        }
+
+        if (request.getTransactionCursor() != null) {
+            completed = updateTransactionCursor(encryptedConsentId, request.getResourceId(), request.getTransactionCursor()) && completed;
+        }
+
+        if (request.isExpireConsent()) {
+            completed = updateConsentStatusById(encryptedConsentId, ConsentStatus.EXPIRED) && completed;
+        }
+
+        return completed;
+    }
+
+    private byte[] readAspspConsentData(String encryptedConsentId) {
+        return aspspDataService.readAspspConsentData(encryptedConsentId)
+                   .map(AspspConsentData::getAspspConsentData)
+                   .orElse(null);
+    }
 }
@@ -20,46 +20,103 @@ import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Daily usage counters of AIS consents. Counters are changed with atomic updates in the database instead of
+ * read-modify-write of the usage entity, so that parallel requests on the same consent (also on different CMS instances)
+ * neither fail with optimistic lock exceptions nor exceed the allowed frequency per day.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AisConsentUsageService {
+    private static final int MAX_INCREMENT_ATTEMPTS = 3;
+
     private final AisConsentUsageRepository aisConsentUsageRepository;
 
-    @Transactional
+    private final LongAdder increments = new LongAdder();
+    private final LongAdder limitReached = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * Increments today's usage of the consent in the current transaction, unless the allowed frequency per day has already
+     * been reached. If there is no usage of the consent today yet, the usage row is created with zero usage first.
+     *
+     * @param aisConsent consent to be used
+     */
     public void incrementUsage(AisConsent aisConsent) {
-        AisConsentUsage aisConsentUsage = getUsage(aisConsent);
-        int usage = aisConsentUsage.getUsage();
-        aisConsentUsage.setUsage(++usage);
-        aisConsentUsageRepository.save(aisConsentUsage);
+        LocalDate today = LocalDate.now();
+        int limit = aisConsent.getAllowedFrequencyPerDay();
+
+        for (int attempt = 1; attempt <= MAX_INCREMENT_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                retries.increment();
+            }
+
+            if (aisConsentUsageRepository.incrementUsage(aisConsent, today, limit) > 0) {
+                increments.increment();
+                return;
+            }
+
+            Optional<Integer> usage = aisConsentUsageRepository.findUsage(aisConsent, today);
+            if (usage.isPresent() && usage.get() >= limit) {
+                limitReached.increment();
+                return;
+            }
+
+            if (limit <= 0) {
+                return;
+            }
+
+            if (usage.isPresent()) {
+                // The usage row has been locked by a parallel request, so the update is retried
+                continue;
+            }
+
+            try {
+                aisConsentUsageRepository.insertUsage(new AisConsentUsage(aisConsent));
+            } catch (DataIntegrityViolationException e) {
+                // Today's usage has been inserted by a parallel request
+                conflicts.increment();
+            }
+        }
+
+        log.warn("Consent ID: [{}]. Usage of the consent couldn't be incremented after {} attempts",
+                 aisConsent.getExternalId(), MAX_INCREMENT_ATTEMPTS);
     }
 
-    @Transactional
     public void resetUsage(AisConsent aisConsent) {
-        AisConsentUsage aisConsentUsage = getUsage(aisConsent);
-        aisConsentUsage.setUsage(0);
-        aisConsentUsageRepository.save(aisConsentUsage);
+        aisConsentUsageRepository.resetUsage(aisConsent, LocalDate.now());
     }
 
-    @Transactional
     public int getUsageCounter(AisConsent aisConsent) {
-        Integer usage = aisConsentUsageRepository.findReadByConsentAndUsageDate(aisConsent, LocalDate.now())
-                            .map(AisConsentUsage::getUsage)
-                            .orElse(0);
+        int usage = aisConsentUsageRepository.findUsage(aisConsent, LocalDate.now())
+                        .orElse(0);
 
         return Math.max(aisConsent.getAllowedFrequencyPerDay() - usage, 0);
     }
 
-    private AisConsentUsage getUsage(AisConsent aisConsent) {
-        return aisConsentUsageRepository.findWriteByConsentAndUsageDate(aisConsent, LocalDate.now())
-                   .orElseGet(() -> {
-                       AisConsentUsage usage = new AisConsentUsage(aisConsent);
-                       aisConsent.addUsage(usage);
-                       return usage;
-                   });
+    public long getIncrementCount() {
+        return increments.sum();
+    }
+
+    public long getLimitReachedCount() {
+        return limitReached.sum();
+    }
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
     }
 }
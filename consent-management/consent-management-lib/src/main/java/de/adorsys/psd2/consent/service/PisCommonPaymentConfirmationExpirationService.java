@@ -17,25 +17,31 @@
 package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
 import de.adorsys.psd2.consent.domain.payment.PisAuthorization;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.repository.PisAuthorisationRepository;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.service.notification.BulkStatusChangeNotificationService;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.collections4.IterableUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PisCommonPaymentConfirmationExpirationService {
     private final PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    private final PisAuthorisationRepository pisAuthorisationRepository;
     private final AspspProfileService aspspProfileService;
+    private final BulkStatusChangeNotificationService bulkStatusChangeNotificationService;
 
     @Transactional
     public PisCommonPaymentData checkAndUpdatePaymentDataOnConfirmationExpiration(PisCommonPaymentData pisCommonPaymentData) {
@@ -58,25 +64,31 @@ public class PisCommonPaymentConfirmationExpirationService {
         return pisCommonPaymentDataRepository.save(pisCommonPaymentData);
     }
 
+    /**
+     * Rejects all payments, that haven't been confirmed within the not confirmed payment expiration period from the ASPSP profile,
+     * and fails their authorisations. Notifications about the rejection are written in the same transaction.
+     *
+     * @return number of rejected payments
+     */
     @Transactional
-    public List<PisCommonPaymentData> updatePaymentDataListOnConfirmationExpiration(List<PisCommonPaymentData> pisCommonPaymentDataList) {
-        return IterableUtils.toList(pisCommonPaymentDataRepository.saveAll(obsoletePaymentDataList(pisCommonPaymentDataList)));
+    public int updateNotConfirmedPaymentsOnConfirmationExpiration() {
+        long expirationPeriodMs = aspspProfileService.getAspspSettings().getNotConfirmedPaymentExpirationPeriodMs();
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime createdBefore = now.minus(expirationPeriodMs, ChronoUnit.MILLIS);
+
+        List<NotificationTargetView> notificationTargets = bulkStatusChangeNotificationService.isEnabled()
+                                                               ? pisCommonPaymentDataRepository.findNotificationTargetsByTransactionStatusAndCreatedBefore(TransactionStatus.RCVD, createdBefore)
+                                                               : Collections.emptyList();
+
+        pisAuthorisationRepository.updateScaStatusByPaymentStatusAndCreatedBefore(ScaStatus.FAILED, TransactionStatus.RCVD, createdBefore);
+        int updated = pisCommonPaymentDataRepository.updateTransactionStatusByTransactionStatusAndCreatedBefore(TransactionStatus.RJCT, now,
+                                                                                                                TransactionStatus.RCVD, createdBefore);
+        bulkStatusChangeNotificationService.addToOutbox(NotificationResourceType.PAYMENT, TransactionStatus.RJCT.name(), notificationTargets);
+        return updated;
     }
 
     private void failAuthorisation(PisAuthorization authorisation) {
         authorisation.setScaStatus(ScaStatus.FAILED);
         authorisation.setRedirectUrlExpirationTimestamp(OffsetDateTime.now());
     }
-
-    private List<PisCommonPaymentData> obsoletePaymentDataList(List<PisCommonPaymentData> pisCommonPaymentDataList) {
-        return pisCommonPaymentDataList.stream()
-                   .map(this::obsoletePaymentData)
-                   .collect(Collectors.toList());
-    }
-
-    private PisCommonPaymentData obsoletePaymentData(PisCommonPaymentData pisCommonPaymentData) {
-        pisCommonPaymentData.setTransactionStatus(TransactionStatus.RJCT);
-        pisCommonPaymentData.getAuthorizations().forEach(auth -> auth.setScaStatus(ScaStatus.FAILED));
-        return pisCommonPaymentData;
-    }
 }
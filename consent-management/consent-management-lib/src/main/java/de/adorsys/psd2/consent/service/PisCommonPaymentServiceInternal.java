@@ -23,12 +23,14 @@ import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.*;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.ScaMethod;
 import de.adorsys.psd2.consent.domain.payment.PisAuthorization;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.consent.repository.PisAuthorisationRepository;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.repository.PisPaymentDataRepository;
@@ -120,6 +122,30 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
                    .flatMap(pisCommonPaymentMapper::mapToPisCommonPaymentResponse);
     }
 
+    /**
+     * Reads status of pis common payment together with the data, needed for validation of status requests.
+     * Payment data and single payments are not loaded.
+     *
+     * @param paymentId String representation of pis payment identifier
+     * @return Response containing status information about pis common payment
+     */
+    @Override
+    @Transactional
+    public Optional<PisCommonPaymentStatusInfo> getCommonPaymentStatusInfoById(String paymentId) {
+        Optional<PisCommonPaymentStatusView> statusView = pisCommonPaymentDataRepository.findStatusViewByPaymentId(paymentId);
+        long expirationPeriodMs = aspspProfileService.getAspspSettings().getNotConfirmedPaymentExpirationPeriodMs();
+
+        if (statusView.isPresent() && statusView.get().isConfirmationExpired(expirationPeriodMs)) {
+            // Expiration fails authorisations of the payment, so the whole entity has to be loaded in this rare case
+            pisCommonPaymentDataRepository.findByPaymentId(paymentId)
+                .ifPresent(pisCommonPaymentConfirmationExpirationService::updatePaymentDataOnConfirmationExpiration);
+            statusView = pisCommonPaymentDataRepository.findStatusViewByPaymentId(paymentId);
+        }
+
+        return statusView
+                   .map(view -> pisCommonPaymentMapper.mapToPisCommonPaymentStatusInfo(view, pisCommonPaymentDataRepository.findPsuDataListById(view.getId())));
+    }
+
     /**
      * Updates pis common payment status by payment identifier
      *
@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.*;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
@@ -67,6 +68,13 @@ public class PisCommonPaymentServiceInternalEncrypted implements PisCommonPaymen
                    .flatMap(pisCommonPaymentService::getCommonPaymentById);
     }
 
+    @Override
+    @Transactional
+    public Optional<PisCommonPaymentStatusInfo> getCommonPaymentStatusInfoById(String encryptedPaymentId) {
+        return securityDataService.decryptId(encryptedPaymentId)
+                   .flatMap(pisCommonPaymentService::getCommonPaymentStatusInfoById);
+    }
+
     @Override
     @Transactional
     public Optional<Boolean> updateCommonPaymentStatusById(String encryptedPaymentId, TransactionStatus status) {
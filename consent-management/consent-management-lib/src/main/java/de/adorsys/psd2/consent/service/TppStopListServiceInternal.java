@@ -16,22 +16,31 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.TppStopListChanges;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.mapper.TppStopListMapper;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
 import de.adorsys.psd2.xs2a.core.tpp.TppUniqueParamsHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TppStopListServiceInternal implements TppStopListService {
     private final TppStopListRepository tppStopListRepository;
+    private final TppStopListMapper tppStopListMapper;
 
     @Value("${cms.service.instance-id:UNDEFINED}")
     private String serviceInstanceId;
@@ -49,4 +58,18 @@ public class TppStopListServiceInternal implements TppStopListService {
                    })
                    .orElse(false);
     }
+
+    @Override
+    public TppStopListChanges getTppStopListChanges(@Nullable OffsetDateTime changedSince) {
+        // Timestamp is taken before the query, so that changes made during the query are returned by the next request
+        OffsetDateTime timestamp = OffsetDateTime.now();
+        List<TppStopListEntity> changedEntities = changedSince == null
+                                                      ? tppStopListRepository.findAllByInstanceIdAndStatus(serviceInstanceId, TppStatus.BLOCKED)
+                                                      : tppStopListRepository.findAllByInstanceIdAndLastChangeTimestampGreaterThanEqual(serviceInstanceId, changedSince);
+
+        List<TppStopListRecord> records = changedEntities.stream()
+                                              .map(tppStopListMapper::mapToTppStopListRecord)
+                                              .collect(Collectors.toList());
+        return new TppStopListChanges(timestamp, records);
+    }
 }
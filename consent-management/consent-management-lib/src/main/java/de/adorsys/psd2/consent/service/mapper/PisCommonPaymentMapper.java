@@ -21,7 +21,9 @@ import de.adorsys.psd2.consent.api.pis.CmsRemittance;
 import de.adorsys.psd2.consent.api.pis.PisPayment;
 import de.adorsys.psd2.consent.api.pis.authorisation.GetPisAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.payment.*;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
@@ -126,6 +128,18 @@ public class PisCommonPaymentMapper {
                    });
     }
 
+    public PisCommonPaymentStatusInfo mapToPisCommonPaymentStatusInfo(PisCommonPaymentStatusView statusView, List<PsuData> psuDataList) {
+        PisCommonPaymentStatusInfo statusInfo = new PisCommonPaymentStatusInfo();
+        statusInfo.setExternalId(statusView.getPaymentId());
+        statusInfo.setPaymentType(statusView.getPaymentType());
+        statusInfo.setPaymentProduct(statusView.getPaymentProduct());
+        statusInfo.setTransactionStatus(statusView.getTransactionStatus());
+        statusInfo.setStatusChangeTimestamp(statusView.getStatusChangeTimestamp());
+        statusInfo.setTppInfo(tppInfoMapper.mapToTppInfo(statusView.getTppInfo()));
+        statusInfo.setPsuData(psuDataMapper.mapToPsuIdDataList(psuDataList));
+        return statusInfo;
+    }
+
     private PisPaymentInfo mapToPisPaymentInfo(PisCommonPaymentData paymentData) {
         return Optional.ofNullable(paymentData)
                    .map(dta -> {
@@ -51,6 +51,7 @@ public class TppInfoMapper {
                            tppInfoEntity.setRedirectUri(tppRedirectUri.getUri());
                            tppInfoEntity.setNokRedirectUri(tppRedirectUri.getNokUri());
                        }
+                       tppInfoEntity.setNotificationUri(tin.getTppNotificationUri());
 
                        return tppInfoEntity;
                    }).orElse(null);
@@ -77,6 +78,7 @@ public class TppInfoMapper {
                                                                               tpp.getNokRedirectUri());
                            tppInfo.setTppRedirectUri(tppRedirectUri);
                        }
+                       tppInfo.setTppNotificationUri(tpp.getNotificationUri());
 
                        return tppInfo;
                    }).orElse(null);
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes status notifications of consents and payments, whose status is changed by bulk updates.
+ * Bulk updates don't produce entity events, so {@link StatusChangeNotificationEventListener} doesn't see them.
+ * Targets of the update are read before the update and their notifications are written in the transaction of the update.
+ */
+@Service
+public class BulkStatusChangeNotificationService {
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final boolean enabled;
+
+    public BulkStatusChangeNotificationService(NotificationOutboxRepository notificationOutboxRepository,
+                                               @Value("${cms.notification.enabled:false}") boolean enabled) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return <code>true</code> if status notifications are enabled, so that targets of the bulk update have to be read
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds notifications about the new status of given resources to the outbox. Must be called in the transaction of the bulk update.
+     *
+     * @param resourceType type of the updated resources
+     * @param status       new status of the resources
+     * @param targets      updated resources, resources without notification URI are skipped
+     */
+    public void addToOutbox(NotificationResourceType resourceType, String status, List<NotificationTargetView> targets) {
+        if (!enabled) {
+            return;
+        }
+
+        List<NotificationOutboxEntity> outboxEntries = targets.stream()
+                                                           .filter(t -> StringUtils.isNotBlank(t.getNotificationUri()))
+                                                           .map(t -> new NotificationOutboxEntity(resourceType, t.getResourceId(), status,
+                                                                                                  t.getNotificationUri(),
+                                                                                                  t.getTppAuthorisationNumber()))
+                                                           .collect(Collectors.toList());
+        if (!outboxEntries.isEmpty()) {
+            notificationOutboxRepository.saveAll(outboxEntries);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers status notifications from the notification outbox to the TPPs.
+ * <p>
+ * Due entries are read in batches and grouped by TPP. Entries of one TPP are delivered by at most
+ * <code>cms.notification.dispatch.max-concurrent-per-tpp</code> workers, so that a slow TPP can't occupy the whole pool.
+ * Each entry is claimed before its delivery by moving its next attempt to the end of the lease, so several CMS instances
+ * may run the dispatcher at the same time. Failed deliveries are retried with exponential backoff until
+ * <code>cms.notification.dispatch.max-attempts</code> is reached.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+    private static final String REQUEST_ID_HEADER = "X-Request-ID";
+    private static final int MAX_BACKOFF_SHIFT = 30;
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final RestTemplate restTemplate;
+    private final ExecutorService deliveryExecutor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxConcurrentDeliveriesPerTpp;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    public NotificationDispatcher(NotificationOutboxRepository notificationOutboxRepository,
+                                  @Value("${cms.notification.enabled:false}") boolean enabled,
+                                  @Value("${cms.notification.dispatch.batch-size:100}") int batchSize,
+                                  @Value("${cms.notification.dispatch.pool-size:10}") int poolSize,
+                                  @Value("${cms.notification.dispatch.max-concurrent-per-tpp:2}") int maxConcurrentDeliveriesPerTpp,
+                                  @Value("${cms.notification.dispatch.max-attempts:10}") int maxAttempts,
+                                  @Value("${cms.notification.dispatch.backoff.initial.ms:1000}") long initialBackoffMs,
+                                  @Value("${cms.notification.dispatch.backoff.max.ms:3600000}") long maxBackoffMs,
+                                  @Value("${cms.notification.dispatch.timeout.ms:5000}") int timeoutMs) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxConcurrentDeliveriesPerTpp = maxConcurrentDeliveriesPerTpp;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        // Covers connecting and reading, so that the entry isn't claimed by another instance during the delivery
+        this.leaseMs = 4L * timeoutMs;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.deliveryExecutor = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("notification-dispatcher-"));
+    }
+
+    @Scheduled(fixedDelayString = "${cms.notification.dispatch.delay.ms:5000}")
+    public void dispatchDueNotifications() {
+        if (!enabled) {
+            return;
+        }
+
+        List<NotificationOutboxEntity> dueEntries = notificationOutboxRepository.findByDeliveryStateAndNextAttemptTimestampLessThanEqualOrderByNextAttemptTimestamp(NotificationDeliveryState.PENDING,
+                                                                                                                                                                   OffsetDateTime.now(),
+                                                                                                                                                                   PageRequest.of(0, batchSize));
+        if (dueEntries.isEmpty()) {
+            return;
+        }
+
+        Map<String, Queue<NotificationOutboxEntity>> entriesByTpp = dueEntries.stream()
+                                                                        .collect(Collectors.groupingBy(NotificationOutboxEntity::getTppAuthorisationNumber,
+                                                                                                       LinkedHashMap::new,
+                                                                                                       Collectors.toCollection(ConcurrentLinkedQueue::new)));
+        List<Future<?>> workers = new ArrayList<>();
+        entriesByTpp.values().forEach(tppEntries -> {
+            int workerCount = Math.min(maxConcurrentDeliveriesPerTpp, tppEntries.size());
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(deliveryExecutor.submit(() -> deliverAll(tppEntries)));
+            }
+        });
+        workers.forEach(this::awaitWorker);
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailedAttemptCount() {
+        return failedAttempts.sum();
+    }
+
+    public long getAbandonedCount() {
+        return abandoned.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    private void deliverAll(Queue<NotificationOutboxEntity> tppEntries) {
+        NotificationOutboxEntity entry;
+        while ((entry = tppEntries.poll()) != null) {
+            OffsetDateTime now = OffsetDateTime.now();
+            int claimed = notificationOutboxRepository.claimForDelivery(entry.getId(), NotificationDeliveryState.PENDING,
+                                                                        now, now.plus(leaseMs, ChronoUnit.MILLIS));
+            if (claimed > 0) {
+                deliver(entry);
+            }
+        }
+    }
+
+    private void deliver(NotificationOutboxEntity entry) {
+        entry.setAttempts(entry.getAttempts() + 1);
+
+        if (send(entry)) {
+            entry.setDeliveryState(NotificationDeliveryState.DELIVERED);
+            delivered.increment();
+        } else if (entry.getAttempts() >= maxAttempts) {
+            log.warn("Notification {} of {} {} is abandoned after {} attempts",
+                     entry.getId(), entry.getResourceType(), entry.getResourceId(), entry.getAttempts());
+            entry.setDeliveryState(NotificationDeliveryState.FAILED);
+            abandoned.increment();
+        } else {
+            entry.setNextAttemptTimestamp(OffsetDateTime.now().plus(getBackoffMs(entry.getAttempts()), ChronoUnit.MILLIS));
+            failedAttempts.increment();
+        }
+
+        notificationOutboxRepository.save(entry);
+    }
+
+    private boolean send(NotificationOutboxEntity entry) {
+        URI notificationUri;
+        try {
+            notificationUri = URI.create(entry.getNotificationUri());
+        } catch (IllegalArgumentException e) {
+            log.warn("Notification {} has malformed notification URI: {}", entry.getId(), e.getMessage());
+            return false;
+        }
+        if (!"https".equalsIgnoreCase(notificationUri.getScheme()) && !"http".equalsIgnoreCase(notificationUri.getScheme())) {
+            log.warn("Notification {} has unsupported scheme of notification URI: {}", entry.getId(), notificationUri.getScheme());
+            return false;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(REQUEST_ID_HEADER, UUID.randomUUID().toString());
+        StatusNotification notification = new StatusNotification(entry.getResourceType(), entry.getResourceId(), entry.getStatus());
+
+        try {
+            ResponseEntity<Void> response = restTemplate.postForEntity(notificationUri, new HttpEntity<>(notification, headers), Void.class);
+            return response.getStatusCode().is2xxSuccessful();
+        } catch (RestClientException e) {
+            log.info("Notification {} couldn't be delivered on attempt {}: {}", entry.getId(), entry.getAttempts(), e.getMessage());
+            return false;
+        }
+    }
+
+    private long getBackoffMs(int attempts) {
+        long backoffMs = initialBackoffMs << Math.min(attempts - 1, MAX_BACKOFF_SHIFT);
+        return Math.min(backoffMs, maxBackoffMs);
+    }
+
+    private void awaitWorker(Future<?> worker) {
+        try {
+            worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Notification delivery failed: {}", e.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Writes status changes of payments and consents, created with TPP notification URI, into the notification outbox.
+ * The change is detected on the same flush, in which <code>@PreUpdate</code> hooks of the entities update the timestamp
+ * of the status change. The outbox entry is inserted right before the commit on the connection of the updating session,
+ * so it is committed or rolled back together with the status change.
+ */
+@Component
+public class StatusChangeNotificationEventListener implements PostUpdateEventListener {
+    private static final String TRANSACTION_STATUS_PROPERTY = "transactionStatus";
+    private static final String CONSENT_STATUS_PROPERTY = "consentStatus";
+
+    private final boolean enabled;
+
+    public StatusChangeNotificationEventListener(@Value("${cms.notification.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        Object entity = event.getEntity();
+        if (entity instanceof PisCommonPaymentData && isStatusChanged(event, TRANSACTION_STATUS_PROPERTY)) {
+            PisCommonPaymentData payment = (PisCommonPaymentData) entity;
+            addToOutbox(event, NotificationResourceType.PAYMENT, payment.getPaymentId(),
+                        payment.getTransactionStatus().name(), payment.getTppInfo());
+        } else if (entity instanceof AisConsent && isStatusChanged(event, CONSENT_STATUS_PROPERTY)) {
+            AisConsent consent = (AisConsent) entity;
+            addToOutbox(event, NotificationResourceType.CONSENT, consent.getExternalId(),
+                        consent.getConsentStatus().name(), consent.getTppInfo());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private boolean isStatusChanged(PostUpdateEvent event, String statusProperty) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return false;
+        }
+
+        String[] propertyNames = event.getPersister()
+                                     .getEntityMetamodel()
+                                     .getPropertyNames();
+        int statusPropertyIndex = ArrayUtils.indexOf(propertyNames, statusProperty);
+        return statusPropertyIndex >= 0
+                   && !Objects.equals(oldState[statusPropertyIndex], event.getState()[statusPropertyIndex]);
+    }
+
+    private void addToOutbox(PostUpdateEvent event, NotificationResourceType resourceType, String resourceId,
+                             String status, TppInfoEntity tppInfo) {
+        if (tppInfo == null || StringUtils.isBlank(tppInfo.getNotificationUri())) {
+            return;
+        }
+
+        NotificationOutboxEntity outboxEntry = new NotificationOutboxEntity(resourceType, resourceId, status,
+                                                                            tppInfo.getNotificationUri(),
+                                                                            tppInfo.getAuthorisationNumber());
+        event.getSession()
+            .getActionQueue()
+            .registerProcess(session -> saveInTransactionOf(session, outboxEntry));
+    }
+
+    private void saveInTransactionOf(SessionImplementor session, NotificationOutboxEntity outboxEntry) {
+        Session outboxSession = ((Session) session).sessionWithOptions()
+                                    .connection()
+                                    .autoClose(false)
+                                    .openSession();
+        try {
+            outboxSession.save(outboxEntry);
+            outboxSession.flush();
+        } finally {
+            outboxSession.close();
+        }
+    }
+}
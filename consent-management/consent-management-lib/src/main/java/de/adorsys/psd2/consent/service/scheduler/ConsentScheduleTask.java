@@ -16,55 +16,91 @@
 
 package de.adorsys.psd2.consent.service.scheduler;
 
-import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.service.AisConsentExpirationService;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.time.LocalDate;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.RECEIVED;
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
 
-
+/**
+ * Expires AIS consents by date.
+ * Consents are processed in chunks of IDs, read with keyset pagination and updated by set-based statements,
+ * each chunk in its own transaction together with notifications about the expiration.
+ * As the update re-checks the status and the expiration date, the task is safe even if several CMS instances
+ * run it at the same time, e.g. with disabled scheduler lock.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ConsentScheduleTask {
+    private static final String LOCK_NAME = "consent-expiration";
+    private static final Set<ConsentStatus> EXPIRABLE_STATUSES = EnumSet.of(RECEIVED, VALID);
+
     private final AisConsentRepository aisConsentRepository;
+    private final AisConsentExpirationService aisConsentExpirationService;
+    private final LockedTaskExecutor lockedTaskExecutor;
+    private final int chunkSize;
+
+    private final LongAdder expiredConsents = new LongAdder();
+    private final LongAdder processedChunks = new LongAdder();
+
+    public ConsentScheduleTask(AisConsentRepository aisConsentRepository,
+                               AisConsentExpirationService aisConsentExpirationService,
+                               LockedTaskExecutor lockedTaskExecutor,
+                               @Value("${consent.expiration.chunk-size:1000}") int chunkSize) {
+        this.aisConsentRepository = aisConsentRepository;
+        this.aisConsentExpirationService = aisConsentExpirationService;
+        this.lockedTaskExecutor = lockedTaskExecutor;
+        this.chunkSize = chunkSize;
+    }
 
     @Scheduled(cron = "${consent.cron.expression}")
-    @Transactional
     public void checkConsentStatus() {
+        lockedTaskExecutor.execute(LOCK_NAME, this::expireConsentsByDate);
+    }
+
+    private void expireConsentsByDate() {
         log.info("Consent schedule task is run!");
 
-        List<AisConsent> availableConsents = Optional.ofNullable(aisConsentRepository.findByConsentStatusIn(EnumSet.of(RECEIVED, VALID)))
-                                                 .orElse(Collections.emptyList());
-        aisConsentRepository.saveAll(updateConsent(availableConsents));
-    }
+        LocalDate currentDate = LocalDate.now();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        long lastId = 0;
+        int expiredInRun = 0;
+
+        List<Long> ids = aisConsentRepository.findExpiredConsentIdsAfter(lastId, EXPIRABLE_STATUSES, currentDate, chunk);
+        while (!ids.isEmpty()) {
+            int expiredInChunk = aisConsentExpirationService.expireConsents(ids, EXPIRABLE_STATUSES, currentDate);
+            expiredInRun += expiredInChunk;
+            expiredConsents.add(expiredInChunk);
+            processedChunks.increment();
+            log.debug("Consent schedule task: {} consents expired in chunk, {} in total", expiredInChunk, expiredInRun);
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+            ids = aisConsentRepository.findExpiredConsentIdsAfter(lastId, EXPIRABLE_STATUSES, currentDate, chunk);
+        }
 
-    private List<AisConsent> updateConsent(List<AisConsent> availableConsents) {
-        return availableConsents.stream()
-                   .map(this::updateConsentParameters)
-                   .collect(Collectors.toList());
+        log.info("Consent schedule task is finished, {} consents expired", expiredInRun);
     }
 
-    private AisConsent updateConsentParameters(AisConsent consent) {
-        consent.setConsentStatus(updateConsentStatus(consent));
-        return consent;
+    public long getExpiredConsentCount() {
+        return expiredConsents.sum();
     }
 
-    private ConsentStatus updateConsentStatus(AisConsent consent) {
-        return consent.isExpiredByDate()
-                   ? ConsentStatus.EXPIRED
-                   : consent.getConsentStatus();
+    public long getProcessedChunkCount() {
+        return processedChunks.sum();
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs scheduled tasks on one CMS instance at a time.
+ * Before running the task, the instance leases the lock with the name of the task in <code>scheduler_lock</code> table.
+ * If the lock is held by another instance, the task is skipped for this tick.
+ * The lease is limited by <code>cms.scheduler.lock.at-most-for.ms</code>, so that the lock is taken over by another instance
+ * if the holder dies. After the run, the lock is kept for at least <code>cms.scheduler.lock.at-least-for.ms</code>
+ * from the start of the run, so that other instances with slightly shifted clocks don't repeat the run in the same tick.
+ */
+@Slf4j
+@Component
+public class LockedTaskExecutor {
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final boolean enabled;
+    private final long lockAtMostForMs;
+    private final long lockAtLeastForMs;
+    private final String instanceId;
+    private final Map<String, ScheduledTaskStatistics> statistics = new ConcurrentHashMap<>();
+
+    public LockedTaskExecutor(SchedulerLockRepository schedulerLockRepository,
+                              @Value("${cms.scheduler.lock.enabled:true}") boolean enabled,
+                              @Value("${cms.scheduler.lock.at-most-for.ms:1800000}") long lockAtMostForMs,
+                              @Value("${cms.scheduler.lock.at-least-for.ms:30000}") long lockAtLeastForMs) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.enabled = enabled;
+        this.lockAtMostForMs = lockAtMostForMs;
+        this.lockAtLeastForMs = lockAtLeastForMs;
+        this.instanceId = resolveInstanceId();
+    }
+
+    /**
+     * Runs the task, if the lock with given name can be acquired by this instance.
+     * If called within a transaction, the lock is released after its completion.
+     *
+     * @param lockName name of the lock, unique for the task
+     * @param task     task to be run
+     * @return <code>true</code> if the task was run by this instance, <code>false</code> if it was skipped
+     */
+    public boolean execute(String lockName, Runnable task) {
+        ScheduledTaskStatistics taskStatistics = statistics.computeIfAbsent(lockName, name -> new ScheduledTaskStatistics());
+        OffsetDateTime start = OffsetDateTime.now();
+
+        if (enabled && !acquireLock(lockName, start)) {
+            log.info("Scheduled task {} is skipped, as it is locked by another instance", lockName);
+            taskStatistics.recordSkip();
+            return false;
+        }
+
+        boolean failed = true;
+        try {
+            task.run();
+            failed = false;
+        } finally {
+            long durationMs = System.currentTimeMillis() - start.toInstant().toEpochMilli();
+            taskStatistics.recordExecution(start, durationMs, failed);
+            log.info("Scheduled task {} took {} ms", lockName, durationMs);
+
+            if (enabled) {
+                releaseLockAfterTransaction(lockName, start);
+            }
+        }
+        return true;
+    }
+
+    public Map<String, ScheduledTaskStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private boolean acquireLock(String lockName, OffsetDateTime now) {
+        OffsetDateTime lockUntil = now.plus(Duration.ofMillis(lockAtMostForMs));
+        if (schedulerLockRepository.acquireExpiredLock(lockName, lockUntil, now, instanceId) > 0) {
+            return true;
+        }
+
+        if (schedulerLockRepository.existsById(lockName)) {
+            return false;
+        }
+
+        try {
+            return schedulerLockRepository.insertLock(lockName, lockUntil, now, instanceId) > 0;
+        } catch (DataIntegrityViolationException e) {
+            // The lock has just been inserted by another instance
+            return false;
+        }
+    }
+
+    private void releaseLockAfterTransaction(String lockName, OffsetDateTime start) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    releaseLock(lockName, start);
+                }
+            });
+        } else {
+            releaseLock(lockName, start);
+        }
+    }
+
+    private void releaseLock(String lockName, OffsetDateTime start) {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime lockAtLeastUntil = start.plus(Duration.ofMillis(lockAtLeastForMs));
+        OffsetDateTime lockUntil = lockAtLeastUntil.isAfter(now)
+                                       ? lockAtLeastUntil
+                                       : now;
+        try {
+            schedulerLockRepository.releaseLock(lockName, lockUntil, instanceId);
+        } catch (RuntimeException e) {
+            log.error("Scheduler lock {} couldn't be released and will expire on its own: {}", lockName, e.getMessage());
+        }
+    }
+
+    private String resolveInstanceId() {
+        String suffix = UUID.randomUUID().toString();
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (UnknownHostException e) {
+            return suffix;
+        }
+    }
+}
@@ -16,39 +16,32 @@
 
 package de.adorsys.psd2.consent.service.scheduler;
 
-import de.adorsys.psd2.consent.domain.account.AisConsent;
-import de.adorsys.psd2.consent.repository.AisConsentRepository;
 import de.adorsys.psd2.consent.service.AisConsentConfirmationExpirationService;
-import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.EnumSet;
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class NotConfirmedConsentExpirationScheduleTask {
+    private static final String LOCK_NAME = "not-confirmed-consent-expiration";
+
     private final AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
-    private final AisConsentRepository aisConsentRepository;
+    private final LockedTaskExecutor lockedTaskExecutor;
 
     @Scheduled(cron = "${not-confirmed-consent-expiration.cron.expression}")
     @Transactional
     public void obsoleteNotConfirmedConsentIfExpired() {
-        log.info("Not confirmed consent expiration schedule task is run!");
+        lockedTaskExecutor.execute(LOCK_NAME, this::obsoleteNotConfirmedConsents);
+    }
 
-        List<AisConsent> expiredNotConfirmedConsents = aisConsentRepository.findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED))
-                                       .stream()
-                                       .filter(aisConsentConfirmationExpirationService::isConsentConfirmationExpired)
-                                       .collect(Collectors.toList());
+    private void obsoleteNotConfirmedConsents() {
+        log.info("Not confirmed consent expiration schedule task is run!");
 
-        if (!expiredNotConfirmedConsents.isEmpty()) {
-            aisConsentConfirmationExpirationService.updateConsentListOnConfirmationExpiration(expiredNotConfirmedConsents);
-        }
+        int updated = aisConsentConfirmationExpirationService.updateNotConfirmedConsentsOnConfirmationExpiration();
+        log.info("{} not confirmed consents expired", updated);
     }
 }
@@ -16,39 +16,32 @@
 
 package de.adorsys.psd2.consent.service.scheduler;
 
-import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
-import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
-import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.EnumSet;
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class NotConfirmedPaymentExpirationScheduleTask {
+    private static final String LOCK_NAME = "not-confirmed-payment-expiration";
+
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
-    private final PisCommonPaymentDataRepository paymentDataRepository;
+    private final LockedTaskExecutor lockedTaskExecutor;
 
     @Scheduled(cron = "${not-confirmed-payment-expiration.cron.expression}")
     @Transactional
     public void obsoleteNotConfirmedPaymentIfExpired() {
-        log.info("Not confirmed payment expiration schedule task is run!");
+        lockedTaskExecutor.execute(LOCK_NAME, this::obsoleteNotConfirmedPayments);
+    }
 
-        List<PisCommonPaymentData> expiredNotConfirmedPaymentDatas = paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD))
-                                                                         .stream()
-                                                                         .filter(pisCommonPaymentConfirmationExpirationService::isPaymentDataOnConfirmationExpired)
-                                                                         .collect(Collectors.toList());
+    private void obsoleteNotConfirmedPayments() {
+        log.info("Not confirmed payment expiration schedule task is run!");
 
-        if (!expiredNotConfirmedPaymentDatas.isEmpty()) {
-            pisCommonPaymentConfirmationExpirationService.updatePaymentDataListOnConfirmationExpiration(expiredNotConfirmedPaymentDatas);
-        }
+        int updated = pisCommonPaymentConfirmationExpirationService.updateNotConfirmedPaymentsOnConfirmationExpiration();
+        log.info("{} not confirmed payments rejected", updated);
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes finished entries of the notification outbox, so that the table doesn't grow with every status change.
+ * Delivered and failed entries are kept for <code>cms.notification.retention.ms</code> after their last delivery attempt,
+ * pending entries are never deleted.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxPurgeScheduleTask {
+    private static final String LOCK_NAME = "notification-outbox-purge";
+    private static final Set<NotificationDeliveryState> FINISHED_STATES = EnumSet.of(NotificationDeliveryState.DELIVERED,
+                                                                                     NotificationDeliveryState.FAILED);
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final LockedTaskExecutor lockedTaskExecutor;
+    private final long retentionMs;
+
+    private final LongAdder purgedNotifications = new LongAdder();
+
+    public NotificationOutboxPurgeScheduleTask(NotificationOutboxRepository notificationOutboxRepository,
+                                               LockedTaskExecutor lockedTaskExecutor,
+                                               @Value("${cms.notification.retention.ms:604800000}") long retentionMs) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.lockedTaskExecutor = lockedTaskExecutor;
+        this.retentionMs = retentionMs;
+    }
+
+    @Scheduled(cron = "${cms.notification.purge.cron.expression:0 30 * * * *}")
+    public void purgeFinishedNotifications() {
+        lockedTaskExecutor.execute(LOCK_NAME, this::deleteFinishedNotifications);
+    }
+
+    public long getPurgedNotificationCount() {
+        return purgedNotifications.sum();
+    }
+
+    private void deleteFinishedNotifications() {
+        log.info("Notification outbox purge schedule task is run!");
+
+        OffsetDateTime before = OffsetDateTime.now().minus(retentionMs, ChronoUnit.MILLIS);
+        int deleted = notificationOutboxRepository.deleteByDeliveryStateInAndNextAttemptTimestampBefore(FINISHED_STATES, before);
+        purgedNotifications.add(deleted);
+        log.info("{} finished notifications purged", deleted);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run statistics of one scheduled task on the current CMS instance
+ */
+public class ScheduledTaskStatistics {
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder skips = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile OffsetDateTime lastRunStart;
+    private volatile long lastRunDurationMs;
+
+    void recordExecution(OffsetDateTime start, long durationMs, boolean failed) {
+        executions.increment();
+        if (failed) {
+            failures.increment();
+        }
+        lastRunStart = start;
+        lastRunDurationMs = durationMs;
+    }
+
+    void recordSkip() {
+        skips.increment();
+    }
+
+    /**
+     * @return number of runs of the task on this instance
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * @return number of ticks skipped by this instance, as the task was locked by another one
+     */
+    public long getSkipCount() {
+        return skips.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return start of the last run on this instance or <code>null</code> if the task hasn't been run here yet
+     */
+    public OffsetDateTime getLastRunStart() {
+        return lastRunStart;
+    }
+
+    public long getLastRunDurationMs() {
+        return lastRunDurationMs;
+    }
+}
@@ -33,11 +33,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Component
 public class TppStopListScheduleTask {
+    private static final String LOCK_NAME = "tpp-stop-list-unblocking";
+
     private final TppStopListRepository tppStopListRepository;
+    private final LockedTaskExecutor lockedTaskExecutor;
 
     @Scheduled(cron = "${stoplist.cron.expression}")
     @Transactional
     public void unblockTppIfBlockingExpired() {
+        lockedTaskExecutor.execute(LOCK_NAME, this::unblockExpiredTpps);
+    }
+
+    private void unblockExpiredTpps() {
         log.info("Tpp Stop List schedule task is run!");
 
         List<TppStopListEntity> blockedWithExpirationTpps = tppStopListRepository.findAllByStatusAndBlockingExpirationTimestampLessThanEqual(TppStatus.BLOCKED, OffsetDateTime.now());
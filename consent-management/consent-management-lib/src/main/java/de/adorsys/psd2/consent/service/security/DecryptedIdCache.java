@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Memoizes decrypted composite IDs (original ID and consent key) within the scope of the current HTTP request,
+ * so that the same encrypted ID is decrypted at most once per request.
+ * If no request is bound to the current thread, decryption is performed every time.
+ */
+@Component
+public class DecryptedIdCache {
+    private static final String CACHE_ATTRIBUTE_NAME = DecryptedIdCache.class.getName() + ".CACHE";
+
+    private final LongAdder decryptions = new LongAdder();
+    private final LongAdder avoidedDecryptions = new LongAdder();
+
+    /**
+     * Returns decrypted composite ID from the request scope or decrypts it with the given function
+     *
+     * @param encryptedId encrypted ID
+     * @param decryption  function for decrypting the ID, if it wasn't decrypted within current request yet
+     * @return decrypted composite ID
+     */
+    public Optional<String> getOrDecrypt(String encryptedId, Function<String, Optional<String>> decryption) {
+        Map<String, String> cache = getRequestCache();
+        if (cache != null) {
+            String decrypted = cache.get(encryptedId);
+            if (decrypted != null) {
+                avoidedDecryptions.increment();
+                return Optional.of(decrypted);
+            }
+        }
+
+        decryptions.increment();
+        Optional<String> decrypted = decryption.apply(encryptedId);
+        if (cache != null) {
+            decrypted.ifPresent(d -> cache.put(encryptedId, d));
+        }
+        return decrypted;
+    }
+
+    /**
+     * Stores decrypted composite ID for the encrypted ID in the request scope, e.g. right after encryption
+     *
+     * @param encryptedId encrypted ID
+     * @param decrypted   decrypted composite ID
+     */
+    public void put(String encryptedId, String decrypted) {
+        Map<String, String> cache = getRequestCache();
+        if (cache != null) {
+            cache.put(encryptedId, decrypted);
+        }
+    }
+
+    public long getDecryptionCount() {
+        return decryptions.sum();
+    }
+
+    public long getAvoidedDecryptionCount() {
+        return avoidedDecryptions.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getRequestCache() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        Map<String, String> cache = (Map<String, String>) requestAttributes.getAttribute(CACHE_ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>();
+            requestAttributes.setAttribute(CACHE_ATTRIBUTE_NAME, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+}
@@ -37,10 +37,12 @@ public class SecurityDataService {
     private static final String SEPARATOR = "_=_";
     private String serverKey;
     private final CryptoProviderFactory cryptoProviderFactory;
+    private final DecryptedIdCache decryptedIdCache;
 
     @Autowired
-    public SecurityDataService(Environment environment, CryptoProviderFactory cryptoProviderFactory) {
+    public SecurityDataService(Environment environment, CryptoProviderFactory cryptoProviderFactory, DecryptedIdCache decryptedIdCache) {
         this.cryptoProviderFactory = cryptoProviderFactory;
+        this.decryptedIdCache = decryptedIdCache;
         serverKey = environment.getProperty("server_key");
         if (StringUtils.isBlank(serverKey)) {
             log.info("The 'server_key' missing - must be specified at CMS start");
@@ -65,7 +67,9 @@ public class SecurityDataService {
                                            .map(raw -> Base64.getUrlEncoder().encodeToString(raw))
                                            .map(this::addVersionToEncryptedId);
 
-        if (!encryptedId.isPresent()) {
+        if (encryptedId.isPresent()) {
+            decryptedIdCache.put(encryptedId.get(), compositeConsentId);
+        } else {
             log.info("ID: [{}]. Couldn't encrypt ID", originalId);
         }
 
@@ -129,6 +133,10 @@ public class SecurityDataService {
     }
 
     private Optional<String> decryptCompositeId(String encryptedId) {
+        return decryptedIdCache.getOrDecrypt(encryptedId, this::decryptCompositeIdWithProvider);
+    }
+
+    private Optional<String> decryptCompositeIdWithProvider(String encryptedId) {
         String encryptedCompositeId = encryptedId.substring(0, encryptedId.indexOf(SEPARATOR));
 
         byte[] bytesCompositeId = decode64(encryptedCompositeId, true);
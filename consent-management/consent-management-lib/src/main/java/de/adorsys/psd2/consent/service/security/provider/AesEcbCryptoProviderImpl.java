@@ -22,13 +22,21 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
 import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
 import java.util.Optional;
 
 @Slf4j
 public class AesEcbCryptoProviderImpl implements CryptoProvider {
     private static final String METHOD = "AES/ECB/PKCS5Padding";
+    private final DerivedKeyCache derivedKeyCache;
+
+    public AesEcbCryptoProviderImpl(DerivedKeyCache derivedKeyCache) {
+        this.derivedKeyCache = derivedKeyCache;
+    }
 
     @Override
     public Optional<EncryptedData> encryptData(byte[] data, String password) {
@@ -66,6 +74,11 @@ public class AesEcbCryptoProviderImpl implements CryptoProvider {
         return Optional.empty();
     }
 
+    @Override
+    public SecretKey getSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        return derivedKeyCache.getSecretKey(password, getAlgorithmVersion(), CryptoProvider.super::getSecretKey);
+    }
+
     @Override
     public CryptoProviderAlgorithmVersion getAlgorithmVersion() {
         return new CryptoProviderAlgorithmVersion("bS6p6XvTWI", "AES/ECB/PKCS5Padding");
@@ -18,7 +18,6 @@ package de.adorsys.psd2.consent.service.security.provider;
 
 import de.adorsys.psd2.consent.domain.CryptoAlgorithm;
 import de.adorsys.psd2.consent.repository.CryptoAlgorithmRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -26,11 +25,16 @@ import java.util.Optional;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CryptoProviderFactory {
     private final CryptoAlgorithmRepository cryptoAlgorithmRepository;
-    private CryptoProvider aesEcbCryptoProviderId = new AesEcbCryptoProviderImpl();
-    private CryptoProvider jweCryptoProviderConsentData = new JweCryptoProviderImpl();
+    private final CryptoProvider aesEcbCryptoProviderId;
+    private final CryptoProvider jweCryptoProviderConsentData;
+
+    public CryptoProviderFactory(CryptoAlgorithmRepository cryptoAlgorithmRepository, DerivedKeyCache derivedKeyCache) {
+        this.cryptoAlgorithmRepository = cryptoAlgorithmRepository;
+        this.aesEcbCryptoProviderId = new AesEcbCryptoProviderImpl(derivedKeyCache);
+        this.jweCryptoProviderConsentData = new JweCryptoProviderImpl(derivedKeyCache);
+    }
 
     public Optional<CryptoProvider> getCryptoProviderByAlgorithmVersion(String algorithmVersion) {
         Optional<CryptoProvider> provider = cryptoAlgorithmRepository.findByExternalId(algorithmVersion)
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of secret keys, derived from passwords by crypto providers.
+ * Key derivation is intentionally expensive, so the derived key is kept for the given time to live
+ * and reused for all subsequent encryptions and decryptions with the same password and algorithm version.
+ */
+@Component
+public class DerivedKeyCache {
+    private final int maxSize;
+    private final long timeToLiveMs;
+    private final Map<CacheKey, CacheEntry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public DerivedKeyCache(@Value("${cms.crypto.derived-key-cache.max-size:1000}") int maxSize,
+                           @Value("${cms.crypto.derived-key-cache.ttl.ms:3600000}") long timeToLiveMs) {
+        this.maxSize = maxSize;
+        this.timeToLiveMs = timeToLiveMs;
+        this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                boolean remove = size() > DerivedKeyCache.this.maxSize;
+                if (remove) {
+                    evictions.increment();
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Returns the secret key for the given password and algorithm version, deriving it only if it is absent or expired
+     *
+     * @param password         password to derive the key from
+     * @param algorithmVersion version of the algorithm the key is used by
+     * @param keyDerivation    function for deriving the key on cache miss
+     * @return derived secret key
+     * @throws InvalidKeySpecException  if the key derivation fails
+     * @throws NoSuchAlgorithmException if the key derivation algorithm is not available
+     */
+    public SecretKey getSecretKey(String password, CryptoProviderAlgorithmVersion algorithmVersion, KeyDerivation keyDerivation) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        if (maxSize <= 0) {
+            misses.increment();
+            return keyDerivation.derive(password);
+        }
+
+        CacheKey cacheKey = new CacheKey(password, algorithmVersion);
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            CacheEntry entry = entries.get(cacheKey);
+            if (entry != null && !entry.isExpired(now)) {
+                hits.increment();
+                return entry.getSecretKey();
+            }
+        }
+
+        // Derivation is performed outside of the lock, so that a miss doesn't block lookups of other keys
+        misses.increment();
+        SecretKey secretKey = keyDerivation.derive(password);
+
+        synchronized (entries) {
+            entries.put(cacheKey, new CacheEntry(secretKey, now + timeToLiveMs));
+        }
+
+        return secretKey;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @FunctionalInterface
+    public interface KeyDerivation {
+        SecretKey derive(String password) throws InvalidKeySpecException, NoSuchAlgorithmException;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class CacheKey {
+        private final String password;
+        private final CryptoProviderAlgorithmVersion algorithmVersion;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class CacheEntry {
+        private final SecretKey secretKey;
+        private final long expiresAt;
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
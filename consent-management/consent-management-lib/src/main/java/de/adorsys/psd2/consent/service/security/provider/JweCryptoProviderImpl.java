@@ -25,12 +25,19 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.SecretKey;
 import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
 import java.util.Optional;
 
 @Slf4j
 public class JweCryptoProviderImpl implements CryptoProvider {
     private static final EncryptionMethod METHOD = EncryptionMethod.A256GCM;
     private static final JWEAlgorithm ALGORITHM = JWEAlgorithm.A256GCMKW;
+    private final DerivedKeyCache derivedKeyCache;
+
+    public JweCryptoProviderImpl(DerivedKeyCache derivedKeyCache) {
+        this.derivedKeyCache = derivedKeyCache;
+    }
 
     @Override
     public Optional<EncryptedData> encryptData(byte[] data, String password) {
@@ -71,6 +78,11 @@ public class JweCryptoProviderImpl implements CryptoProvider {
         return Optional.empty();
     }
 
+    @Override
+    public SecretKey getSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        return derivedKeyCache.getSecretKey(password, getAlgorithmVersion(), CryptoProvider.super::getSecretKey);
+    }
+
     @Override
     public CryptoProviderAlgorithmVersion getAlgorithmVersion() {
         return new CryptoProviderAlgorithmVersion("gQ8wkMeo93", "JWE/GCM/256");
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.junit.Test;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityIdGenerationTest {
+    private static final String ENTITY_PACKAGE = "de.adorsys.psd2.consent.domain";
+    private static final String SEQUENCE_GENERATOR = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+    // Should be equal to the increment of sequences in the database
+    private static final String INCREMENT_SIZE = "50";
+    private static final String OPTIMIZER = "pooled-lo";
+
+    @Test
+    public void generatedIds_shouldUsePooledSequences() {
+        // Given
+        List<Field> idFields = getGeneratedIdFields();
+
+        // Then
+        assertThat(idFields).isNotEmpty();
+        for (Field idField : idFields) {
+            GeneratedValue generatedValue = idField.getAnnotation(GeneratedValue.class);
+            GenericGenerator genericGenerator = idField.getAnnotation(GenericGenerator.class);
+
+            assertThat(genericGenerator).as(idField.toString()).isNotNull();
+            assertThat(genericGenerator.name()).as(idField.toString()).isEqualTo(generatedValue.generator());
+            assertThat(genericGenerator.strategy()).as(idField.toString()).isEqualTo(SEQUENCE_GENERATOR);
+
+            Map<String, String> parameters = Arrays.stream(genericGenerator.parameters())
+                                                 .collect(Collectors.toMap(Parameter::name, Parameter::value));
+            assertThat(parameters.get("sequence_name")).as(idField.toString()).isNotEmpty();
+            assertThat(parameters.get("increment_size")).as(idField.toString()).isEqualTo(INCREMENT_SIZE);
+            assertThat(parameters.get("optimizer")).as(idField.toString()).isEqualTo(OPTIMIZER);
+        }
+    }
+
+    private List<Field> getGeneratedIdFields() {
+        return StreamSupport.stream(new ClassFileImporter().importPackages(ENTITY_PACKAGE).spliterator(), false)
+                   .filter(javaClass -> javaClass.isAnnotatedWith(Entity.class))
+                   .map(JavaClass::reflect)
+                   .flatMap(entityClass -> Arrays.stream(entityClass.getDeclaredFields()))
+                   .filter(field -> field.isAnnotationPresent(GeneratedValue.class))
+                   .collect(Collectors.toList());
+    }
+}
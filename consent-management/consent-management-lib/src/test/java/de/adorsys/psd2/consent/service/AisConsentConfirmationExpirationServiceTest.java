@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
+import de.adorsys.psd2.consent.repository.AisConsentAuthorisationRepository;
+import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.service.notification.BulkStatusChangeNotificationService;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AisConsentConfirmationExpirationServiceTest {
+    private static final long EXPIRATION_PERIOD_MS = 60000;
+
+    @InjectMocks
+    private AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
+    @Mock
+    private AisConsentRepository aisConsentRepository;
+    @Mock
+    private AisConsentAuthorisationRepository aisConsentAuthorisationRepository;
+    @Mock
+    private AspspProfileService aspspProfileService;
+    @Mock
+    private BulkStatusChangeNotificationService bulkStatusChangeNotificationService;
+
+    @Test
+    public void updateNotConfirmedConsentsOnConfirmationExpiration_shouldExpireConsentsCreatedBeforeExpirationPeriod() {
+        // Given
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+        when(aisConsentRepository.updateConsentStatusByConsentStatusAndCreatedBefore(eq(ConsentStatus.EXPIRED), any(), any(), eq(ConsentStatus.RECEIVED), any()))
+            .thenReturn(3);
+        ArgumentCaptor<OffsetDateTime> createdBeforeCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        OffsetDateTime expectedCreatedBefore = OffsetDateTime.now().minusNanos(EXPIRATION_PERIOD_MS * 1_000_000);
+
+        // When
+        int expired = aisConsentConfirmationExpirationService.updateNotConfirmedConsentsOnConfirmationExpiration();
+
+        // Then
+        assertThat(expired).isEqualTo(3);
+        verify(aisConsentAuthorisationRepository).updateScaStatusByConsentStatusAndCreatedBefore(eq(ScaStatus.FAILED), eq(ConsentStatus.RECEIVED), createdBeforeCaptor.capture());
+        assertThat(createdBeforeCaptor.getValue().isBefore(expectedCreatedBefore)).isFalse();
+        assertThat(createdBeforeCaptor.getValue().isBefore(OffsetDateTime.now())).isTrue();
+    }
+
+    @Test
+    public void updateNotConfirmedConsentsOnConfirmationExpiration_notificationsEnabled_shouldAddUpdatedConsentsToOutbox() {
+        // Given
+        List<NotificationTargetView> notificationTargets = Collections.singletonList(new NotificationTargetView("resource id", "https://tpp.com/notifications", "tpp id"));
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+        when(bulkStatusChangeNotificationService.isEnabled()).thenReturn(true);
+        when(aisConsentRepository.findNotificationTargetsByConsentStatusAndCreatedBefore(eq(ConsentStatus.RECEIVED), any())).thenReturn(notificationTargets);
+
+        // When
+        aisConsentConfirmationExpirationService.updateNotConfirmedConsentsOnConfirmationExpiration();
+
+        // Then
+        verify(aisConsentRepository).updateConsentStatusByConsentStatusAndCreatedBefore(eq(ConsentStatus.EXPIRED), any(), any(), eq(ConsentStatus.RECEIVED), any());
+        verify(bulkStatusChangeNotificationService).addToOutbox(NotificationResourceType.CONSENT, ConsentStatus.EXPIRED.name(), notificationTargets);
+    }
+
+    @Test
+    public void updateNotConfirmedConsentsOnConfirmationExpiration_notificationsDisabled_shouldNotReadNotificationTargets() {
+        // Given
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+
+        // When
+        aisConsentConfirmationExpirationService.updateNotConfirmedConsentsOnConfirmationExpiration();
+
+        // Then
+        verify(aisConsentRepository, never()).findNotificationTargetsByConsentStatusAndCreatedBefore(any(), any());
+        verify(bulkStatusChangeNotificationService).addToOutbox(NotificationResourceType.CONSENT, ConsentStatus.EXPIRED.name(), Collections.emptyList());
+    }
+
+    private AspspSettings getAspspSettings() {
+        return new AspspSettings(1, false, false, null, null,
+                                 null, false, null, null, 1, 1, false,
+                                 false, false, false, false, false, 1,
+                                 null, EXPIRATION_PERIOD_MS, 1, null, 1, false, false, false, false, null, null, null, 0);
+    }
+}
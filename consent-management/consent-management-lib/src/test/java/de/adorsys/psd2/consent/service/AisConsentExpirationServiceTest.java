@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
+import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.service.notification.BulkStatusChangeNotificationService;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AisConsentExpirationServiceTest {
+    private static final List<Long> IDS = Arrays.asList(1L, 2L);
+    private static final Set<ConsentStatus> STATUSES = EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.VALID);
+    private static final LocalDate CURRENT_DATE = LocalDate.of(2019, 5, 24);
+
+    @InjectMocks
+    private AisConsentExpirationService aisConsentExpirationService;
+    @Mock
+    private AisConsentRepository aisConsentRepository;
+    @Mock
+    private BulkStatusChangeNotificationService bulkStatusChangeNotificationService;
+
+    @Test
+    public void expireConsents_notificationsEnabled_shouldAddExpiredConsentsToOutbox() {
+        // Given
+        List<NotificationTargetView> notificationTargets = Collections.singletonList(new NotificationTargetView("consent id", "https://tpp.com/notifications", "tpp id"));
+        when(bulkStatusChangeNotificationService.isEnabled()).thenReturn(true);
+        when(aisConsentRepository.findNotificationTargetsOfExpiredConsents(IDS, STATUSES, CURRENT_DATE)).thenReturn(notificationTargets);
+        when(aisConsentRepository.updateExpiredConsentStatus(eq(IDS), eq(STATUSES), eq(CURRENT_DATE), eq(ConsentStatus.EXPIRED), any())).thenReturn(2);
+
+        // When
+        int expired = aisConsentExpirationService.expireConsents(IDS, STATUSES, CURRENT_DATE);
+
+        // Then
+        assertThat(expired).isEqualTo(2);
+        verify(bulkStatusChangeNotificationService).addToOutbox(NotificationResourceType.CONSENT, ConsentStatus.EXPIRED.name(), notificationTargets);
+    }
+
+    @Test
+    public void expireConsents_notificationsDisabled_shouldNotReadNotificationTargets() {
+        // Given
+        when(aisConsentRepository.updateExpiredConsentStatus(eq(IDS), eq(STATUSES), eq(CURRENT_DATE), eq(ConsentStatus.EXPIRED), any())).thenReturn(2);
+
+        // When
+        int expired = aisConsentExpirationService.expireConsents(IDS, STATUSES, CURRENT_DATE);
+
+        // Then
+        assertThat(expired).isEqualTo(2);
+        verify(aisConsentRepository, never()).findNotificationTargetsOfExpiredConsents(anyList(), anySet(), any());
+        verify(bulkStatusChangeNotificationService).addToOutbox(NotificationResourceType.CONSENT, ConsentStatus.EXPIRED.name(), Collections.emptyList());
+    }
+}
@@ -17,12 +17,11 @@
 package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.ActionStatus;
-import de.adorsys.psd2.consent.api.ais.AisAccountAccessInfo;
-import de.adorsys.psd2.consent.api.ais.AisAccountConsent;
-import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
-import de.adorsys.psd2.consent.api.ais.CreateAisConsentRequest;
+import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.consent.api.ais.*;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import org.junit.Before;
@@ -32,6 +31,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +46,8 @@ public class AisConsentServiceInternalEncryptedTest {
     private static final String UNDECRYPTABLE_CONSENT_ID = "undecryptable consent id";
     private static final String DECRYPTED_CONSENT_ID = "255574b2-f115-4f3c-8d77-c1897749c060";
     private static final ConsentStatus CONSENT_STATUS = ConsentStatus.RECEIVED;
+    private static final byte[] ASPSP_CONSENT_DATA = "data".getBytes();
+    private static final String TPP_ID = "tpp id";
 
     @InjectMocks
     private AisConsentServiceInternalEncrypted aisConsentServiceInternalEncrypted;
@@ -53,6 +55,8 @@ public class AisConsentServiceInternalEncryptedTest {
     private AisConsentService aisConsentService;
     @Mock
     private SecurityDataService securityDataService;
+    @Mock
+    private AspspDataService aspspDataService;
 
     @Before
     public void setUp() {
@@ -331,6 +335,93 @@ public class AisConsentServiceInternalEncryptedTest {
         verify(aisConsentService, never()).getPsuDataByConsentId(any());
     }
 
+    @Test
+    public void prepareAisAccess_success() {
+        // Given
+        when(aspspDataService.readAspspConsentData(ENCRYPTED_CONSENT_ID))
+            .thenReturn(Optional.of(new AspspConsentData(ASPSP_CONSENT_DATA, ENCRYPTED_CONSENT_ID)));
+
+        // When
+        Optional<AisConsentAccessContext> actual = aisConsentServiceInternalEncrypted.prepareAisAccess(ENCRYPTED_CONSENT_ID);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertEquals(buildAisAccountConsent(), actual.get().getConsent());
+        assertArrayEquals(ASPSP_CONSENT_DATA, actual.get().getAspspConsentData());
+    }
+
+    @Test
+    public void prepareAisAccess_decryptionFailed() {
+        // When
+        Optional<AisConsentAccessContext> actual = aisConsentServiceInternalEncrypted.prepareAisAccess(UNDECRYPTABLE_CONSENT_ID);
+
+        // Then
+        assertFalse(actual.isPresent());
+        verify(aspspDataService, never()).readAspspConsentData(any());
+    }
+
+    @Test
+    public void completeAisAccess_success() {
+        // Given
+        when(aspspDataService.updateAspspConsentData(new AspspConsentData(ASPSP_CONSENT_DATA, ENCRYPTED_CONSENT_ID)))
+            .thenReturn(true);
+        when(aisConsentService.updateConsentStatusById(DECRYPTED_CONSENT_ID, ConsentStatus.EXPIRED))
+            .thenReturn(true);
+        AisConsentAccessCompletionRequest request = new AisConsentAccessCompletionRequest(TPP_ID, ActionStatus.SUCCESS, true, ASPSP_CONSENT_DATA, true);
+
+        // When
+        boolean actual = aisConsentServiceInternalEncrypted.completeAisAccess(ENCRYPTED_CONSENT_ID, request);
+
+        // Then
+        assertTrue(actual);
+        verify(aspspDataService).updateAspspConsentData(new AspspConsentData(ASPSP_CONSENT_DATA, ENCRYPTED_CONSENT_ID));
+        verify(aisConsentService).checkConsentAndSaveActionLog(new AisConsentActionRequest(TPP_ID, DECRYPTED_CONSENT_ID, ActionStatus.SUCCESS));
+        verify(aisConsentService).updateConsentStatusById(DECRYPTED_CONSENT_ID, ConsentStatus.EXPIRED);
+    }
+
+    @Test
+    public void completeAisAccess_aspspConsentDataOnly() {
+        // Given
+        when(aspspDataService.updateAspspConsentData(new AspspConsentData(ASPSP_CONSENT_DATA, ENCRYPTED_CONSENT_ID)))
+            .thenReturn(true);
+        AisConsentAccessCompletionRequest request = new AisConsentAccessCompletionRequest(TPP_ID, null, true, ASPSP_CONSENT_DATA, false);
+
+        // When
+        boolean actual = aisConsentServiceInternalEncrypted.completeAisAccess(ENCRYPTED_CONSENT_ID, request);
+
+        // Then
+        assertTrue(actual);
+        verify(aisConsentService, never()).checkConsentAndSaveActionLog(any());
+        verify(aisConsentService, never()).updateConsentStatusById(any(), any());
+    }
+
+    @Test
+    public void completeAisAccess_transactionCursor() {
+        // Given
+        AisTransactionCursor cursor = new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 1));
+        when(aisConsentService.updateTransactionCursor(DECRYPTED_CONSENT_ID, "account id", cursor))
+            .thenReturn(true);
+        AisConsentAccessCompletionRequest request = new AisConsentAccessCompletionRequest(TPP_ID, null, false, null, false, "account id", cursor);
+
+        // When
+        boolean actual = aisConsentServiceInternalEncrypted.completeAisAccess(ENCRYPTED_CONSENT_ID, request);
+
+        // Then
+        assertTrue(actual);
+        verify(aisConsentService).updateTransactionCursor(DECRYPTED_CONSENT_ID, "account id", cursor);
+        verify(aspspDataService, never()).updateAspspConsentData(any());
+    }
+
+    @Test
+    public void getTransactionCursor_decryptionFailed() {
+        // When
+        Optional<AisTransactionCursor> actual = aisConsentServiceInternalEncrypted.getTransactionCursor(UNDECRYPTABLE_CONSENT_ID, "account id");
+
+        // Then
+        assertFalse(actual.isPresent());
+        verify(aisConsentService, never()).getTransactionCursor(any(), any());
+    }
+
     private CreateAisConsentRequest buildCreateAisConsentRequest() {
         return new CreateAisConsentRequest();
     }
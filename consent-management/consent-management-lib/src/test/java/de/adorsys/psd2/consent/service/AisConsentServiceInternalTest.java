@@ -23,13 +23,16 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.ais.AisAccountAccessInfo;
 import de.adorsys.psd2.consent.api.ais.AisAccountConsent;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisTransactionCursor;
 import de.adorsys.psd2.consent.api.ais.CreateAisConsentRequest;
 import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.consent.domain.account.AisConsent;
 import de.adorsys.psd2.consent.domain.account.AisConsentAuthorization;
+import de.adorsys.psd2.consent.domain.account.AisTransactionCursorEntity;
 import de.adorsys.psd2.consent.repository.AisConsentAuthorisationRepository;
 import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.repository.AisTransactionCursorRepository;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.mapper.ScaMethodMapper;
@@ -49,6 +52,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -111,6 +115,8 @@ public class AisConsentServiceInternalTest {
 
     @Mock
     private ScaMethodMapper scaMethodMapper;
+    @Mock
+    private AisTransactionCursorRepository aisTransactionCursorRepository;
 
     @Before
     public void setUp() {
@@ -457,7 +463,7 @@ public class AisConsentServiceInternalTest {
                                  null, false, null, null, consentLifeTime, 1, false,
                                  false, false, false, false, false, 1,
                                  null, 1, 1, null, 1,
-                                 false, false, false, false, null, ScaRedirectFlow.REDIRECT);
+                                 false, false, false, false, null, ScaRedirectFlow.REDIRECT, null, 0);
     }
 
     private AisConsent buildConsent(String externalId) {
@@ -503,6 +509,101 @@ public class AisConsentServiceInternalTest {
         return info;
     }
 
+    @Test
+    public void updateTransactionCursor_existingCursor_shouldBeMoved() {
+        // Given
+        when(aisConsentRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.of(aisConsent));
+        when(aisTransactionCursorRepository.updateCursorIfNotBefore(aisConsent, "account id", "entry reference", LocalDate.of(2019, 1, 2))).thenReturn(1);
+
+        // When
+        boolean actual = aisConsentService.updateTransactionCursor(EXTERNAL_CONSENT_ID, "account id", new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 2)));
+
+        // Then
+        assertTrue(actual);
+        verify(aisTransactionCursorRepository, never()).insertCursor(any(AisTransactionCursorEntity.class));
+    }
+
+    @Test
+    public void updateTransactionCursor_newCursor_shouldBeInsertedEmptyAndMoved() {
+        // Given
+        when(aisConsentRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.of(aisConsent));
+        when(aisTransactionCursorRepository.updateCursorIfNotBefore(aisConsent, "account id", "entry reference", LocalDate.of(2019, 1, 2))).thenReturn(0, 1);
+        when(aisTransactionCursorRepository.findByConsentAndResourceId(aisConsent, "account id")).thenReturn(Optional.empty());
+        ArgumentCaptor<AisTransactionCursorEntity> argumentCaptor = ArgumentCaptor.forClass(AisTransactionCursorEntity.class);
+
+        // When
+        boolean actual = aisConsentService.updateTransactionCursor(EXTERNAL_CONSENT_ID, "account id", new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 2)));
+
+        // Then
+        assertTrue(actual);
+        verify(aisTransactionCursorRepository).insertCursor(argumentCaptor.capture());
+        assertEquals(aisConsent, argumentCaptor.getValue().getConsent());
+        assertEquals("account id", argumentCaptor.getValue().getResourceId());
+        assertNull(argumentCaptor.getValue().getEntryReference());
+        assertNull(argumentCaptor.getValue().getBookingDate());
+        verify(aisTransactionCursorRepository, times(2)).updateCursorIfNotBefore(aisConsent, "account id", "entry reference", LocalDate.of(2019, 1, 2));
+    }
+
+    @Test
+    public void updateTransactionCursor_concurrentlyInsertedCursor_shouldBeMoved() {
+        // Given
+        when(aisConsentRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.of(aisConsent));
+        when(aisTransactionCursorRepository.updateCursorIfNotBefore(aisConsent, "account id", "entry reference", LocalDate.of(2019, 1, 2))).thenReturn(0, 1);
+        when(aisTransactionCursorRepository.findByConsentAndResourceId(aisConsent, "account id")).thenReturn(Optional.empty());
+        when(aisTransactionCursorRepository.insertCursor(any(AisTransactionCursorEntity.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // When
+        boolean actual = aisConsentService.updateTransactionCursor(EXTERNAL_CONSENT_ID, "account id", new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 2)));
+
+        // Then
+        assertTrue(actual);
+        verify(aisTransactionCursorRepository, times(2)).updateCursorIfNotBefore(aisConsent, "account id", "entry reference", LocalDate.of(2019, 1, 2));
+    }
+
+    @Test
+    public void updateTransactionCursor_earlierBookingDate_shouldNotMoveCursorBack() {
+        // Given
+        AisTransactionCursorEntity stored = new AisTransactionCursorEntity(aisConsent, "account id");
+        stored.setBookingDate(LocalDate.of(2019, 1, 2));
+        when(aisConsentRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.of(aisConsent));
+        when(aisTransactionCursorRepository.updateCursorIfNotBefore(aisConsent, "account id", "entry reference", LocalDate.of(2019, 1, 1))).thenReturn(0);
+        when(aisTransactionCursorRepository.findByConsentAndResourceId(aisConsent, "account id")).thenReturn(Optional.of(stored));
+
+        // When
+        boolean actual = aisConsentService.updateTransactionCursor(EXTERNAL_CONSENT_ID, "account id", new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 1)));
+
+        // Then
+        assertTrue(actual);
+        verify(aisTransactionCursorRepository, never()).insertCursor(any(AisTransactionCursorEntity.class));
+    }
+
+    @Test
+    public void updateTransactionCursor_withoutBookingDate_shouldBeMoved() {
+        // Given
+        when(aisConsentRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.of(aisConsent));
+        when(aisTransactionCursorRepository.updateCursorWithoutBookingDate(aisConsent, "account id", "entry reference")).thenReturn(1);
+
+        // When
+        boolean actual = aisConsentService.updateTransactionCursor(EXTERNAL_CONSENT_ID, "account id", new AisTransactionCursor("entry reference", null));
+
+        // Then
+        assertTrue(actual);
+        verify(aisTransactionCursorRepository, never()).updateCursorIfNotBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    public void updateTransactionCursor_consentNotFound() {
+        // Given
+        when(aisConsentRepository.findByExternalId(EXTERNAL_CONSENT_ID_NOT_EXIST)).thenReturn(Optional.empty());
+
+        // When
+        boolean actual = aisConsentService.updateTransactionCursor(EXTERNAL_CONSENT_ID_NOT_EXIST, "account id", new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 1)));
+
+        // Then
+        assertFalse(actual);
+        verify(aisTransactionCursorRepository, never()).insertCursor(any(AisTransactionCursorEntity.class));
+    }
+
     private List<AccountInfo> buildAccountsInfo() {
         return Collections.singletonList(AccountInfo.builder()
                                              .resourceId(UUID.randomUUID().toString())
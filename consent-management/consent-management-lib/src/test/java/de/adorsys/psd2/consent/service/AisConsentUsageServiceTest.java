@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AisConsentUsageServiceTest {
+    private static final int ALLOWED_FREQUENCY_PER_DAY = 4;
+
+    @InjectMocks
+    private AisConsentUsageService aisConsentUsageService;
+    @Mock
+    private AisConsentUsageRepository aisConsentUsageRepository;
+
+    private AisConsent aisConsent;
+
+    @Before
+    public void setUp() {
+        aisConsent = new AisConsent();
+        aisConsent.setAllowedFrequencyPerDay(ALLOWED_FREQUENCY_PER_DAY);
+    }
+
+    @Test
+    public void incrementUsage_existingUsage_shouldBeIncrementedAtomically() {
+        // Given
+        when(aisConsentUsageRepository.incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY)).thenReturn(1);
+
+        // When
+        aisConsentUsageService.incrementUsage(aisConsent);
+
+        // Then
+        verify(aisConsentUsageRepository, never()).insertUsage(any());
+        assertThat(aisConsentUsageService.getIncrementCount()).isEqualTo(1);
+        assertThat(aisConsentUsageService.getRetryCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void incrementUsage_limitReached_shouldNotIncrement() {
+        // Given
+        when(aisConsentUsageRepository.incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY)).thenReturn(0);
+        when(aisConsentUsageRepository.findUsage(aisConsent, LocalDate.now())).thenReturn(Optional.of(ALLOWED_FREQUENCY_PER_DAY));
+
+        // When
+        aisConsentUsageService.incrementUsage(aisConsent);
+
+        // Then
+        verify(aisConsentUsageRepository, never()).insertUsage(any());
+        assertThat(aisConsentUsageService.getIncrementCount()).isEqualTo(0);
+        assertThat(aisConsentUsageService.getLimitReachedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void incrementUsage_firstUsageOfDay_shouldInsertEmptyUsageAndIncrementIt() {
+        // Given
+        when(aisConsentUsageRepository.incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY)).thenReturn(0, 1);
+        when(aisConsentUsageRepository.findUsage(aisConsent, LocalDate.now())).thenReturn(Optional.empty());
+        ArgumentCaptor<AisConsentUsage> argumentCaptor = ArgumentCaptor.forClass(AisConsentUsage.class);
+
+        // When
+        aisConsentUsageService.incrementUsage(aisConsent);
+
+        // Then
+        verify(aisConsentUsageRepository).insertUsage(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getUsage()).isEqualTo(0);
+        assertThat(argumentCaptor.getValue().getUsageDate()).isEqualTo(LocalDate.now());
+        assertThat(argumentCaptor.getValue().getConsent()).isEqualTo(aisConsent);
+        verify(aisConsentUsageRepository, times(2)).incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY);
+        assertThat(aisConsentUsageService.getIncrementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void incrementUsage_concurrentInsert_shouldRetryIncrement() {
+        // Given
+        when(aisConsentUsageRepository.incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY)).thenReturn(0, 1);
+        when(aisConsentUsageRepository.findUsage(aisConsent, LocalDate.now())).thenReturn(Optional.empty());
+        when(aisConsentUsageRepository.insertUsage(any())).thenThrow(new DataIntegrityViolationException("duplicated usage"));
+
+        // When
+        aisConsentUsageService.incrementUsage(aisConsent);
+
+        // Then
+        verify(aisConsentUsageRepository, times(2)).incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY);
+        assertThat(aisConsentUsageService.getConflictCount()).isEqualTo(1);
+        assertThat(aisConsentUsageService.getRetryCount()).isEqualTo(1);
+        assertThat(aisConsentUsageService.getIncrementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void incrementUsage_usageBelowLimitNotUpdated_shouldRetryIncrement() {
+        // Given
+        when(aisConsentUsageRepository.incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY)).thenReturn(0, 1);
+        when(aisConsentUsageRepository.findUsage(aisConsent, LocalDate.now())).thenReturn(Optional.of(1));
+
+        // When
+        aisConsentUsageService.incrementUsage(aisConsent);
+
+        // Then
+        verify(aisConsentUsageRepository, never()).insertUsage(any());
+        verify(aisConsentUsageRepository, times(2)).incrementUsage(aisConsent, LocalDate.now(), ALLOWED_FREQUENCY_PER_DAY);
+        assertThat(aisConsentUsageService.getLimitReachedCount()).isEqualTo(0);
+        assertThat(aisConsentUsageService.getIncrementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getUsageCounter_shouldReturnRemainingUsages() {
+        // Given
+        when(aisConsentUsageRepository.findUsage(aisConsent, LocalDate.now())).thenReturn(Optional.of(1));
+
+        // When
+        int actual = aisConsentUsageService.getUsageCounter(aisConsent);
+
+        // Then
+        assertThat(actual).isEqualTo(ALLOWED_FREQUENCY_PER_DAY - 1);
+    }
+
+    @Test
+    public void resetUsage_shouldResetTodaysUsage() {
+        // When
+        aisConsentUsageService.resetUsage(aisConsent);
+
+        // Then
+        verify(aisConsentUsageRepository).resetUsage(aisConsent, LocalDate.now());
+    }
+}
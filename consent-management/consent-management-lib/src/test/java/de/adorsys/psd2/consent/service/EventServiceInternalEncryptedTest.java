@@ -28,6 +28,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -127,6 +129,20 @@ public class EventServiceInternalEncryptedTest {
         assertEquals(buildEvent(DECRYPTED_CONSENT_ID, DECRYPTED_PAYMENT_ID), argumentCaptor.getValue());
     }
 
+    @Test
+    public void recordEvents_success() {
+        // Given
+        when(eventService.recordEvents(Collections.singletonList(buildEvent(DECRYPTED_CONSENT_ID, DECRYPTED_PAYMENT_ID)))).thenReturn(true);
+        List<Event> events = Collections.singletonList(buildEvent(ENCRYPTED_CONSENT_ID, ENCRYPTED_PAYMENT_ID));
+
+        // When
+        boolean actual = eventServiceInternalEncrypted.recordEvents(events);
+
+        // Then
+        assertTrue(actual);
+        verify(eventService, never()).recordEvent(any());
+    }
+
     private Event buildEvent() {
         return buildEvent(null, null);
     }
@@ -28,8 +28,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -50,13 +55,13 @@ public class EventServiceInternalTest {
     @Before
     public void setUp() {
         when(eventMapper.mapToEventEntity(any())).thenReturn(buildEventEntity());
-        when(eventRepository.save(any(EventEntity.class)))
-            .thenReturn(buildEventEntity(EVENT_ID));
     }
 
     @Test
     public void recordEvent() {
         // Given
+        when(eventRepository.save(any(EventEntity.class)))
+            .thenReturn(buildEventEntity(EVENT_ID));
         Event event = Event.builder()
                           .build();
 
@@ -68,6 +73,34 @@ public class EventServiceInternalTest {
         verify(eventRepository, atLeastOnce()).save(any(EventEntity.class));
     }
 
+    @Test
+    public void recordEvents() {
+        // Given
+        List<EventEntity> savedEntities = Arrays.asList(buildEventEntity(EVENT_ID), buildEventEntity(EVENT_ID + 1));
+        when(eventRepository.saveAll(anyListOf(EventEntity.class))).thenReturn(savedEntities);
+        List<Event> events = Arrays.asList(Event.builder().build(), Event.builder().build());
+
+        // When
+        boolean actual = eventServiceInternal.recordEvents(events);
+
+        // Then
+        assertThat(actual).isTrue();
+        verify(eventRepository).saveAll(anyListOf(EventEntity.class));
+        verify(eventRepository, never()).save(any(EventEntity.class));
+    }
+
+    @Test
+    public void recordEvents_notSaved() {
+        // Given
+        when(eventRepository.saveAll(anyListOf(EventEntity.class))).thenReturn(Collections.singletonList(buildEventEntity()));
+
+        // When
+        boolean actual = eventServiceInternal.recordEvents(Collections.singletonList(Event.builder().build()));
+
+        // Then
+        assertThat(actual).isFalse();
+    }
+
     private EventEntity buildEventEntity() {
         return buildEventEntity(null);
     }
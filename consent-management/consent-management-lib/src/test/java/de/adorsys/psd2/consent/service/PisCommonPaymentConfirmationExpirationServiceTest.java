@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
+import de.adorsys.psd2.consent.repository.PisAuthorisationRepository;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.service.notification.BulkStatusChangeNotificationService;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PisCommonPaymentConfirmationExpirationServiceTest {
+    private static final long EXPIRATION_PERIOD_MS = 60000;
+
+    @InjectMocks
+    private PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
+    @Mock
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Mock
+    private PisAuthorisationRepository pisAuthorisationRepository;
+    @Mock
+    private AspspProfileService aspspProfileService;
+    @Mock
+    private BulkStatusChangeNotificationService bulkStatusChangeNotificationService;
+
+    @Test
+    public void updateNotConfirmedPaymentsOnConfirmationExpiration_shouldRejectPaymentsCreatedBeforeExpirationPeriod() {
+        // Given
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+        when(pisCommonPaymentDataRepository.updateTransactionStatusByTransactionStatusAndCreatedBefore(eq(TransactionStatus.RJCT), any(), eq(TransactionStatus.RCVD), any()))
+            .thenReturn(3);
+        ArgumentCaptor<OffsetDateTime> createdBeforeCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        OffsetDateTime expectedCreatedBefore = OffsetDateTime.now().minusNanos(EXPIRATION_PERIOD_MS * 1_000_000);
+
+        // When
+        int rejected = pisCommonPaymentConfirmationExpirationService.updateNotConfirmedPaymentsOnConfirmationExpiration();
+
+        // Then
+        assertThat(rejected).isEqualTo(3);
+        verify(pisAuthorisationRepository).updateScaStatusByPaymentStatusAndCreatedBefore(eq(ScaStatus.FAILED), eq(TransactionStatus.RCVD), createdBeforeCaptor.capture());
+        assertThat(createdBeforeCaptor.getValue().isBefore(expectedCreatedBefore)).isFalse();
+        assertThat(createdBeforeCaptor.getValue().isBefore(OffsetDateTime.now())).isTrue();
+    }
+
+    @Test
+    public void updateNotConfirmedPaymentsOnConfirmationExpiration_notificationsEnabled_shouldAddUpdatedPaymentsToOutbox() {
+        // Given
+        List<NotificationTargetView> notificationTargets = Collections.singletonList(new NotificationTargetView("resource id", "https://tpp.com/notifications", "tpp id"));
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+        when(bulkStatusChangeNotificationService.isEnabled()).thenReturn(true);
+        when(pisCommonPaymentDataRepository.findNotificationTargetsByTransactionStatusAndCreatedBefore(eq(TransactionStatus.RCVD), any())).thenReturn(notificationTargets);
+
+        // When
+        pisCommonPaymentConfirmationExpirationService.updateNotConfirmedPaymentsOnConfirmationExpiration();
+
+        // Then
+        verify(pisCommonPaymentDataRepository).updateTransactionStatusByTransactionStatusAndCreatedBefore(eq(TransactionStatus.RJCT), any(), eq(TransactionStatus.RCVD), any());
+        verify(bulkStatusChangeNotificationService).addToOutbox(NotificationResourceType.PAYMENT, TransactionStatus.RJCT.name(), notificationTargets);
+    }
+
+    @Test
+    public void updateNotConfirmedPaymentsOnConfirmationExpiration_notificationsDisabled_shouldNotReadNotificationTargets() {
+        // Given
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+
+        // When
+        pisCommonPaymentConfirmationExpirationService.updateNotConfirmedPaymentsOnConfirmationExpiration();
+
+        // Then
+        verify(pisCommonPaymentDataRepository, never()).findNotificationTargetsByTransactionStatusAndCreatedBefore(any(), any());
+        verify(bulkStatusChangeNotificationService).addToOutbox(NotificationResourceType.PAYMENT, TransactionStatus.RJCT.name(), Collections.emptyList());
+    }
+
+    private AspspSettings getAspspSettings() {
+        return new AspspSettings(1, false, false, null, null,
+                                 null, false, null, null, 1, 1, false,
+                                 false, false, false, false, false, 1,
+                                 null, 1, EXPIRATION_PERIOD_MS, null, 1, false, false, false, false, null, null, null, 0);
+    }
+}
@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.*;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
@@ -141,6 +142,23 @@ public class PisCommonPaymentServiceInternalEncryptedTest {
         verify(pisCommonPaymentService, times(1)).getCommonPaymentById(DECRYPTED_PAYMENT_ID);
     }
 
+    @Test
+    public void getCommonPaymentStatusInfoById_success() {
+        // Given
+        PisCommonPaymentStatusInfo expected = new PisCommonPaymentStatusInfo();
+        expected.setExternalId(DECRYPTED_PAYMENT_ID);
+        when(pisCommonPaymentService.getCommonPaymentStatusInfoById(DECRYPTED_PAYMENT_ID))
+            .thenReturn(Optional.of(expected));
+
+        // When
+        Optional<PisCommonPaymentStatusInfo> actual = pisCommonPaymentServiceInternalEncrypted.getCommonPaymentStatusInfoById(ENCRYPTED_PAYMENT_ID);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertEquals(expected, actual.get());
+        verify(pisCommonPaymentService, times(1)).getCommonPaymentStatusInfoById(DECRYPTED_PAYMENT_ID);
+    }
+
     @Test
     public void updateCommonPaymentStatusById_success() {
         // When
@@ -23,16 +23,22 @@ import de.adorsys.psd2.consent.api.pis.authorisation.CreatePisAuthorisationReque
 import de.adorsys.psd2.consent.api.pis.authorisation.CreatePisAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.UpdatePisCommonPaymentPsuDataRequest;
 import de.adorsys.psd2.consent.api.pis.authorisation.UpdatePisCommonPaymentPsuDataResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.payment.PisAuthorization;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentStatusView;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
 import de.adorsys.psd2.consent.repository.PisAuthorisationRepository;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.repository.PisPaymentDataRepository;
+import de.adorsys.psd2.consent.service.mapper.PisCommonPaymentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.psu.CmsPsuService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -48,14 +54,13 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.time.OffsetDateTime;
 import java.util.*;
 
-import static de.adorsys.psd2.xs2a.core.pis.TransactionStatus.PATC;
-import static de.adorsys.psd2.xs2a.core.pis.TransactionStatus.RCVD;
+import static de.adorsys.psd2.xs2a.core.pis.TransactionStatus.*;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PisCommonPaymentServiceInternalTest {
@@ -78,6 +83,8 @@ public class PisCommonPaymentServiceInternalTest {
     private PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     @Mock
     private CmsPsuService cmsPsuService;
+    @Mock
+    private PisCommonPaymentMapper pisCommonPaymentMapper;
 
     private PisCommonPaymentData pisCommonPaymentData;
     private List<PisAuthorization> pisAuthorizationList = new ArrayList<>();
@@ -343,13 +350,73 @@ public class PisCommonPaymentServiceInternalTest {
         assertSame(argument.getValue().getScaStatus(), ScaStatus.PSUIDENTIFIED);
     }
 
+    @Test
+    public void getCommonPaymentStatusInfoById_success() {
+        // Given
+        PisCommonPaymentStatusView statusView = buildPisCommonPaymentStatusView(ACSP, OffsetDateTime.now());
+        List<PsuData> psuDataList = Collections.singletonList(PSU_DATA);
+        PisCommonPaymentStatusInfo expected = new PisCommonPaymentStatusInfo();
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+        when(pisCommonPaymentDataRepository.findStatusViewByPaymentId(PAYMENT_ID)).thenReturn(Optional.of(statusView));
+        when(pisCommonPaymentDataRepository.findPsuDataListById(PIS_PAYMENT_DATA_ID)).thenReturn(psuDataList);
+        when(pisCommonPaymentMapper.mapToPisCommonPaymentStatusInfo(statusView, psuDataList)).thenReturn(expected);
+
+        // When
+        Optional<PisCommonPaymentStatusInfo> actual = pisCommonPaymentService.getCommonPaymentStatusInfoById(PAYMENT_ID);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertSame(expected, actual.get());
+        verify(pisCommonPaymentDataRepository, never()).findByPaymentId(any());
+    }
+
+    @Test
+    public void getCommonPaymentStatusInfoById_confirmationExpired_shouldRejectPayment() {
+        // Given
+        PisCommonPaymentStatusView expiredView = buildPisCommonPaymentStatusView(RCVD, OffsetDateTime.now().minusHours(1));
+        PisCommonPaymentStatusView rejectedView = buildPisCommonPaymentStatusView(RJCT, OffsetDateTime.now().minusHours(1));
+        PisCommonPaymentStatusInfo expected = new PisCommonPaymentStatusInfo();
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+        when(pisCommonPaymentDataRepository.findStatusViewByPaymentId(PAYMENT_ID)).thenReturn(Optional.of(expiredView), Optional.of(rejectedView));
+        when(pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID)).thenReturn(Optional.of(pisCommonPaymentData));
+        when(pisCommonPaymentDataRepository.findPsuDataListById(PIS_PAYMENT_DATA_ID)).thenReturn(Collections.emptyList());
+        when(pisCommonPaymentMapper.mapToPisCommonPaymentStatusInfo(rejectedView, Collections.emptyList())).thenReturn(expected);
+
+        // When
+        Optional<PisCommonPaymentStatusInfo> actual = pisCommonPaymentService.getCommonPaymentStatusInfoById(PAYMENT_ID);
+
+        // Then
+        assertTrue(actual.isPresent());
+        assertSame(expected, actual.get());
+        verify(pisCommonPaymentConfirmationExpirationService).updatePaymentDataOnConfirmationExpiration(pisCommonPaymentData);
+    }
+
+    @Test
+    public void getCommonPaymentStatusInfoById_wrongPaymentId() {
+        // Given
+        when(aspspProfileService.getAspspSettings()).thenReturn(getAspspSettings());
+        when(pisCommonPaymentDataRepository.findStatusViewByPaymentId(PAYMENT_ID_WRONG)).thenReturn(Optional.empty());
+
+        // When
+        Optional<PisCommonPaymentStatusInfo> actual = pisCommonPaymentService.getCommonPaymentStatusInfoById(PAYMENT_ID_WRONG);
+
+        // Then
+        assertFalse(actual.isPresent());
+        verify(pisCommonPaymentDataRepository, never()).findPsuDataListById(any());
+    }
+
+    private PisCommonPaymentStatusView buildPisCommonPaymentStatusView(TransactionStatus transactionStatus, OffsetDateTime creationTimestamp) {
+        return new PisCommonPaymentStatusView(PIS_PAYMENT_DATA_ID, PAYMENT_ID, PaymentType.SINGLE, "sepa-credit-transfers",
+                                              transactionStatus, creationTimestamp, creationTimestamp, new TppInfoEntity());
+    }
+
     @NotNull
     private AspspSettings getAspspSettings() {
         return new AspspSettings(1, false, false, null, null,
                                  null, false, null, null, 1, 1, false,
                                  false, false, false, false, false, 1, null,
                                  1, 1, null, 1, false, false,
-                                 false, false, null, ScaRedirectFlow.REDIRECT);
+                                 false, false, null, ScaRedirectFlow.REDIRECT, null, 0);
     }
 
     private UpdatePisCommonPaymentPsuDataRequest buildUpdatePisCommonPaymentPsuDataRequest(ScaStatus status) {
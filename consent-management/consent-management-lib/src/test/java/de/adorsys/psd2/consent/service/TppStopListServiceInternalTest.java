@@ -16,8 +16,12 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.TppStopListChanges;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.mapper.TppStopListMapper;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
 import de.adorsys.psd2.xs2a.core.tpp.TppUniqueParamsHolder;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -25,10 +29,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.Optional;
 
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -45,9 +52,15 @@ public class TppStopListServiceInternalTest {
     @Mock
     private TppStopListRepository tppStopListRepository;
 
+    @Mock
+    private TppStopListMapper tppStopListMapper;
+
     @Mock
     private TppStopListEntity tppStopListEntity;
 
+    @Mock
+    private TppStopListRecord tppStopListRecord;
+
     @Test
     public void checkIfTppBlocked_Fail_EmptyStopList() {
         when(tppStopListRepository.findByTppAuthorisationNumberAndNationalAuthorityIdAndInstanceId(AUTHORISATION_NUMBER_NOT_EXISTING, AUTHORITY_ID_NOT_EXISTING, INSTANCE_ID))
@@ -84,6 +97,34 @@ public class TppStopListServiceInternalTest {
         assertTrue(isTppBlocked);
     }
 
+    @Test
+    public void getTppStopListChanges_Success_InitialRequestReturnsBlockedTpps() {
+        when(tppStopListRepository.findAllByInstanceIdAndStatus(INSTANCE_ID, TppStatus.BLOCKED))
+            .thenReturn(Collections.singletonList(tppStopListEntity));
+        when(tppStopListMapper.mapToTppStopListRecord(tppStopListEntity))
+            .thenReturn(tppStopListRecord);
+
+        OffsetDateTime requestTimestamp = OffsetDateTime.now();
+        TppStopListChanges changes = tppStopListService.getTppStopListChanges(null);
+
+        assertEquals(Collections.singletonList(tppStopListRecord), changes.getRecords());
+        assertFalse(changes.getTimestamp().isBefore(requestTimestamp));
+    }
+
+    @Test
+    public void getTppStopListChanges_Success_ChangedSince() {
+        OffsetDateTime changedSince = OffsetDateTime.now().minusMinutes(1);
+        when(tppStopListRepository.findAllByInstanceIdAndLastChangeTimestampGreaterThanEqual(INSTANCE_ID, changedSince))
+            .thenReturn(Collections.singletonList(tppStopListEntity));
+        when(tppStopListMapper.mapToTppStopListRecord(tppStopListEntity))
+            .thenReturn(tppStopListRecord);
+
+        TppStopListChanges changes = tppStopListService.getTppStopListChanges(changedSince);
+
+        assertEquals(Collections.singletonList(tppStopListRecord), changes.getRecords());
+        verify(tppStopListRepository, never()).findAllByInstanceIdAndStatus(INSTANCE_ID, TppStatus.BLOCKED);
+    }
+
     private TppUniqueParamsHolder buildNotExistingTppUniqueParamsHolder() {
         return new TppUniqueParamsHolder(AUTHORISATION_NUMBER_NOT_EXISTING, AUTHORITY_ID_NOT_EXISTING);
     }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.domain.notification.NotificationTargetView;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BulkStatusChangeNotificationServiceTest {
+    private static final String NOTIFICATION_URI = "https://tpp.com/notifications";
+    private static final String TPP_ID = "tpp id";
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addToOutbox_shouldSaveEntriesOfTargetsWithNotificationUri() {
+        // Given
+        BulkStatusChangeNotificationService service = new BulkStatusChangeNotificationService(notificationOutboxRepository, true);
+        List<NotificationTargetView> targets = Arrays.asList(new NotificationTargetView("payment 1", NOTIFICATION_URI, TPP_ID),
+                                                             new NotificationTargetView("payment 2", " ", TPP_ID));
+        ArgumentCaptor<List<NotificationOutboxEntity>> entriesCaptor = ArgumentCaptor.forClass(List.class);
+
+        // When
+        service.addToOutbox(NotificationResourceType.PAYMENT, "RJCT", targets);
+
+        // Then
+        verify(notificationOutboxRepository).saveAll(entriesCaptor.capture());
+        List<NotificationOutboxEntity> entries = entriesCaptor.getValue();
+        assertThat(entries).hasSize(1);
+        NotificationOutboxEntity entry = entries.get(0);
+        assertThat(entry.getResourceType()).isEqualTo(NotificationResourceType.PAYMENT);
+        assertThat(entry.getResourceId()).isEqualTo("payment 1");
+        assertThat(entry.getStatus()).isEqualTo("RJCT");
+        assertThat(entry.getNotificationUri()).isEqualTo(NOTIFICATION_URI);
+        assertThat(entry.getTppAuthorisationNumber()).isEqualTo(TPP_ID);
+        assertThat(entry.getDeliveryState()).isEqualTo(NotificationDeliveryState.PENDING);
+    }
+
+    @Test
+    public void addToOutbox_noTargets_shouldNotSave() {
+        // Given
+        BulkStatusChangeNotificationService service = new BulkStatusChangeNotificationService(notificationOutboxRepository, true);
+
+        // When
+        service.addToOutbox(NotificationResourceType.CONSENT, "EXPIRED", Collections.emptyList());
+
+        // Then
+        verify(notificationOutboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void addToOutbox_disabled_shouldNotSave() {
+        // Given
+        BulkStatusChangeNotificationService service = new BulkStatusChangeNotificationService(notificationOutboxRepository, false);
+        List<NotificationTargetView> targets = Collections.singletonList(new NotificationTargetView("consent", NOTIFICATION_URI, TPP_ID));
+
+        // When
+        service.addToOutbox(NotificationResourceType.CONSENT, "EXPIRED", targets);
+
+        // Then
+        assertThat(service.isEnabled()).isFalse();
+        verify(notificationOutboxRepository, never()).saveAll(any());
+    }
+}
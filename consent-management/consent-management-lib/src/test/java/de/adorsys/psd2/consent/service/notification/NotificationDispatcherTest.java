@@ -0,0 +1,258 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.domain.notification.NotificationOutboxEntity;
+import de.adorsys.psd2.consent.domain.notification.NotificationResourceType;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationDispatcherTest {
+    private static final String PAYMENT_ID = "payment id";
+    private static final String TPP_AUTHORISATION_NUMBER = "tpp authorisation number";
+    private static final String ANOTHER_TPP_AUTHORISATION_NUMBER = "another tpp authorisation number";
+    private static final int MAX_CONCURRENT_PER_TPP = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MS = 60000;
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    private NotificationDispatcher notificationDispatcher;
+
+    private HttpServer tppStub;
+    private ExecutorService tppStubExecutor;
+    private String tppStubUri;
+    private volatile int tppResponseStatus = 204;
+    private volatile long tppResponseDelayMs;
+    private final List<String> receivedNotifications = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> inFlightByPath = new ConcurrentHashMap<>();
+    private final Map<String, Integer> maxInFlightByPath = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp() throws IOException {
+        tppStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        tppStub.createContext("/", this::receiveNotification);
+        tppStubExecutor = Executors.newCachedThreadPool();
+        tppStub.setExecutor(tppStubExecutor);
+        tppStub.start();
+        tppStubUri = "http://localhost:" + tppStub.getAddress().getPort();
+
+        notificationDispatcher = new NotificationDispatcher(notificationOutboxRepository, true, 100, 10, MAX_CONCURRENT_PER_TPP,
+                                                            MAX_ATTEMPTS, INITIAL_BACKOFF_MS, 3600000, 5000);
+    }
+
+    @After
+    public void tearDown() {
+        notificationDispatcher.shutdown();
+        tppStub.stop(0);
+        tppStubExecutor.shutdownNow();
+    }
+
+    @Test
+    public void dispatchDueNotifications_acceptedByTpp_shouldMarkDelivered() {
+        // Given
+        NotificationOutboxEntity entry = buildEntry(1L, TPP_AUTHORISATION_NUMBER, tppStubUri + "/notifications");
+        givenDueEntries(entry);
+        when(notificationOutboxRepository.claimForDelivery(eq(1L), eq(NotificationDeliveryState.PENDING), any(), any())).thenReturn(1);
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        assertThat(receivedNotifications).hasSize(1);
+        assertThat(receivedNotifications.get(0))
+            .contains("\"resourceType\":\"PAYMENT\"")
+            .contains("\"resourceId\":\"" + PAYMENT_ID + "\"")
+            .contains("\"status\":\"ACSP\"");
+        assertThat(entry.getDeliveryState()).isEqualTo(NotificationDeliveryState.DELIVERED);
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        verify(notificationOutboxRepository).save(entry);
+        assertThat(notificationDispatcher.getDeliveredCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void dispatchDueNotifications_rejectedByTpp_shouldScheduleRetryWithBackoff() {
+        // Given
+        tppResponseStatus = 500;
+        NotificationOutboxEntity entry = buildEntry(1L, TPP_AUTHORISATION_NUMBER, tppStubUri + "/notifications");
+        givenDueEntries(entry);
+        when(notificationOutboxRepository.claimForDelivery(eq(1L), eq(NotificationDeliveryState.PENDING), any(), any())).thenReturn(1);
+        OffsetDateTime beforeDispatch = OffsetDateTime.now();
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        assertThat(receivedNotifications).hasSize(1);
+        assertThat(entry.getDeliveryState()).isEqualTo(NotificationDeliveryState.PENDING);
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        assertThat(entry.getNextAttemptTimestamp()).isGreaterThanOrEqualTo(beforeDispatch.plusNanos(INITIAL_BACKOFF_MS * 1_000_000));
+        verify(notificationOutboxRepository).save(entry);
+        assertThat(notificationDispatcher.getFailedAttemptCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void dispatchDueNotifications_lastAttemptRejected_shouldAbandonNotification() {
+        // Given
+        tppResponseStatus = 503;
+        NotificationOutboxEntity entry = buildEntry(1L, TPP_AUTHORISATION_NUMBER, tppStubUri + "/notifications");
+        entry.setAttempts(MAX_ATTEMPTS - 1);
+        givenDueEntries(entry);
+        when(notificationOutboxRepository.claimForDelivery(eq(1L), eq(NotificationDeliveryState.PENDING), any(), any())).thenReturn(1);
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        assertThat(entry.getDeliveryState()).isEqualTo(NotificationDeliveryState.FAILED);
+        assertThat(entry.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(notificationDispatcher.getAbandonedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void dispatchDueNotifications_unsupportedScheme_shouldNotSendRequest() {
+        // Given
+        NotificationOutboxEntity entry = buildEntry(1L, TPP_AUTHORISATION_NUMBER, "file:///etc/passwd");
+        givenDueEntries(entry);
+        when(notificationOutboxRepository.claimForDelivery(eq(1L), eq(NotificationDeliveryState.PENDING), any(), any())).thenReturn(1);
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        assertThat(receivedNotifications).isEmpty();
+        assertThat(entry.getDeliveryState()).isEqualTo(NotificationDeliveryState.PENDING);
+        assertThat(entry.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void dispatchDueNotifications_claimedByAnotherInstance_shouldSkipNotification() {
+        // Given
+        NotificationOutboxEntity entry = buildEntry(1L, TPP_AUTHORISATION_NUMBER, tppStubUri + "/notifications");
+        givenDueEntries(entry);
+        when(notificationOutboxRepository.claimForDelivery(eq(1L), eq(NotificationDeliveryState.PENDING), any(), any())).thenReturn(0);
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        assertThat(receivedNotifications).isEmpty();
+        verify(notificationOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    public void dispatchDueNotifications_manyNotificationsOfOneTpp_shouldLimitConcurrentDeliveriesPerTpp() {
+        // Given
+        tppResponseDelayMs = 100;
+        List<NotificationOutboxEntity> entries = IntStream.range(0, 6)
+                                                     .mapToObj(i -> buildEntry((long) i, TPP_AUTHORISATION_NUMBER, tppStubUri + "/tpp"))
+                                                     .collect(Collectors.toList());
+        entries.add(buildEntry(10L, ANOTHER_TPP_AUTHORISATION_NUMBER, tppStubUri + "/another-tpp"));
+        givenDueEntries(entries.toArray(new NotificationOutboxEntity[0]));
+        when(notificationOutboxRepository.claimForDelivery(anyLong(), eq(NotificationDeliveryState.PENDING), any(), any())).thenReturn(1);
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        assertThat(receivedNotifications).hasSize(7);
+        assertThat(entries).extracting(NotificationOutboxEntity::getDeliveryState).containsOnly(NotificationDeliveryState.DELIVERED);
+        assertThat(maxInFlightByPath.get("/tpp")).isEqualTo(MAX_CONCURRENT_PER_TPP);
+        assertThat(maxInFlightByPath.get("/another-tpp")).isEqualTo(1);
+    }
+
+    @Test
+    public void dispatchDueNotifications_disabled_shouldNotReadOutbox() {
+        // Given
+        notificationDispatcher.shutdown();
+        notificationDispatcher = new NotificationDispatcher(notificationOutboxRepository, false, 100, 10, MAX_CONCURRENT_PER_TPP,
+                                                            MAX_ATTEMPTS, INITIAL_BACKOFF_MS, 3600000, 5000);
+
+        // When
+        notificationDispatcher.dispatchDueNotifications();
+
+        // Then
+        verifyZeroInteractions(notificationOutboxRepository);
+    }
+
+    private void givenDueEntries(NotificationOutboxEntity... entries) {
+        when(notificationOutboxRepository.findByDeliveryStateAndNextAttemptTimestampLessThanEqualOrderByNextAttemptTimestamp(eq(NotificationDeliveryState.PENDING), any(), any()))
+            .thenReturn(Arrays.asList(entries));
+    }
+
+    private NotificationOutboxEntity buildEntry(Long id, String tppAuthorisationNumber, String notificationUri) {
+        NotificationOutboxEntity entry = new NotificationOutboxEntity(NotificationResourceType.PAYMENT, PAYMENT_ID, "ACSP",
+                                                                      notificationUri, tppAuthorisationNumber);
+        entry.setId(id);
+        return entry;
+    }
+
+    private void receiveNotification(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        AtomicInteger inFlight = inFlightByPath.computeIfAbsent(path, p -> new AtomicInteger());
+        int current = inFlight.incrementAndGet();
+        maxInFlightByPath.merge(path, current, Math::max);
+        try {
+            receivedNotifications.add(StreamUtils.copyToString(exchange.getRequestBody(), StandardCharsets.UTF_8));
+            if (tppResponseDelayMs > 0) {
+                Thread.sleep(tppResponseDelayMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Before the response is sent, as the dispatcher may send the next request right after receiving it
+            inFlight.decrementAndGet();
+        }
+
+        try {
+            exchange.sendResponseHeaders(tppResponseStatus, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+}
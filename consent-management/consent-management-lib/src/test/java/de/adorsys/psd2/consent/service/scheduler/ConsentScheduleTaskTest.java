@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.repository.AisConsentRepository;
+import de.adorsys.psd2.consent.repository.SchedulerLockRepository;
+import de.adorsys.psd2.consent.service.AisConsentExpirationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConsentScheduleTaskTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final List<Long> FIRST_CHUNK = Arrays.asList(1L, 2L);
+    private static final List<Long> SECOND_CHUNK = Collections.singletonList(5L);
+
+    @Mock
+    private AisConsentRepository aisConsentRepository;
+    @Mock
+    private AisConsentExpirationService aisConsentExpirationService;
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    private ConsentScheduleTask consentScheduleTask;
+
+    @Before
+    public void setUp() {
+        consentScheduleTask = new ConsentScheduleTask(aisConsentRepository, aisConsentExpirationService, new LockedTaskExecutor(schedulerLockRepository, false, 0, 0), CHUNK_SIZE);
+    }
+
+    @Test
+    public void checkConsentStatus_shouldExpireConsentsChunkByChunk() {
+        // Given
+        when(aisConsentRepository.findExpiredConsentIdsAfter(eq(0L), anySet(), any(), any())).thenReturn(FIRST_CHUNK);
+        when(aisConsentRepository.findExpiredConsentIdsAfter(eq(2L), anySet(), any(), any())).thenReturn(SECOND_CHUNK);
+        when(aisConsentExpirationService.expireConsents(eq(FIRST_CHUNK), anySet(), any())).thenReturn(2);
+        when(aisConsentExpirationService.expireConsents(eq(SECOND_CHUNK), anySet(), any())).thenReturn(1);
+
+        // When
+        consentScheduleTask.checkConsentStatus();
+
+        // Then
+        verify(aisConsentRepository, never()).findExpiredConsentIdsAfter(eq(5L), anySet(), any(), any());
+        assertThat(consentScheduleTask.getExpiredConsentCount()).isEqualTo(3);
+        assertThat(consentScheduleTask.getProcessedChunkCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void checkConsentStatus_noExpiredConsents_shouldNotUpdate() {
+        // Given
+        when(aisConsentRepository.findExpiredConsentIdsAfter(eq(0L), anySet(), any(), any())).thenReturn(Collections.emptyList());
+
+        // When
+        consentScheduleTask.checkConsentStatus();
+
+        // Then
+        verify(aisConsentExpirationService, never()).expireConsents(any(), anySet(), any());
+        assertThat(consentScheduleTask.getExpiredConsentCount()).isZero();
+    }
+}
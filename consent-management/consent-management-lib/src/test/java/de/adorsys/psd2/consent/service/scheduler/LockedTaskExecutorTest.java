@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.repository.SchedulerLockRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LockedTaskExecutorTest {
+    private static final String LOCK_NAME = "test-task";
+
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    private LockedTaskExecutor lockedTaskExecutor;
+    private AtomicInteger runs;
+
+    @Before
+    public void setUp() {
+        lockedTaskExecutor = new LockedTaskExecutor(schedulerLockRepository, true, 60000, 1000);
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    public void execute_expiredLock_shouldRunTaskAndReleaseLock() {
+        // Given
+        when(schedulerLockRepository.acquireExpiredLock(eq(LOCK_NAME), any(), any(), anyString())).thenReturn(1);
+
+        // When
+        boolean executed = lockedTaskExecutor.execute(LOCK_NAME, runs::incrementAndGet);
+
+        // Then
+        assertThat(executed).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+        verify(schedulerLockRepository).releaseLock(eq(LOCK_NAME), any(), anyString());
+        ScheduledTaskStatistics statistics = lockedTaskExecutor.getStatistics().get(LOCK_NAME);
+        assertThat(statistics.getExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getLastRunStart()).isNotNull();
+    }
+
+    @Test
+    public void execute_lockHeldByAnotherInstance_shouldSkipTask() {
+        // Given
+        when(schedulerLockRepository.acquireExpiredLock(eq(LOCK_NAME), any(), any(), anyString())).thenReturn(0);
+        when(schedulerLockRepository.existsById(LOCK_NAME)).thenReturn(true);
+
+        // When
+        boolean executed = lockedTaskExecutor.execute(LOCK_NAME, runs::incrementAndGet);
+
+        // Then
+        assertThat(executed).isFalse();
+        assertThat(runs.get()).isZero();
+        verify(schedulerLockRepository, never()).releaseLock(anyString(), any(), anyString());
+        assertThat(lockedTaskExecutor.getStatistics().get(LOCK_NAME).getSkipCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_noLock_shouldInsertLockAndRunTask() {
+        // Given
+        when(schedulerLockRepository.acquireExpiredLock(eq(LOCK_NAME), any(), any(), anyString())).thenReturn(0);
+        when(schedulerLockRepository.existsById(LOCK_NAME)).thenReturn(false);
+        when(schedulerLockRepository.insertLock(eq(LOCK_NAME), any(), any(), anyString())).thenReturn(1);
+
+        // When
+        boolean executed = lockedTaskExecutor.execute(LOCK_NAME, runs::incrementAndGet);
+
+        // Then
+        assertThat(executed).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_lockInsertedConcurrently_shouldSkipTask() {
+        // Given
+        when(schedulerLockRepository.acquireExpiredLock(eq(LOCK_NAME), any(), any(), anyString())).thenReturn(0);
+        when(schedulerLockRepository.existsById(LOCK_NAME)).thenReturn(false);
+        when(schedulerLockRepository.insertLock(eq(LOCK_NAME), any(), any(), anyString())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // When
+        boolean executed = lockedTaskExecutor.execute(LOCK_NAME, runs::incrementAndGet);
+
+        // Then
+        assertThat(executed).isFalse();
+        assertThat(runs.get()).isZero();
+    }
+
+    @Test
+    public void execute_lockDisabled_shouldRunTaskWithoutLock() {
+        // Given
+        lockedTaskExecutor = new LockedTaskExecutor(schedulerLockRepository, false, 60000, 1000);
+
+        // When
+        boolean executed = lockedTaskExecutor.execute(LOCK_NAME, runs::incrementAndGet);
+
+        // Then
+        assertThat(executed).isTrue();
+        assertThat(runs.get()).isEqualTo(1);
+        verify(schedulerLockRepository, never()).acquireExpiredLock(anyString(), any(), any(), anyString());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.scheduler;
+
+import de.adorsys.psd2.consent.domain.notification.NotificationDeliveryState;
+import de.adorsys.psd2.consent.repository.NotificationOutboxRepository;
+import de.adorsys.psd2.consent.repository.SchedulerLockRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationOutboxPurgeScheduleTaskTest {
+    private static final String LOCK_NAME = "notification-outbox-purge";
+    private static final long RETENTION_MS = 86400000L;
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Test
+    public void purgeFinishedNotifications_shouldDeleteFinishedNotificationsOlderThanRetention() {
+        // Given
+        NotificationOutboxPurgeScheduleTask task = new NotificationOutboxPurgeScheduleTask(notificationOutboxRepository,
+                                                                                           new LockedTaskExecutor(schedulerLockRepository, false, 0, 0),
+                                                                                           RETENTION_MS);
+        ArgumentCaptor<OffsetDateTime> beforeCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        when(notificationOutboxRepository.deleteByDeliveryStateInAndNextAttemptTimestampBefore(eq(EnumSet.of(NotificationDeliveryState.DELIVERED,
+                                                                                                             NotificationDeliveryState.FAILED)),
+                                                                                            beforeCaptor.capture()))
+            .thenReturn(3);
+        OffsetDateTime expectedBefore = OffsetDateTime.now().minus(RETENTION_MS, ChronoUnit.MILLIS);
+
+        // When
+        task.purgeFinishedNotifications();
+
+        // Then
+        assertThat(beforeCaptor.getValue()).isBetween(expectedBefore, expectedBefore.plusMinutes(1));
+        assertThat(task.getPurgedNotificationCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void purgeFinishedNotifications_lockHeldByAnotherInstance_shouldNotDelete() {
+        // Given
+        NotificationOutboxPurgeScheduleTask task = new NotificationOutboxPurgeScheduleTask(notificationOutboxRepository,
+                                                                                           new LockedTaskExecutor(schedulerLockRepository, true, 1800000, 30000),
+                                                                                           RETENTION_MS);
+        when(schedulerLockRepository.acquireExpiredLock(eq(LOCK_NAME), any(), any(), anyString())).thenReturn(0);
+        when(schedulerLockRepository.existsById(LOCK_NAME)).thenReturn(true);
+
+        // When
+        task.purgeFinishedNotifications();
+
+        // Then
+        verify(notificationOutboxRepository, never()).deleteByDeliveryStateInAndNextAttemptTimestampBefore(any(), any());
+        assertThat(task.getPurgedNotificationCount()).isZero();
+    }
+}
@@ -18,10 +18,10 @@ package de.adorsys.psd2.consent.service.security;
 
 
 import de.adorsys.psd2.consent.service.security.provider.AesEcbCryptoProviderImpl;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.Optional;
@@ -36,8 +36,7 @@ public class AesEcbCryptoProviderImplTest {
     private final String SERVER_KEY_3 = "mvL";
     private final String SERVER_KEY_80 = "mvLBiZsiTbGwrfJBmvLBiZsiTbGwrfJBmvLBiZsiTbGwrfJBmvLBiZsiTbGwrfJBmvLBiZsiTbGwrfJB";
 
-    @InjectMocks
-    AesEcbCryptoProviderImpl aesGcmCryptoProvider;
+    private final AesEcbCryptoProviderImpl aesGcmCryptoProvider = new AesEcbCryptoProviderImpl(new DerivedKeyCache(100, 60000));
 
     @Test
     public void encryptionDecryptionTest_password_16char() {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DecryptedIdCacheTest {
+    private static final String ENCRYPTED_ID = "encrypted_=_bS6p6XvTWI";
+    private static final String DECRYPTED_ID = "fa6e687b-1ac9-4b1a-9c74-357c35c82ba1_=_rvIgmcYarc8eMbqk";
+
+    private final DecryptedIdCache decryptedIdCache = new DecryptedIdCache();
+    private final AtomicInteger decryptionCount = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void getOrDecrypt_withinRequest_decryptedOnce() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+
+        // When
+        Optional<String> first = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+        Optional<String> second = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(first.get()).isEqualTo(DECRYPTED_ID);
+        assertThat(second.get()).isEqualTo(DECRYPTED_ID);
+        assertThat(decryptionCount.get()).isEqualTo(1);
+        assertThat(decryptedIdCache.getDecryptionCount()).isEqualTo(1);
+        assertThat(decryptedIdCache.getAvoidedDecryptionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getOrDecrypt_differentRequests_decryptedInEachRequest() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+
+        // When
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(decryptionCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getOrDecrypt_noRequest_alwaysDecrypted() {
+        // When
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(decryptionCount.get()).isEqualTo(2);
+        assertThat(decryptedIdCache.getAvoidedDecryptionCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void getOrDecrypt_failedDecryption_notMemoized() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+
+        // When
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, id -> {
+            decryptionCount.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<String> actual = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(actual.get()).isEqualTo(DECRYPTED_ID);
+        assertThat(decryptionCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void put_withinRequest_decryptionAvoided() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+        decryptedIdCache.put(ENCRYPTED_ID, DECRYPTED_ID);
+
+        // When
+        Optional<String> actual = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertThat(actual.get()).isEqualTo(DECRYPTED_ID);
+        assertThat(decryptionCount.get()).isEqualTo(0);
+    }
+
+    private Optional<String> decrypt(String encryptedId) {
+        decryptionCount.incrementAndGet();
+        return Optional.of(DECRYPTED_ID);
+    }
+
+    private static class MapRequestAttributes implements RequestAttributes {
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return null;
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            return null;
+        }
+    }
+}
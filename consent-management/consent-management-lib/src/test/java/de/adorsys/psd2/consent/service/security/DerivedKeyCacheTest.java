@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import de.adorsys.psd2.consent.service.security.provider.CryptoProviderAlgorithmVersion;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
+import org.junit.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DerivedKeyCacheTest {
+    private static final String PASSWORD = "mvLBiZsiTbGwrfJB";
+    private static final String OTHER_PASSWORD = "other password";
+    private static final CryptoProviderAlgorithmVersion AES_VERSION = new CryptoProviderAlgorithmVersion("bS6p6XvTWI", "AES/ECB/PKCS5Padding");
+    private static final CryptoProviderAlgorithmVersion JWE_VERSION = new CryptoProviderAlgorithmVersion("gQ8wkMeo93", "JWE/GCM/256");
+
+    private final AtomicInteger derivationCount = new AtomicInteger();
+
+    @Test
+    public void getSecretKey_sameKey_derivedOnce() throws Exception {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, 60000);
+
+        // When
+        SecretKey first = derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+        SecretKey second = derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(derivationCount.get()).isEqualTo(1);
+        assertThat(derivedKeyCache.getHitCount()).isEqualTo(1);
+        assertThat(derivedKeyCache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getSecretKey_differentPasswordOrVersion_derivedSeparately() throws Exception {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, 60000);
+
+        // When
+        derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+        derivedKeyCache.getSecretKey(PASSWORD, JWE_VERSION, this::derive);
+        derivedKeyCache.getSecretKey(OTHER_PASSWORD, AES_VERSION, this::derive);
+
+        // Then
+        assertThat(derivationCount.get()).isEqualTo(3);
+        assertThat(derivedKeyCache.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void getSecretKey_maxSizeExceeded_eldestEvicted() throws Exception {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(1, 60000);
+
+        // When
+        derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+        derivedKeyCache.getSecretKey(OTHER_PASSWORD, AES_VERSION, this::derive);
+        derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+
+        // Then
+        assertThat(derivationCount.get()).isEqualTo(3);
+        assertThat(derivedKeyCache.size()).isEqualTo(1);
+        assertThat(derivedKeyCache.getEvictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void getSecretKey_expired_derivedAgain() throws Exception {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, 0);
+
+        // When
+        derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+        derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+
+        // Then
+        assertThat(derivationCount.get()).isEqualTo(2);
+        assertThat(derivedKeyCache.getHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void getSecretKey_disabled_alwaysDerived() throws Exception {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(0, 60000);
+
+        // When
+        derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+        derivedKeyCache.getSecretKey(PASSWORD, AES_VERSION, this::derive);
+
+        // Then
+        assertThat(derivationCount.get()).isEqualTo(2);
+        assertThat(derivedKeyCache.size()).isEqualTo(0);
+    }
+
+    private SecretKey derive(String password) {
+        derivationCount.incrementAndGet();
+        return new SecretKeySpec(password.getBytes(), "AES");
+    }
+}
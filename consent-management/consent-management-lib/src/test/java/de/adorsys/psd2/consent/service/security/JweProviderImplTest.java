@@ -16,11 +16,11 @@
 
 package de.adorsys.psd2.consent.service.security;
 
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import de.adorsys.psd2.consent.service.security.provider.JweCryptoProviderImpl;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.Optional;
@@ -30,8 +30,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(MockitoJUnitRunner.class)
 public class JweProviderImplTest {
-    @InjectMocks
-    JweCryptoProviderImpl jweCryptoProvider;
+    private final JweCryptoProviderImpl jweCryptoProvider = new JweCryptoProviderImpl(new DerivedKeyCache(100, 60000));
 
     @Test
     public void encryptionDecryptionJwe() {
@@ -64,7 +64,7 @@ public class SecurityDataServiceTest {
 
         when(environment.getProperty("server_key")).thenReturn(SERVER_KEY);
 
-        securityDataService = new SecurityDataService(environment, cryptoProviderFactory);
+        securityDataService = new SecurityDataService(environment, cryptoProviderFactory, new DecryptedIdCache());
 
         when(cryptoProviderFactory.getCryptoProviderByAlgorithmVersion(CRYPTO_PROVIDER_ID))
             .thenReturn(Optional.of(CRYPTO_PROVIDER));
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.api;
+
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Records of the TPP stop list, changed since the requested timestamp, together with the time of the request in CMS.
+ * Used to keep replicas of the stop list up to date
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TppStopListChanges {
+    private OffsetDateTime timestamp;
+    private List<TppStopListRecord> records;
+}
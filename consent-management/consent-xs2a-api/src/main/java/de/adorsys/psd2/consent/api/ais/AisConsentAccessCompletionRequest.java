@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.api.ais;
+
+import de.adorsys.psd2.consent.api.ActionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes to be written to CMS after an AIS request was served by the ASPSP
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AisConsentAccessCompletionRequest {
+    private String tppId;
+    /**
+     * Status of the action to be logged. If null, neither the action is logged nor the consent usage is incremented
+     */
+    private ActionStatus actionStatus;
+    /**
+     * Whether ASPSP consent data should be replaced with the given one
+     */
+    private boolean updateAspspConsentData;
+    /**
+     * New ASPSP consent data. If null and updateAspspConsentData is set, ASPSP consent data is deleted
+     */
+    private byte[] aspspConsentData;
+    /**
+     * Whether the consent should be expired after the access (e.g. one-off consent)
+     */
+    private boolean expireConsent;
+    /**
+     * Account, whose transaction cursor should be moved forward. Used together with transactionCursor
+     */
+    private String resourceId;
+    /**
+     * New transaction cursor of the account. If null, the cursor is not changed
+     */
+    private AisTransactionCursor transactionCursor;
+
+    public AisConsentAccessCompletionRequest(String tppId, ActionStatus actionStatus, boolean updateAspspConsentData, byte[] aspspConsentData, boolean expireConsent) {
+        this(tppId, actionStatus, updateAspspConsentData, aspspConsentData, expireConsent, null, null);
+    }
+}
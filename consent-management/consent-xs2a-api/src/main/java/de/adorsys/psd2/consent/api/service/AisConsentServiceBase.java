@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.api.service;
 import de.adorsys.psd2.consent.api.ais.AisAccountAccessInfo;
 import de.adorsys.psd2.consent.api.ais.AisAccountConsent;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisTransactionCursor;
 import de.adorsys.psd2.consent.api.ais.CreateAisConsentRequest;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -111,4 +112,23 @@ interface AisConsentServiceBase {
      * @return <code>true</code> if authorisation was found and SCA required field updated, <code>false</code> otherwise
      */
     boolean updateMultilevelScaRequired(String consentId, boolean multilevelScaRequired);
+
+    /**
+     * Reads the transaction cursor of the account, i.e. the last booked transaction already delivered to the TPP
+     *
+     * @param consentId  String representation of the consent identifier
+     * @param resourceId String representation of the account identifier
+     * @return transaction cursor, if the account transactions have already been read with this consent
+     */
+    Optional<AisTransactionCursor> getTransactionCursor(String consentId, String resourceId);
+
+    /**
+     * Moves the transaction cursor of the account forward. The cursor is never moved back to an earlier booking date
+     *
+     * @param consentId  String representation of the consent identifier
+     * @param resourceId String representation of the account identifier
+     * @param cursor     last booked transaction delivered to the TPP
+     * @return <code>true</code> if consent was found and the cursor was updated, <code>false</code> otherwise
+     */
+    boolean updateTransactionCursor(String consentId, String resourceId, AisTransactionCursor cursor);
 }
@@ -16,6 +16,11 @@
 
 package de.adorsys.psd2.consent.api.service;
 
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCompletionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessContext;
+
+import java.util.Optional;
+
 /**
  * AisConsentService with enabled encryption and decryption
  *
@@ -23,4 +28,23 @@ package de.adorsys.psd2.consent.api.service;
  * @see de.adorsys.psd2.consent.api.service.AisConsentService
  */
 public interface AisConsentServiceEncrypted extends AisConsentServiceBase {
+    /**
+     * Reads the consent together with its ASPSP consent data in one transaction, in order to perform AIS request.
+     * Consent is checked on expiration the same way as in {@link #getAisAccountConsentById(String)}.
+     * Available only with encrypted consent ID, as ASPSP consent data is encrypted with the key of encrypted consent ID.
+     *
+     * @param encryptedConsentId encrypted id of consent
+     * @return AIS request context, if consent was found
+     */
+    Optional<AisConsentAccessContext> prepareAisAccess(String encryptedConsentId);
+
+    /**
+     * Writes changes of ASPSP consent data, action log with usage increment and consent expiration
+     * after AIS request in one transaction
+     *
+     * @param encryptedConsentId encrypted id of consent
+     * @param request            changes to be written
+     * @return <code>true</code> if all requested changes were written, <code>false</code> otherwise
+     */
+    boolean completeAisAccess(String encryptedConsentId, AisConsentAccessCompletionRequest request);
 }
@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.*;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
@@ -58,6 +59,15 @@ interface PisCommonPaymentServiceBase {
      */
     Optional<PisCommonPaymentResponse> getCommonPaymentById(String paymentId);
 
+    /**
+     * Reads status of pis payment by payment identifier together with the data, needed for validation of status requests
+     * (payment type, product, PSU and TPP), without reading payment data
+     *
+     * @param paymentId String representation of pis payment identifier
+     * @return Response containing status information about pis payment
+     */
+    Optional<PisCommonPaymentStatusInfo> getCommonPaymentStatusInfoById(String paymentId);
+
     /**
      * Updates pis payment status by payment identifier
      *
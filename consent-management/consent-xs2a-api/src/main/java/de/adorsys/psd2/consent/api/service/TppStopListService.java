@@ -16,7 +16,11 @@
 
 package de.adorsys.psd2.consent.api.service;
 
+import de.adorsys.psd2.consent.api.TppStopListChanges;
 import de.adorsys.psd2.xs2a.core.tpp.TppUniqueParamsHolder;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.OffsetDateTime;
 
 public interface TppStopListService {
 
@@ -27,4 +31,12 @@ public interface TppStopListService {
      * @return <code>true</code> if TPP is found and has status BLOCKED, <code>false</code> if TPP is not found or its status is not BLOCKED
      */
     boolean checkIfTppBlocked(TppUniqueParamsHolder tppUniqueParams);
+
+    /**
+     * Gets changes of the TPP stop list since the given timestamp.
+     *
+     * @param changedSince timestamp of the previous request for changes (inclusive) or <code>null</code> for the initial request
+     * @return records changed since the given timestamp, or all currently blocked records if the timestamp is not given
+     */
+    TppStopListChanges getTppStopListChanges(@Nullable OffsetDateTime changedSince);
 }
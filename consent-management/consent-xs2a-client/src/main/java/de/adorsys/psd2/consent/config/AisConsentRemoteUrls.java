@@ -87,6 +87,44 @@ public class AisConsentRemoteUrls {
         return consentServiceBaseUrl + "/ais/consent/action";
     }
 
+    /**
+     * @return AisConsentAccessContext context
+     * Method: GET
+     * PathVariable: String consentId
+     */
+    public String prepareAisAccess() {
+        return consentServiceBaseUrl + "/ais/consent/{consent-id}/ais-access";
+    }
+
+    /**
+     * @return Boolean
+     * Method: PUT
+     * PathVariable: String consentId
+     * Body: AisConsentAccessCompletionRequest request
+     */
+    public String completeAisAccess() {
+        return consentServiceBaseUrl + "/ais/consent/{consent-id}/ais-access";
+    }
+
+    /**
+     * @return AisTransactionCursor cursor
+     * Method: GET
+     * PathVariables: String consentId, String resourceId
+     */
+    public String getTransactionCursor() {
+        return consentServiceBaseUrl + "/ais/consent/{consent-id}/accounts/{resource-id}/transaction-cursor";
+    }
+
+    /**
+     * @return Boolean
+     * Method: PUT
+     * PathVariables: String consentId, String resourceId
+     * Body: AisTransactionCursor cursor
+     */
+    public String updateTransactionCursor() {
+        return consentServiceBaseUrl + "/ais/consent/{consent-id}/accounts/{resource-id}/transaction-cursor";
+    }
+
     /**
      * @return String consentId
      * Method: POST
@@ -16,33 +16,93 @@
 
 package de.adorsys.psd2.consent.config;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class ConsentRestConfig {
     @Value("${rest-consent-config.read-timeout.ms:10000}")
     private int readTimeout;
     @Value("${rest-consent-config.connection-timeout.ms:10000}")
     private int connectionTimeout;
+    @Value("${rest-consent-config.connection-pool.enabled:true}")
+    private boolean connectionPoolEnabled;
+    @Value("${rest-consent-config.connection-pool.max-total:200}")
+    private int maxTotalConnections;
+    @Value("${rest-consent-config.connection-pool.max-per-route:100}")
+    private int maxConnectionsPerRoute;
+    @Value("${rest-consent-config.connection-pool.keep-alive.ms:30000}")
+    private long keepAlive;
+    @Value("${rest-consent-config.connection-pool.idle-eviction.ms:60000}")
+    private long idleEviction;
+    @Value("${rest-consent-config.gzip.enabled:true}")
+    private boolean gzipEnabled;
 
     @Bean
-    public RestTemplate consentRestTemplate() {
-        RestTemplate rest = new RestTemplate(clientHttpRequestFactory());
+    public RestTemplate consentRestTemplate(RemoteEndpointLatencyInterceptor consentRemoteEndpointLatencyInterceptor) {
+        RestTemplate rest = new RestTemplate(consentClientHttpRequestFactory());
         rest.getMessageConverters().removeIf(m -> m.getClass().isAssignableFrom(MappingJackson2XmlHttpMessageConverter.class));
         rest.setErrorHandler(new ConsentRestErrorHandler());
+        rest.setUriTemplateHandler(consentRemoteEndpointLatencyInterceptor.capturingUrlTemplates(rest.getUriTemplateHandler()));
+        rest.getInterceptors().add(consentRemoteEndpointLatencyInterceptor);
         return rest;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
+    @Bean
+    public RemoteEndpointLatencyInterceptor consentRemoteEndpointLatencyInterceptor() {
+        return new RemoteEndpointLatencyInterceptor();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory consentClientHttpRequestFactory() {
+        if (connectionPoolEnabled) {
+            // closes the pooled HTTP client on context shutdown
+            return new HttpComponentsClientHttpRequestFactory(pooledHttpClient());
+        }
+
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setReadTimeout(readTimeout);
         factory.setConnectTimeout(connectionTimeout);
         return factory;
     }
+
+    private CloseableHttpClient pooledHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotalConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                                          .setConnectTimeout(connectionTimeout)
+                                          .setSocketTimeout(readTimeout)
+                                          .setConnectionRequestTimeout(connectionTimeout)
+                                          .build();
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                                        .setConnectionManager(connectionManager)
+                                        .setDefaultRequestConfig(requestConfig)
+                                        .setKeepAliveStrategy((response, context) -> {
+                                            // Keep-Alive header of the server takes precedence over configured value
+                                            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                                            return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+                                        })
+                                        .evictExpiredConnections()
+                                        .evictIdleConnections(idleEviction, TimeUnit.MILLISECONDS);
+        if (!gzipEnabled) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
 }
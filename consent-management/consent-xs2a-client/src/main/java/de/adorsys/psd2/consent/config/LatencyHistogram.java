@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of call latencies of one remote endpoint with fixed bucket boundaries
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_UPPER_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, Long.MAX_VALUE};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS_MS.length];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTimeMs = new LongAdder();
+    private final LongAccumulator maxTimeMs = new LongAccumulator(Long::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long timeMs) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MS.length; i++) {
+            if (timeMs <= BUCKET_UPPER_BOUNDS_MS[i]) {
+                buckets[i].increment();
+                break;
+            }
+        }
+        count.increment();
+        totalTimeMs.add(timeMs);
+        maxTimeMs.accumulate(timeMs);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalTimeMs() {
+        return totalTimeMs.sum();
+    }
+
+    public long getMaxTimeMs() {
+        return maxTimeMs.get();
+    }
+
+    /**
+     * Returns counts of calls per bucket
+     *
+     * @return map of bucket upper bounds in milliseconds to counts of calls, that took not longer than the bound
+     * and longer than the previous bound
+     */
+    public Map<Long, Long> getBucketCounts() {
+        Map<Long, Long> bucketCounts = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MS.length; i++) {
+            bucketCounts.put(BUCKET_UPPER_BOUNDS_MS[i], buckets[i].sum());
+        }
+        return Collections.unmodifiableMap(bucketCounts);
+    }
+
+    /**
+     * Estimates the given percentile of latency as the upper bound of the bucket it falls into
+     *
+     * @param percentile percentile between 0 and 1 (e.g. 0.99)
+     * @return upper bound of the bucket in milliseconds or maximum recorded time for the last bucket
+     */
+    public long getPercentileMs(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(total * percentile);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MS.length; i++) {
+            accumulated += buckets[i].sum();
+            if (accumulated >= threshold) {
+                return Math.min(BUCKET_UPPER_BOUNDS_MS[i], getMaxTimeMs());
+            }
+        }
+        return getMaxTimeMs();
+    }
+}
@@ -60,6 +60,15 @@ public class PisCommonPaymentRemoteUrls {
         return commonPaymentServiceBaseUrl + "/pis/common-payments/{paymentId}";
     }
 
+    /**
+     * Returns URL-string to CMS endpoint that gets status information of pis common payment by ID
+     *
+     * @return String
+     */
+    public String getPisCommonPaymentStatusInfoById() {
+        return commonPaymentServiceBaseUrl + "/pis/common-payments/{paymentId}/status-info";
+    }
+
     /**
      * @return String paymentId
      * Method: POST
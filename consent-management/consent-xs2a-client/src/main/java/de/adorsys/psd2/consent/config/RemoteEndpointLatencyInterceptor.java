@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.util.UriTemplateHandler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latencies of calls to CMS per endpoint. Endpoints are identified by HTTP method and URL template,
+ * provided by the remote URL holders (e.g. <code>GET http://localhost:38080/api/v1/ais/consent/{consentId}</code>),
+ * so that calls for different consents and payments are accumulated in the same histogram.
+ */
+@Slf4j
+public class RemoteEndpointLatencyInterceptor implements ClientHttpRequestInterceptor {
+    private final ThreadLocal<String> currentUrlTemplate = new ThreadLocal<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String endpoint = request.getMethodValue() + " " + pollUrlTemplate(request.getURI());
+        long start = System.nanoTime();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            long timeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            histograms.computeIfAbsent(endpoint, e -> new LatencyHistogram()).record(timeMs);
+            log.debug("Remote call {} took {} ms", endpoint, timeMs);
+        }
+    }
+
+    /**
+     * Decorates URI template handler of the rest template, so that URL templates are captured before expansion
+     *
+     * @param delegate original URI template handler
+     * @return URI template handler, capturing URL templates
+     */
+    public UriTemplateHandler capturingUrlTemplates(UriTemplateHandler delegate) {
+        return new UriTemplateHandler() {
+            @Override
+            public URI expand(String uriTemplate, Map<String, ?> uriVariables) {
+                currentUrlTemplate.set(uriTemplate);
+                return delegate.expand(uriTemplate, uriVariables);
+            }
+
+            @Override
+            public URI expand(String uriTemplate, Object... uriVariables) {
+                currentUrlTemplate.set(uriTemplate);
+                return delegate.expand(uriTemplate, uriVariables);
+            }
+        };
+    }
+
+    /**
+     * Returns latency histograms of all called endpoints
+     *
+     * @return map of endpoints (HTTP method and URL template) to their latency histograms
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    private String pollUrlTemplate(URI uri) {
+        String urlTemplate = currentUrlTemplate.get();
+        currentUrlTemplate.remove();
+        return urlTemplate != null
+                   ? urlTemplate
+                   : uri.getScheme() + "://" + uri.getAuthority() + uri.getPath();
+    }
+}
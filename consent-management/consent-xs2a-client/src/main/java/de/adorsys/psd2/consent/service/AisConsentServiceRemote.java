@@ -113,4 +113,30 @@ public class AisConsentServiceRemote implements AisConsentServiceEncrypted {
                                             HttpMethod.PUT, null, Boolean.class, encryptedConsentId, multilevelScaRequired)
                    .getBody();
     }
+
+    @Override
+    public Optional<AisConsentAccessContext> prepareAisAccess(String encryptedConsentId) {
+        AisConsentAccessContext context = consentRestTemplate.getForEntity(remoteAisConsentUrls.prepareAisAccess(), AisConsentAccessContext.class, encryptedConsentId).getBody();
+        return Optional.ofNullable(context);
+    }
+
+    @Override
+    public boolean completeAisAccess(String encryptedConsentId, AisConsentAccessCompletionRequest request) {
+        return consentRestTemplate.exchange(remoteAisConsentUrls.completeAisAccess(), HttpMethod.PUT,
+                                            new HttpEntity<>(request), Boolean.class, encryptedConsentId)
+                   .getBody();
+    }
+
+    @Override
+    public Optional<AisTransactionCursor> getTransactionCursor(String encryptedConsentId, String resourceId) {
+        AisTransactionCursor cursor = consentRestTemplate.getForEntity(remoteAisConsentUrls.getTransactionCursor(), AisTransactionCursor.class, encryptedConsentId, resourceId).getBody();
+        return Optional.ofNullable(cursor);
+    }
+
+    @Override
+    public boolean updateTransactionCursor(String encryptedConsentId, String resourceId, AisTransactionCursor cursor) {
+        return consentRestTemplate.exchange(remoteAisConsentUrls.updateTransactionCursor(), HttpMethod.PUT,
+                                            new HttpEntity<>(cursor), Boolean.class, encryptedConsentId, resourceId)
+                   .getBody();
+    }
 }
@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.*;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import de.adorsys.psd2.consent.config.CmsRestException;
@@ -75,6 +76,16 @@ public class PisCommonPaymentServiceRemote implements PisCommonPaymentServiceEnc
         }
     }
 
+    @Override
+    public Optional<PisCommonPaymentStatusInfo> getCommonPaymentStatusInfoById(String paymentId) {
+        try {
+            return Optional.ofNullable(consentRestTemplate.getForEntity(remotePisCommonPaymentUrls.getPisCommonPaymentStatusInfoById(), PisCommonPaymentStatusInfo.class, paymentId))
+                       .map(ResponseEntity::getBody);
+        } catch (CmsRestException cmsRestException) {
+            return Optional.empty();
+        }
+    }
+
     @Override
     public Optional<Boolean> updateCommonPaymentStatusById(String paymentId, TransactionStatus status) {
         HttpStatus statusCode = consentRestTemplate.exchange(remotePisCommonPaymentUrls.updatePisCommonPaymentStatus(), HttpMethod.PUT,
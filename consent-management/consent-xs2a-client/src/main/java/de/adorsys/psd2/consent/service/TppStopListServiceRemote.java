@@ -16,10 +16,12 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.TppStopListChanges;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.consent.config.TppStopListRemoteUrls;
 import de.adorsys.psd2.xs2a.core.tpp.TppUniqueParamsHolder;
 import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -30,11 +32,15 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+
 @Service
 @RequiredArgsConstructor
 public class TppStopListServiceRemote implements TppStopListService {
     private static final String TPP_AUTHORISATION_NUMBER_HEADER = "tpp-authorisation-number";
     private static final String AUTHORITY_ID_HEADER = "authority-id";
+    private static final String CHANGED_SINCE_HEADER = "changed-since";
 
     @Qualifier("consentRestTemplate")
     private final RestTemplate consentRestTemplate;
@@ -51,4 +57,16 @@ public class TppStopListServiceRemote implements TppStopListService {
         return consentRestTemplate.exchange(tppStopListRemoteUrls.checkIfTppBlocked(), HttpMethod.GET, new HttpEntity<>(headers), Boolean.class)
                    .getBody();
     }
+
+    @Override
+    public TppStopListChanges getTppStopListChanges(@Nullable OffsetDateTime changedSince) {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        if (changedSince != null) {
+            headers.add(CHANGED_SINCE_HEADER, DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(changedSince));
+        }
+
+        return consentRestTemplate.exchange(tppStopListRemoteUrls.getTppStopListChanges(), HttpMethod.GET, new HttpEntity<>(headers), TppStopListChanges.class)
+                   .getBody();
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.config;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class RemoteEndpointLatencyInterceptorTest {
+    private static final String URL_TEMPLATE = "http://localhost:38080/api/v1/ais/consent/{consentId}";
+    private static final String FIRST_CONSENT_URL = "http://localhost:38080/api/v1/ais/consent/first";
+    private static final String SECOND_CONSENT_URL = "http://localhost:38080/api/v1/ais/consent/second";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer mockServer;
+    private RemoteEndpointLatencyInterceptor interceptor;
+
+    @Before
+    public void setUp() {
+        restTemplate = new RestTemplate();
+        mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+        interceptor = new RemoteEndpointLatencyInterceptor();
+        restTemplate.setUriTemplateHandler(interceptor.capturingUrlTemplates(restTemplate.getUriTemplateHandler()));
+        restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Test
+    public void intercept_callsWithSameTemplate_recordedInOneHistogram() {
+        // Given
+        mockServer.expect(requestTo(FIRST_CONSENT_URL)).andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo(SECOND_CONSENT_URL)).andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        // When
+        restTemplate.getForEntity(URL_TEMPLATE, String.class, "first");
+        restTemplate.getForEntity(URL_TEMPLATE, String.class, "second");
+
+        // Then
+        mockServer.verify();
+        Map<String, LatencyHistogram> histograms = interceptor.getHistograms();
+        assertThat(histograms).containsOnlyKeys("GET " + URL_TEMPLATE);
+        LatencyHistogram histogram = histograms.get("GET " + URL_TEMPLATE);
+        assertThat(histogram.getCount()).isEqualTo(2);
+        assertThat(histogram.getBucketCounts().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(2);
+    }
+
+    @Test
+    public void latencyHistogram_percentile() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        for (int i = 0; i < 99; i++) {
+            histogram.record(3);
+        }
+        histogram.record(700);
+
+        // Then
+        assertThat(histogram.getPercentileMs(0.5)).isEqualTo(5);
+        assertThat(histogram.getPercentileMs(1)).isEqualTo(700);
+        assertThat(histogram.getMaxTimeMs()).isEqualTo(700);
+        assertThat(histogram.getTotalTimeMs()).isEqualTo(99 * 3 + 700);
+    }
+}
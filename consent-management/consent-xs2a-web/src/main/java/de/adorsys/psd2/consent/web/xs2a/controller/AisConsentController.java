@@ -99,6 +99,61 @@ public class AisConsentController {
                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @GetMapping(path = "/{consent-id}/ais-access")
+    @ApiOperation(value = "Read account consent together with its ASPSP consent data by given consent id, in order to perform AIS request.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK", response = AisConsentAccessContext.class),
+        @ApiResponse(code = 204, message = "No Content")})
+    public ResponseEntity<AisConsentAccessContext> prepareAisAccess(
+        @ApiParam(name = "consent-id", value = "The account consent identification assigned to the created account consent.", example = "bf489af6-a2cb-4b75-b71d-d66d58b934d7")
+        @PathVariable("consent-id") String consentId) {
+        return aisConsentService.prepareAisAccess(consentId)
+                   .map(context -> new ResponseEntity<>(context, HttpStatus.OK))
+                   .orElseGet(() -> new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    @PutMapping(path = "/{consent-id}/ais-access")
+    @ApiOperation(value = "Write ASPSP consent data, action log and consent expiration after AIS request for the consent identified by given consent id.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK")})
+    public ResponseEntity<Boolean> completeAisAccess(
+        @ApiParam(name = "consent-id", value = "The account consent identification assigned to the created account consent.", example = "bf489af6-a2cb-4b75-b71d-d66d58b934d7")
+        @PathVariable("consent-id") String consentId,
+        @RequestBody AisConsentAccessCompletionRequest request) {
+        return new ResponseEntity<>(aisConsentService.completeAisAccess(consentId, request), HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/{consent-id}/accounts/{resource-id}/transaction-cursor")
+    @ApiOperation(value = "Read the last booked transaction of the account, delivered to the TPP within the consent identified by given consent id.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK", response = AisTransactionCursor.class),
+        @ApiResponse(code = 204, message = "No Content")})
+    public ResponseEntity<AisTransactionCursor> getTransactionCursor(
+        @ApiParam(name = "consent-id", value = "The account consent identification assigned to the created account consent.", example = "bf489af6-a2cb-4b75-b71d-d66d58b934d7")
+        @PathVariable("consent-id") String consentId,
+        @ApiParam(name = "resource-id", value = "The account identification, used in the transaction report request.", example = "11111-999999999")
+        @PathVariable("resource-id") String resourceId) {
+        return aisConsentService.getTransactionCursor(consentId, resourceId)
+                   .map(cursor -> new ResponseEntity<>(cursor, HttpStatus.OK))
+                   .orElseGet(() -> new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    @PutMapping(path = "/{consent-id}/accounts/{resource-id}/transaction-cursor")
+    @ApiOperation(value = "Move forward the last booked transaction of the account, delivered to the TPP within the consent identified by given consent id.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 404, message = "Not Found")})
+    public ResponseEntity<Boolean> updateTransactionCursor(
+        @ApiParam(name = "consent-id", value = "The account consent identification assigned to the created account consent.", example = "bf489af6-a2cb-4b75-b71d-d66d58b934d7")
+        @PathVariable("consent-id") String consentId,
+        @ApiParam(name = "resource-id", value = "The account identification, used in the transaction report request.", example = "11111-999999999")
+        @PathVariable("resource-id") String resourceId,
+        @RequestBody AisTransactionCursor cursor) {
+        return aisConsentService.updateTransactionCursor(consentId, resourceId, cursor)
+                   ? new ResponseEntity<>(true, HttpStatus.OK)
+                   : new ResponseEntity<>(false, HttpStatus.NOT_FOUND);
+    }
+
     @GetMapping(path = "/{consent-id}/status")
     @ApiOperation(value = "Can check the status of an account information consent resource.")
     @ApiResponses(value = {
@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.api.pis.PisCommonPaymentDataStatusResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.*;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
@@ -79,6 +80,19 @@ public class PisCommonPaymentController {
                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.BAD_REQUEST));
     }
 
+    @GetMapping(path = "/{payment-id}/status-info")
+    @ApiOperation(value = "Gets status of the payment together with the data, needed for validation of status requests")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK", response = PisCommonPaymentStatusInfo.class),
+        @ApiResponse(code = 400, message = "Bad request")})
+    public ResponseEntity<PisCommonPaymentStatusInfo> getCommonPaymentStatusInfoById(
+        @ApiParam(name = "payment-id", value = "The payment identification assigned to the created payment.", example = "bf489af6-a2cb-4b75-b71d-d66d58b934d7")
+        @PathVariable("payment-id") String paymentId) {
+        return pisCommonPaymentServiceEncrypted.getCommonPaymentStatusInfoById(paymentId)
+                   .map(statusInfo -> new ResponseEntity<>(statusInfo, HttpStatus.OK))
+                   .orElseGet(() -> new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+    }
+
     @PutMapping(path = "/{payment-id}/status/{status}")
     @ApiOperation(value = "")
     @ApiResponses(value = {
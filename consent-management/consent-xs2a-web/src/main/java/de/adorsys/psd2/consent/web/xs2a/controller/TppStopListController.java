@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.web.xs2a.controller;
 
+import de.adorsys.psd2.consent.api.TppStopListChanges;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.xs2a.core.tpp.TppUniqueParamsHolder;
 import io.swagger.annotations.Api;
@@ -23,6 +24,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -30,6 +32,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.OffsetDateTime;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "api/v1/tpp/stop-list")
@@ -50,4 +54,13 @@ public class TppStopListController {
         boolean isTppBlocked = tppStopListService.checkIfTppBlocked(tppUniqueParams);
         return new ResponseEntity<>(isTppBlocked, HttpStatus.OK);
     }
+
+    @GetMapping(path = "/changes")
+    @ApiOperation(value = "Gets changes of the TPP stop list since the given timestamp or all blocked TPPs, if the timestamp is not given")
+    @ApiResponse(code = 200, message = "OK", response = TppStopListChanges.class)
+    public ResponseEntity<TppStopListChanges> getTppStopListChanges(
+        @ApiParam(value = "Timestamp of the previous request for changes", example = "2019-05-20T10:15:30.000+02:00")
+        @RequestHeader(value = "changed-since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime changedSince) {
+        return new ResponseEntity<>(tppStopListService.getTppStopListChanges(changedSince), HttpStatus.OK);
+    }
 }
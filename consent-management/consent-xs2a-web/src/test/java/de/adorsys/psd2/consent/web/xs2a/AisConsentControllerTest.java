@@ -17,9 +17,13 @@
 package de.adorsys.psd2.consent.web.xs2a;
 
 
+import de.adorsys.psd2.consent.api.ais.AisAccountConsent;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCompletionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessContext;
 import de.adorsys.psd2.consent.api.ais.AisConsentAuthorizationRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentAuthorizationResponse;
 import de.adorsys.psd2.consent.api.ais.AisConsentStatusResponse;
+import de.adorsys.psd2.consent.api.ais.AisTransactionCursor;
 import de.adorsys.psd2.consent.api.ais.CreateAisConsentAuthorizationResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentAuthorisationServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -36,6 +40,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -107,6 +112,72 @@ public class AisConsentControllerTest {
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    public void prepareAisAccess_Success() {
+        //Given:
+        AisConsentAccessContext context = new AisConsentAccessContext(new AisAccountConsent(), null);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID)).thenReturn(Optional.of(context));
+
+        //When:
+        ResponseEntity<AisConsentAccessContext> responseEntity = aisConsentController.prepareAisAccess(CONSENT_ID);
+
+        //Then:
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isEqualTo(context);
+    }
+
+    @Test
+    public void prepareAisAccess_Fail() {
+        //Given:
+        when(aisConsentService.prepareAisAccess(WRONG_CONSENT_ID)).thenReturn(Optional.empty());
+
+        //When:
+        ResponseEntity<AisConsentAccessContext> responseEntity = aisConsentController.prepareAisAccess(WRONG_CONSENT_ID);
+
+        //Then:
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    public void completeAisAccess_Success() {
+        //Given:
+        AisConsentAccessCompletionRequest request = new AisConsentAccessCompletionRequest();
+        when(aisConsentService.completeAisAccess(CONSENT_ID, request)).thenReturn(true);
+
+        //When:
+        ResponseEntity<Boolean> responseEntity = aisConsentController.completeAisAccess(CONSENT_ID, request);
+
+        //Then:
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isTrue();
+    }
+
+    @Test
+    public void getTransactionCursor_Success() {
+        //Given:
+        AisTransactionCursor cursor = new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 1));
+        when(aisConsentService.getTransactionCursor(CONSENT_ID, "account id")).thenReturn(Optional.of(cursor));
+
+        //When:
+        ResponseEntity<AisTransactionCursor> responseEntity = aisConsentController.getTransactionCursor(CONSENT_ID, "account id");
+
+        //Then:
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isEqualTo(cursor);
+    }
+
+    @Test
+    public void getTransactionCursor_NoCursor() {
+        //Given:
+        when(aisConsentService.getTransactionCursor(CONSENT_ID, "account id")).thenReturn(Optional.empty());
+
+        //When:
+        ResponseEntity<AisTransactionCursor> responseEntity = aisConsentController.getTransactionCursor(CONSENT_ID, "account id");
+
+        //Then:
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
     @Test
     public void updateConsentStatus_Success() {
 
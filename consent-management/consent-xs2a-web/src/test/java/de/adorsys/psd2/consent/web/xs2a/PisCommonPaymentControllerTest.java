@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentDataStatusResponse;
 import de.adorsys.psd2.consent.api.pis.authorisation.*;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import de.adorsys.psd2.consent.web.xs2a.controller.PisCommonPaymentController;
@@ -156,6 +157,34 @@ public class PisCommonPaymentControllerTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void getCommonPaymentStatusInfoById_Success() {
+        //Given
+        PisCommonPaymentStatusInfo statusInfo = new PisCommonPaymentStatusInfo();
+        statusInfo.setTransactionStatus(TransactionStatus.ACSP);
+        when(pisCommonPaymentService.getCommonPaymentStatusInfoById(PAYMENT_ID)).thenReturn(Optional.of(statusInfo));
+        ResponseEntity<PisCommonPaymentStatusInfo> expected = new ResponseEntity<>(statusInfo, HttpStatus.OK);
+
+        //When
+        ResponseEntity<PisCommonPaymentStatusInfo> actual = pisCommonPaymentController.getCommonPaymentStatusInfoById(PAYMENT_ID);
+
+        //Then
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void getCommonPaymentStatusInfoById_Failure() {
+        //Given
+        when(pisCommonPaymentService.getCommonPaymentStatusInfoById(WRONG_PAYMENT_ID)).thenReturn(Optional.empty());
+        ResponseEntity<PisCommonPaymentStatusInfo> expected = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+        //When
+        ResponseEntity<PisCommonPaymentStatusInfo> actual = pisCommonPaymentController.getCommonPaymentStatusInfoById(WRONG_PAYMENT_ID);
+
+        //Then
+        assertEquals(actual, expected);
+    }
+
     @Test
     public void updateConsentStatus_Success() {
         //Given
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.benchmark;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import de.adorsys.psd2.validator.signature.TppSignatureValidator;
+import de.adorsys.psd2.validator.signature.TppSignatureVerificationService;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tomitribe.auth.signatures.Signature;
+import org.tomitribe.auth.signatures.Signer;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures verifications per second of RSA-SHA256 TPP signatures, created for a typical single payment initiation request.
+ * The legacy validator, that parses the certificate and creates a new verifier on every request, is measured as a baseline.
+ * Run with several threads (e.g. "-t 4") to measure the contention on the key cache and the pool of signature instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TppSignatureVerificationBenchmark {
+    private static final String PAYMENT_BODY = "{"
+                                                   + "\"endToEndIdentification\":\"WBG-123456789\","
+                                                   + "\"debtorAccount\":{\"currency\":\"EUR\",\"iban\":\"DE52500105173911841934\"},"
+                                                   + "\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"1000.00\"},"
+                                                   + "\"creditorAccount\":{\"currency\":\"EUR\",\"iban\":\"DE15500105172295759744\"},"
+                                                   + "\"creditorAgent\":\"AAAADEBBXXX\","
+                                                   + "\"creditorName\":\"WBG\","
+                                                   + "\"creditorAddress\":{\"buildingNumber\":\"56\",\"city\":\"Nürnberg\",\"country\":\"DE\",\"postalCode\":\"90543\",\"street\":\"WBG Straße\"},"
+                                                   + "\"remittanceInformationUnstructured\":\"Ref. Number WBG-1222\""
+                                                   + "}";
+    private static final String SIGNED_HEADERS = "digest tpp-transaction-id x-request-id psu-id timestamp";
+
+    private String signature;
+    private String encodedCertificate;
+    private Map<String, String> headers;
+
+    private TppSignatureValidator tppSignatureValidator;
+    private TppSignatureVerificationService tppSignatureVerificationService;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        encodedCertificate = X509CertUtils.toPEMString(createCertificate(keyPair));
+
+        byte[] bodyDigest = MessageDigest.getInstance("SHA-256").digest(PAYMENT_BODY.getBytes(StandardCharsets.UTF_8));
+        headers = new HashMap<>();
+        headers.put("digest", "SHA-256=" + Base64.getEncoder().encodeToString(bodyDigest));
+        headers.put("tpp-transaction-id", "3dc3d5b3-7023-4848-9853-f5400a64e80f");
+        headers.put("x-request-id", "99391c7e-ad88-49ec-a2ad-99ddcb1f7721");
+        headers.put("psu-id", "PSU-1234");
+        headers.put("timestamp", "Sun, 06 Aug 2017 15:02:37 GMT");
+        headers.put("content-type", "application/json");
+
+        Signature unsigned = new Signature("1.3.6.1.4.1.21528.2.2.99.11534", "rsa-sha256", null, SIGNED_HEADERS.split(" "));
+        signature = new Signer(keyPair.getPrivate(), unsigned).sign("method", "uri", headers).toString();
+
+        tppSignatureValidator = new TppSignatureValidator();
+        tppSignatureVerificationService = new TppSignatureVerificationService(1000);
+    }
+
+    @Benchmark
+    public boolean tppSignatureValidator() throws Exception {
+        return tppSignatureValidator.verifySignature(signature, encodedCertificate, headers);
+    }
+
+    @Benchmark
+    public boolean tppSignatureVerificationService() throws Exception {
+        return tppSignatureVerificationService.verifySignature(signature, encodedCertificate, headers);
+    }
+
+    private X509Certificate createCertificate(KeyPair keyPair) throws Exception {
+        X500Name subject = new X500Name("CN=XS2A Benchmark TPP, O=adorsys GmbH & Co KG, C=DE");
+        Instant now = Instant.now();
+        JcaX509v3CertificateBuilder certificateBuilder = new JcaX509v3CertificateBuilder(subject, BigInteger.ONE,
+                                                                                         Date.from(now), Date.from(now.plus(1, ChronoUnit.DAYS)),
+                                                                                         subject, keyPair.getPublic());
+        return new JcaX509CertificateConverter()
+                   .getCertificate(certificateBuilder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+    }
+}
@@ -36,15 +36,19 @@ import javax.naming.ldap.LdapName;
 import javax.naming.ldap.Rdn;
 import java.security.Principal;
 import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateParsingException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class CertificateExtractorUtil {
     private static final String LDAP_COMMON_NAME = "CN";
+    private static final int SUBJECT_ALTERNATIVE_NAME_DNS_TYPE = 2;
 
     private CertificateExtractorUtil() {
     }
@@ -74,6 +78,7 @@ public class CertificateExtractorUtil {
         tppCertData.setPspAuthorityId(psd2qcType.getnCAId().getString());
         tppCertData.setIssuerCN(extractIssuerCNFromIssuerDN(cert.getIssuerDN()));
         tppCertData.setNotAfter(cert.getNotAfter());
+        tppCertData.setDnsList(extractDnsList(cert));
 
         try {
             X500Name x500name = new JcaX509CertificateHolder(cert).getSubject();
@@ -99,6 +104,23 @@ public class CertificateExtractorUtil {
         return  exist ? IETFUtils.valueToString(x500Name.getRDNs(asn1ObjectIdentifier)[0].getFirst().getValue()) : null;
     }
 
+    private static List<String> extractDnsList(X509Certificate cert) {
+        try {
+            Collection<List<?>> subjectAlternativeNames = cert.getSubjectAlternativeNames();
+            if (subjectAlternativeNames == null) {
+                return Collections.emptyList();
+            }
+
+            return subjectAlternativeNames.stream()
+                       .filter(name -> Integer.valueOf(SUBJECT_ALTERNATIVE_NAME_DNS_TYPE).equals(name.get(0)))
+                       .map(name -> (String) name.get(1))
+                       .collect(Collectors.toList());
+        } catch (CertificateParsingException e) {
+            log.debug("Error reading subject alternative names: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
     private static String extractIssuerCNFromIssuerDN(Principal issuerDN) {
         List<Rdn> rdns = getRdns(issuerDN);
         return rdns
@@ -21,11 +21,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
+import java.util.Base64;
 
 @Slf4j
 public class CertificateUtils {
+	private static final String FINGERPRINT_ALGORITHM = "SHA-256";
 
 	public static X509Certificate[] getCertificates(String folderName, String... fileNames) {
 		return Arrays.stream(fileNames)
@@ -58,4 +63,20 @@ public class CertificateUtils {
 		return null;
 	}
 
+	/**
+	 * Calculates the Base64 encoded SHA-256 fingerprint of the encoded certificate, suitable for use as a cache key
+	 *
+	 * @param encodedCert encoded certificate
+	 * @return fingerprint of the certificate
+	 */
+	public static String getCertificateFingerprint(String encodedCert) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+			byte[] digest = messageDigest.digest(encodedCert.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(FINGERPRINT_ALGORITHM + " is not supported", e);
+		}
+	}
+
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import no.difi.certvalidator.api.CertificateValidationException;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of data, extracted from TPP certificates, keyed by the SHA-256 fingerprint of the encoded certificate.
+ * TPPs present the same certificate on every request, so the certificate is parsed only once and the extracted data is kept
+ * until the certificate expires or is evicted as the least recently used one. Expired and invalid certificates are not cached.
+ * Cached data is copied on every access, so that it can't be modified by the callers.
+ */
+public class TppCertificateDataCache {
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<String, TppCertificateData> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TppCertificateDataCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    TppCertificateDataCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, TppCertificateData>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TppCertificateData> eldest) {
+                boolean remove = size() > TppCertificateDataCache.this.maxSize;
+                if (remove) {
+                    evictions.increment();
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Returns data of the given certificate, extracting it only if it is absent in the cache or the certificate has expired
+     *
+     * @param encodedCert encoded TPP certificate
+     * @return data, extracted from the certificate
+     * @throws CertificateValidationException if the certificate can't be parsed
+     */
+    public TppCertificateData extract(String encodedCert) throws CertificateValidationException {
+        if (maxSize <= 0) {
+            misses.increment();
+            return CertificateExtractorUtil.extract(encodedCert);
+        }
+
+        String fingerprint = CertificateUtils.getCertificateFingerprint(encodedCert);
+        Date now = Date.from(clock.instant());
+
+        synchronized (entries) {
+            TppCertificateData cachedData = entries.get(fingerprint);
+            if (cachedData != null) {
+                if (isNotExpired(cachedData, now)) {
+                    hits.increment();
+                    return copy(cachedData);
+                }
+                entries.remove(fingerprint);
+                evictions.increment();
+            }
+        }
+
+        // Certificate is parsed outside of the lock, so that a miss doesn't block lookups of other certificates
+        misses.increment();
+        TppCertificateData extractedData = CertificateExtractorUtil.extract(encodedCert);
+
+        if (isNotExpired(extractedData, now)) {
+            synchronized (entries) {
+                entries.put(fingerprint, copy(extractedData));
+            }
+        }
+
+        return extractedData;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private boolean isNotExpired(TppCertificateData tppCertificateData, Date now) {
+        return Optional.ofNullable(tppCertificateData.getNotAfter())
+                   .map(notAfter -> notAfter.after(now))
+                   .orElse(false);
+    }
+
+    private TppCertificateData copy(TppCertificateData tppCertificateData) {
+        TppCertificateData copy = new TppCertificateData();
+        copy.setPspAuthorisationNumber(tppCertificateData.getPspAuthorisationNumber());
+        copy.setPspRoles(Optional.ofNullable(tppCertificateData.getPspRoles())
+                             .map(ArrayList::new)
+                             .orElse(null));
+        copy.setName(tppCertificateData.getName());
+        copy.setPspAuthorityName(tppCertificateData.getPspAuthorityName());
+        copy.setPspAuthorityId(tppCertificateData.getPspAuthorityId());
+        copy.setCountry(tppCertificateData.getCountry());
+        copy.setOrganisation(tppCertificateData.getOrganisation());
+        copy.setOrganisationUnit(tppCertificateData.getOrganisationUnit());
+        copy.setCity(tppCertificateData.getCity());
+        copy.setState(tppCertificateData.getState());
+        copy.setIssuerCN(tppCertificateData.getIssuerCN());
+        copy.setNotAfter(Optional.ofNullable(tppCertificateData.getNotAfter())
+                             .map(notAfter -> new Date(notAfter.getTime()))
+                             .orElse(null));
+        copy.setDnsList(Optional.ofNullable(tppCertificateData.getDnsList())
+                            .map(ArrayList::new)
+                            .orElse(null));
+        return copy;
+    }
+}
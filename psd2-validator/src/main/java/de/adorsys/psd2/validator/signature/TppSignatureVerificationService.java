@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.signature;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.tomitribe.auth.signatures.Algorithm;
+import org.tomitribe.auth.signatures.Base64;
+import org.tomitribe.auth.signatures.Signature;
+import org.tomitribe.auth.signatures.Signatures;
+import org.tomitribe.auth.signatures.UnsupportedAlgorithmException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies TPP HTTP signatures the same way as {@link TppSignatureValidator}, but keeps the state that doesn't change between requests.
+ * Public keys are extracted from TPP certificates only once and kept in a bounded cache, keyed by the SHA-256 fingerprint of the
+ * encoded certificate. {@link java.security.Signature} instances are not thread-safe, so they are borrowed from a bounded pool
+ * per algorithm for a single verification and initialised with the public key of the request on every use.
+ * The signing string is built only once per verification.
+ */
+public class TppSignatureVerificationService {
+    private static final List<String> MANDATORY_HEADERS_PSD2 = Arrays.asList("digest", "tpp-transaction-id", "x-request-id", "timestamp");
+    private static final int MAX_POOLED_SIGNATURES_PER_ALGORITHM = 64;
+
+    private final int maxCachedKeys;
+    private final Map<String, PublicKey> publicKeys;
+    private final Map<String, SignaturePool> signaturePools = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TppSignatureVerificationService(int maxCachedKeys) {
+        this.maxCachedKeys = maxCachedKeys;
+        this.publicKeys = new LinkedHashMap<String, PublicKey>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PublicKey> eldest) {
+                boolean remove = size() > TppSignatureVerificationService.this.maxCachedKeys;
+                if (remove) {
+                    evictions.increment();
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * signature should not be null signature should be conform with psd2
+     * addition signature should be verifiable by the entry certificate
+     *
+     * @param signature      Signature to verify
+     * @param tppEncodedCert TPP Certificate Data
+     * @param headers        headers from the request
+     * @return true if signature is correct, false otherwise
+     * @throws IOException if signature process fails
+     */
+    public boolean verifySignature(String signature, String tppEncodedCert, Map<String, String> headers) throws IOException {
+        if (StringUtils.isBlank(signature)) {
+            throw new IllegalArgumentException("SIGNATURE_MISSING");
+        }
+
+        if (StringUtils.isBlank(tppEncodedCert)) {
+            throw new IllegalArgumentException("CERTIFICAT_MISSING");
+        }
+
+        Signature signatureData = Signature.fromString(signature);
+
+        if (!signatureData.getHeaders().containsAll(MANDATORY_HEADERS_PSD2)) {
+            throw new IllegalArgumentException("SIGNATURE_INVALID");
+        }
+
+        PublicKey publicKey = getPublicKey(tppEncodedCert);
+        Algorithm algorithm = signatureData.getAlgorithm();
+
+        if (!java.security.Signature.class.equals(algorithm.getType())) {
+            // Symmetric algorithms are not used with TPP certificates, so they aren't worth optimising
+            return new SignatureVerifier(publicKey, signatureData).verify("method", "uri", headers);
+        }
+
+        String signingString = Signatures.createSigningString(signatureData.getHeaders(), "method", "uri", headers);
+        byte[] signatureBytes = Base64.decodeBase64(signatureData.getSignature().getBytes(StandardCharsets.UTF_8));
+        return verify(algorithm, publicKey, signingString.getBytes(StandardCharsets.UTF_8), signatureBytes);
+    }
+
+    public void clear() {
+        synchronized (publicKeys) {
+            publicKeys.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (publicKeys) {
+            return publicKeys.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private PublicKey getPublicKey(String tppEncodedCert) {
+        if (maxCachedKeys <= 0) {
+            misses.increment();
+            return parsePublicKey(tppEncodedCert);
+        }
+
+        String fingerprint = CertificateUtils.getCertificateFingerprint(tppEncodedCert);
+
+        synchronized (publicKeys) {
+            PublicKey cachedKey = publicKeys.get(fingerprint);
+            if (cachedKey != null) {
+                hits.increment();
+                return cachedKey;
+            }
+        }
+
+        // Certificate is parsed outside of the lock, so that a miss doesn't block lookups of other keys
+        misses.increment();
+        PublicKey publicKey = parsePublicKey(tppEncodedCert);
+
+        synchronized (publicKeys) {
+            publicKeys.put(fingerprint, publicKey);
+        }
+
+        return publicKey;
+    }
+
+    private PublicKey parsePublicKey(String tppEncodedCert) {
+        X509Certificate cert = X509CertUtils.parse(tppEncodedCert);
+        if (cert == null) {
+            throw new IllegalArgumentException("CERTIFICATE_INVALID");
+        }
+        return cert.getPublicKey();
+    }
+
+    private boolean verify(Algorithm algorithm, PublicKey publicKey, byte[] signingStringBytes, byte[] signatureBytes) {
+        SignaturePool pool = signaturePools.computeIfAbsent(algorithm.getJmvName(), SignaturePool::new);
+        java.security.Signature instance = pool.borrow();
+
+        try {
+            instance.initVerify(publicKey);
+            instance.update(signingStringBytes);
+            boolean verified = instance.verify(signatureBytes);
+            pool.release(instance);
+            return verified;
+        } catch (Exception e) {
+            // An instance that failed in the middle of the verification is not returned to the pool
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class SignaturePool {
+        private final String jvmName;
+        private final Queue<java.security.Signature> instances = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        SignaturePool(String jvmName) {
+            this.jvmName = jvmName;
+        }
+
+        java.security.Signature borrow() {
+            java.security.Signature instance = instances.poll();
+            if (instance != null) {
+                size.decrementAndGet();
+                return instance;
+            }
+
+            try {
+                return java.security.Signature.getInstance(jvmName);
+            } catch (NoSuchAlgorithmException e) {
+                throw new UnsupportedAlgorithmException(jvmName);
+            }
+        }
+
+        void release(java.security.Signature instance) {
+            if (size.incrementAndGet() <= MAX_POOLED_SIGNATURES_PER_ALGORITHM) {
+                instances.offer(instance);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+    }
+}
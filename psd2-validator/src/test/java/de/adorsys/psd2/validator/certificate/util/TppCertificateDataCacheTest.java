@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import no.difi.certvalidator.api.CertificateValidationException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.*;
+
+public class TppCertificateDataCacheTest {
+    // certificateValid.crt is valid until 2018-06-19T16:06:24Z
+    private static final Instant BEFORE_EXPIRATION = Instant.parse("2018-06-01T00:00:00Z");
+    private static final Instant AFTER_EXPIRATION = Instant.parse("2018-06-20T00:00:00Z");
+    private static final int MAX_SIZE = 10;
+
+    private MutableClock clock;
+    private String encodedCert;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock(BEFORE_EXPIRATION);
+        encodedCert = CertificateUtils.getCertificateByName("certificateValid.crt");
+    }
+
+    @Test
+    public void extract_sameCertificate_shouldBeParsedOnce() throws CertificateValidationException {
+        // Given
+        TppCertificateDataCache cache = new TppCertificateDataCache(MAX_SIZE, clock);
+
+        // When
+        TppCertificateData first = cache.extract(encodedCert);
+        TppCertificateData second = cache.extract(encodedCert);
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void extract_modifiedResult_shouldNotAffectCache() throws CertificateValidationException {
+        // Given
+        TppCertificateDataCache cache = new TppCertificateDataCache(MAX_SIZE, clock);
+        TppCertificateData first = cache.extract(encodedCert);
+
+        // When
+        first.setPspAuthorisationNumber("modified");
+        first.getPspRoles().clear();
+        TppCertificateData second = cache.extract(encodedCert);
+
+        // Then
+        assertNotEquals("modified", second.getPspAuthorisationNumber());
+        assertEquals(3, second.getPspRoles().size());
+    }
+
+    @Test
+    public void extract_expiredCertificate_shouldNotBeServedFromCache() throws CertificateValidationException {
+        // Given
+        TppCertificateDataCache cache = new TppCertificateDataCache(MAX_SIZE, clock);
+        cache.extract(encodedCert);
+
+        // When
+        clock.setInstant(AFTER_EXPIRATION);
+        cache.extract(encodedCert);
+
+        // Then
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void extract_expiredCertificate_shouldNotBeCached() throws CertificateValidationException {
+        // Given
+        clock.setInstant(AFTER_EXPIRATION);
+        TppCertificateDataCache cache = new TppCertificateDataCache(MAX_SIZE, clock);
+
+        // When
+        TppCertificateData tppCertificateData = cache.extract(encodedCert);
+
+        // Then
+        assertNotNull(tppCertificateData);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void extract_disabled_shouldAlwaysParseCertificate() throws CertificateValidationException {
+        // Given
+        TppCertificateDataCache cache = new TppCertificateDataCache(0, clock);
+
+        // When
+        cache.extract(encodedCert);
+        cache.extract(encodedCert);
+
+        // Then
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void extract_invalidCertificate_shouldNotBeCached() {
+        // Given
+        TppCertificateDataCache cache = new TppCertificateDataCache(MAX_SIZE, clock);
+        String invalidCert = CertificateUtils.getCertificateByName("certificateInvalid.crt");
+
+        // When
+        try {
+            cache.extract(invalidCert);
+            fail("Invalid certificate should be rejected");
+        } catch (CertificateValidationException e) {
+            // Then
+            assertEquals(0, cache.size());
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.signature;
+
+import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.tomitribe.auth.signatures.MissingRequiredHeaderException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TppSignatureVerificationServiceTest {
+    private static final int MAX_CACHED_KEYS = 10;
+
+    private String signature;
+    private String tppEncodedValidCert;
+    private String tppEncodedInvalidCert;
+    private Map<String, String> headers;
+
+    @Before
+    public void setUp() {
+        SignatureGeneratorUtil signatureGeneratorUtil = new SignatureGeneratorUtil();
+        signature = signatureGeneratorUtil.generateSignature();
+        tppEncodedValidCert = CertificateUtils.getCertificateByName("certificateValid.crt");
+        tppEncodedInvalidCert = CertificateUtils.getCertificateByName("certificateInvalid.crt");
+
+        headers = new HashMap<>();
+        headers.put("Digest", signatureGeneratorUtil.generateDigest());
+        headers.put("TPP-Transaction-ID", "3dc3d5b3-7023-4848-9853-f5400a64e80f");
+        headers.put("x-request-id", "99391c7e-ad88-49ec-a2ad-99ddcb1f7721");
+        headers.put("PSU-ID", "PSU-1234");
+        headers.put("Timestamp", "Sun, 06 Aug 2017 15:02:37 GMT");
+    }
+
+    @Test
+    public void verifySignature_validSignature_shouldReturnTrue() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(MAX_CACHED_KEYS);
+
+        // When
+        boolean verified = service.verifySignature(signature, tppEncodedValidCert, headers);
+
+        // Then
+        assertTrue(verified);
+    }
+
+    @Test
+    public void verifySignature_wrongCertificate_shouldReturnFalse() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(MAX_CACHED_KEYS);
+
+        // When
+        boolean verified = service.verifySignature(signature, tppEncodedInvalidCert, headers);
+
+        // Then
+        assertFalse(verified);
+    }
+
+    @Test(expected = MissingRequiredHeaderException.class)
+    public void verifySignature_missingHeader_shouldThrowException() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(MAX_CACHED_KEYS);
+        headers.remove("Timestamp");
+
+        // When
+        service.verifySignature(signature, tppEncodedValidCert, headers);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verifySignature_missingCertificate_shouldThrowException() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(MAX_CACHED_KEYS);
+
+        // When
+        service.verifySignature(signature, null, headers);
+    }
+
+    @Test
+    public void verifySignature_sameCertificate_shouldParseKeyOnce() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(MAX_CACHED_KEYS);
+
+        // When
+        boolean first = service.verifySignature(signature, tppEncodedValidCert, headers);
+        boolean second = service.verifySignature(signature, tppEncodedValidCert, headers);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(1, service.getMissCount());
+        assertEquals(1, service.getHitCount());
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    public void verifySignature_failedVerification_shouldNotAffectNextOne() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(MAX_CACHED_KEYS);
+
+        // When
+        boolean first = service.verifySignature(signature, tppEncodedInvalidCert, headers);
+        boolean second = service.verifySignature(signature, tppEncodedValidCert, headers);
+
+        // Then
+        assertFalse(first);
+        assertTrue(second);
+    }
+
+    @Test
+    public void verifySignature_cacheIsFull_shouldEvictLeastRecentlyUsedKey() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(1);
+        service.verifySignature(signature, tppEncodedValidCert, headers);
+
+        // When
+        service.verifySignature(signature, tppEncodedInvalidCert, headers);
+        service.verifySignature(signature, tppEncodedValidCert, headers);
+
+        // Then
+        assertEquals(3, service.getMissCount());
+        assertEquals(2, service.getEvictionCount());
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    public void verifySignature_cacheDisabled_shouldParseKeyEveryTime() throws IOException {
+        // Given
+        TppSignatureVerificationService service = new TppSignatureVerificationService(0);
+
+        // When
+        service.verifySignature(signature, tppEncodedValidCert, headers);
+        service.verifySignature(signature, tppEncodedValidCert, headers);
+
+        // Then
+        assertEquals(2, service.getMissCount());
+        assertEquals(0, service.getHitCount());
+        assertEquals(0, service.size());
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.spi.domain.account;
+
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * Position in the list of booked transactions of an account, after which transactions are requested by a delta report.
+ * Either the entry reference or the booking date (or both) is present.
+ */
+@Value
+public class SpiTransactionCursor {
+    /**
+     * Entry reference of the last transaction, already delivered to the TPP
+     */
+    @Nullable
+    private String entryReference;
+
+    /**
+     * Booking date of the last transaction, already delivered to the TPP
+     */
+    @Nullable
+    private LocalDate bookingDate;
+}
@@ -20,10 +20,18 @@ import lombok.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
- * Transaction report of Spi layer to be used as a container for account reference, transactions and balances
+ * Transaction report of Spi layer to be used as a container for account reference, transactions and balances.
+ * <p>
+ * Instead of a list of transactions or raw bytes the report may carry streams, created by {@link #streamed(Stream, Stream, List)}
+ * and {@link #streamedRaw(InputStream, List, String)}. Streamed transactions are mapped lazily and written to the response
+ * one by one, so that memory consumption doesn't depend on the number of transactions. The streams are consumed and closed
+ * by XS2A after the SPI call has returned, possibly on another thread, while the response is written.
  */
 @Value
 public class SpiTransactionReport {
@@ -38,4 +46,59 @@ public class SpiTransactionReport {
     private String responseContentType;
 
     private byte[] transactionsRaw;
+
+    @Nullable
+    private Stream<SpiTransaction> bookedTransactionsStream;
+    @Nullable
+    private Stream<SpiTransaction> pendingTransactionsStream;
+    @Nullable
+    private InputStream transactionsRawStream;
+
+    public SpiTransactionReport(List<SpiTransaction> transactions, @Nullable List<SpiAccountBalance> balances, @NotNull String responseContentType, byte[] transactionsRaw) {
+        this(transactions, balances, responseContentType, transactionsRaw, null, null, null);
+    }
+
+    private SpiTransactionReport(List<SpiTransaction> transactions, @Nullable List<SpiAccountBalance> balances, @NotNull String responseContentType, byte[] transactionsRaw,
+                                 @Nullable Stream<SpiTransaction> bookedTransactionsStream, @Nullable Stream<SpiTransaction> pendingTransactionsStream,
+                                 @Nullable InputStream transactionsRawStream) {
+        this.transactions = transactions;
+        this.balances = balances;
+        this.responseContentType = responseContentType;
+        this.transactionsRaw = transactionsRaw;
+        this.bookedTransactionsStream = bookedTransactionsStream;
+        this.pendingTransactionsStream = pendingTransactionsStream;
+        this.transactionsRawStream = transactionsRawStream;
+    }
+
+    /**
+     * Creates JSON transaction report with streamed transactions
+     *
+     * @param bookedTransactions  booked transactions, <code>null</code> if booked transactions were not requested
+     * @param pendingTransactions pending transactions, <code>null</code> if pending transactions were not requested
+     * @param balances            balances of the account
+     * @return transaction report
+     */
+    public static SpiTransactionReport streamed(@Nullable Stream<SpiTransaction> bookedTransactions, @Nullable Stream<SpiTransaction> pendingTransactions,
+                                                @Nullable List<SpiAccountBalance> balances) {
+        return new SpiTransactionReport(null, balances, RESPONSE_TYPE_JSON, null,
+                                        Optional.ofNullable(bookedTransactions).orElseGet(Stream::empty),
+                                        Optional.ofNullable(pendingTransactions).orElseGet(Stream::empty),
+                                        null);
+    }
+
+    /**
+     * Creates transaction report with streamed raw transactions, e.g. camt.052 or MT940
+     *
+     * @param transactionsRaw     raw transactions in the requested format
+     * @param balances            balances of the account
+     * @param responseContentType content type of raw transactions
+     * @return transaction report
+     */
+    public static SpiTransactionReport streamedRaw(@NotNull InputStream transactionsRaw, @Nullable List<SpiAccountBalance> balances, @NotNull String responseContentType) {
+        return new SpiTransactionReport(null, balances, responseContentType, null, null, null, transactionsRaw);
+    }
+
+    public boolean isStreamed() {
+        return bookedTransactionsStream != null || pendingTransactionsStream != null || transactionsRawStream != null;
+    }
 }
@@ -22,6 +22,7 @@ import de.adorsys.psd2.xs2a.spi.domain.SpiContextData;
 import de.adorsys.psd2.xs2a.spi.domain.account.*;
 import de.adorsys.psd2.xs2a.spi.domain.response.SpiResponse;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -70,6 +71,27 @@ public interface AccountSpi {
      */
     SpiResponse<SpiTransactionReport> requestTransactionsForAccount(@NotNull SpiContextData contextData, String acceptMediaType, boolean withBalance, @NotNull LocalDate dateFrom, @NotNull LocalDate dateTo, @NotNull BookingStatus bookingStatus, @NotNull SpiAccountReference accountReference, @NotNull SpiAccountConsent accountConsent, @NotNull AspspConsentData aspspConsentData);
 
+    /**
+     * Requests a list of transactions, that were booked after the given cursor (delta report).
+     * By default the cursor is ignored and the whole requested period is returned,
+     * ASPSPs supporting delta reports should override this method and return only transactions following the cursor.
+     *
+     * @param contextData      known Context of this call
+     * @param acceptMediaType  requested by TPP response media type e.g. text/plain. Shall be propagated to response.
+     * @param withBalance      boolean representing if the responded AccountDetails should contain balance
+     * @param dateFrom         Date representing the beginning of the search period
+     * @param dateTo           Date representing the ending of the search period
+     * @param bookingStatus    booking status of the requested transations, e.g. PENDING
+     * @param cursor           position of the last transaction, already known to the TPP. If null, a full report for the period is requested
+     * @param accountReference SpiAccountReference
+     * @param accountConsent   SpiAccountConsent
+     * @param aspspConsentData Encrypted data that may be stored in the consent management system in the consent linked to a request
+     * @return List of transactions
+     */
+    default SpiResponse<SpiTransactionReport> requestTransactionsForAccount(@NotNull SpiContextData contextData, String acceptMediaType, boolean withBalance, @NotNull LocalDate dateFrom, @NotNull LocalDate dateTo, @NotNull BookingStatus bookingStatus, @Nullable SpiTransactionCursor cursor, @NotNull SpiAccountReference accountReference, @NotNull SpiAccountConsent accountConsent, @NotNull AspspConsentData aspspConsentData) {
+        return requestTransactionsForAccount(contextData, acceptMediaType, withBalance, dateFrom, dateTo, bookingStatus, accountReference, accountConsent, aspspConsentData);
+    }
+
     /**
      * Requests an transaction by transactionId
      *
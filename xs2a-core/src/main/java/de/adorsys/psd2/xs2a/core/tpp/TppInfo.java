@@ -64,6 +64,10 @@ public class TppInfo {
     @ApiModelProperty(value = "TPP redirect URIs")
     private TppRedirectUri tppRedirectUri;
 
+    @Nullable
+    @ApiModelProperty(value = "URI of the TPP endpoint, to which status changes of the resource are sent", example = "https://tpp.example.com/notifications")
+    private String tppNotificationUri;
+
     @ApiModelProperty(value = "Issuer CN", required = true, example = "Authority CA Domain Name")
     private String issuerCN;
 
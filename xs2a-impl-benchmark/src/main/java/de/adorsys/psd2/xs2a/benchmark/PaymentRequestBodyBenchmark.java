@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.xs2a.component.JsonConverter;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
+import de.adorsys.psd2.xs2a.component.ParsedRequestBodyHttpMessageConverter;
+import de.adorsys.psd2.xs2a.component.RequestBodyHolder;
+import de.adorsys.psd2.xs2a.config.ObjectMapperConfig;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationParameters;
+import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.mapper.AccountModelMapper;
+import de.adorsys.psd2.xs2a.service.mapper.AmountModelMapper;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
+import de.adorsys.psd2.xs2a.service.validator.ValueValidatorService;
+import de.adorsys.psd2.xs2a.web.mapper.PaymentModelMapperXs2a;
+import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
+import de.adorsys.psd2.xs2a.web.validator.body.payment.PaymentBodyValidatorImpl;
+import de.adorsys.psd2.xs2a.web.validator.body.payment.mapper.PaymentMapper;
+import de.adorsys.psd2.xs2a.web.validator.body.payment.type.PaymentTypeValidator;
+import de.adorsys.psd2.xs2a.web.validator.body.payment.type.PaymentTypeValidatorContext;
+import de.adorsys.psd2.xs2a.web.validator.body.payment.type.SinglePaymentTypeValidatorImpl;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures validation, parsing and conversion of a typical single payment initiation body, as done for every payment
+ * initiation request: the body validator, the message converter of the controller argument and the payment mapper.
+ * The pipeline with the body parsed once into {@link RequestBodyHolder} is compared with the replayed steps of the pipeline
+ * before it, where every reader got its own copy of the body, the validator and Spring MVC parsed it separately and both
+ * mappers converted the parsed map with <code>convertValue</code>.
+ * Both pipelines include creation of the mock servlet request, which is measured separately as the baseline.
+ * Run with the GC profiler ("-prof gc") to see the allocated bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentRequestBodyBenchmark {
+    private static final byte[] PAYMENT_BODY = ("{"
+                                                    + "\"endToEndIdentification\":\"WBG-123456789\","
+                                                    + "\"debtorAccount\":{\"currency\":\"EUR\",\"iban\":\"DE52500105173911841934\"},"
+                                                    + "\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"1000.00\"},"
+                                                    + "\"creditorAccount\":{\"currency\":\"EUR\",\"iban\":\"DE15500105172295759744\"},"
+                                                    + "\"creditorAgent\":\"AAAADEBBXXX\","
+                                                    + "\"creditorName\":\"WBG\","
+                                                    + "\"creditorAddress\":{\"buildingNumber\":\"56\",\"city\":\"Nürnberg\",\"country\":\"DE\",\"postalCode\":\"90543\",\"street\":\"WBG Straße\"},"
+                                                    + "\"remittanceInformationUnstructured\":\"Ref. Number WBG-1222\""
+                                                    + "}").getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper objectMapper;
+    private ErrorBuildingService errorBuildingService;
+    private PaymentTypeValidator singlePaymentTypeValidator;
+    private PaymentTypeValidatorContext paymentTypeValidatorContext;
+    private MappingJackson2HttpMessageConverter jacksonHttpMessageConverter;
+    private PaymentModelMapperXs2a paymentModelMapperXs2a;
+    private PaymentInitiationParameters paymentInitiationParameters;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        // Error building is used only for invalid bodies
+        errorBuildingService = new ErrorBuildingService(null, null, null, objectMapper);
+        singlePaymentTypeValidator = new SinglePaymentTypeValidatorImpl(errorBuildingService, objectMapper, new PaymentMapper(objectMapper));
+        paymentTypeValidatorContext = new PaymentTypeValidatorContext(Collections.singletonList(singlePaymentTypeValidator));
+        jacksonHttpMessageConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+
+        ValueValidatorService valueValidatorService = new ValueValidatorService(Validation.buildDefaultValidatorFactory().getValidator());
+        AmountModelMapper amountModelMapper = new AmountModelMapper(valueValidatorService);
+        paymentModelMapperXs2a = new PaymentModelMapperXs2a(objectMapper, valueValidatorService, new AccountModelMapper(amountModelMapper, null),
+                                                            null, amountModelMapper, new JsonConverter(objectMapper));
+
+        paymentInitiationParameters = new PaymentInitiationParameters();
+        paymentInitiationParameters.setPaymentType(PaymentType.SINGLE);
+        paymentInitiationParameters.setPaymentProduct("sepa-credit-transfers");
+    }
+
+    @Benchmark
+    public Object parsedOnce() throws IOException {
+        HttpServletRequest request = new MultiReadHttpServletRequest(createRequest(PAYMENT_BODY));
+        // Request scoped in the application, so a new holder is used for every request
+        RequestBodyHolder requestBodyHolder = new RequestBodyHolder(objectMapper);
+
+        MessageError messageError = new MessageError(ErrorType.PIS_400);
+        new PaymentBodyValidatorImpl(errorBuildingService, objectMapper, paymentTypeValidatorContext, requestBodyHolder)
+            .validate(request, messageError);
+
+        Object body = new ParsedRequestBodyHttpMessageConverter(requestBodyHolder, objectMapper)
+                          .read(Object.class, null, new ServletServerHttpRequest(request));
+        return paymentModelMapperXs2a.mapToXs2aPayment(body, paymentInitiationParameters);
+    }
+
+    @Benchmark
+    public Object parsedPerReader() throws IOException {
+        HttpServletRequest request = new CopyingMultiReadHttpServletRequest(createRequest(PAYMENT_BODY));
+
+        MessageError messageError = new MessageError(ErrorType.PIS_400);
+        Object validatedBody = objectMapper.readValue(request.getInputStream(), Object.class);
+        singlePaymentTypeValidator.validate(validatedBody, messageError);
+
+        Object body = jacksonHttpMessageConverter.read(Object.class, null, new ServletServerHttpRequest(request));
+        return paymentModelMapperXs2a.mapToXs2aPayment(body, paymentInitiationParameters);
+    }
+
+    @Benchmark
+    public Object requestCreationBaseline() {
+        return createRequest(PAYMENT_BODY);
+    }
+
+    private MockHttpServletRequest createRequest(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/payments/sepa-credit-transfers");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Collections.singletonMap("payment-service", "payments"));
+        return request;
+    }
+
+    /**
+     * {@link MultiReadHttpServletRequest} as it was before the body was parsed once: the body is copied for every reader,
+     * which reads it byte by byte
+     */
+    private static class CopyingMultiReadHttpServletRequest extends HttpServletRequestWrapper {
+        private ByteArrayOutputStream cachedBytes;
+
+        CopyingMultiReadHttpServletRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (cachedBytes == null) {
+                cachedBytes = new ByteArrayOutputStream();
+                IOUtils.copy(super.getInputStream(), cachedBytes);
+            }
+
+            ByteArrayInputStream input = new ByteArrayInputStream(cachedBytes.toByteArray());
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return false;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return false;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // not used in synchronous reading
+                }
+            };
+        }
+    }
+}
@@ -25,10 +25,11 @@ import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.*;
 
 /**
- * This class decorates incoming HttpServletRequest, caches its body and is used by spring framework further
+ * This class decorates incoming HttpServletRequest, caches its body and is used by spring framework further.
+ * The body is read only once and all subsequent readers share the same buffer without copying it.
  */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
-    private ByteArrayOutputStream cachedBytes;
+    private byte[] cachedBytes;
 
     public MultiReadHttpServletRequest(HttpServletRequest request) {
         super(request);
@@ -49,15 +50,14 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
     }
 
     private void cacheInputStream() throws IOException {
-        cachedBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), cachedBytes);
+        cachedBytes = IOUtils.toByteArray(super.getInputStream());
     }
 
     private class CachedServletInputStream extends ServletInputStream {
         private ByteArrayInputStream input;
 
         public CachedServletInputStream() {
-            input = new ByteArrayInputStream(cachedBytes.toByteArray());
+            input = new ByteArrayInputStream(cachedBytes);
         }
 
         @Override
@@ -65,16 +65,19 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             return input.read();
         }
 
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return input.read(b, off, len);
+        }
+
 		@Override
 		public boolean isFinished() {
-			// TODO Auto-generated method stub
-			return false;
+			return input.available() == 0;
 		}
 
 		@Override
 		public boolean isReady() {
-			// TODO Auto-generated method stub
-			return false;
+			return true;
 		}
 
 		@Override
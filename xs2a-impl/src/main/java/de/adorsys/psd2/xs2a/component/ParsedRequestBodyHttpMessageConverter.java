@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads JSON request bodies from the tree, already parsed by the request validators and kept in {@link RequestBodyHolder}.
+ * Bodies of the requests, which weren't parsed during the validation, are left to the other converters.
+ * Bodies of {@link Object} type are provided as {@link JsonNode} without any conversion.
+ * The converter is never used for writing responses.
+ */
+@RequiredArgsConstructor
+public class ParsedRequestBodyHttpMessageConverter implements GenericHttpMessageConverter<Object> {
+    private final RequestBodyHolder requestBodyHolder;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return isJson(mediaType) && requestBodyHolder.getParsedBody().isPresent();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return canRead(clazz, null, mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        JsonNode body = requestBodyHolder.getParsedBody()
+                            .orElseThrow(() -> new HttpMessageNotReadableException("Request body wasn't parsed", inputMessage));
+
+        if (Object.class.equals(type)) {
+            return body;
+        }
+
+        return objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type))
+                   .readValue(body);
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public void write(Object o, @Nullable Type type, @Nullable MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("Converter is intended only for reading request bodies");
+    }
+
+    @Override
+    public void write(Object o, @Nullable MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("Converter is intended only for reading request bodies");
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return Collections.singletonList(MediaType.APPLICATION_JSON);
+    }
+
+    private boolean isJson(@Nullable MediaType mediaType) {
+        return mediaType != null && MediaType.APPLICATION_JSON.includes(mediaType);
+    }
+}
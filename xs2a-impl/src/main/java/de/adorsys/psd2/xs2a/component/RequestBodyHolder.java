@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Request scoped holder of the JSON request body, parsed into a Jackson tree only once per request.
+ * The tree is shared by body validators and by {@link ParsedRequestBodyHttpMessageConverter}, so that the same body
+ * is neither parsed by every validator nor once again by Spring MVC for the controller.
+ */
+@RequiredArgsConstructor
+public class RequestBodyHolder {
+    private final ObjectMapper objectMapper;
+
+    private JsonNode body;
+    private IOException parsingException;
+    private boolean parsed;
+
+    /**
+     * Returns the body of the given request, parsing it on the first call
+     *
+     * @param request current request
+     * @return body of the request as a Jackson tree
+     * @throws IOException if the body can't be read or isn't a valid JSON (the same exception is thrown on every call)
+     */
+    public JsonNode getBody(HttpServletRequest request) throws IOException {
+        if (!parsed) {
+            parsed = true;
+            try {
+                body = objectMapper.readValue(request.getInputStream(), JsonNode.class);
+            } catch (IOException e) {
+                parsingException = e;
+            }
+        }
+
+        if (parsingException != null) {
+            throw parsingException;
+        }
+
+        return body;
+    }
+
+    /**
+     * Returns the body, if it has already been parsed successfully in the current request
+     *
+     * @return parsed body or empty value if the body wasn't parsed yet or isn't a valid JSON
+     */
+    public Optional<JsonNode> getParsedBody() {
+        return Optional.ofNullable(body);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resources, opened while a request is handled, that must be released when the request is completed.
+ * Resources, registered after the request has been completed (i.e. by a handler, that outlived an async timeout), are closed immediately.
+ */
+@Slf4j
+public class RequestResources implements AutoCloseable {
+    public static final String ATTRIBUTE_NAME = RequestResources.class.getName();
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private boolean closed;
+
+    public void register(AutoCloseable resource) {
+        synchronized (this) {
+            if (!closed) {
+                resources.add(resource);
+                return;
+            }
+        }
+        closeQuietly(resource);
+    }
+
+    @Override
+    public void close() {
+        List<AutoCloseable> toClose;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(resources);
+            resources.clear();
+        }
+        toClose.forEach(RequestResources::closeQuietly);
+    }
+
+    public static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            log.warn("Couldn't close request resource: {}", e.getMessage());
+        }
+    }
+}
@@ -17,15 +17,21 @@
 package de.adorsys.psd2.xs2a.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateDataCache;
+import de.adorsys.psd2.validator.signature.TppSignatureVerificationService;
+import de.adorsys.psd2.xs2a.component.ParsedRequestBodyHttpMessageConverter;
 import de.adorsys.psd2.xs2a.component.PaymentTypeEnumConverter;
+import de.adorsys.psd2.xs2a.component.RequestBodyHolder;
 import de.adorsys.psd2.xs2a.domain.ScaApproachHolder;
 import de.adorsys.psd2.xs2a.service.TppService;
 import de.adorsys.psd2.xs2a.service.discovery.ServiceTypeDiscoveryService;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorMapperContainer;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceTypeToErrorTypeMapper;
+import de.adorsys.psd2.xs2a.service.tpp.TppStopListReplica;
 import de.adorsys.psd2.xs2a.service.validator.RequestValidatorService;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
+import de.adorsys.psd2.xs2a.web.async.AsyncResponseEntityReturnValueHandler;
+import de.adorsys.psd2.xs2a.web.async.InitialDispatchInterceptor;
 import de.adorsys.psd2.xs2a.web.interceptor.HandlerInterceptor;
 import de.adorsys.psd2.xs2a.web.interceptor.RequestValidationInterceptor;
 import de.adorsys.psd2.xs2a.web.interceptor.logging.*;
@@ -37,11 +43,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
 import javax.validation.Validation;
 import javax.validation.Validator;
@@ -59,7 +68,7 @@ public class WebConfig extends WebMvcConfigurerAdapter {
     @Qualifier("xs2aCorsConfigProperties")
     private final CorsConfigurationProperties corsConfigurationProperties;
     private final TppService tppService;
-    private final TppStopListService tppStopListService;
+    private final TppStopListReplica tppStopListReplica;
     private final ServiceTypeDiscoveryService serviceTypeDiscoveryService;
     private final ServiceTypeToErrorTypeMapper errorTypeMapper;
     private final ErrorMapperContainer errorMapperContainer;
@@ -76,26 +85,41 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         return new RequestValidatorService();
     }
 
+    @Bean
+    public TppCertificateDataCache tppCertificateDataCache(@Value("${xs2a.qwac.cache.max-size:1000}") int maxSize) {
+        return new TppCertificateDataCache(maxSize);
+    }
+
+    @Bean
+    public TppSignatureVerificationService tppSignatureVerificationService(@Value("${xs2a.signature.key-cache.max-size:1000}") int maxCachedKeys) {
+        return new TppSignatureVerificationService(maxCachedKeys);
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         // Please, keep this interceptor's order, because it is important, that logging interceptors will be called before the validation ones to log all the requests (even wrong ones).
         // The interceptors are executed in the order in which they are declared for preHandle(...) and vice versa for postHandle(...).
         // Logging interceptors:
-        registry.addInterceptor(new AccountLoggingInterceptor(tppService)).addPathPatterns(ACCOUNTS_PATH);
-        registry.addInterceptor(new ConsentLoggingInterceptor(tppService)).addPathPatterns(CONSENTS_PATH);
-        registry.addInterceptor(new FundsConfirmationLoggingInterceptor(tppService)).addPathPatterns(FUNDS_CONFIRMATION_PATH);
-        registry.addInterceptor(new PaymentLoggingInterceptor(tppService)).addPathPatterns(SINGLE_PAYMENTS_PATH, BULK_PAYMENTS_PATH, PERIODIC_PAYMENTS_PATH);
-        registry.addInterceptor(new SigningBasketLoggingInterceptor(tppService)).addPathPatterns(SIGNING_BASKETS_PATH);
+        registry.addInterceptor(initialDispatchOnly(new AccountLoggingInterceptor(tppService))).addPathPatterns(ACCOUNTS_PATH);
+        registry.addInterceptor(initialDispatchOnly(new ConsentLoggingInterceptor(tppService))).addPathPatterns(CONSENTS_PATH);
+        registry.addInterceptor(initialDispatchOnly(new FundsConfirmationLoggingInterceptor(tppService))).addPathPatterns(FUNDS_CONFIRMATION_PATH);
+        registry.addInterceptor(initialDispatchOnly(new PaymentLoggingInterceptor(tppService))).addPathPatterns(SINGLE_PAYMENTS_PATH, BULK_PAYMENTS_PATH, PERIODIC_PAYMENTS_PATH);
+        registry.addInterceptor(initialDispatchOnly(new SigningBasketLoggingInterceptor(tppService))).addPathPatterns(SIGNING_BASKETS_PATH);
 
-        registry.addInterceptor(new TppStopListInterceptor(errorMapperContainer, tppService, tppStopListService, serviceTypeDiscoveryService, errorTypeMapper, objectMapper))
+        registry.addInterceptor(initialDispatchOnly(new TppStopListInterceptor(errorMapperContainer, tppService, tppStopListReplica, serviceTypeDiscoveryService, errorTypeMapper, objectMapper)))
             .addPathPatterns(getAllXs2aEndpointPaths());
 
-        registry.addInterceptor(requestValidationInterceptor).addPathPatterns(getAllXs2aEndpointPaths());
+        registry.addInterceptor(initialDispatchOnly(requestValidationInterceptor)).addPathPatterns(getAllXs2aEndpointPaths());
 
-        registry.addInterceptor(new HandlerInterceptor(requestValidatorService(), serviceTypeDiscoveryService, errorTypeMapper, errorMapperContainer, objectMapper))
+        registry.addInterceptor(initialDispatchOnly(new HandlerInterceptor(requestValidatorService(), serviceTypeDiscoveryService, errorTypeMapper, errorMapperContainer, objectMapper)))
             .addPathPatterns(getAllXs2aEndpointPaths());
     }
 
+    @Override
+    public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> returnValueHandlers) {
+        returnValueHandlers.add(new AsyncResponseEntityReturnValueHandler());
+    }
+
     @Bean
     public int maxNumberOfCharInTransactionJson() {
         return maxNumberOfCharInTransactionJson;
@@ -116,6 +140,11 @@ public class WebConfig extends WebMvcConfigurerAdapter {
             .maxAge(corsConfigurationProperties.getMaxAge());
     }
 
+    // Requests, completed via servlet async, are dispatched to the handler once again to write the response
+    private InitialDispatchInterceptor initialDispatchOnly(HandlerInterceptorAdapter interceptor) {
+        return new InitialDispatchInterceptor(interceptor);
+    }
+
     private String[] getTargetParameters(List<String> targetParameters) {
         return targetParameters.toArray(new String[0]);
     }
@@ -132,6 +161,18 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         return new ScaApproachHolder();
     }
 
+    @Bean
+    @RequestScope
+    public RequestBodyHolder getRequestBodyHolder() {
+        return new RequestBodyHolder(objectMapper);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Bodies, already parsed by the request validators, are taken from the holder before other converters parse them once again
+        converters.add(0, new ParsedRequestBodyHttpMessageConverter(getRequestBodyHolder(), objectMapper));
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new PaymentTypeEnumConverter());
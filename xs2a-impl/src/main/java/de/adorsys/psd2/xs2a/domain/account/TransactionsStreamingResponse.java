@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.domain.account;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import de.adorsys.psd2.model.AccountReference;
+import de.adorsys.psd2.model.BalanceList;
+import de.adorsys.psd2.model.TransactionDetails;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Response to the transaction list request with streamed transactions.
+ * Is written in the same JSON structure as <code>TransactionsResponse200Json</code>, but transactions are read from the streams
+ * one by one while the response is written, so that the whole report is never held in memory.
+ * The streams are closed after the response has been written, even if writing failed.
+ */
+@RequiredArgsConstructor
+public class TransactionsStreamingResponse implements JsonSerializable, AutoCloseable {
+    private final AccountReference account;
+    private final Stream<TransactionDetails> booked;
+    private final Stream<TransactionDetails> pending;
+    private final Map transactionsLinks;
+    private final BalanceList balances;
+    private final Map links;
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        try {
+            gen.writeStartObject();
+            writeField("account", account, gen, serializers);
+
+            gen.writeObjectFieldStart("transactions");
+            writeArray("booked", booked, gen, serializers);
+            writeArray("pending", pending, gen, serializers);
+            writeField("_links", transactionsLinks, gen, serializers);
+            gen.writeEndObject();
+
+            writeField("balances", balances, gen, serializers);
+            writeField("_links", links, gen, serializers);
+            gen.writeEndObject();
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public void close() {
+        booked.close();
+        pending.close();
+    }
+
+    private void writeField(String fieldName, Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (value != null) {
+            serializers.defaultSerializeField(fieldName, value, gen);
+        }
+    }
+
+    private void writeArray(String fieldName, Stream<TransactionDetails> transactions, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeArrayFieldStart(fieldName);
+        Iterator<TransactionDetails> iterator = transactions.iterator();
+        while (iterator.hasNext()) {
+            serializers.defaultSerializeValue(iterator.next(), gen);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.domain.account;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
@@ -24,7 +25,9 @@ import de.adorsys.psd2.xs2a.domain.Transactions;
 import lombok.Data;
 
 import javax.validation.constraints.NotNull;
+import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Data
 @JsonInclude(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)
@@ -41,4 +44,23 @@ public class Xs2aAccountReport {
     @NotNull
     @JsonProperty("_links")
     private Links links;
+
+    @JsonIgnore
+    private Stream<Transactions> bookedStream;
+
+    @JsonIgnore
+    private Stream<Transactions> pendingStream;
+
+    @JsonIgnore
+    private InputStream transactionsRawStream;
+
+    /**
+     * Checks whether transactions of this report are streamed and therefore can be read only once
+     *
+     * @return <code>true</code> if the report contains streams of transactions, <code>false</code> otherwise
+     */
+    @JsonIgnore
+    public boolean isStreamed() {
+        return bookedStream != null || pendingStream != null || transactionsRawStream != null;
+    }
 }
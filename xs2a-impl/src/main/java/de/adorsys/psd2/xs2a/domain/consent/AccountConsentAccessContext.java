@@ -0,0 +1,30 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.domain.consent;
+
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
+import lombok.Value;
+
+/**
+ * AIS consent together with its ASPSP consent data, read from CMS at once for performing AIS request
+ */
+@Value
+public class AccountConsentAccessContext {
+    private final AccountConsent accountConsent;
+    private final AspspConsentData aspspConsentData;
+}
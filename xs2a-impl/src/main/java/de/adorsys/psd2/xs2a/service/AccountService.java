@@ -19,8 +19,9 @@ package de.adorsys.psd2.xs2a.service;
 
 import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisTransactionCursor;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
-import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.event.EventType;
 import de.adorsys.psd2.xs2a.core.profile.AccountReference;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -28,9 +29,11 @@ import de.adorsys.psd2.xs2a.domain.ResponseObject;
 import de.adorsys.psd2.xs2a.domain.Transactions;
 import de.adorsys.psd2.xs2a.domain.account.*;
 import de.adorsys.psd2.xs2a.domain.consent.AccountConsent;
+import de.adorsys.psd2.xs2a.domain.consent.AccountConsentAccessContext;
 import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.cache.AisCacheOperation;
+import de.adorsys.psd2.xs2a.service.cache.AisResponseCache;
 import de.adorsys.psd2.xs2a.service.consent.AccountReferenceInConsentUpdater;
-import de.adorsys.psd2.xs2a.service.consent.AisConsentDataService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
@@ -53,13 +56,16 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static de.adorsys.psd2.xs2a.domain.MessageErrorCode.*;
 import static de.adorsys.psd2.xs2a.domain.TppMessageInformation.of;
@@ -85,11 +91,12 @@ public class AccountService {
     private final Xs2aAisConsentMapper consentMapper;
     private final TppService tppService;
     private final AspspProfileServiceWrapper aspspProfileService;
-    private final AisConsentDataService aisConsentDataService;
     private final Xs2aEventService xs2aEventService;
     private final SpiContextDataProvider spiContextDataProvider;
     private final AccountReferenceInConsentUpdater accountReferenceUpdater;
     private final SpiErrorMapper spiErrorMapper;
+    private final AisResponseCache aisResponseCache;
+    private final RequestResourceService requestResourceService;
 
     private final GetAccountListValidator getAccountListValidator;
     private final GetAccountDetailsValidator getAccountDetailsValidator;
@@ -108,14 +115,15 @@ public class AccountService {
     public ResponseObject<Xs2aAccountListHolder> getAccountList(String consentId, boolean withBalance) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_ACCOUNT_LIST_REQUEST_RECEIVED);
 
-        Optional<AccountConsent> accountConsentOptional = aisConsentService.getAccountConsentById(consentId);
-        if (!accountConsentOptional.isPresent()) {
+        Optional<AccountConsentAccessContext> accessContextOptional = aisConsentService.prepareAisAccess(consentId);
+        if (!accessContextOptional.isPresent()) {
             return ResponseObject.<Xs2aAccountListHolder>builder()
                        .fail(AIS_400, of(CONSENT_UNKNOWN_400))
                        .build();
         }
 
-        AccountConsent accountConsent = accountConsentOptional.get();
+        AccountConsent accountConsent = accessContextOptional.get().getAccountConsent();
+        AspspConsentData aspspConsentData = accessContextOptional.get().getAspspConsentData();
 
         ValidationResult validationResult = getAccountListValidator.validate(new GetAccountListConsentObject(accountConsent, withBalance));
         if (validationResult.isNotValid()) {
@@ -126,13 +134,17 @@ public class AccountService {
 
         SpiContextData contextData = getSpiContextData(accountConsent.getPsuIdDataList());
 
-        SpiResponse<List<SpiAccountDetails>> spiResponse = accountSpi.requestAccountList(contextData, withBalance,
-                                                                                         consentMapper.mapToSpiAccountConsent(accountConsent),
-                                                                                         aisConsentDataService.getAspspConsentDataByConsentId(consentId));
+        SpiResponse<List<SpiAccountDetails>> spiResponse = aisResponseCache.getOrLoad(
+            consentId, null, AisCacheOperation.ACCOUNT_LIST,
+            () -> accountSpi.requestAccountList(contextData, withBalance,
+                                                consentMapper.mapToSpiAccountConsent(accountConsent),
+                                                aspspConsentData),
+            withBalance);
 
-        aisConsentDataService.updateAspspConsentData(spiResponse.getAspspConsentData());
+        AspspConsentData responseAspspConsentData = spiResponse.getAspspConsentData();
 
         if (spiResponse.hasError()) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Xs2aAccountListHolder>builder()
                        .fail(new MessageError(spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS)))
                        .build();
@@ -146,7 +158,7 @@ public class AccountService {
         ResponseObject<Xs2aAccountListHolder> response =
             ResponseObject.<Xs2aAccountListHolder>builder().body(xs2aAccountListHolder).build();
 
-        writeLogAndCheckConsent(consentId, withBalance, accountConsent, TypeAccess.ACCOUNT, response);
+        completeAisAccess(consentId, responseAspspConsentData, withBalance, accountConsent, TypeAccess.ACCOUNT, response);
 
         return response;
     }
@@ -164,14 +176,15 @@ public class AccountService {
     public ResponseObject<Xs2aAccountDetailsHolder> getAccountDetails(String consentId, String accountId, boolean withBalance) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_ACCOUNT_DETAILS_REQUEST_RECEIVED);
 
-        Optional<AccountConsent> accountConsentOptional = aisConsentService.getAccountConsentById(consentId);
-        if (!accountConsentOptional.isPresent()) {
+        Optional<AccountConsentAccessContext> accessContextOptional = aisConsentService.prepareAisAccess(consentId);
+        if (!accessContextOptional.isPresent()) {
             return ResponseObject.<Xs2aAccountDetailsHolder>builder()
                        .fail(AIS_400, of(CONSENT_UNKNOWN_400))
                        .build();
         }
 
-        AccountConsent accountConsent = accountConsentOptional.get();
+        AccountConsent accountConsent = accessContextOptional.get().getAccountConsent();
+        AspspConsentData aspspConsentData = accessContextOptional.get().getAspspConsentData();
 
         ValidationResult validationResult = getAccountDetailsValidator.validate(new CommonAccountRequestObject(accountConsent, accountId, withBalance));
         if (validationResult.isNotValid()) {
@@ -191,11 +204,12 @@ public class AccountService {
 
         SpiResponse<SpiAccountDetails> spiResponse = accountSpi.requestAccountDetailForAccount(contextData, withBalance, requestedAccountReference.get(),
                                                                                                consentMapper.mapToSpiAccountConsent(accountConsent),
-                                                                                               aisConsentDataService.getAspspConsentDataByConsentId(consentId));
+                                                                                               aspspConsentData);
 
-        aisConsentDataService.updateAspspConsentData(spiResponse.getAspspConsentData());
+        AspspConsentData responseAspspConsentData = spiResponse.getAspspConsentData();
 
         if (spiResponse.hasError()) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Xs2aAccountDetailsHolder>builder()
                        .fail(spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS))
                        .build();
@@ -204,6 +218,7 @@ public class AccountService {
         SpiAccountDetails spiAccountDetails = spiResponse.getPayload();
 
         if (spiAccountDetails == null) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Xs2aAccountDetailsHolder>builder()
                        .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
                        .build();
@@ -216,7 +231,7 @@ public class AccountService {
         ResponseObject<Xs2aAccountDetailsHolder> response =
             ResponseObject.<Xs2aAccountDetailsHolder>builder().body(xs2aAccountDetailsHolder).build();
 
-        writeLogAndCheckConsent(consentId, withBalance, accountConsent, TypeAccess.ACCOUNT, response);
+        completeAisAccess(consentId, responseAspspConsentData, withBalance, accountConsent, TypeAccess.ACCOUNT, response);
 
         return response;
     }
@@ -231,14 +246,15 @@ public class AccountService {
     public ResponseObject<Xs2aBalancesReport> getBalancesReport(String consentId, String accountId) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_BALANCE_REQUEST_RECEIVED);
 
-        Optional<AccountConsent> accountConsentOptional = aisConsentService.getAccountConsentById(consentId);
-        if (!accountConsentOptional.isPresent()) {
+        Optional<AccountConsentAccessContext> accessContextOptional = aisConsentService.prepareAisAccess(consentId);
+        if (!accessContextOptional.isPresent()) {
             return ResponseObject.<Xs2aBalancesReport>builder()
                        .fail(AIS_400, of(CONSENT_UNKNOWN_400))
                        .build();
         }
 
-        AccountConsent accountConsent = accountConsentOptional.get();
+        AccountConsent accountConsent = accessContextOptional.get().getAccountConsent();
+        AspspConsentData aspspConsentData = accessContextOptional.get().getAspspConsentData();
 
         ValidationResult validationResult = getBalancesReportValidator.validate(new CommonConsentObject(accountConsent));
         if (validationResult.isNotValid()) {
@@ -257,18 +273,22 @@ public class AccountService {
 
         SpiContextData contextData = getSpiContextData(accountConsent.getPsuIdDataList());
 
-        SpiResponse<List<SpiAccountBalance>> spiResponse = accountSpi.requestBalancesForAccount(contextData, requestedAccountReference.get(),
-                                                                                                consentMapper.mapToSpiAccountConsent(accountConsent),
-                                                                                                aisConsentDataService.getAspspConsentDataByConsentId(consentId));
-        aisConsentDataService.updateAspspConsentData(spiResponse.getAspspConsentData());
+        SpiResponse<List<SpiAccountBalance>> spiResponse = aisResponseCache.getOrLoad(
+            consentId, accountId, AisCacheOperation.BALANCES,
+            () -> accountSpi.requestBalancesForAccount(contextData, requestedAccountReference.get(),
+                                                       consentMapper.mapToSpiAccountConsent(accountConsent),
+                                                       aspspConsentData));
+        AspspConsentData responseAspspConsentData = spiResponse.getAspspConsentData();
 
         if (spiResponse.hasError()) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Xs2aBalancesReport>builder()
                        .fail(new MessageError(spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS)))
                        .build();
         }
 
         if (spiResponse.getPayload() == null) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Xs2aBalancesReport>builder()
                        .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
                        .build();
@@ -280,7 +300,7 @@ public class AccountService {
         ResponseObject<Xs2aBalancesReport> response =
             ResponseObject.<Xs2aBalancesReport>builder().body(balancesReport).build();
 
-        writeLogAndCheckConsent(consentId, false, accountConsent, TypeAccess.BALANCE, response);
+        completeAisAccess(consentId, responseAspspConsentData, false, accountConsent, TypeAccess.BALANCE, response);
 
         return response;
     }
@@ -300,6 +320,8 @@ public class AccountService {
      * @param dateTo        ISO Date representing the value of desired end date of AccountReport (if omitted is set
      *                      to current date)
      * @param bookingStatus ENUM representing either one of BOOKED/PENDING or BOTH transaction statuses
+     * @param entryReferenceFrom String representing the entry reference of the transaction, after which transactions are requested (delta report)
+     * @param deltaList     boolean representing if only transactions after the last report access with this consent are requested (delta report)
      * @return TransactionsReport filled with appropriate transaction arrays Booked and Pending. For v1.1 balances
      * sections is added
      */
@@ -307,17 +329,20 @@ public class AccountService {
                                                                                 String acceptHeader,
                                                                                 boolean withBalance, LocalDate dateFrom,
                                                                                 LocalDate dateTo,
-                                                                                BookingStatus bookingStatus) {
+                                                                                BookingStatus bookingStatus,
+                                                                                String entryReferenceFrom,
+                                                                                boolean deltaList) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_TRANSACTION_LIST_REQUEST_RECEIVED);
 
-        Optional<AccountConsent> accountConsentOptional = aisConsentService.getAccountConsentById(consentId);
-        if (!accountConsentOptional.isPresent()) {
+        Optional<AccountConsentAccessContext> accessContextOptional = aisConsentService.prepareAisAccess(consentId);
+        if (!accessContextOptional.isPresent()) {
             return ResponseObject.<Xs2aTransactionsReport>builder()
                        .fail(AIS_400, of(CONSENT_UNKNOWN_400))
                        .build();
         }
 
-        AccountConsent accountConsent = accountConsentOptional.get();
+        AccountConsent accountConsent = accessContextOptional.get().getAccountConsent();
+        AspspConsentData aspspConsentData = accessContextOptional.get().getAspspConsentData();
 
         ValidationResult validationResult = getTransactionsReportValidator.validate(new CommonAccountRequestObject(accountConsent, accountId, withBalance));
         if (validationResult.isNotValid()) {
@@ -342,24 +367,37 @@ public class AccountService {
 
         SpiContextData contextData = getSpiContextData(accountConsent.getPsuIdDataList());
 
-        SpiResponse<SpiTransactionReport> spiResponse = accountSpi.requestTransactionsForAccount(
-            contextData,
-            acceptHeader,
-            isTransactionsShouldContainBalances, dateFrom, dateToChecked,
-            bookingStatus,
-            requestedAccountReference.get(),
-            consentMapper.mapToSpiAccountConsent(accountConsent),
-            aisConsentDataService.getAspspConsentDataByConsentId(consentId));
+        SpiTransactionCursor transactionCursor = getTransactionCursor(consentId, accountId, entryReferenceFrom, deltaList);
 
-        aisConsentDataService.updateAspspConsentData(spiResponse.getAspspConsentData());
+        // Streams of streamed reports can be consumed only once, so such reports are never cached
+        SpiResponse<SpiTransactionReport> spiResponse = aisResponseCache.getOrLoad(
+            consentId, accountId, AisCacheOperation.TRANSACTIONS,
+            () -> accountSpi.requestTransactionsForAccount(
+                contextData,
+                acceptHeader,
+                isTransactionsShouldContainBalances, dateFrom, dateToChecked,
+                bookingStatus,
+                transactionCursor,
+                requestedAccountReference.get(),
+                consentMapper.mapToSpiAccountConsent(accountConsent),
+                aspspConsentData),
+            report -> !report.isStreamed(),
+            acceptHeader, isTransactionsShouldContainBalances, dateFrom, dateToChecked, bookingStatus, transactionCursor);
+
+        // The streams must be released even if the response is never written, e.g. due to an error or a timeout
+        closeStreamsOnRequestCompletion(spiResponse.getPayload());
+
+        AspspConsentData responseAspspConsentData = spiResponse.getAspspConsentData();
 
         if (spiResponse.hasError()) {
             // in this particular call we use NOT_SUPPORTED to indicate that requested Content-type is not ok for us
             if (spiResponse.getResponseStatus() == SpiResponseStatus.NOT_SUPPORTED) {
+                aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
                 return ResponseObject.<Xs2aTransactionsReport>builder()
                            .fail(ErrorType.AIS_406, of(REQUESTED_FORMATS_INVALID))
                            .build();
             }
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Xs2aTransactionsReport>builder()
                        .fail(spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS))
                        .build();
@@ -368,12 +406,15 @@ public class AccountService {
         SpiTransactionReport spiTransactionReport = spiResponse.getPayload();
 
         if (spiTransactionReport == null) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Xs2aTransactionsReport>builder()
                        .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
                        .build();
         }
 
-        Optional<Xs2aAccountReport> report = transactionsToAccountReportMapper.mapToXs2aAccountReport(spiTransactionReport.getTransactions(), spiTransactionReport.getTransactionsRaw());
+        Optional<Xs2aAccountReport> report = spiTransactionReport.isStreamed()
+                                                 ? Optional.of(transactionsToAccountReportMapper.mapToStreamedXs2aAccountReport(spiTransactionReport))
+                                                 : transactionsToAccountReportMapper.mapToXs2aAccountReport(spiTransactionReport.getTransactions(), spiTransactionReport.getTransactionsRaw());
 
         Xs2aTransactionsReport transactionsReport = new Xs2aTransactionsReport();
         transactionsReport.setAccountReport(report.orElseGet(() -> new Xs2aAccountReport(Collections.emptyList(),
@@ -385,11 +426,29 @@ public class AccountService {
         ResponseObject<Xs2aTransactionsReport> response =
             ResponseObject.<Xs2aTransactionsReport>builder().body(transactionsReport).build();
 
-        writeLogAndCheckConsent(consentId, withBalance, accountConsent, TypeAccess.TRANSACTION, response);
+        // Streamed reports are not materialized, so the cursor can't be derived from them
+        AisTransactionCursor lastBookedTransactionCursor = spiTransactionReport.isStreamed()
+                                                               ? null
+                                                               : getLastBookedTransactionCursor(spiTransactionReport.getTransactions());
+        aisConsentService.completeAisAccess(tppService.getTppId(), consentId, responseAspspConsentData,
+                                            createActionStatus(withBalance, TypeAccess.TRANSACTION, response), accountConsent.isOneAccessType(),
+                                            accountId, lastBookedTransactionCursor);
 
         return response;
     }
 
+    private void closeStreamsOnRequestCompletion(@Nullable SpiTransactionReport spiTransactionReport) {
+        if (spiTransactionReport == null || !spiTransactionReport.isStreamed()) {
+            return;
+        }
+
+        Stream.<AutoCloseable>of(spiTransactionReport.getBookedTransactionsStream(),
+                  spiTransactionReport.getPendingTransactionsStream(),
+                  spiTransactionReport.getTransactionsRawStream())
+            .filter(Objects::nonNull)
+            .forEach(requestResourceService::closeOnRequestCompletion);
+    }
+
     /**
      * Gets transaction details by transaction id
      *
@@ -402,14 +461,15 @@ public class AccountService {
                                                               String transactionId) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_TRANSACTION_DETAILS_REQUEST_RECEIVED);
 
-        Optional<AccountConsent> accountConsentOptional = aisConsentService.getAccountConsentById(consentId);
-        if (!accountConsentOptional.isPresent()) {
+        Optional<AccountConsentAccessContext> accessContextOptional = aisConsentService.prepareAisAccess(consentId);
+        if (!accessContextOptional.isPresent()) {
             return ResponseObject.<Transactions>builder()
                        .fail(AIS_400, of(CONSENT_UNKNOWN_400))
                        .build();
         }
 
-        AccountConsent accountConsent = accountConsentOptional.get();
+        AccountConsent accountConsent = accessContextOptional.get().getAccountConsent();
+        AspspConsentData aspspConsentData = accessContextOptional.get().getAspspConsentData();
 
         ValidationResult validationResult = getTransactionDetailsValidator.validate(new CommonConsentObject(accountConsent));
         if (validationResult.isNotValid()) {
@@ -430,11 +490,12 @@ public class AccountService {
 
         SpiContextData contextData = getSpiContextData(accountConsent.getPsuIdDataList());
 
-        SpiResponse<SpiTransaction> spiResponse = accountSpi.requestTransactionForAccountByTransactionId(contextData, transactionId, requestedAccountReference.get(), consentMapper.mapToSpiAccountConsent(accountConsent), aisConsentDataService.getAspspConsentDataByConsentId(consentId));
+        SpiResponse<SpiTransaction> spiResponse = accountSpi.requestTransactionForAccountByTransactionId(contextData, transactionId, requestedAccountReference.get(), consentMapper.mapToSpiAccountConsent(accountConsent), aspspConsentData);
 
-        aisConsentDataService.updateAspspConsentData(spiResponse.getAspspConsentData());
+        AspspConsentData responseAspspConsentData = spiResponse.getAspspConsentData();
 
         if (spiResponse.hasError()) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Transactions>builder()
                        .fail(new MessageError(spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS)))
                        .build();
@@ -443,21 +504,56 @@ public class AccountService {
         SpiTransaction payload = spiResponse.getPayload();
 
         if (payload == null) {
+            aisConsentService.completeAisAccess(consentId, responseAspspConsentData);
             return ResponseObject.<Transactions>builder()
                        .fail(ErrorType.AIS_404, of(RESOURCE_UNKNOWN_404))
                        .build();
         }
 
         Transactions transactions = spiToXs2aTransactionMapper.mapToXs2aTransaction(payload);
-        checkAndExpireConsentIfOneAccessType(accountConsent, consentId);
+        aisConsentService.completeAisAccess(null, consentId, responseAspspConsentData, null, accountConsent.isOneAccessType());
         return ResponseObject.<Transactions>builder()
                    .body(transactions)
                    .build();
     }
 
-    private void writeLogAndCheckConsent(String consentId, boolean withBalance, AccountConsent accountConsent, TypeAccess typeAccess, ResponseObject response) {
-        aisConsentService.consentActionLog(tppService.getTppId(), consentId, createActionStatus(withBalance, typeAccess, response));
-        checkAndExpireConsentIfOneAccessType(accountConsent, consentId);
+    private void completeAisAccess(String consentId, AspspConsentData aspspConsentData, boolean withBalance, AccountConsent accountConsent, TypeAccess typeAccess, ResponseObject response) {
+        aisConsentService.completeAisAccess(tppService.getTppId(), consentId, aspspConsentData,
+                                            createActionStatus(withBalance, typeAccess, response), accountConsent.isOneAccessType());
+    }
+
+    @Nullable
+    private SpiTransactionCursor getTransactionCursor(String consentId, String accountId, String entryReferenceFrom, boolean deltaList) {
+        if (StringUtils.isNotBlank(entryReferenceFrom)) {
+            return new SpiTransactionCursor(entryReferenceFrom, null);
+        }
+
+        if (!deltaList) {
+            return null;
+        }
+
+        return aisConsentService.getTransactionCursor(consentId, accountId)
+                   .map(cursor -> new SpiTransactionCursor(cursor.getEntryReference(), cursor.getBookingDate()))
+                   .orElse(null);
+    }
+
+    @Nullable
+    private AisTransactionCursor getLastBookedTransactionCursor(List<SpiTransaction> transactions) {
+        if (CollectionUtils.isEmpty(transactions)) {
+            return null;
+        }
+
+        SpiTransaction lastBooked = null;
+        for (SpiTransaction transaction : transactions) {
+            if (transaction.isBookedTransaction()
+                    && (lastBooked == null || !transaction.getBookingDate().isBefore(lastBooked.getBookingDate()))) {
+                lastBooked = transaction;
+            }
+        }
+
+        return lastBooked == null
+                   ? null
+                   : new AisTransactionCursor(StringUtils.defaultIfBlank(lastBooked.getEntryReference(), null), lastBooked.getBookingDate());
     }
 
     private ActionStatus createActionStatus(boolean withBalance, TypeAccess access, ResponseObject response) {
@@ -474,12 +570,6 @@ public class AccountService {
                    .map(xs2aToSpiAccountReferenceMapper::mapToSpiAccountReference);
     }
 
-    private void checkAndExpireConsentIfOneAccessType(AccountConsent accountConsent, String encryptedConsentId) {
-        if (accountConsent.isOneAccessType()) {
-            aisConsentService.updateConsentStatus(encryptedConsentId, ConsentStatus.EXPIRED);
-        }
-    }
-
     private SpiContextData getSpiContextData(List<PsuIdData> psuIdDataList) {
         //TODO provide correct PSU Data to the SPI https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/701
         return spiContextDataProvider.provideWithPsuIdData(CollectionUtils.isNotEmpty(psuIdDataList)
@@ -81,6 +81,7 @@ public class ConsentService {
     private final AccountReferenceInConsentUpdater accountReferenceUpdater;
     private final SpiErrorMapper spiErrorMapper;
     private final ScaApproachResolver scaApproachResolver;
+    private final RequestProviderService requestProviderService;
 
     private final CreateConsentRequestValidator createConsentRequestValidator;
     private final GetAccountConsentsStatusByIdValidator getAccountConsentsStatusByIdValidator;
@@ -117,6 +118,7 @@ public class ConsentService {
 
         TppInfo tppInfo = tppService.getTppInfo();
         tppInfo.setTppRedirectUri(tppRedirectUri);
+        tppInfo.setTppNotificationUri(requestProviderService.getTppNotificationUri());
 
         String consentId = aisConsentService.createConsent(request, psuData, tppInfo);
 
@@ -18,6 +18,7 @@ package de.adorsys.psd2.xs2a.service;
 
 import de.adorsys.psd2.consent.api.pis.PisPayment;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.xs2a.config.factory.ReadPaymentFactory;
 import de.adorsys.psd2.xs2a.config.factory.ReadPaymentStatusFactory;
 import de.adorsys.psd2.xs2a.core.event.EventType;
@@ -28,13 +29,13 @@ import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.domain.ErrorHolder;
 import de.adorsys.psd2.xs2a.domain.ResponseObject;
 import de.adorsys.psd2.xs2a.domain.pis.*;
-import de.adorsys.psd2.xs2a.service.consent.PisPsuDataService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
 import de.adorsys.psd2.xs2a.service.mapper.consent.CmsToXs2aPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers.Xs2aToSpiPaymentInfoMapper;
 import de.adorsys.psd2.xs2a.service.payment.*;
+import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.service.profile.StandardPaymentProductsResolver;
 import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
 import de.adorsys.psd2.xs2a.service.validator.pis.payment.*;
@@ -65,7 +66,6 @@ public class PaymentService {
     private final SpiPaymentFactory spiPaymentFactory;
     private final Xs2aPisCommonPaymentService pisCommonPaymentService;
     private final Xs2aUpdatePaymentStatusAfterSpiService updatePaymentStatusAfterSpiService;
-    private final PisPsuDataService pisPsuDataService;
     private final TppService tppService;
     private final CreateSinglePaymentService createSinglePaymentService;
     private final CreatePeriodicPaymentService createPeriodicPaymentService;
@@ -84,6 +84,8 @@ public class PaymentService {
     private final GetPaymentByIdValidator getPaymentByIdValidator;
     private final GetPaymentStatusByIdValidator getPaymentStatusByIdValidator;
     private final CancelPaymentValidator cancelPaymentValidator;
+    private final AspspProfileServiceWrapper aspspProfileServiceWrapper;
+    private final TransactionStatusCache transactionStatusCache;
 
     /**
      * Initiates a payment though "payment service" corresponding service method
@@ -104,6 +106,7 @@ public class PaymentService {
 
         TppInfo tppInfo = tppService.getTppInfo();
         tppInfo.setTppRedirectUri(paymentInitiationParameters.getTppRedirectUri());
+        tppInfo.setTppNotificationUri(requestProviderService.getTppNotificationUri());
 
         if (standardPaymentProductsResolver.isRawPaymentProduct(paymentInitiationParameters.getPaymentProduct())) {
             CommonPayment request = new CommonPayment();
@@ -189,16 +192,17 @@ public class PaymentService {
      */
     public ResponseObject<TransactionStatus> getPaymentStatusById(PaymentType paymentType, String paymentProduct, String encryptedPaymentId) {//NOPMD //TODO refactor method  and remove https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/683
         xs2aEventService.recordPisTppRequest(encryptedPaymentId, EventType.GET_TRANSACTION_STATUS_REQUEST_RECEIVED);
-        Optional<PisCommonPaymentResponse> pisCommonPaymentOptional = pisCommonPaymentService.getPisCommonPaymentById(encryptedPaymentId);
+        // Validation only needs the status and the owner of the payment, so payment data is not read from CMS before that
+        Optional<PisCommonPaymentStatusInfo> statusInfoOptional = pisCommonPaymentService.getPisCommonPaymentStatusInfoById(encryptedPaymentId);
 
-        if (!pisCommonPaymentOptional.isPresent()) {
+        if (!statusInfoOptional.isPresent()) {
             return ResponseObject.<TransactionStatus>builder()
                        .fail(PIS_404, of(RESOURCE_UNKNOWN_404, PAYMENT_NOT_FOUND_MESSAGE))
                        .build();
         }
 
-        PisCommonPaymentResponse pisCommonPaymentResponse = pisCommonPaymentOptional.get();
-        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(pisCommonPaymentResponse, paymentType, paymentProduct));
+        PisCommonPaymentStatusInfo statusInfo = statusInfoOptional.get();
+        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(statusInfo, paymentType, paymentProduct));
         if (validationResult.isNotValid()) {
             return ResponseObject.<TransactionStatus>builder()
                        .fail(validationResult.getMessageError())
@@ -206,12 +210,30 @@ public class PaymentService {
         }
 
         // TODO temporary solution: payment initiation workflow should be clarified https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/582
-        if (pisCommonPaymentResponse.getTransactionStatus() == TransactionStatus.RJCT) {
-            return ResponseObject.<TransactionStatus>builder().body(TransactionStatus.RJCT).build();
+        TransactionStatus cmsTransactionStatus = statusInfo.getTransactionStatus();
+        if (cmsTransactionStatus == TransactionStatus.RJCT
+                || aspspProfileServiceWrapper.getTerminalTransactionStatuses().contains(cmsTransactionStatus)) {
+            // Terminal status can't be changed by the ASPSP anymore, so it is answered from CMS
+            return ResponseObject.<TransactionStatus>builder().body(cmsTransactionStatus).build();
+        }
+
+        Optional<TransactionStatus> cachedTransactionStatus = transactionStatusCache.get(encryptedPaymentId);
+        if (cachedTransactionStatus.isPresent()) {
+            return ResponseObject.<TransactionStatus>builder().body(cachedTransactionStatus.get()).build();
+        }
+        // Taken before the ASPSP is called, so that the status isn't cached if the payment is updated in the meantime
+        long cacheVersion = transactionStatusCache.getVersion();
+
+        Optional<PisCommonPaymentResponse> pisCommonPaymentOptional = pisCommonPaymentService.getPisCommonPaymentById(encryptedPaymentId);
+
+        if (!pisCommonPaymentOptional.isPresent()) {
+            return ResponseObject.<TransactionStatus>builder()
+                       .fail(PIS_404, of(RESOURCE_UNKNOWN_404, PAYMENT_NOT_FOUND_MESSAGE))
+                       .build();
         }
 
-        List<PsuIdData> psuData = pisPsuDataService.getPsuDataByPaymentId(encryptedPaymentId);
-        SpiContextData spiContextData = spiContextDataProvider.provideWithPsuIdData(readPsuIdDataFromList(psuData));
+        PisCommonPaymentResponse pisCommonPaymentResponse = pisCommonPaymentOptional.get();
+        SpiContextData spiContextData = spiContextDataProvider.provideWithPsuIdData(readPsuIdDataFromList(statusInfo.getPsuData()));
 
         ReadPaymentStatusResponse readPaymentStatusResponse;
 
@@ -245,7 +267,7 @@ public class PaymentService {
                        .build();
         }
 
-        if (!updatePaymentStatusAfterSpiService.updatePaymentStatus(encryptedPaymentId, transactionStatus)) {
+        if (!updatePaymentStatusAfterSpiService.updatePaymentStatusAfterRead(encryptedPaymentId, transactionStatus, cacheVersion)) {
             log.info("X-Request-ID: [{}], Payment ID: [{}], Transaction status: [{}]. Update of a payment status in the CMS has failed.",
                      requestProviderService.getRequestId(), encryptedPaymentId, transactionStatus);
         }
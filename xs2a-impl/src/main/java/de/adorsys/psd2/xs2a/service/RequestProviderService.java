@@ -38,6 +38,7 @@ public class RequestProviderService {
     private static final String PSU_ID_TYPE_HEADER = "psu-id-type";
     private static final String PSU_CORPORATE_ID_HEADER = "psu-corporate-id";
     private static final String PSU_CORPORATE_ID_TYPE_HEADER = "psu-corporate-id-type";
+    private static final String TPP_NOTIFICATION_URI_HEADER = "tpp-notification-uri";
 
     private final HttpServletRequest httpServletRequest;
 
@@ -66,6 +67,15 @@ public class RequestProviderService {
                              getHeader(PSU_CORPORATE_ID_TYPE_HEADER));
     }
 
+    /**
+     * Returns the URI, to which the TPP asks the ASPSP to send status changes of the created resource
+     *
+     * @return value of <code>TPP-Notification-URI</code> header or <code>null</code> if the header is absent
+     */
+    public String getTppNotificationUri() {
+        return getHeader(TPP_NOTIFICATION_URI_HEADER);
+    }
+
     private String getHeader(String headerName) {
         return httpServletRequest.getHeader(headerName);
     }
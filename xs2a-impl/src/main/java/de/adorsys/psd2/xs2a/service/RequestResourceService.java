@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import de.adorsys.psd2.xs2a.component.RequestResources;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletRequest;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RequestResourceService {
+    private final HttpServletRequest httpServletRequest;
+
+    /**
+     * Registers the resource to be closed when the current request is completed, regardless of whether the response was written.
+     * If the request has already been completed, the resource is closed immediately.
+     *
+     * @param resource resource, that is not needed after the request has been completed
+     */
+    public void closeOnRequestCompletion(AutoCloseable resource) {
+        RequestResources requestResources;
+        try {
+            requestResources = (RequestResources) httpServletRequest.getAttribute(RequestResources.ATTRIBUTE_NAME);
+        } catch (IllegalStateException e) {
+            log.debug("Request has already been completed, closing the resource");
+            RequestResources.closeQuietly(resource);
+            return;
+        }
+
+        if (requestResources == null) {
+            log.debug("Request isn't handled by RequestResourcesFilter, the resource is left to its consumer");
+            return;
+        }
+        requestResources.register(resource);
+    }
+}
@@ -23,6 +23,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -41,4 +43,9 @@ public class TppService {
         return Optional.ofNullable(tppInfoHolder.getTppInfo())
                    .orElseThrow(CertificateException::new);
     }
+
+    public List<String> getTppDomains() {
+        return Optional.ofNullable(tppInfoHolder.getTppDomains())
+                   .orElseGet(Collections::emptyList);
+    }
 }
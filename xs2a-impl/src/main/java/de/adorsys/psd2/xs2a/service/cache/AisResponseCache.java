@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.cache;
+
+import de.adorsys.psd2.xs2a.spi.domain.response.SpiResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in cache of successful AIS SPI responses, that serves repeated requests of the same consent for the same account
+ * without calling the ASPSP again within the time to live of the operation.
+ * Only the SPI call is replaced, so the request is still validated and counted against the frequency per day of the consent.
+ * The cache is invalidated, when the status of the consent is changed by XS2A.
+ */
+@Component
+public class AisResponseCache {
+    private final boolean enabled;
+    private final Map<AisCacheOperation, Long> timeToLiveMs = new EnumMap<>(AisCacheOperation.class);
+    private final AisResponseCacheStore store;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder savedSpiTimeMs = new LongAdder();
+
+    @Autowired
+    public AisResponseCache(@Value("${xs2a.ais.cache.enabled:false}") boolean enabled,
+                            @Value("${xs2a.ais.cache.max-size:10000}") int maxSize,
+                            @Value("${xs2a.ais.cache.account-list.ttl.ms:5000}") long accountListTimeToLiveMs,
+                            @Value("${xs2a.ais.cache.balances.ttl.ms:5000}") long balancesTimeToLiveMs,
+                            @Value("${xs2a.ais.cache.transactions.ttl.ms:5000}") long transactionsTimeToLiveMs,
+                            ObjectProvider<AisResponseCacheStore> storeProvider) {
+        this(enabled, accountListTimeToLiveMs, balancesTimeToLiveMs, transactionsTimeToLiveMs,
+             storeProvider.getIfAvailable(() -> new InMemoryAisResponseCacheStore(maxSize)));
+    }
+
+    public AisResponseCache(boolean enabled, long accountListTimeToLiveMs, long balancesTimeToLiveMs, long transactionsTimeToLiveMs,
+                            AisResponseCacheStore store) {
+        this.enabled = enabled;
+        this.timeToLiveMs.put(AisCacheOperation.ACCOUNT_LIST, accountListTimeToLiveMs);
+        this.timeToLiveMs.put(AisCacheOperation.BALANCES, balancesTimeToLiveMs);
+        this.timeToLiveMs.put(AisCacheOperation.TRANSACTIONS, transactionsTimeToLiveMs);
+        this.store = store;
+    }
+
+    /**
+     * Returns the cached SPI response of the operation or performs the SPI call and caches its successful response
+     *
+     * @param consentId  String representation of identifier of the consent
+     * @param resourceId String representation of identifier of the account, <code>null</code> for operations on all accounts
+     * @param operation  cached operation
+     * @param spiCall    SPI call to be performed on cache miss
+     * @param parameters parameters of the request, that influence the response
+     * @param <T>        type of the SPI response payload
+     * @return cached or loaded SPI response. Cached response doesn't contain ASPSP consent data, as it wasn't changed by the SPI
+     */
+    public <T> SpiResponse<T> getOrLoad(String consentId, String resourceId, AisCacheOperation operation,
+                                        Supplier<SpiResponse<T>> spiCall, Object... parameters) {
+        return getOrLoad(consentId, resourceId, operation, spiCall, payload -> true, parameters);
+    }
+
+    /**
+     * Returns the cached SPI response of the operation or performs the SPI call and caches its successful response,
+     * if the payload is cacheable (e.g. a streamed transaction report can be consumed only once)
+     *
+     * @param consentId  String representation of identifier of the consent
+     * @param resourceId String representation of identifier of the account, <code>null</code> for operations on all accounts
+     * @param operation  cached operation
+     * @param spiCall    SPI call to be performed on cache miss
+     * @param cacheable  whether the loaded payload may be cached
+     * @param parameters parameters of the request, that influence the response
+     * @param <T>        type of the SPI response payload
+     * @return cached or loaded SPI response. Cached response doesn't contain ASPSP consent data, as it wasn't changed by the SPI
+     */
+    @SuppressWarnings("unchecked")
+    public <T> SpiResponse<T> getOrLoad(String consentId, String resourceId, AisCacheOperation operation,
+                                        Supplier<SpiResponse<T>> spiCall, Predicate<T> cacheable, Object... parameters) {
+        long ttl = timeToLiveMs.get(operation);
+        if (!enabled || ttl <= 0) {
+            return spiCall.get();
+        }
+
+        AisResponseCacheKey key = new AisResponseCacheKey(consentId, resourceId, operation, Arrays.asList(parameters));
+        long now = System.currentTimeMillis();
+
+        AisResponseCacheEntry entry = store.get(key)
+                                          .filter(e -> !e.isExpired(now))
+                                          .orElse(null);
+        if (entry != null) {
+            hits.increment();
+            savedSpiTimeMs.add(entry.getLoadTimeMs());
+            return SpiResponse.<T>builder()
+                       .payload((T) entry.getPayload())
+                       .success();
+        }
+
+        misses.increment();
+        SpiResponse<T> spiResponse = spiCall.get();
+        long loadTimeMs = System.currentTimeMillis() - now;
+
+        if (spiResponse.isSuccessful() && spiResponse.getPayload() != null && cacheable.test(spiResponse.getPayload())) {
+            store.put(key, new AisResponseCacheEntry(spiResponse.getPayload(), now + loadTimeMs + ttl, loadTimeMs));
+        }
+
+        return spiResponse;
+    }
+
+    /**
+     * Removes all cached responses of the consent, e.g. after its status has been changed
+     *
+     * @param consentId String representation of identifier of the consent
+     */
+    public void invalidateConsent(String consentId) {
+        if (enabled) {
+            store.invalidateConsent(consentId);
+        }
+    }
+
+    public void clear() {
+        store.clear();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0
+                   ? 0
+                   : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return total time in milliseconds, that SPI calls served from the cache took when they were loaded
+     */
+    public long getSavedSpiTimeMs() {
+        return savedSpiTimeMs.sum();
+    }
+}
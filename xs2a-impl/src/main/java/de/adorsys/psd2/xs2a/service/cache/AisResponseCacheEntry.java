@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.cache;
+
+import lombok.Value;
+
+/**
+ * Cached SPI response payload together with its expiration time and the time it took to load it from the SPI
+ */
+@Value
+public class AisResponseCacheEntry {
+    private Object payload;
+    private long expiresAt;
+    private long loadTimeMs;
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.cache;
+
+import java.util.Optional;
+
+/**
+ * Storage of {@link AisResponseCache}. By default the bounded in-heap {@link InMemoryAisResponseCacheStore} is used,
+ * ASPSP may provide its own implementation (e.g. an off-heap one) as a bean of this type.
+ */
+public interface AisResponseCacheStore {
+    /**
+     * Reads the entry by its key. Expired entries may be returned, as expiration is checked by the cache
+     *
+     * @param key key of the entry
+     * @return cached entry, if present
+     */
+    Optional<AisResponseCacheEntry> get(AisResponseCacheKey key);
+
+    /**
+     * Stores the entry, replacing the previous entry with the same key
+     *
+     * @param key   key of the entry
+     * @param entry entry to be stored
+     */
+    void put(AisResponseCacheKey key, AisResponseCacheEntry entry);
+
+    /**
+     * Removes all entries of the given consent
+     *
+     * @param consentId String representation of identifier of the consent
+     */
+    void invalidateConsent(String consentId);
+
+    void clear();
+
+    int size();
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-heap store of {@link AisResponseCache}, evicting the least recently used entries
+ */
+public class InMemoryAisResponseCacheStore implements AisResponseCacheStore {
+    private final Map<AisResponseCacheKey, AisResponseCacheEntry> entries;
+
+    public InMemoryAisResponseCacheStore(int maxSize) {
+        this.entries = new LinkedHashMap<AisResponseCacheKey, AisResponseCacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AisResponseCacheKey, AisResponseCacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public Optional<AisResponseCacheEntry> get(AisResponseCacheKey key) {
+        synchronized (entries) {
+            return Optional.ofNullable(entries.get(key));
+        }
+    }
+
+    @Override
+    public void put(AisResponseCacheKey key, AisResponseCacheEntry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    @Override
+    public void invalidateConsent(String consentId) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.getConsentId().equals(consentId));
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.ais.*;
 import de.adorsys.psd2.consent.api.service.AisConsentAuthorisationServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -27,11 +28,13 @@ import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.domain.consent.*;
 import de.adorsys.psd2.xs2a.service.ScaApproachResolver;
+import de.adorsys.psd2.xs2a.service.cache.AisResponseCache;
 import de.adorsys.psd2.xs2a.service.mapper.consent.Xs2aAisConsentAuthorisationMapper;
 import de.adorsys.psd2.xs2a.service.mapper.consent.Xs2aAisConsentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.consent.Xs2aAuthenticationObjectToCmsScaMethodMapper;
 import de.adorsys.psd2.xs2a.service.profile.FrequencyPerDateCalculationService;
 import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -47,6 +50,7 @@ public class Xs2aAisConsentService {
     private final Xs2aAuthenticationObjectToCmsScaMethodMapper xs2AAuthenticationObjectToCmsScaMethodMapper;
     private final FrequencyPerDateCalculationService frequencyPerDateCalculationService;
     private final ScaApproachResolver scaApproachResolver;
+    private final AisResponseCache aisResponseCache;
 
     /**
      * Sends a POST request to CMS to store created AISconsent
@@ -74,6 +78,86 @@ public class Xs2aAisConsentService {
                    .map(aisConsentMapper::mapToAccountConsent);
     }
 
+    /**
+     * Requests CMS to retrieve AIS consent together with its ASPSP consent data in one call, in order to perform AIS request
+     *
+     * @param consentId String representation of identifier of stored consent
+     * @return Response containing AIS Consent and ASPSP consent data
+     */
+    public Optional<AccountConsentAccessContext> prepareAisAccess(String consentId) {
+        return aisConsentService.prepareAisAccess(consentId)
+                   .flatMap(context -> Optional.ofNullable(aisConsentMapper.mapToAccountConsent(context.getConsent()))
+                                           .map(consent -> new AccountConsentAccessContext(consent, new AspspConsentData(context.getAspspConsentData(), consentId))));
+    }
+
+    /**
+     * Sends a PUT request to CMS to store ASPSP consent data, returned by SPI after AIS request
+     *
+     * @param consentId        String representation of identifier of stored consent
+     * @param aspspConsentData ASPSP consent data returned by SPI
+     */
+    public void completeAisAccess(String consentId, AspspConsentData aspspConsentData) {
+        completeAisAccess(null, consentId, aspspConsentData, null, false);
+    }
+
+    /**
+     * Sends a PUT request to CMS to store ASPSP consent data, report status of the action (with decrement of consent usages)
+     * and expire the consent after AIS request in one call
+     *
+     * @param tppId            String representation of TPP`s identifier from TPP Certificate
+     * @param consentId        String representation of identifier of stored consent
+     * @param aspspConsentData ASPSP consent data returned by SPI
+     * @param actionStatus     Enum value representing whether the action is successful or errors occurred, <code>null</code> if action shouldn't be logged
+     * @param expireConsent    Whether the consent should be expired (e.g. one-off consent)
+     */
+    public void completeAisAccess(@Nullable String tppId, String consentId, AspspConsentData aspspConsentData,
+                                  @Nullable ActionStatus actionStatus, boolean expireConsent) {
+        completeAisAccess(tppId, consentId, aspspConsentData, actionStatus, expireConsent, null, null);
+    }
+
+    /**
+     * Sends a PUT request to CMS to store ASPSP consent data, report status of the action (with decrement of consent usages),
+     * move the transaction cursor of the account forward and expire the consent after AIS request in one call
+     *
+     * @param tppId             String representation of TPP`s identifier from TPP Certificate
+     * @param consentId         String representation of identifier of stored consent
+     * @param aspspConsentData  ASPSP consent data returned by SPI
+     * @param actionStatus      Enum value representing whether the action is successful or errors occurred, <code>null</code> if action shouldn't be logged
+     * @param expireConsent     Whether the consent should be expired (e.g. one-off consent)
+     * @param resourceId        String representation of the account identifier, used together with the transaction cursor
+     * @param transactionCursor Last booked transaction delivered to the TPP, <code>null</code> if the cursor shouldn't be changed
+     */
+    public void completeAisAccess(@Nullable String tppId, String consentId, AspspConsentData aspspConsentData,
+                                  @Nullable ActionStatus actionStatus, boolean expireConsent,
+                                  @Nullable String resourceId, @Nullable AisTransactionCursor transactionCursor) {
+        boolean updateAspspConsentData = aspspConsentData != null && !aspspConsentData.isEmptyConsentData();
+        if (!updateAspspConsentData && actionStatus == null && !expireConsent && transactionCursor == null) {
+            return;
+        }
+
+        byte[] data = updateAspspConsentData
+                          ? aspspConsentData.getAspspConsentData()
+                          : null;
+        AisConsentAccessCompletionRequest request = new AisConsentAccessCompletionRequest(tppId, actionStatus, updateAspspConsentData,
+                                                                                          data, expireConsent, resourceId, transactionCursor);
+        aisConsentService.completeAisAccess(consentId, request);
+
+        if (expireConsent) {
+            aisResponseCache.invalidateConsent(consentId);
+        }
+    }
+
+    /**
+     * Requests CMS to retrieve the transaction cursor of the account, i.e. the last booked transaction already delivered to the TPP
+     *
+     * @param consentId  String representation of identifier of stored consent
+     * @param resourceId String representation of the account identifier
+     * @return Transaction cursor, if transactions of the account have already been read with this consent
+     */
+    public Optional<AisTransactionCursor> getTransactionCursor(String consentId, String resourceId) {
+        return aisConsentService.getTransactionCursor(consentId, resourceId);
+    }
+
     /**
      * Requests CMS to retrieve AIS consent by its identifier
      *
@@ -113,6 +197,7 @@ public class Xs2aAisConsentService {
      */
     public void updateConsentStatus(String consentId, ConsentStatus consentStatus) {
         aisConsentService.updateConsentStatusById(consentId, consentStatus);
+        aisResponseCache.invalidateConsent(consentId);
     }
 
     /**
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.consent.api.service.EventServiceEncrypted;
+import de.adorsys.psd2.xs2a.core.event.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Records events in the CMS in the background, so that TPP requests don't have to wait for the CMS.
+ * Events are put into a bounded in-memory queue and sent to the CMS in batches by a single worker thread,
+ * either when the flush size is reached or when the flush interval since the first queued event has passed.
+ * On shutdown the queue is drained before the application context is closed. Events are queued under the read lock
+ * and the recorder is stopped under the write lock, so that no event is accepted after the worker has stopped.
+ */
+@Slf4j
+@Component
+public class AsyncEventRecorder {
+    private final EventServiceEncrypted eventService;
+    private final boolean enabled;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final EventBackpressurePolicy backpressurePolicy;
+    private final long blockTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final BlockingQueue<Event> queue;
+
+    private final LongAdder queuedEvents = new LongAdder();
+    private final LongAdder recordedEvents = new LongAdder();
+    private final LongAdder failedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder synchronousFallbacks = new LongAdder();
+    private final LongAdder flushedBatches = new LongAdder();
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AsyncEventRecorder(EventServiceEncrypted eventService,
+                              @Value("${xs2a.event.async.enabled:false}") boolean enabled,
+                              @Value("${xs2a.event.async.queue-capacity:10000}") int queueCapacity,
+                              @Value("${xs2a.event.async.flush-size:100}") int flushSize,
+                              @Value("${xs2a.event.async.flush-interval.ms:1000}") long flushIntervalMs,
+                              @Value("${xs2a.event.async.backpressure-policy:BLOCK}") EventBackpressurePolicy backpressurePolicy,
+                              @Value("${xs2a.event.async.block-timeout.ms:100}") long blockTimeoutMs,
+                              @Value("${xs2a.event.async.shutdown-timeout.ms:10000}") long shutdownTimeoutMs) {
+        this.eventService = eventService;
+        this.enabled = enabled;
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalMs = flushIntervalMs;
+        this.backpressurePolicy = backpressurePolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        worker = new Thread(this::drainQueue, "xs2a-event-recorder");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.warn("Event recorder didn't finish in {} ms, {} events weren't recorded", shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    /**
+     * Hands the event over to the background worker
+     *
+     * @param event Event to be recorded
+     * @return <code>true</code> if the event was taken over by the recorder (queued or dropped according to the backpressure policy),
+     * <code>false</code> if the event has to be recorded synchronously by the caller
+     */
+    public boolean offer(@NotNull Event event) {
+        runningLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+
+            if (queue.offer(event) || backpressurePolicy == EventBackpressurePolicy.BLOCK && offerWithTimeout(event)) {
+                queuedEvents.increment();
+                return true;
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+
+        if (backpressurePolicy == EventBackpressurePolicy.DROP) {
+            droppedEvents.increment();
+            log.warn("X-REQUEST-ID: [{}]. Event queue is full, event {} was dropped", event.getXRequestId(), event.getEventType());
+            return true;
+        }
+
+        synchronousFallbacks.increment();
+        return false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getQueuedEventCount() {
+        return queuedEvents.sum();
+    }
+
+    public long getRecordedEventCount() {
+        return recordedEvents.sum();
+    }
+
+    public long getFailedEventCount() {
+        return failedEvents.sum();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    public long getSynchronousFallbackCount() {
+        return synchronousFallbacks.sum();
+    }
+
+    public long getFlushedBatchCount() {
+        return flushedBatches.sum();
+    }
+
+    private boolean offerWithTimeout(Event event) {
+        try {
+            return queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainQueue() {
+        List<Event> batch = new ArrayList<>(flushSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Event first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flush(batch);
+        }
+    }
+
+    private void fillBatch(List<Event> batch) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.currentTimeMillis();
+            // During shutdown there is no point in waiting for further events
+            if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                return;
+            }
+
+            Event next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Event> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (eventService.recordEvents(new ArrayList<>(batch))) {
+                recordedEvents.add(batch.size());
+            } else {
+                failedEvents.add(batch.size());
+                log.info("Couldn't record batch of {} events from TPP requests", batch.size());
+            }
+        } catch (RuntimeException e) {
+            failedEvents.add(batch.size());
+            log.warn("Couldn't record batch of {} events from TPP requests: {}", batch.size(), e.getMessage());
+        } finally {
+            flushedBatches.increment();
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.event;
+
+/**
+ * Defines how events are handled when the queue of the asynchronous event recorder is full
+ */
+public enum EventBackpressurePolicy {
+    /**
+     * Waits for free space in the queue for the configured time and records the event synchronously if there is still none
+     */
+    BLOCK,
+    /**
+     * Drops the event, so that TPP requests are never slowed down by event recording
+     */
+    DROP,
+    /**
+     * Immediately records the event synchronously in the calling thread
+     */
+    SYNCHRONOUS
+}
@@ -39,6 +39,7 @@ public class Xs2aEventService {
     private final TppService tppService;
     private final EventServiceEncrypted eventService;
     private final RequestProviderService requestProviderService;
+    private final AsyncEventRecorder asyncEventRecorder;
 
     /**
      * Records TPP request to the AIS in the CMS in form of TPP event for given consent id and event type
@@ -110,6 +111,10 @@ public class Xs2aEventService {
     }
 
     private void recordEventInCms(Event event) {
+        if (asyncEventRecorder.offer(event)) {
+            return;
+        }
+
         boolean recorded = eventService.recordEvent(event);
         if (!recorded) {
             log.info("X-REQUEST-ID: [{}], TPP ID: [{}]. Couldn't record event from TPP request: {}", event.getXRequestId(), event.getTppAuthorisationNumber(), event);
@@ -31,12 +31,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.BeanUtils;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Component
@@ -235,6 +238,26 @@ public class AccountModelMapper {
         return transactionsReport.getAccountReport().getTransactionsRaw();
     }
 
+    public TransactionsStreamingResponse mapToTransactionsStreamingResponse(Xs2aTransactionsReport transactionsReport) {
+        Xs2aAccountReport accountReport = transactionsReport.getAccountReport();
+        return new TransactionsStreamingResponse(mapToAccountReference12(transactionsReport.getAccountReference()),
+                                                 mapToTransactionStream(accountReport.getBookedStream()),
+                                                 mapToTransactionStream(accountReport.getPendingStream()),
+                                                 hrefLinkMapper.mapToLinksMap(accountReport.getLinks()),
+                                                 mapToBalanceList(transactionsReport.getBalances()),
+                                                 hrefLinkMapper.mapToLinksMap(transactionsReport.getLinks()));
+    }
+
+    public Resource mapToTransactionsResponseRawStream(Xs2aTransactionsReport transactionsReport) {
+        return new InputStreamResource(transactionsReport.getAccountReport().getTransactionsRawStream());
+    }
+
+    private Stream<TransactionDetails> mapToTransactionStream(Stream<Transactions> transactions) {
+        return Optional.ofNullable(transactions)
+                   .map(ts -> ts.map(this::mapToTransaction))
+                   .orElseGet(Stream::empty);
+    }
+
 
     public Map<String, TransactionDetails> mapToTransactionDetails(Transactions transactions) {
         //TODO Change to an appropriate object when it will be possible https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/645
@@ -19,16 +19,19 @@ package de.adorsys.psd2.xs2a.service.mapper.spi_xs2a_mappers;
 import de.adorsys.psd2.xs2a.domain.Transactions;
 import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountReport;
 import de.adorsys.psd2.xs2a.spi.domain.account.SpiTransaction;
+import de.adorsys.psd2.xs2a.spi.domain.account.SpiTransactionReport;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -52,6 +55,32 @@ public class SpiTransactionListToXs2aAccountReportMapper {
         return Optional.of(new Xs2aAccountReport(booked, pending, null));
     }
 
+    /**
+     * Maps streamed SPI transaction report, transactions are mapped lazily while the streams are consumed
+     *
+     * @param spiTransactionReport streamed transaction report
+     * @return account report with streams of transactions
+     */
+    @NotNull
+    public Xs2aAccountReport mapToStreamedXs2aAccountReport(@NotNull SpiTransactionReport spiTransactionReport) {
+        Xs2aAccountReport accountReport = new Xs2aAccountReport(null, null, null);
+        if (spiTransactionReport.getTransactionsRawStream() != null) {
+            accountReport.setTransactionsRawStream(spiTransactionReport.getTransactionsRawStream());
+            return accountReport;
+        }
+
+        accountReport.setBookedStream(mapTransactionStream(spiTransactionReport.getBookedTransactionsStream()));
+        accountReport.setPendingStream(mapTransactionStream(spiTransactionReport.getPendingTransactionsStream()));
+        return accountReport;
+    }
+
+    @NotNull
+    private Stream<Transactions> mapTransactionStream(@Nullable Stream<SpiTransaction> spiTransactions) {
+        return Optional.ofNullable(spiTransactions)
+                   .map(ts -> ts.map(toXs2aTransactionMapper::mapToXs2aTransaction))
+                   .orElseGet(Stream::empty);
+    }
+
     @NotNull
     private List<Transactions> filterTransaction(List<SpiTransaction> spiTransactions, Predicate<SpiTransaction> predicate) {
         return spiTransactions
@@ -40,7 +40,6 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -95,8 +94,8 @@ public class CreateBulkPaymentService implements CreatePaymentService<BulkPaymen
         bulkPayment.setTransactionStatus(response.getTransactionStatus());
         bulkPayment.setPaymentId(response.getPaymentId());
 
-        BulkPayment bulkPaymentUpdated = setRandomIdsToPaymentListInBulkPayment(bulkPayment);
-        pisCommonPaymentService.updateBulkPaymentInCommonPayment(bulkPaymentUpdated, paymentInitiationParameters, pisCommonPayment.getPaymentId());
+        setRandomIdsToPaymentsInBulkPayment(bulkPayment);
+        pisCommonPaymentService.updateBulkPaymentInCommonPayment(bulkPayment, paymentInitiationParameters, pisCommonPayment.getPaymentId());
 
         response.setPaymentId(externalPaymentId);
 
@@ -120,14 +119,9 @@ public class CreateBulkPaymentService implements CreatePaymentService<BulkPaymen
                    .build();
     }
 
-    private BulkPayment setRandomIdsToPaymentListInBulkPayment(BulkPayment bulkPayment) {
-        List<SinglePayment> payments = bulkPayment.getPayments();
-
-        for (SinglePayment payment : payments) {
+    private void setRandomIdsToPaymentsInBulkPayment(BulkPayment bulkPayment) {
+        for (SinglePayment payment : bulkPayment.getPayments()) {
             payment.setPaymentId(UUID.randomUUID().toString());
         }
-
-        bulkPayment.setPayments(payments);
-        return bulkPayment;
     }
 }
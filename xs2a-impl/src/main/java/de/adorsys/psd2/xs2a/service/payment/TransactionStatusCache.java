@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.payment;
+
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived cache of transaction statuses, received from the ASPSP, keyed by the payment identifier.
+ * Allows to answer repeated status requests of the same payment without calling the ASPSP for the given time to live.
+ * Entries are evicted as soon as the status of the payment is updated in CMS by XS2A.
+ * <p>
+ * Each eviction increments the version of the cache and is remembered for the payment, so that a status, read from the
+ * ASPSP before the eviction, isn't put back into the cache afterwards. The version should therefore be taken with
+ * {@link #getVersion()} before the status is requested from the ASPSP and passed to {@link #put(String, TransactionStatus, long)}.
+ */
+@Component
+public class TransactionStatusCache {
+    private final int maxSize;
+    private final long timeToLiveMs;
+    private final Clock clock;
+    private final Map<String, CacheEntry> entries;
+    private final AtomicLong version = new AtomicLong();
+    // Puts older than this version are rejected, as evictions before it may have been removed from the entries
+    private long minimumPutVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder stalePuts = new LongAdder();
+
+    @Autowired
+    public TransactionStatusCache(@Value("${xs2a.payment.status-cache.max-size:10000}") int maxSize,
+                                  @Value("${xs2a.payment.status-cache.ttl.ms:2000}") long timeToLiveMs) {
+        this(maxSize, timeToLiveMs, Clock.systemUTC());
+    }
+
+    TransactionStatusCache(int maxSize, long timeToLiveMs, Clock clock) {
+        this.maxSize = maxSize;
+        this.timeToLiveMs = timeToLiveMs;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                boolean remove = size() > TransactionStatusCache.this.maxSize;
+                if (remove) {
+                    evictions.increment();
+                    forget(eldest.getValue());
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Returns cached transaction status of the payment, if it was received not earlier than the time to live ago
+     *
+     * @param paymentId identifier of the payment
+     * @return cached transaction status or empty Optional, if the status isn't cached or has expired
+     */
+    public Optional<TransactionStatus> get(String paymentId) {
+        if (isDisabled()) {
+            return Optional.empty();
+        }
+
+        long now = clock.millis();
+        synchronized (entries) {
+            CacheEntry entry = entries.get(paymentId);
+            if (entry != null && entry.transactionStatus != null) {
+                if (!entry.isExpired(now)) {
+                    hits.increment();
+                    return Optional.of(entry.transactionStatus);
+                }
+                evictions.increment();
+                if (entry.evictedAt > 0) {
+                    // The last eviction of the payment is still needed to reject stale statuses
+                    entries.put(paymentId, new CacheEntry(null, 0, entry.evictedAt));
+                } else {
+                    entries.remove(paymentId);
+                }
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Returns current version of the cache, to be taken before the transaction status is requested from the ASPSP
+     *
+     * @return current version of the cache
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Caches transaction status of the payment, unless the payment has been evicted since the given version was taken
+     *
+     * @param paymentId         identifier of the payment
+     * @param transactionStatus transaction status, received from the ASPSP
+     * @param readVersion       version of the cache, taken before the status was requested from the ASPSP
+     */
+    public void put(String paymentId, TransactionStatus transactionStatus, long readVersion) {
+        if (isDisabled()) {
+            return;
+        }
+
+        long expiresAt = clock.millis() + timeToLiveMs;
+        synchronized (entries) {
+            CacheEntry existing = entries.get(paymentId);
+            long evictedAt = existing == null ? 0 : existing.evictedAt;
+            if (readVersion < minimumPutVersion || readVersion < evictedAt) {
+                stalePuts.increment();
+                return;
+            }
+            entries.put(paymentId, new CacheEntry(transactionStatus, expiresAt, evictedAt));
+        }
+    }
+
+    public void evict(String paymentId) {
+        if (isDisabled()) {
+            return;
+        }
+
+        long evictedAt = version.incrementAndGet();
+        synchronized (entries) {
+            entries.put(paymentId, new CacheEntry(null, 0, evictedAt));
+        }
+    }
+
+    public void clear() {
+        long clearedAt = version.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+            minimumPutVersion = clearedAt;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getStalePutCount() {
+        return stalePuts.sum();
+    }
+
+    private void forget(CacheEntry entry) {
+        minimumPutVersion = Math.max(minimumPutVersion, entry.evictedAt);
+    }
+
+    private boolean isDisabled() {
+        return maxSize <= 0 || timeToLiveMs <= 0;
+    }
+
+    @RequiredArgsConstructor
+    private static class CacheEntry {
+        // null for the payments, evicted from the cache
+        private final TransactionStatus transactionStatus;
+        private final long expiresAt;
+        private final long evictedAt;
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -26,8 +26,37 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class Xs2aUpdatePaymentStatusAfterSpiService {
     private final UpdatePaymentStatusAfterSpiServiceEncrypted updatePaymentStatusAfterSpiService;
+    private final TransactionStatusCache transactionStatusCache;
 
+    /**
+     * Updates status of the payment in CMS and evicts it from the status cache before and after the update, so that
+     * statuses of the payment, concurrently read from the ASPSP, aren't cached
+     *
+     * @param paymentId identifier of the payment
+     * @param status    new status of the payment
+     * @return <code>true</code> if the status was updated, <code>false</code> otherwise
+     */
     public boolean updatePaymentStatus(@NotNull String paymentId, @NotNull TransactionStatus status) {
-        return updatePaymentStatusAfterSpiService.updatePaymentStatus(paymentId, status);
+        transactionStatusCache.evict(paymentId);
+        try {
+            return updatePaymentStatusAfterSpiService.updatePaymentStatus(paymentId, status);
+        } finally {
+            transactionStatusCache.evict(paymentId);
+        }
+    }
+
+    /**
+     * Updates status of the payment in CMS after it was read from the ASPSP and caches it, unless the payment has been
+     * evicted from the status cache in the meantime
+     *
+     * @param paymentId   identifier of the payment
+     * @param status      status of the payment, read from the ASPSP
+     * @param readVersion version of the status cache, taken before the status was requested from the ASPSP
+     * @return <code>true</code> if the status was updated, <code>false</code> otherwise
+     */
+    public boolean updatePaymentStatusAfterRead(@NotNull String paymentId, @NotNull TransactionStatus status, long readVersion) {
+        boolean updated = updatePaymentStatusAfterSpiService.updatePaymentStatus(paymentId, status);
+        transactionStatusCache.put(paymentId, status, readVersion);
+        return updated;
     }
 }
@@ -18,12 +18,15 @@ package de.adorsys.psd2.xs2a.service.profile;
 
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.domain.account.SupportedAccountReferenceField;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -226,6 +229,30 @@ public class AspspProfileServiceWrapper {
         return readAspspSettings().isCombinedServiceIndicator();
     }
 
+    /**
+     * Reads transaction statuses, after which the status of the payment can't be changed by the ASPSP anymore
+     *
+     * @return terminal transaction statuses from the profile or finalised transaction statuses, if the profile doesn't contain them
+     */
+    public List<TransactionStatus> getTerminalTransactionStatuses() {
+        List<TransactionStatus> terminalTransactionStatuses = readAspspSettings().getTerminalTransactionStatuses();
+        if (CollectionUtils.isEmpty(terminalTransactionStatuses)) {
+            return Arrays.stream(TransactionStatus.values())
+                       .filter(TransactionStatus::isFinalisedStatus)
+                       .collect(Collectors.toList());
+        }
+        return terminalTransactionStatuses;
+    }
+
+    /**
+     * Reads maximum number of payments in one bulk payment
+     *
+     * @return maximum number of payments or <code>0</code>, if the number of payments isn't limited
+     */
+    public int getMaxBulkPaymentSize() {
+        return readAspspSettings().getMaxBulkPaymentSize();
+    }
+
     private AspspSettings readAspspSettings() {
         return aspspProfileService.getAspspSettings();
     }
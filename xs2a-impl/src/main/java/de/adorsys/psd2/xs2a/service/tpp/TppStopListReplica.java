@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.tpp;
+
+import de.adorsys.psd2.consent.api.TppStopListChanges;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
+import de.adorsys.psd2.xs2a.core.tpp.TppUniqueParamsHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local replica of the TPP stop list, that allows to check whether TPP is blocked without calling CMS on every request.
+ * The replica contains only blocked TPPs, is loaded on startup and is kept up to date by periodically requesting
+ * changes of the stop list from CMS. If the replica couldn't be synchronised with CMS within the maximum staleness
+ * (or hasn't been loaded yet), checks are delegated to CMS. If the replica is disabled, all checks are delegated to CMS.
+ */
+@Slf4j
+@Component
+public class TppStopListReplica {
+    private final TppStopListService tppStopListService;
+    private final boolean enabled;
+    private final long refreshIntervalMs;
+    private final long maxStalenessMs;
+    private final long changeOverlapMs;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    // CMS provides the stop list of its own service instance only, so TPPs are identified by authorisation number and authority ID
+    private volatile Set<TppUniqueParamsHolder> blockedTpps = ConcurrentHashMap.newKeySet();
+    @Nullable
+    private volatile OffsetDateTime lastChangesTimestamp;
+    private volatile long lastSynchronisationMillis;
+
+    private final LongAdder localChecks = new LongAdder();
+    private final LongAdder delegatedChecks = new LongAdder();
+    private final LongAdder failedSynchronisations = new LongAdder();
+
+    public TppStopListReplica(TppStopListService tppStopListService,
+                              @Value("${xs2a.tpp.stop-list.replica.enabled:false}") boolean enabled,
+                              @Value("${xs2a.tpp.stop-list.replica.refresh-interval.ms:30000}") long refreshIntervalMs,
+                              @Value("${xs2a.tpp.stop-list.replica.max-staleness.ms:120000}") long maxStalenessMs,
+                              @Value("${xs2a.tpp.stop-list.replica.change-overlap.ms:60000}") long changeOverlapMs) {
+        this.tppStopListService = tppStopListService;
+        this.enabled = enabled;
+        this.refreshIntervalMs = Math.max(1, refreshIntervalMs);
+        this.maxStalenessMs = maxStalenessMs;
+        this.changeOverlapMs = Math.max(0, changeOverlapMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        scheduler.setThreadNamePrefix("xs2a-tpp-stop-list-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        // The first execution loads the stop list without blocking the application startup
+        scheduler.scheduleWithFixedDelay(this::synchronise, refreshIntervalMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled) {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Checks if TPP is blocked, using the replica if it is up to date
+     *
+     * @param tppUniqueParams information about particular TPP from TPP Certificate
+     * @return <code>true</code> if TPP is blocked, <code>false</code> otherwise
+     */
+    public boolean checkIfTppBlocked(TppUniqueParamsHolder tppUniqueParams) {
+        if (!isUpToDate()) {
+            delegatedChecks.increment();
+            return tppStopListService.checkIfTppBlocked(tppUniqueParams);
+        }
+
+        localChecks.increment();
+        boolean blocked = blockedTpps.contains(tppUniqueParams);
+        if (blocked) {
+            log.info("TPP ID: [{}], Authority ID: [{}]. TPP has been blocked, because it's in stop list",
+                     tppUniqueParams.getAuthorisationNumber(), tppUniqueParams.getAuthorityId());
+        }
+        return blocked;
+    }
+
+    /**
+     * Requests changes of the stop list from CMS and applies them to the replica.
+     * All blocked TPPs are loaded on the first call, subsequent calls request changes since the previous call.
+     * Changes are requested with some overlap, so that changes, committed in CMS after they were timestamped, are not lost.
+     */
+    void synchronise() {
+        try {
+            OffsetDateTime changedSince = Optional.ofNullable(lastChangesTimestamp)
+                                              .map(timestamp -> timestamp.minusNanos(changeOverlapMs * 1_000_000))
+                                              .orElse(null);
+            TppStopListChanges changes = tppStopListService.getTppStopListChanges(changedSince);
+
+            if (changedSince == null) {
+                Set<TppUniqueParamsHolder> loadedTpps = ConcurrentHashMap.newKeySet();
+                changes.getRecords().forEach(record -> applyRecord(loadedTpps, record));
+                blockedTpps = loadedTpps;
+            } else {
+                changes.getRecords().forEach(record -> applyRecord(blockedTpps, record));
+            }
+
+            lastChangesTimestamp = changes.getTimestamp();
+            lastSynchronisationMillis = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            failedSynchronisations.increment();
+            log.warn("TPP stop list replica couldn't be synchronised with CMS: {}", e.getMessage());
+        }
+    }
+
+    public boolean isUpToDate() {
+        return enabled
+                   && lastChangesTimestamp != null
+                   && System.currentTimeMillis() - lastSynchronisationMillis <= maxStalenessMs;
+    }
+
+    public int size() {
+        return blockedTpps.size();
+    }
+
+    public long getLocalCheckCount() {
+        return localChecks.sum();
+    }
+
+    public long getDelegatedCheckCount() {
+        return delegatedChecks.sum();
+    }
+
+    public long getFailedSynchronisationCount() {
+        return failedSynchronisations.sum();
+    }
+
+    // Blocking expiration is handled by CMS, which unblocks TPPs with expired blocking and therefore provides them as changes
+    private void applyRecord(Set<TppUniqueParamsHolder> tpps, TppStopListRecord record) {
+        TppUniqueParamsHolder tppUniqueParams = new TppUniqueParamsHolder(record.getTppAuthorisationNumber(), record.getNationalAuthorityId());
+        if (record.getStatus() == TppStatus.BLOCKED) {
+            tpps.add(tppUniqueParams);
+        } else {
+            tpps.remove(tppUniqueParams);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.validator;
 
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
@@ -52,31 +53,51 @@ public class GetCommonPaymentByIdResponseValidator {
     public ValidationResult validateRequest(@Nullable PisCommonPaymentResponse pisCommonPayment, PaymentType paymentType, String paymentProduct) {
         //In case of removing this validation please, place it back before all invocations of this class and remove @Nullable from the method parameter
         if (pisCommonPayment == null) {
-            log.info("X-Request-ID: [{}]. Payment validation has failed: payment was not found", requestProviderService.getRequestId());
-            return ValidationResult.invalid(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404, "Payment not found"));
+            return paymentNotFound();
         }
 
-        if (isPaymentTypeIncorrect(paymentType, pisCommonPayment)) {
+        return validateTypeAndProduct(pisCommonPayment.getExternalId(), pisCommonPayment.getPaymentType(), pisCommonPayment.getPaymentProduct(),
+                                      paymentType, paymentProduct);
+    }
+
+    /**
+     * Validates status information of the payment for payment status calls according to the same rules as
+     * {@link #validateRequest(PisCommonPaymentResponse, PaymentType, String)}
+     *
+     * @param statusInfo     unwrapped response of Xs2aPisCommonPaymentService#getPisCommonPaymentStatusInfoById call
+     * @param paymentType    type of payment (payments, bulk-payments, periodic-payments)
+     * @param paymentProduct payment product used for payment creation (e.g. sepa-credit-transfers, instant-sepa-credit-transfers...)
+     * @return ValidationResult instance, that contains boolean isValid, that shows if request is valid
+     * and MessageError for invalid case
+     */
+    public ValidationResult validateRequest(@Nullable PisCommonPaymentStatusInfo statusInfo, PaymentType paymentType, String paymentProduct) {
+        if (statusInfo == null) {
+            return paymentNotFound();
+        }
+
+        return validateTypeAndProduct(statusInfo.getExternalId(), statusInfo.getPaymentType(), statusInfo.getPaymentProduct(),
+                                      paymentType, paymentProduct);
+    }
+
+    private ValidationResult paymentNotFound() {
+        log.info("X-Request-ID: [{}]. Payment validation has failed: payment was not found", requestProviderService.getRequestId());
+        return ValidationResult.invalid(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404, "Payment not found"));
+    }
+
+    private ValidationResult validateTypeAndProduct(String paymentId, PaymentType actualPaymentType, String actualPaymentProduct,
+                                                    PaymentType paymentType, String paymentProduct) {
+        if (actualPaymentType != paymentType) {
             log.info("X-Request-ID: [{}], Payment ID: [{}]. Payment validation has failed: payment type [{}] is incorrect",
-                     requestProviderService.getRequestId(), pisCommonPayment.getExternalId(), paymentType);
+                     requestProviderService.getRequestId(), paymentId, paymentType);
             return ValidationResult.invalid(ErrorType.PIS_405, TppMessageInformation.of(SERVICE_INVALID_405, "Service invalid for addressed payment"));
         }
 
-        if (isPaymentProductIncorrect(paymentProduct, pisCommonPayment)) {
+        if (!actualPaymentProduct.equalsIgnoreCase(paymentProduct)) {
             log.info("X-Request-ID: [{}], Payment ID: [{}]. Payment validation has failed: payment product [{}] is incorrect",
-                     requestProviderService.getRequestId(), pisCommonPayment.getExternalId(), paymentProduct);
+                     requestProviderService.getRequestId(), paymentId, paymentProduct);
             return ValidationResult.invalid(ErrorType.PIS_403, TppMessageInformation.of(PRODUCT_INVALID, "Payment product invalid for addressed payment"));
         }
 
         return ValidationResult.valid();
     }
-
-    private boolean isPaymentTypeIncorrect(PaymentType paymentType, PisCommonPaymentResponse commonPaymentResponse) {
-        return commonPaymentResponse.getPaymentType() != paymentType;
-    }
-
-    private boolean isPaymentProductIncorrect(String paymentProduct, PisCommonPaymentResponse commonPaymentResponse) {
-        return !commonPaymentResponse.getPaymentProduct().equalsIgnoreCase(paymentProduct);
-    }
 }
-
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.validator;
+
+import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
+import de.adorsys.psd2.xs2a.service.TppService;
+import de.adorsys.psd2.xs2a.service.discovery.ServiceTypeDiscoveryService;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceTypeToErrorTypeMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Locale;
+
+import static de.adorsys.psd2.xs2a.domain.MessageErrorCode.FORMAT_ERROR;
+
+/**
+ * Validator to be used for validating <code>TPP-Notification-URI</code> header in initial requests to XS2A(e. g. initiate payment or create consent).
+ * Notifications are sent by the ASPSP to this URI, so it must not point to hosts, that don't belong to the TPP.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TppNotificationUriValidator {
+    // TODO move messages to the message bundle https://git.adorsys.de/adorsys/xs2a/aspsp-xs2a/issues/791
+    private static final String MESSAGE_ERROR_NOTIFICATION_URI_INVALID = "TPP-Notification-URI is invalid";
+    private static final String HTTPS_SCHEME = "https";
+    private static final String WILDCARD_PREFIX = "*.";
+    // Size of tpp_info.notification_uri column
+    private static final int MAX_NOTIFICATION_URI_LENGTH = 255;
+
+    private final RequestProviderService requestProviderService;
+    private final TppService tppService;
+    private final ServiceTypeDiscoveryService serviceTypeDiscoveryService;
+    private final ServiceTypeToErrorTypeMapper errorTypeMapper;
+
+    /**
+     * Validates notification URI, sent by the TPP in initial request, by checking whether:
+     * <ul>
+     * <li>the URI isn't longer than 255 characters</li>
+     * <li>the URI is an absolute URI with <code>https</code> scheme</li>
+     * <li>the host of the URI matches one of the domains from the TPP certificate</li>
+     * </ul>
+     *
+     * @param tppNotificationUri value of <code>TPP-Notification-URI</code> header or <code>null</code> if the header is absent
+     * @return valid result if the URI is absent or valid, invalid result with appropriate error otherwise
+     */
+    @NotNull
+    public ValidationResult validate(@Nullable String tppNotificationUri) {
+        if (tppNotificationUri == null) {
+            return ValidationResult.valid();
+        }
+
+        if (tppNotificationUri.length() > MAX_NOTIFICATION_URI_LENGTH) {
+            return invalid("URI is longer than " + MAX_NOTIFICATION_URI_LENGTH + " characters");
+        }
+
+        URI uri;
+        try {
+            uri = new URI(tppNotificationUri);
+        } catch (URISyntaxException e) {
+            return invalid("URI can't be parsed");
+        }
+
+        if (!HTTPS_SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            return invalid("URI scheme isn't https");
+        }
+
+        String host = uri.getHost();
+        if (StringUtils.isBlank(host) || !isTppDomain(host, tppService.getTppDomains())) {
+            return invalid("URI host doesn't match domains of TPP certificate");
+        }
+
+        return ValidationResult.valid();
+    }
+
+    private boolean isTppDomain(String host, List<String> tppDomains) {
+        String normalisedHost = normalise(host);
+        return tppDomains.stream()
+                   .filter(StringUtils::isNotBlank)
+                   .map(this::normalise)
+                   .anyMatch(domain -> matchesDomain(normalisedHost, domain));
+    }
+
+    private boolean matchesDomain(String host, String domain) {
+        if (domain.startsWith(WILDCARD_PREFIX)) {
+            return host.endsWith(domain.substring(1));
+        }
+        return host.equals(domain) || host.endsWith("." + domain);
+    }
+
+    private String normalise(String name) {
+        return StringUtils.removeEnd(name.trim(), ".").toLowerCase(Locale.ROOT);
+    }
+
+    private ValidationResult invalid(String reason) {
+        log.info("X-Request-ID: [{}]. TPP-Notification-URI validation has failed: {}",
+                 requestProviderService.getRequestId(), reason);
+        ErrorType errorType = errorTypeMapper.mapToErrorType(serviceTypeDiscoveryService.getServiceType(), FORMAT_ERROR.getCode());
+        return ValidationResult.invalid(errorType, TppMessageInformation.of(FORMAT_ERROR, MESSAGE_ERROR_NOTIFICATION_URI_INVALID));
+    }
+}
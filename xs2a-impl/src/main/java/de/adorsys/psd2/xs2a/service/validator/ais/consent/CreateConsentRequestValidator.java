@@ -19,12 +19,14 @@ package de.adorsys.psd2.xs2a.service.validator.ais.consent;
 import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.domain.consent.CreateConsentReq;
 import de.adorsys.psd2.xs2a.domain.consent.Xs2aAccountAccess;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.ScaApproachResolver;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.service.validator.BusinessValidator;
 import de.adorsys.psd2.xs2a.service.validator.PsuDataInInitialRequestValidator;
 import de.adorsys.psd2.xs2a.service.validator.SupportedAccountReferenceValidator;
+import de.adorsys.psd2.xs2a.service.validator.TppNotificationUriValidator;
 import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
 import de.adorsys.psd2.xs2a.service.validator.ais.consent.dto.CreateConsentRequestObject;
 import lombok.RequiredArgsConstructor;
@@ -52,11 +54,14 @@ public class CreateConsentRequestValidator implements BusinessValidator<CreateCo
     private final ScaApproachResolver scaApproachResolver;
     private final PsuDataInInitialRequestValidator psuDataInInitialRequestValidator;
     private final SupportedAccountReferenceValidator supportedAccountReferenceValidator;
+    private final TppNotificationUriValidator tppNotificationUriValidator;
+    private final RequestProviderService requestProviderService;
 
     /**
      * Validates Create consent request according to:
      * <ul>
      * <li>the presence of PSU Data in the request if it's mandated by the profile</li>
+     * <li>validity of TPP notification URI, if it's present in the request</li>
      * <li>support of account reference types</li>
      * <li>support of global consent for All Psd2</li>
      * <li>support of bank offered consent</li>
@@ -77,6 +82,11 @@ public class CreateConsentRequestValidator implements BusinessValidator<CreateCo
             return psuDataValidationResult;
         }
 
+        ValidationResult tppNotificationUriValidationResult = tppNotificationUriValidator.validate(requestProviderService.getTppNotificationUri());
+        if (tppNotificationUriValidationResult.isNotValid()) {
+            return tppNotificationUriValidationResult;
+        }
+
         CreateConsentReq request = requestObject.getCreateConsentReq();
 
         ValidationResult supportedAccountReferenceValidationResult = supportedAccountReferenceValidator.validate(request.getAccountReferences());
@@ -23,10 +23,12 @@ import de.adorsys.psd2.xs2a.domain.pis.BulkPayment;
 import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationParameters;
 import de.adorsys.psd2.xs2a.domain.pis.PeriodicPayment;
 import de.adorsys.psd2.xs2a.domain.pis.SinglePayment;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.profile.StandardPaymentProductsResolver;
 import de.adorsys.psd2.xs2a.service.validator.BusinessValidator;
 import de.adorsys.psd2.xs2a.service.validator.PsuDataInInitialRequestValidator;
 import de.adorsys.psd2.xs2a.service.validator.SupportedAccountReferenceValidator;
+import de.adorsys.psd2.xs2a.service.validator.TppNotificationUriValidator;
 import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
 import de.adorsys.psd2.xs2a.service.validator.pis.payment.dto.CreatePaymentRequestObject;
 import lombok.RequiredArgsConstructor;
@@ -47,11 +49,14 @@ public class CreatePaymentValidator implements BusinessValidator<CreatePaymentRe
     private final PsuDataInInitialRequestValidator psuDataInInitialRequestValidator;
     private final SupportedAccountReferenceValidator supportedAccountReferenceValidator;
     private final StandardPaymentProductsResolver standardPaymentProductsResolver;
+    private final TppNotificationUriValidator tppNotificationUriValidator;
+    private final RequestProviderService requestProviderService;
 
     /**
      * Validates create payment request by checking whether:
      * <ul>
      * <li>PSU Data is present in the request if it's mandated by the profile</li>
+     * <li>TPP notification URI is valid, if it's present in the request</li>
      * <li>Account references are supported by ASPSP</li>
      * </ul>
      *
@@ -67,6 +72,11 @@ public class CreatePaymentValidator implements BusinessValidator<CreatePaymentRe
             return psuDataValidationResult;
         }
 
+        ValidationResult tppNotificationUriValidationResult = tppNotificationUriValidator.validate(requestProviderService.getTppNotificationUri());
+        if (tppNotificationUriValidationResult.isNotValid()) {
+            return tppNotificationUriValidationResult;
+        }
+
         Set<AccountReference> accountReferences = extractAccountReferencesFromPayment(paymentInitiationParameters.getPaymentProduct(),
                                                                                       paymentInitiationParameters.getPaymentType(),
                                                                                       createPaymentRequestObject.getPayment());
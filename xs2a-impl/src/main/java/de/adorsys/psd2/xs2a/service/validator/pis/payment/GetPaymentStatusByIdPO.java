@@ -16,7 +16,7 @@
 
 package de.adorsys.psd2.xs2a.service.validator.pis.payment;
 
-import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.service.validator.TppInfoProvider;
@@ -29,12 +29,12 @@ import org.jetbrains.annotations.NotNull;
 @Value
 public class GetPaymentStatusByIdPO implements TppInfoProvider {
     @NotNull
-    private final PisCommonPaymentResponse pisCommonPaymentResponse;
+    private final PisCommonPaymentStatusInfo pisCommonPaymentStatusInfo;
     private final PaymentType paymentType;
     private final String paymentProduct;
 
     @Override
     public TppInfo getTppInfo() {
-        return pisCommonPaymentResponse.getTppInfo();
+        return pisCommonPaymentStatusInfo.getTppInfo();
     }
 }
@@ -42,7 +42,7 @@ public class GetPaymentStatusByIdValidator extends AbstractPisTppValidator<GetPa
     @Override
     protected ValidationResult executeBusinessValidation(GetPaymentStatusByIdPO paymentObject) {
         ValidationResult getCommonPaymentValidationResult =
-            getCommonPaymentByIdResponseValidator.validateRequest(paymentObject.getPisCommonPaymentResponse(),
+            getCommonPaymentByIdResponseValidator.validateRequest(paymentObject.getPisCommonPaymentStatusInfo(),
                                                                   paymentObject.getPaymentType(),
                                                                   paymentObject.getPaymentProduct());
         if (getCommonPaymentValidationResult.isNotValid()) {
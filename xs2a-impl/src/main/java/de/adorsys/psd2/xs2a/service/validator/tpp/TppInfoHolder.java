@@ -20,8 +20,14 @@ import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Setter
 @Getter
 public class TppInfoHolder {
     private TppInfo tppInfo;
+    /**
+     * DNS names from the subject alternative names of the TPP certificate
+     */
+    private List<String> tppDomains;
 }
@@ -16,8 +16,9 @@
 
 package de.adorsys.psd2.xs2a.web.aspect;
 
-import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.xs2a.domain.Links;
 import de.adorsys.psd2.xs2a.domain.ResponseObject;
 import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
@@ -29,22 +30,27 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.lang.reflect.ParameterizedType;
 import java.util.Collections;
 import java.util.Optional;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public abstract class AbstractLinkAspect<T> {
+    private static final String BASE_URL_ATTRIBUTE_PREFIX = AbstractLinkAspect.class.getName() + ".baseUrl.";
+
     protected final ScaApproachResolver scaApproachResolver;
     private final MessageService messageService;
     private final AspspProfileService aspspProfileService;
+    private final LinkTemplateRegistry linkTemplateRegistry;
+
+    private Class<T> controllerClass;
 
     protected <B> boolean hasError(ResponseEntity<B> target) {
         Optional<B> body = Optional.ofNullable(target.getBody());
@@ -69,17 +75,44 @@ public abstract class AbstractLinkAspect<T> {
     }
 
     String buildPath(String path, Object... params) {
-        UriComponentsBuilder uriComponentsBuilder = aspspProfileService.getAspspSettings().isForceXs2aBaseUrl()
-                                                        ? fromHttpUrl(aspspProfileService.getAspspSettings().getXs2aBaseUrl())
-                                                        : fromHttpUrl(linkTo(getControllerClass()).toString());
-        return uriComponentsBuilder
-                   .path(path)
-                   .buildAndExpand(params)
-                   .toUriString();
+        return linkTemplateRegistry.expand(getBaseUrl(), path, params);
+    }
+
+    /**
+     * Resolves base URL of links once per request, as all links of the response share it
+     */
+    private String getBaseUrl() {
+        Class<T> controller = getControllerClass();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return resolveBaseUrl(controller);
+        }
+
+        String attributeName = BASE_URL_ATTRIBUTE_PREFIX + controller.getName();
+        String baseUrl = (String) requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (baseUrl == null) {
+            baseUrl = resolveBaseUrl(controller);
+            requestAttributes.setAttribute(attributeName, baseUrl, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUrl;
+    }
+
+    private String resolveBaseUrl(Class<T> controller) {
+        AspspSettings aspspSettings = aspspProfileService.getAspspSettings();
+        return aspspSettings.isForceXs2aBaseUrl()
+                   ? linkTemplateRegistry.getForcedBaseUrl(aspspSettings.getXs2aBaseUrl())
+                   : linkTemplateRegistry.normaliseBaseUrl(linkTo(controller).toString());
     }
 
-    @SuppressWarnings("unchecked")
     private Class<T> getControllerClass() {
+        if (controllerClass == null) {
+            controllerClass = resolveControllerClass();
+        }
+        return controllerClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> resolveControllerClass() {
         try {
             String className = ((ParameterizedType) this.getClass().getGenericSuperclass())
                                    .getActualTypeArguments()[0]
@@ -41,8 +41,8 @@ import static de.adorsys.psd2.xs2a.core.profile.ScaApproach.*;
 public class CreatePisAuthorisationCancellationAspect extends AbstractLinkAspect<PaymentController> {
     private final RedirectLinkBuilder redirectLinkBuilder;
 
-    public CreatePisAuthorisationCancellationAspect(ScaApproachResolver scaApproachResolver, MessageService messageService, RedirectLinkBuilder redirectLinkBuilder, AspspProfileService aspspProfileService) {
-        super(scaApproachResolver, messageService, aspspProfileService);
+    public CreatePisAuthorisationCancellationAspect(ScaApproachResolver scaApproachResolver, MessageService messageService, RedirectLinkBuilder redirectLinkBuilder, AspspProfileService aspspProfileService, LinkTemplateRegistry linkTemplateRegistry) {
+        super(scaApproachResolver, messageService, aspspProfileService, linkTemplateRegistry);
         this.redirectLinkBuilder = redirectLinkBuilder;
     }
 
@@ -44,8 +44,8 @@ import static de.adorsys.psd2.xs2a.core.profile.ScaApproach.*;
 public class CreatePisAuthorizationAspect extends AbstractLinkAspect<PaymentController> {
     private RedirectLinkBuilder redirectLinkBuilder;
 
-    public CreatePisAuthorizationAspect(ScaApproachResolver scaApproachResolver, MessageService messageService, AspspProfileService aspspProfileService, RedirectLinkBuilder redirectLinkBuilder) {
-        super(scaApproachResolver, messageService, aspspProfileService);
+    public CreatePisAuthorizationAspect(ScaApproachResolver scaApproachResolver, MessageService messageService, AspspProfileService aspspProfileService, LinkTemplateRegistry linkTemplateRegistry, RedirectLinkBuilder redirectLinkBuilder) {
+        super(scaApproachResolver, messageService, aspspProfileService, linkTemplateRegistry);
         this.redirectLinkBuilder = redirectLinkBuilder;
     }
 
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.aspect;
+
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
+
+/**
+ * Holds link templates of {@link UrlHolder}, parsed once at startup, so that links of responses are built by plain
+ * string concatenation instead of building and encoding URIs with {@link org.springframework.web.util.UriComponentsBuilder}
+ * for every link. Path variables are expanded as is, the same way as by <code>UriComponentsBuilder#buildAndExpand</code>.
+ */
+@Component
+public class LinkTemplateRegistry {
+    private final Map<String, LinkTemplate> templates = new ConcurrentHashMap<>();
+    private final AtomicReference<BaseUrl> forcedBaseUrl = new AtomicReference<>();
+
+    public LinkTemplateRegistry() {
+        for (Field field : UrlHolder.class.getDeclaredFields()) {
+            if (isPathConstant(field)) {
+                String path = readPathConstant(field);
+                templates.put(path, LinkTemplate.parse(path));
+            }
+        }
+    }
+
+    /**
+     * Builds link by the given path template and base URL
+     *
+     * @param baseUrl base URL of the link, normalised by {@link #normaliseBaseUrl(String)}
+     * @param path    path template, usually one of {@link UrlHolder} constants
+     * @param params  values of path variables in order of their appearance in the template
+     * @return link with expanded path variables
+     */
+    public String expand(String baseUrl, String path, Object... params) {
+        return templates.computeIfAbsent(path, LinkTemplate::parse)
+                   .expand(baseUrl, params);
+    }
+
+    /**
+     * Returns normalised base URL, forced in ASPSP profile. The URL is normalised again only if its value in the profile
+     * is changed.
+     *
+     * @param xs2aBaseUrl base URL from ASPSP profile
+     * @return normalised base URL
+     */
+    public String getForcedBaseUrl(String xs2aBaseUrl) {
+        BaseUrl current = forcedBaseUrl.get();
+        if (current != null && current.getRawUrl().equals(xs2aBaseUrl)) {
+            return current.getNormalisedUrl();
+        }
+
+        BaseUrl updated = new BaseUrl(xs2aBaseUrl, normaliseBaseUrl(xs2aBaseUrl));
+        forcedBaseUrl.set(updated);
+        return updated.getNormalisedUrl();
+    }
+
+    /**
+     * Parses the given HTTP URL and removes its trailing slash, so that it can be prepended to the paths of templates
+     *
+     * @param baseUrl HTTP URL
+     * @return normalised base URL
+     */
+    public String normaliseBaseUrl(String baseUrl) {
+        return StringUtils.removeEnd(fromHttpUrl(baseUrl).build().toUriString(), "/");
+    }
+
+    private boolean isPathConstant(Field field) {
+        int modifiers = field.getModifiers();
+        return Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && field.getType() == String.class;
+    }
+
+    private String readPathConstant(Field field) {
+        try {
+            return (String) field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can't read link template " + field.getName(), e);
+        }
+    }
+
+    @Value
+    private static class BaseUrl {
+        private String rawUrl;
+        private String normalisedUrl;
+    }
+
+    /**
+     * Path template, split into literal parts and path variables: variable <code>i</code> is placed between
+     * literal parts <code>i</code> and <code>i + 1</code>
+     */
+    static class LinkTemplate {
+        private final List<String> literals;
+        private final int length;
+
+        private LinkTemplate(List<String> literals) {
+            this.literals = literals;
+            this.length = literals.stream().mapToInt(String::length).sum();
+        }
+
+        static LinkTemplate parse(String path) {
+            List<String> literals = new ArrayList<>();
+            int literalStart = 0;
+            int variableStart = path.indexOf('{');
+            while (variableStart >= 0) {
+                int variableEnd = path.indexOf('}', variableStart);
+                if (variableEnd < 0) {
+                    throw new IllegalArgumentException("Link template " + path + " contains unclosed path variable");
+                }
+                literals.add(path.substring(literalStart, variableStart));
+                literalStart = variableEnd + 1;
+                variableStart = path.indexOf('{', literalStart);
+            }
+            literals.add(path.substring(literalStart));
+            return new LinkTemplate(Collections.unmodifiableList(literals));
+        }
+
+        String expand(String baseUrl, Object... params) {
+            int variableCount = literals.size() - 1;
+            if (params.length < variableCount) {
+                throw new IllegalArgumentException("Not enough variable values available to expand link template");
+            }
+
+            StringBuilder link = new StringBuilder(baseUrl.length() + length + 40 * variableCount);
+            link.append(baseUrl).append(literals.get(0));
+            for (int i = 0; i < variableCount; i++) {
+                link.append(params[i] == null ? "" : params[i].toString())
+                    .append(literals.get(i + 1));
+            }
+            return link.toString();
+        }
+    }
+}
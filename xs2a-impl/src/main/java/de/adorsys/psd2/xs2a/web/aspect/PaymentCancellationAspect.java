@@ -35,8 +35,8 @@ import org.springframework.stereotype.Component;
 public class PaymentCancellationAspect extends AbstractLinkAspect<PaymentController> {
     private final PaymentCancellationAuthorisationNeededDecider cancellationScaNeededDecider;
 
-    public PaymentCancellationAspect(ScaApproachResolver scaApproachResolver, MessageService messageService, PaymentCancellationAuthorisationNeededDecider cancellationScaNeededDecider, AspspProfileService aspspProfileService) {
-        super(scaApproachResolver, messageService, aspspProfileService);
+    public PaymentCancellationAspect(ScaApproachResolver scaApproachResolver, MessageService messageService, PaymentCancellationAuthorisationNeededDecider cancellationScaNeededDecider, AspspProfileService aspspProfileService, LinkTemplateRegistry linkTemplateRegistry) {
+        super(scaApproachResolver, messageService, aspspProfileService, linkTemplateRegistry);
         this.cancellationScaNeededDecider = cancellationScaNeededDecider;
     }
 
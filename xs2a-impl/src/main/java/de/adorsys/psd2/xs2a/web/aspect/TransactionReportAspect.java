@@ -48,6 +48,11 @@ public class TransactionReportAspect {
     }
 
     private boolean isTransactionReportHuge(Xs2aTransactionsReport transactionsReport) {
+        // Streamed reports are written to the response incrementally and can be read only once
+        if (transactionsReport.getAccountReport() != null && transactionsReport.getAccountReport().isStreamed()) {
+            return false;
+        }
+
         String jsonReport = jsonConverter.toJson(transactionsReport)
                                 .orElse("");
 
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executes controller handlers, that call blocking SPI methods, on a bounded thread pool and completes the requests via servlet async,
+ * so that slow ASPSP backends don't pin servlet container threads.
+ * Request attributes (and therefore request scoped beans) are bound to the worker thread by Spring MVC for the time of the execution.
+ * If the pool and its queue are exhausted, the handler is executed by the servlet thread, which throttles accepting further requests.
+ * If asynchronous execution is disabled, the handler is executed synchronously.
+ */
+@Slf4j
+@Component
+public class AsyncRequestExecutor {
+    private final boolean enabled;
+    private final int poolSize;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    private final LongAdder submittedRequests = new LongAdder();
+    private final LongAdder completedRequests = new LongAdder();
+    private final LongAdder callerRunsRequests = new LongAdder();
+    private final LongAdder timedOutRequests = new LongAdder();
+
+    private volatile boolean running;
+
+    public AsyncRequestExecutor(@Value("${xs2a.async.enabled:false}") boolean enabled,
+                                @Value("${xs2a.async.pool-size:50}") int poolSize,
+                                @Value("${xs2a.async.queue-capacity:100}") int queueCapacity,
+                                @Value("${xs2a.async.timeout.ms:60000}") long timeoutMs) {
+        this.enabled = enabled;
+        this.poolSize = Math.max(1, poolSize);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("xs2a-async-");
+        executor.setRejectedExecutionHandler(this::runOnCallerThread);
+        executor.initialize();
+        running = true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        executor.shutdown();
+    }
+
+    /**
+     * Executes the handler asynchronously, if asynchronous execution is enabled
+     *
+     * @param handler Handler, producing the response to the TPP
+     * @return <code>AsyncResponseEntity</code>, that is completed by the servlet async processing, or the response of the handler
+     * if asynchronous execution is disabled
+     */
+    public ResponseEntity execute(Supplier<ResponseEntity> handler) {
+        if (!running) {
+            return handler.get();
+        }
+
+        submittedRequests.increment();
+        WebAsyncTask<Object> task = new WebAsyncTask<>(timeoutMs, executor, () -> {
+            try {
+                return handler.get();
+            } finally {
+                completedRequests.increment();
+            }
+        });
+        task.onTimeout(() -> {
+            timedOutRequests.increment();
+            log.warn("Request wasn't completed in {} ms", timeoutMs);
+            // Falls back to the default timeout handling of Spring MVC
+            return CallableProcessingInterceptor.RESULT_NONE;
+        });
+        return new AsyncResponseEntity(task);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getActiveCount() {
+        return running ? executor.getActiveCount() : 0;
+    }
+
+    public int getQueueSize() {
+        return running ? executor.getThreadPoolExecutor().getQueue().size() : 0;
+    }
+
+    public long getSubmittedRequestCount() {
+        return submittedRequests.sum();
+    }
+
+    public long getCompletedRequestCount() {
+        return completedRequests.sum();
+    }
+
+    public long getCallerRunsRequestCount() {
+        return callerRunsRequests.sum();
+    }
+
+    public long getTimedOutRequestCount() {
+        return timedOutRequests.sum();
+    }
+
+    private void runOnCallerThread(Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
+        if (threadPoolExecutor.isShutdown()) {
+            throw new RejectedExecutionException("Executor for asynchronous requests is shut down");
+        }
+
+        callerRunsRequests.increment();
+        runnable.run();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.async;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * Placeholder for a response, that is produced asynchronously by the given task.
+ * Allows controllers implementing generated API interfaces to complete requests via servlet async,
+ * the status of this entity itself is never sent to the TPP.
+ */
+public class AsyncResponseEntity extends ResponseEntity<Object> {
+    private final WebAsyncTask<Object> task;
+
+    public AsyncResponseEntity(WebAsyncTask<Object> task) {
+        super(HttpStatus.OK);
+        this.task = task;
+    }
+
+    public WebAsyncTask<Object> getTask() {
+        return task;
+    }
+}
@@ -25,6 +25,7 @@ import de.adorsys.psd2.xs2a.service.AccountService;
 import de.adorsys.psd2.xs2a.service.mapper.AccountModelMapper;
 import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
+import de.adorsys.psd2.xs2a.web.async.AsyncRequestExecutor;
 import io.swagger.annotations.Api;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.BooleanUtils;
@@ -47,51 +48,68 @@ public class AccountController implements AccountApi {
     private final ResponseMapper responseMapper;
     private final AccountModelMapper accountModelMapper;
     private final ResponseErrorMapper responseErrorMapper;
+    private final AsyncRequestExecutor asyncRequestExecutor;
 
     @Override
     public ResponseEntity getAccountList(UUID xRequestID, String consentID, Boolean withBalance, String digest, String signature, byte[] tpPSignatureCertificate, String psUIPAddress, String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-        ResponseObject<Xs2aAccountListHolder> accountList = accountService.getAccountList(consentID, Optional.ofNullable(withBalance).orElse(false));
-        return accountList.hasError()
-                   ? responseErrorMapper.generateErrorResponse(accountList.getError())
-                   : responseMapper.ok(accountList, accountModelMapper::mapToAccountList);
+        return asyncRequestExecutor.execute(() -> {
+            ResponseObject<Xs2aAccountListHolder> accountList = accountService.getAccountList(consentID, Optional.ofNullable(withBalance).orElse(false));
+            return accountList.hasError()
+                       ? responseErrorMapper.generateErrorResponse(accountList.getError())
+                       : responseMapper.ok(accountList, accountModelMapper::mapToAccountList);
+        });
     }
 
     @Override
     public ResponseEntity readAccountDetails(String accountId, UUID xRequestID, String consentID, Boolean withBalance, String digest, String signature, byte[] tpPSignatureCertificate, String psUIPAddress, String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-        ResponseObject<Xs2aAccountDetailsHolder> accountDetails = accountService.getAccountDetails(consentID, accountId, Optional.ofNullable(withBalance).orElse(false));
-        return accountDetails.hasError()
-                   ? responseErrorMapper.generateErrorResponse(accountDetails.getError())
-                   : responseMapper.ok(accountDetails, accountModelMapper::mapToAccountDetails);
+        return asyncRequestExecutor.execute(() -> {
+            ResponseObject<Xs2aAccountDetailsHolder> accountDetails = accountService.getAccountDetails(consentID, accountId, Optional.ofNullable(withBalance).orElse(false));
+            return accountDetails.hasError()
+                       ? responseErrorMapper.generateErrorResponse(accountDetails.getError())
+                       : responseMapper.ok(accountDetails, accountModelMapper::mapToAccountDetails);
+        });
     }
 
     @Override
     public ResponseEntity getBalances(String accountId, UUID xRequestID, String consentID, String digest, String signature, byte[] tpPSignatureCertificate, String psUIPAddress, String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-        ResponseObject<Xs2aBalancesReport> balancesReport = accountService.getBalancesReport(consentID, accountId);
-        return balancesReport.hasError()
-                   ? responseErrorMapper.generateErrorResponse(balancesReport.getError())
-                   : responseMapper.ok(balancesReport, accountModelMapper::mapToBalance);
+        return asyncRequestExecutor.execute(() -> {
+            ResponseObject<Xs2aBalancesReport> balancesReport = accountService.getBalancesReport(consentID, accountId);
+            return balancesReport.hasError()
+                       ? responseErrorMapper.generateErrorResponse(balancesReport.getError())
+                       : responseMapper.ok(balancesReport, accountModelMapper::mapToBalance);
+        });
     }
 
     @Override
     public ResponseEntity getTransactionList(String accountId, String bookingStatus, UUID xRequestID, String consentID, LocalDate dateFrom, LocalDate dateTo, String entryReferenceFrom, Boolean deltaList, Boolean withBalance, String digest, String signature, byte[] tpPSignatureCertificate, String psUIPAddress, String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-        ResponseObject<Xs2aTransactionsReport> transactionsReport =
-            accountService.getTransactionsReportByPeriod(consentID, accountId, request.getHeader("accept"), BooleanUtils.isTrue(withBalance), dateFrom, dateTo, BookingStatus.forValue(bookingStatus));
+        return asyncRequestExecutor.execute(() -> {
+            ResponseObject<Xs2aTransactionsReport> transactionsReport =
+                accountService.getTransactionsReportByPeriod(consentID, accountId, request.getHeader("accept"), BooleanUtils.isTrue(withBalance), dateFrom, dateTo, BookingStatus.forValue(bookingStatus), entryReferenceFrom, BooleanUtils.isTrue(deltaList));
 
-        if (transactionsReport.hasError()) {
-            return responseErrorMapper.generateErrorResponse(transactionsReport.getError());
-        } else if (transactionsReport.getBody().isResponseContentTypeJson()) {
-            return responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponse200Json);
-        } else {
-            return responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponseRaw);
-        }
+            if (transactionsReport.hasError()) {
+                return responseErrorMapper.generateErrorResponse(transactionsReport.getError());
+            }
+
+            boolean streamed = transactionsReport.getBody().getAccountReport().isStreamed();
+            if (transactionsReport.getBody().isResponseContentTypeJson()) {
+                return streamed
+                           ? responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsStreamingResponse)
+                           : responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponse200Json);
+            } else {
+                return streamed
+                           ? responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponseRawStream)
+                           : responseMapper.ok(transactionsReport, accountModelMapper::mapToTransactionsResponseRaw);
+            }
+        });
     }
 
     @Override
     public ResponseEntity getTransactionDetails(String accountId, String resourceId, UUID xRequestID, String consentID, String digest, String signature, byte[] tpPSignatureCertificate, String psUIPAddress, String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-        ResponseObject<Transactions> transactionDetails = accountService.getTransactionDetails(consentID, accountId, resourceId);
-        return transactionDetails.hasError()
-                   ? responseErrorMapper.generateErrorResponse(transactionDetails.getError())
-                   : responseMapper.ok(transactionDetails, accountModelMapper::mapToTransactionDetails);
-
+        return asyncRequestExecutor.execute(() -> {
+            ResponseObject<Transactions> transactionDetails = accountService.getTransactionDetails(consentID, accountId, resourceId);
+            return transactionDetails.hasError()
+                       ? responseErrorMapper.generateErrorResponse(transactionDetails.getError())
+                       : responseMapper.ok(transactionDetails, accountModelMapper::mapToTransactionDetails);
+        });
     }
 }
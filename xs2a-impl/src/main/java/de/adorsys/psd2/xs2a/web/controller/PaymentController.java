@@ -37,6 +37,7 @@ import de.adorsys.psd2.xs2a.service.PaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
+import de.adorsys.psd2.xs2a.web.async.AsyncRequestExecutor;
 import de.adorsys.psd2.xs2a.web.mapper.AuthorisationMapper;
 import de.adorsys.psd2.xs2a.web.mapper.ConsentModelMapper;
 import de.adorsys.psd2.xs2a.web.mapper.PaymentModelMapperPsd2;
@@ -69,6 +70,7 @@ public class PaymentController implements PaymentApi {
     private final PaymentAuthorisationService paymentAuthorisationService;
     private final PaymentCancellationAuthorisationService paymentCancellationAuthorisationService;
     private final AuthorisationMapper authorisationMapper;
+    private final AsyncRequestExecutor asyncRequestExecutor;
 
     @Override
     public ResponseEntity getPaymentInitiationStatus(String paymentService, String paymentProduct,
@@ -78,14 +80,15 @@ public class PaymentController implements PaymentApi {
                                                      String psUAcceptCharset, String psUAcceptEncoding,
                                                      String psUAcceptLanguage, String psUUserAgent,
                                                      String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-
-        ResponseObject<TransactionStatus> serviceResponse = PaymentType.getByValue(paymentService)
-                                                                .map(pt -> xs2aPaymentService.getPaymentStatusById(pt, paymentProduct, paymentId))
-                                                                .orElseGet(ResponseObject.<TransactionStatus>builder()
-                                                                               .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404))::build);
-        return serviceResponse.hasError()
-                   ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
-                   : responseMapper.ok(serviceResponse, PaymentModelMapperPsd2::mapToStatusResponse12);
+        return asyncRequestExecutor.execute(() -> {
+            ResponseObject<TransactionStatus> serviceResponse = PaymentType.getByValue(paymentService)
+                                                                    .map(pt -> xs2aPaymentService.getPaymentStatusById(pt, paymentProduct, paymentId))
+                                                                    .orElseGet(ResponseObject.<TransactionStatus>builder()
+                                                                                   .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404))::build);
+            return serviceResponse.hasError()
+                       ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
+                       : responseMapper.ok(serviceResponse, PaymentModelMapperPsd2::mapToStatusResponse12);
+        });
     }
 
     @Override
@@ -93,16 +96,17 @@ public class PaymentController implements PaymentApi {
                                                 String signature, byte[] tpPSignatureCertificate, String psUIPAddress, String psUIPPort,
                                                 String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage,
                                                 String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-
-        ResponseObject serviceResponse = PaymentType.getByValue(paymentService)
-                                             .map(pt -> xs2aPaymentService.getPaymentById(pt, paymentProduct, paymentId))
-                                             .orElseGet(ResponseObject.builder()
-                                                            .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404))::build);
-
-        return serviceResponse.hasError()
-                   ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
-                   : responseMapper.ok(ResponseObject.builder().body(paymentModelMapperPsd2.mapToGetPaymentResponse12(serviceResponse.getBody(), PaymentType.getByValue(paymentService).get(),
-                                                                                                                      paymentProduct)).build());
+        return asyncRequestExecutor.execute(() -> {
+            ResponseObject serviceResponse = PaymentType.getByValue(paymentService)
+                                                 .map(pt -> xs2aPaymentService.getPaymentById(pt, paymentProduct, paymentId))
+                                                 .orElseGet(ResponseObject.builder()
+                                                                .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404))::build);
+
+            return serviceResponse.hasError()
+                       ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
+                       : responseMapper.ok(ResponseObject.builder().body(paymentModelMapperPsd2.mapToGetPaymentResponse12(serviceResponse.getBody(), PaymentType.getByValue(paymentService).get(),
+                                                                                                                          paymentProduct)).build());
+        });
     }
 
     //Method for JSON format payments
@@ -115,25 +119,26 @@ public class PaymentController implements PaymentApi {
                                           String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding,
                                           String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod,
                                           UUID psUDeviceID, String psUGeoLocation) {
-
-        // As this method is mapped to '/v1/{payment-service}/{payment-product}' path, we need to check payment-service value to be compliant with spec
-        if (!PaymentType.getByValue(paymentService).isPresent()) {
-            ResponseObject<TransactionStatus> responseObject = ResponseObject.<TransactionStatus>builder()
-                                                                   .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404)).build();
-            return responseErrorMapper.generateErrorResponse(responseObject.getError());
-        }
-
-        PsuIdData psuData = new PsuIdData(PSU_ID, psUIDType, psUCorporateID, psUCorporateIDType);
-        PaymentInitiationParameters paymentInitiationParameters = paymentModelMapperPsd2.mapToPaymentRequestParameters(paymentProduct, paymentService, tpPSignatureCertificate, tpPRedirectURI, tpPNokRedirectURI, BooleanUtils.isTrue(tpPExplicitAuthorisationPreferred), psuData);
-        ResponseObject serviceResponse =
-            xs2aPaymentService.createPayment(paymentModelMapperXs2a.mapToXs2aPayment(body, paymentInitiationParameters), paymentInitiationParameters);
-
-        return serviceResponse.hasError()
-                   ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
-                   : responseMapper.created(ResponseObject
-                                                .builder()
-                                                .body(paymentModelMapperPsd2.mapToPaymentInitiationResponse12(serviceResponse.getBody()))
-                                                .build());
+        return asyncRequestExecutor.execute(() -> {
+            // As this method is mapped to '/v1/{payment-service}/{payment-product}' path, we need to check payment-service value to be compliant with spec
+            if (!PaymentType.getByValue(paymentService).isPresent()) {
+                ResponseObject<TransactionStatus> responseObject = ResponseObject.<TransactionStatus>builder()
+                                                                       .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404)).build();
+                return responseErrorMapper.generateErrorResponse(responseObject.getError());
+            }
+
+            PsuIdData psuData = new PsuIdData(PSU_ID, psUIDType, psUCorporateID, psUCorporateIDType);
+            PaymentInitiationParameters paymentInitiationParameters = paymentModelMapperPsd2.mapToPaymentRequestParameters(paymentProduct, paymentService, tpPSignatureCertificate, tpPRedirectURI, tpPNokRedirectURI, BooleanUtils.isTrue(tpPExplicitAuthorisationPreferred), psuData);
+            ResponseObject serviceResponse =
+                xs2aPaymentService.createPayment(paymentModelMapperXs2a.mapToXs2aPayment(body, paymentInitiationParameters), paymentInitiationParameters);
+
+            return serviceResponse.hasError()
+                       ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
+                       : responseMapper.created(ResponseObject
+                                                    .builder()
+                                                    .body(paymentModelMapperPsd2.mapToPaymentInitiationResponse12(serviceResponse.getBody()))
+                                                    .build());
+        });
     }
 
     //Method for pain.001 payment products
@@ -152,47 +157,51 @@ public class PaymentController implements PaymentApi {
                                                                               String psUAcceptEncoding, String psUAcceptLanguage,
                                                                               String psUUserAgent, String psUHttpMethod,
                                                                               UUID psUDeviceID, String psUGeoLocation) {
-        // As this method is mapped to '/v1/{payment-service}/{payment-product}' path, we need to check payment-service value to be compliant with spec
-        if (!PaymentType.getByValue(paymentService).isPresent()) {
-            ResponseObject<TransactionStatus> responseObject = ResponseObject.<TransactionStatus>builder()
-                                                                   .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404)).build();
-            return responseErrorMapper.generateErrorResponse(responseObject.getError());
-        }
-
-        PsuIdData psuData = new PsuIdData(PSU_ID, psUIDType, psUCorporateID, psUCorporateIDType);
-        PaymentInitiationParameters paymentInitiationParameters = paymentModelMapperPsd2.mapToPaymentRequestParameters(paymentProduct, paymentService, tpPSignatureCertificate, tpPRedirectURI, tpPNokRedirectURI, BooleanUtils.isTrue(tpPExplicitAuthorisationPreferred), psuData);
-        ResponseObject serviceResponse =
-            xs2aPaymentService.createPayment(paymentModelMapperXs2a.mapToXs2aRawPayment(paymentInitiationParameters, xmlSct, jsonStandingorderType), paymentInitiationParameters);
-
-        return serviceResponse.hasError()
-                   ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
-                   : responseMapper.created(ResponseObject
-                                                .builder()
-                                                .body(paymentModelMapperPsd2.mapToPaymentInitiationResponse12(serviceResponse.getBody()))
-                                                .build());
+        return asyncRequestExecutor.execute(() -> {
+            // As this method is mapped to '/v1/{payment-service}/{payment-product}' path, we need to check payment-service value to be compliant with spec
+            if (!PaymentType.getByValue(paymentService).isPresent()) {
+                ResponseObject<TransactionStatus> responseObject = ResponseObject.<TransactionStatus>builder()
+                                                                       .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404)).build();
+                return responseErrorMapper.generateErrorResponse(responseObject.getError());
+            }
+
+            PsuIdData psuData = new PsuIdData(PSU_ID, psUIDType, psUCorporateID, psUCorporateIDType);
+            PaymentInitiationParameters paymentInitiationParameters = paymentModelMapperPsd2.mapToPaymentRequestParameters(paymentProduct, paymentService, tpPSignatureCertificate, tpPRedirectURI, tpPNokRedirectURI, BooleanUtils.isTrue(tpPExplicitAuthorisationPreferred), psuData);
+            ResponseObject serviceResponse =
+                xs2aPaymentService.createPayment(paymentModelMapperXs2a.mapToXs2aRawPayment(paymentInitiationParameters, xmlSct, jsonStandingorderType), paymentInitiationParameters);
+
+            return serviceResponse.hasError()
+                       ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
+                       : responseMapper.created(ResponseObject
+                                                    .builder()
+                                                    .body(paymentModelMapperPsd2.mapToPaymentInitiationResponse12(serviceResponse.getBody()))
+                                                    .build());
+        });
     }
 
     // Method for raw payment products
     @Override
     public ResponseEntity<PaymentInitationRequestResponse201> initiatePayment(String body, UUID xRequestID, String psUIPAddress, String paymentService, String paymentProduct, String digest, String signature, byte[] tpPSignatureCertificate, String PSU_ID, String psUIDType, String psUCorporateID, String psUCorporateIDType, String consentID, Boolean tpPRedirectPreferred, String tpPRedirectURI, String tpPNokRedirectURI, Boolean tpPExplicitAuthorisationPreferred, String tpPRejectionNoFundsPreferred, String tpPNotificationURI, String tpPNotificationContentPreferred, String psUIPPort, String psUAccept, String psUAcceptCharset, String psUAcceptEncoding, String psUAcceptLanguage, String psUUserAgent, String psUHttpMethod, UUID psUDeviceID, String psUGeoLocation) {
-        // As this method is mapped to '/v1/{payment-service}/{payment-product}' path, we need to check payment-service value to be compliant with spec
-        if (!PaymentType.getByValue(paymentService).isPresent()) {
-            ResponseObject<TransactionStatus> responseObject = ResponseObject.<TransactionStatus>builder()
-                                                                   .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404)).build();
-            return responseErrorMapper.generateErrorResponse(responseObject.getError());
-        }
-
-        PsuIdData psuData = new PsuIdData(PSU_ID, psUIDType, psUCorporateID, psUCorporateIDType);
-        PaymentInitiationParameters paymentInitiationParameters = paymentModelMapperPsd2.mapToPaymentRequestParameters(paymentProduct, paymentService, tpPSignatureCertificate, tpPRedirectURI, tpPNokRedirectURI, BooleanUtils.isTrue(tpPExplicitAuthorisationPreferred), psuData);
-        ResponseObject serviceResponse =
-            xs2aPaymentService.createPayment(paymentModelMapperXs2a.mapToXs2aRawPayment(body), paymentInitiationParameters);
-
-        return serviceResponse.hasError()
-                   ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
-                   : responseMapper.created(ResponseObject
-                                                .builder()
-                                                .body(paymentModelMapperPsd2.mapToPaymentInitiationResponse12(serviceResponse.getBody()))
-                                                .build());
+        return asyncRequestExecutor.execute(() -> {
+            // As this method is mapped to '/v1/{payment-service}/{payment-product}' path, we need to check payment-service value to be compliant with spec
+            if (!PaymentType.getByValue(paymentService).isPresent()) {
+                ResponseObject<TransactionStatus> responseObject = ResponseObject.<TransactionStatus>builder()
+                                                                       .fail(ErrorType.PIS_404, TppMessageInformation.of(RESOURCE_UNKNOWN_404)).build();
+                return responseErrorMapper.generateErrorResponse(responseObject.getError());
+            }
+
+            PsuIdData psuData = new PsuIdData(PSU_ID, psUIDType, psUCorporateID, psUCorporateIDType);
+            PaymentInitiationParameters paymentInitiationParameters = paymentModelMapperPsd2.mapToPaymentRequestParameters(paymentProduct, paymentService, tpPSignatureCertificate, tpPRedirectURI, tpPNokRedirectURI, BooleanUtils.isTrue(tpPExplicitAuthorisationPreferred), psuData);
+            ResponseObject serviceResponse =
+                xs2aPaymentService.createPayment(paymentModelMapperXs2a.mapToXs2aRawPayment(body), paymentInitiationParameters);
+
+            return serviceResponse.hasError()
+                       ? responseErrorMapper.generateErrorResponse(serviceResponse.getError())
+                       : responseMapper.created(ResponseObject
+                                                    .builder()
+                                                    .body(paymentModelMapperPsd2.mapToPaymentInitiationResponse12(serviceResponse.getBody()))
+                                                    .build());
+        });
     }
 
     @Override
@@ -17,8 +17,8 @@
 package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.validator.certificate.CertificateErrorMsgCode;
-import de.adorsys.psd2.validator.certificate.util.CertificateExtractorUtil;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateDataCache;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
@@ -56,6 +56,7 @@ import java.util.stream.Collectors;
 public class QwacCertificateFilter extends AbstractXs2aFilter {
     private final TppRoleValidationService tppRoleValidationService;
     private final TppInfoHolder tppInfoHolder;
+    private final TppCertificateDataCache tppCertificateDataCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
@@ -64,7 +65,7 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
 
         if (StringUtils.isNotBlank(encodedTppQwacCert)) {
             try {
-                TppCertificateData tppCertificateData = CertificateExtractorUtil.extract(encodedTppQwacCert);
+                TppCertificateData tppCertificateData = tppCertificateDataCache.extract(encodedTppQwacCert);
 
                 if (isCertificateExpired(tppCertificateData.getNotAfter())) {
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED,
@@ -97,6 +98,7 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
                 }
 
                 tppInfoHolder.setTppInfo(tppInfo);
+                tppInfoHolder.setTppDomains(tppCertificateData.getDnsList());
             } catch (CertificateValidationException e) {
                 log.debug(e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
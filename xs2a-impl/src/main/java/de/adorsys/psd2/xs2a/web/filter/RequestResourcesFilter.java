@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.filter;
+
+import de.adorsys.psd2.xs2a.component.RequestResources;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Closes resources, registered in {@link RequestResources} while the request was handled, when the request is completed.
+ * For asynchronously processed requests the resources are closed on completion, timeout or error of the async processing.
+ */
+@Component
+public class RequestResourcesFilter extends AbstractXs2aFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestResources requestResources = new RequestResources();
+        request.setAttribute(RequestResources.ATTRIBUTE_NAME, requestResources);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ClosingAsyncListener(requestResources));
+            } else {
+                requestResources.close();
+            }
+        }
+    }
+
+    private static class ClosingAsyncListener implements AsyncListener {
+        private final RequestResources requestResources;
+
+        private ClosingAsyncListener(RequestResources requestResources) {
+            this.requestResources = requestResources;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            requestResources.close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            requestResources.close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            requestResources.close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when a new async cycle is started, but the resources are bound to the whole request
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
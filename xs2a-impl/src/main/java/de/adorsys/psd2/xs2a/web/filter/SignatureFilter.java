@@ -17,7 +17,7 @@
 package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.validator.certificate.CertificateErrorMsgCode;
-import de.adorsys.psd2.validator.signature.TppSignatureValidator;
+import de.adorsys.psd2.validator.signature.TppSignatureVerificationService;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +41,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SignatureFilter extends AbstractXs2aFilter {
     private final AspspProfileServiceWrapper aspspProfileService;
+    private final TppSignatureVerificationService tppSignatureVerificationService;
 
 
     @Override
@@ -65,9 +66,8 @@ public class SignatureFilter extends AbstractXs2aFilter {
 
         Map<String, String> headers = obtainRequestHeaders(request);
         String encodedTppCert = request.getHeader("tpp-signature-certificate");
-        TppSignatureValidator tppSignatureValidator = new TppSignatureValidator();
 
-        if (tppSignatureValidator.verifySignature(signature, encodedTppCert, headers)) {
+        if (tppSignatureVerificationService.verifySignature(signature, encodedTppCert, headers)) {
             chain.doFilter(request, response);
         } else {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED,
@@ -16,6 +16,8 @@
 
 package de.adorsys.psd2.xs2a.web.mapper;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.model.*;
 import de.adorsys.psd2.xs2a.component.JsonConverter;
@@ -79,11 +81,23 @@ public class PaymentModelMapperXs2a {
     }
 
     private <R> R validatePayment(Object payment, Class<R> clazz) {
-        R result = mapper.convertValue(payment, clazz);
+        R result = convertPayment(payment, clazz);
         validationService.validate(result);
         return result;
     }
 
+    private <R> R convertPayment(Object payment, Class<R> clazz) {
+        if (payment instanceof JsonNode) {
+            // Parsed request body is read from the tree directly, without serialising it once again
+            try {
+                return mapper.treeToValue((JsonNode) payment, clazz);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        }
+        return mapper.convertValue(payment, clazz);
+    }
+
     private SinglePayment mapToXs2aSinglePayment(PaymentInitiationJson paymentRequest) {
         SinglePayment payment = new SinglePayment();
 
@@ -155,15 +169,15 @@ public class PaymentModelMapperXs2a {
         bulkPayment.setDebtorAccount(mapToXs2aAccountReference(paymentRequest.getDebtorAccount()));
         bulkPayment.setRequestedExecutionDate(paymentRequest.getRequestedExecutionDate());
         bulkPayment.setRequestedExecutionTime(paymentRequest.getRequestedExecutionTime());
-        bulkPayment.setPayments(mapBulkPaymentToSinglePayments(paymentRequest));
+        bulkPayment.setPayments(mapBulkPaymentToSinglePayments(paymentRequest, bulkPayment.getDebtorAccount()));
         return bulkPayment;
     }
 
-    private List<SinglePayment> mapBulkPaymentToSinglePayments(BulkPaymentInitiationJson paymentRequest) {
+    private List<SinglePayment> mapBulkPaymentToSinglePayments(BulkPaymentInitiationJson paymentRequest, AccountReference debtorAccount) {
         return paymentRequest.getPayments().stream()
                    .map(p -> {
                        SinglePayment payment = new SinglePayment();
-                       payment.setDebtorAccount(mapToXs2aAccountReference(paymentRequest.getDebtorAccount()));
+                       payment.setDebtorAccount(debtorAccount);
                        payment.setRequestedExecutionDate(paymentRequest.getRequestedExecutionDate());
                        payment.setEndToEndIdentification(p.getEndToEndIdentification());
                        payment.setUltimateDebtor("NOT SUPPORTED");
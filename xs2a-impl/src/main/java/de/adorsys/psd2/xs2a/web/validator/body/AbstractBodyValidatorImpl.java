@@ -16,7 +16,9 @@
 
 package de.adorsys.psd2.xs2a.web.validator.body;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.xs2a.component.RequestBodyHolder;
 import de.adorsys.psd2.xs2a.exception.MessageError;
 import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
 import org.apache.commons.lang3.StringUtils;
@@ -33,12 +35,23 @@ public class AbstractBodyValidatorImpl {
 
     protected ErrorBuildingService errorBuildingService;
     protected ObjectMapper objectMapper;
+    private RequestBodyHolder requestBodyHolder;
 
     protected AbstractBodyValidatorImpl(ErrorBuildingService errorBuildingService, ObjectMapper objectMapper) {
         this.errorBuildingService = errorBuildingService;
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Constructor for validators, reading the body of the request. The body is parsed only once per request
+     * and shared with the other validators and the controller via the given holder.
+     */
+    protected AbstractBodyValidatorImpl(ErrorBuildingService errorBuildingService, ObjectMapper objectMapper,
+                                        RequestBodyHolder requestBodyHolder) {
+        this(errorBuildingService, objectMapper);
+        this.requestBodyHolder = requestBodyHolder;
+    }
+
     protected void checkRequiredFieldForMaxLength(String fieldToCheck, String fieldName, int maxLength, MessageError messageError) {
         if (StringUtils.isBlank(fieldToCheck)) {
             String text = String.format("Value '%s' cannot be empty", fieldName);
@@ -64,7 +77,8 @@ public class AbstractBodyValidatorImpl {
 
     protected <T> Optional<T> mapBodyToInstance(HttpServletRequest request, MessageError messageError, Class<T> clazz) {
         try {
-            return Optional.of(objectMapper.readValue(request.getInputStream(), clazz));
+            JsonNode body = requestBodyHolder.getBody(request);
+            return Optional.of(Object.class.equals(clazz) ? clazz.cast(body) : objectMapper.treeToValue(body, clazz));
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, "Cannot deserialize the request body");
         }
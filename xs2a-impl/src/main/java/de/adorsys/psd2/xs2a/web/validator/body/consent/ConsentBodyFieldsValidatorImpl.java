@@ -18,6 +18,7 @@ package de.adorsys.psd2.xs2a.web.validator.body.consent;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.model.Consents;
+import de.adorsys.psd2.xs2a.component.RequestBodyHolder;
 import de.adorsys.psd2.xs2a.exception.MessageError;
 import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
 import de.adorsys.psd2.xs2a.web.validator.body.AbstractBodyValidatorImpl;
@@ -33,8 +34,9 @@ import java.util.Optional;
 public class ConsentBodyFieldsValidatorImpl extends AbstractBodyValidatorImpl implements ConsentBodyValidator {
 
     @Autowired
-    public ConsentBodyFieldsValidatorImpl(ErrorBuildingService errorBuildingService, ObjectMapper objectMapper) {
-        super(errorBuildingService, objectMapper);
+    public ConsentBodyFieldsValidatorImpl(ErrorBuildingService errorBuildingService, ObjectMapper objectMapper,
+                                           RequestBodyHolder requestBodyHolder) {
+        super(errorBuildingService, objectMapper, requestBodyHolder);
     }
 
     @Override
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.web.validator.body.payment;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.xs2a.component.RequestBodyHolder;
 import de.adorsys.psd2.xs2a.exception.MessageError;
 import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
 import de.adorsys.psd2.xs2a.web.validator.body.AbstractBodyValidatorImpl;
@@ -38,8 +39,8 @@ public class PaymentBodyValidatorImpl extends AbstractBodyValidatorImpl implemen
 
     @Autowired
     public PaymentBodyValidatorImpl(ErrorBuildingService errorBuildingService, ObjectMapper objectMapper,
-                                    PaymentTypeValidatorContext paymentTypeValidatorContext) {
-        super(errorBuildingService, objectMapper);
+                                    PaymentTypeValidatorContext paymentTypeValidatorContext, RequestBodyHolder requestBodyHolder) {
+        super(errorBuildingService, objectMapper, requestBodyHolder);
         this.paymentTypeValidatorContext = paymentTypeValidatorContext;
     }
 
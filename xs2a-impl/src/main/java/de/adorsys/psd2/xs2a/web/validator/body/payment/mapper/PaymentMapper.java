@@ -16,7 +16,10 @@
 
 package de.adorsys.psd2.xs2a.web.validator.body.payment.mapper;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.adorsys.psd2.model.*;
 import de.adorsys.psd2.xs2a.core.pis.PisDayOfExecution;
 import de.adorsys.psd2.xs2a.core.pis.PisExecutionRule;
@@ -34,13 +37,15 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Currency;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
 public class PaymentMapper {
+    private static final String PAYMENTS_FIELD = "payments";
 
     private ObjectMapper objectMapper;
 
@@ -61,7 +66,56 @@ public class PaymentMapper {
         return mapToXs2aBulkPayment(convertPayment(body, BulkPaymentInitiationJson.class));
     }
 
+    /**
+     * Maps the parsed body of bulk payment without its payments, so that the payments can be read one by one
+     * with {@link #forEachBulkPaymentElement(JsonNode, BulkPayment, Consumer)}
+     *
+     * @param body parsed body of bulk payment
+     * @return bulk payment with empty list of payments
+     */
+    public BulkPayment getBulkPaymentWithoutPayments(JsonNode body) {
+        BulkPayment bulkPayment = mapToXs2aBulkPaymentHeader(convertPayment(withoutPaymentElements(body), BulkPaymentInitiationJson.class));
+        bulkPayment.setPayments(new ArrayList<>());
+        return bulkPayment;
+    }
+
+    /**
+     * Maps payments of the parsed bulk payment body one at a time and passes them to the consumer,
+     * without building the list of all payments of the bulk
+     *
+     * @param body            parsed body of bulk payment
+     * @param bulkPayment     bulk payment without payments, read from the same body
+     * @param paymentConsumer consumer of single payments
+     */
+    public void forEachBulkPaymentElement(JsonNode body, BulkPayment bulkPayment, Consumer<SinglePayment> paymentConsumer) {
+        for (JsonNode element : body.path(PAYMENTS_FIELD)) {
+            paymentConsumer.accept(mapToXs2aBulkPaymentElement(convertPayment(element, PaymentInitiationBulkElementJson.class), bulkPayment));
+        }
+    }
+
+    private JsonNode withoutPaymentElements(JsonNode body) {
+        if (!body.path(PAYMENTS_FIELD).isArray()) {
+            return body;
+        }
+
+        ObjectNode header = objectMapper.createObjectNode();
+        body.fields().forEachRemaining(field -> {
+            if (!PAYMENTS_FIELD.equals(field.getKey())) {
+                header.set(field.getKey(), field.getValue());
+            }
+        });
+        return header;
+    }
+
     private <R> R convertPayment(Object payment, Class<R> clazz) {
+        if (payment instanceof JsonNode) {
+            // Parsed request body is read from the tree directly, without serialising it once again
+            try {
+                return objectMapper.treeToValue((JsonNode) payment, clazz);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        }
         return objectMapper.convertValue(payment, clazz);
     }
 
@@ -160,31 +214,34 @@ public class PaymentMapper {
     }
 
     private BulkPayment mapToXs2aBulkPayment(BulkPaymentInitiationJson paymentRequest) {
+        BulkPayment bulkPayment = mapToXs2aBulkPaymentHeader(paymentRequest);
+        bulkPayment.setPayments(paymentRequest.getPayments().stream()
+                                    .map(p -> mapToXs2aBulkPaymentElement(p, bulkPayment))
+                                    .collect(Collectors.toList()));
+        return bulkPayment;
+    }
+
+    private BulkPayment mapToXs2aBulkPaymentHeader(BulkPaymentInitiationJson paymentRequest) {
         BulkPayment bulkPayment = new BulkPayment();
         bulkPayment.setBatchBookingPreferred(paymentRequest.getBatchBookingPreferred());
         bulkPayment.setDebtorAccount(mapToXs2aAccountReference(paymentRequest.getDebtorAccount()));
         bulkPayment.setRequestedExecutionDate(paymentRequest.getRequestedExecutionDate());
         bulkPayment.setRequestedExecutionTime(paymentRequest.getRequestedExecutionTime());
-        bulkPayment.setPayments(mapBulkPaymentToSinglePayments(paymentRequest));
         return bulkPayment;
     }
 
-    private List<SinglePayment> mapBulkPaymentToSinglePayments(BulkPaymentInitiationJson paymentRequest) {
-        return paymentRequest.getPayments().stream()
-                   .map(p -> {
-                       SinglePayment payment = new SinglePayment();
-                       payment.setDebtorAccount(mapToXs2aAccountReference(paymentRequest.getDebtorAccount()));
-                       payment.setRequestedExecutionDate(paymentRequest.getRequestedExecutionDate());
-                       payment.setEndToEndIdentification(p.getEndToEndIdentification());
-                       payment.setInstructedAmount(mapToXs2aAmount(p.getInstructedAmount()));
-                       payment.setCreditorAccount(mapToXs2aAccountReference(p.getCreditorAccount()));
-                       payment.setCreditorAgent(p.getCreditorAgent());
-                       payment.setCreditorName(p.getCreditorName());
-                       payment.setCreditorAddress(mapToXs2aAddress(p.getCreditorAddress()));
-                       payment.setRemittanceInformationUnstructured(p.getRemittanceInformationUnstructured());
-                       payment.setRequestedExecutionTime(paymentRequest.getRequestedExecutionTime());
-                       return payment;
-                   })
-                   .collect(Collectors.toList());
+    private SinglePayment mapToXs2aBulkPaymentElement(PaymentInitiationBulkElementJson paymentElement, BulkPayment bulkPayment) {
+        SinglePayment payment = new SinglePayment();
+        payment.setDebtorAccount(bulkPayment.getDebtorAccount());
+        payment.setRequestedExecutionDate(bulkPayment.getRequestedExecutionDate());
+        payment.setEndToEndIdentification(paymentElement.getEndToEndIdentification());
+        payment.setInstructedAmount(mapToXs2aAmount(paymentElement.getInstructedAmount()));
+        payment.setCreditorAccount(mapToXs2aAccountReference(paymentElement.getCreditorAccount()));
+        payment.setCreditorAgent(paymentElement.getCreditorAgent());
+        payment.setCreditorName(paymentElement.getCreditorName());
+        payment.setCreditorAddress(mapToXs2aAddress(paymentElement.getCreditorAddress()));
+        payment.setRemittanceInformationUnstructured(paymentElement.getRemittanceInformationUnstructured());
+        payment.setRequestedExecutionTime(bulkPayment.getRequestedExecutionTime());
+        return payment;
     }
 }
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.web.validator.body.payment.type;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.domain.MessageErrorCode;
@@ -23,6 +24,7 @@ import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.domain.pis.BulkPayment;
 import de.adorsys.psd2.xs2a.domain.pis.SinglePayment;
 import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
 import de.adorsys.psd2.xs2a.web.validator.body.payment.mapper.PaymentMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,12 +37,14 @@ import java.util.Objects;
 public class BulkPaymentTypeValidatorImpl extends SinglePaymentTypeValidatorImpl {
 
     private PaymentMapper paymentMapper;
+    private AspspProfileServiceWrapper aspspProfileServiceWrapper;
 
     @Autowired
     public BulkPaymentTypeValidatorImpl(ErrorBuildingService errorBuildingService, ObjectMapper objectMapper,
-                                        PaymentMapper paymentMapper) {
+                                        PaymentMapper paymentMapper, AspspProfileServiceWrapper aspspProfileServiceWrapper) {
         super(errorBuildingService, objectMapper, paymentMapper);
         this.paymentMapper = paymentMapper;
+        this.aspspProfileServiceWrapper = aspspProfileServiceWrapper;
     }
 
     @Override
@@ -51,22 +55,63 @@ public class BulkPaymentTypeValidatorImpl extends SinglePaymentTypeValidatorImpl
     @Override
     public void validate(Object body, MessageError messageError) {
         try {
-            doBulkValidation(paymentMapper.getBulkPayment(body), messageError);
+            if (body instanceof JsonNode) {
+                doBulkValidation((JsonNode) body, messageError);
+            } else {
+                BulkPayment bulkPayment = paymentMapper.getBulkPayment(body);
+                if (isBulkSizeValid(bulkPayment.getPayments().size(), messageError)) {
+                    doBulkValidation(bulkPayment, messageError);
+                }
+            }
         } catch (IllegalArgumentException e) {
             errorBuildingService.enrichMessageError(messageError, e.getMessage());
         }
     }
 
     void doBulkValidation(BulkPayment bulkPayment, MessageError messageError) {
-
-        if (Objects.nonNull(bulkPayment.getDebtorAccount())) {
-            validateAccount(bulkPayment.getDebtorAccount(), messageError);
-        }
+        validateDebtorAccount(bulkPayment, messageError);
 
         List<SinglePayment> payments = bulkPayment.getPayments();
 
         payments.forEach(singlePayment -> super.doSingleValidation(singlePayment, messageError));
 
+        validateRequestedExecutionDate(bulkPayment, messageError);
+    }
+
+    /**
+     * Validates parsed body of bulk payment element by element, so that only one mapped payment of the bulk is held
+     * at a time. Bulks exceeding the size limit from ASPSP profile are rejected before any element is mapped.
+     */
+    private void doBulkValidation(JsonNode body, MessageError messageError) {
+        if (!isBulkSizeValid(body.path("payments").size(), messageError)) {
+            return;
+        }
+
+        BulkPayment bulkPayment = paymentMapper.getBulkPaymentWithoutPayments(body);
+        validateDebtorAccount(bulkPayment, messageError);
+
+        paymentMapper.forEachBulkPaymentElement(body, bulkPayment, singlePayment -> super.doSingleValidation(singlePayment, messageError));
+
+        validateRequestedExecutionDate(bulkPayment, messageError);
+    }
+
+    private boolean isBulkSizeValid(int bulkSize, MessageError messageError) {
+        int maxBulkPaymentSize = aspspProfileServiceWrapper.getMaxBulkPaymentSize();
+        if (maxBulkPaymentSize > 0 && bulkSize > maxBulkPaymentSize) {
+            errorBuildingService.enrichMessageError(messageError,
+                                                    String.format("Number of payments in bulk payment should not be more than %s", maxBulkPaymentSize));
+            return false;
+        }
+        return true;
+    }
+
+    private void validateDebtorAccount(BulkPayment bulkPayment, MessageError messageError) {
+        if (Objects.nonNull(bulkPayment.getDebtorAccount())) {
+            validateAccount(bulkPayment.getDebtorAccount(), messageError);
+        }
+    }
+
+    private void validateRequestedExecutionDate(BulkPayment bulkPayment, MessageError messageError) {
         if (isDateInThePast(bulkPayment.getRequestedExecutionDate())) {
             errorBuildingService.enrichMessageError(
                 messageError, TppMessageInformation.of(MessageErrorCode.PERIOD_INVALID, "Value 'requestedExecutionDate' should not be in the past"));
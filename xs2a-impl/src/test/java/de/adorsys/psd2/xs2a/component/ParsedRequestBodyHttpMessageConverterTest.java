@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.psd2.model.PaymentInitiationJson;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class ParsedRequestBodyHttpMessageConverterTest {
+    private static final String BODY = "{\"endToEndIdentification\":\"WBG-123456789\",\"creditorName\":\"WBG\"}";
+
+    private RequestBodyHolder requestBodyHolder;
+    private ParsedRequestBodyHttpMessageConverter converter;
+
+    @Before
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        requestBodyHolder = new RequestBodyHolder(objectMapper);
+        converter = new ParsedRequestBodyHttpMessageConverter(requestBodyHolder, objectMapper);
+    }
+
+    @Test
+    public void canRead_bodyNotParsed_shouldReturnFalse() {
+        assertFalse(converter.canRead(Object.class, null, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void canRead_bodyParsed_shouldReturnTrueOnlyForJson() throws IOException {
+        // Given
+        requestBodyHolder.getBody(buildRequest());
+
+        // Then
+        assertTrue(converter.canRead(Object.class, null, MediaType.APPLICATION_JSON_UTF8));
+        assertFalse(converter.canRead(String.class, null, MediaType.TEXT_PLAIN));
+        assertFalse(converter.canRead(Object.class, null, null));
+    }
+
+    @Test
+    public void canWrite_shouldReturnFalse() {
+        assertFalse(converter.canWrite(Object.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(Object.class, Object.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void read_objectType_shouldReturnParsedTree() throws IOException {
+        // Given
+        JsonNode parsedBody = requestBodyHolder.getBody(buildRequest());
+
+        // When
+        Object body = converter.read(Object.class, null, mock(HttpInputMessage.class));
+
+        // Then
+        assertSame(parsedBody, body);
+    }
+
+    @Test
+    public void read_specificType_shouldConvertParsedTree() throws IOException {
+        // Given
+        requestBodyHolder.getBody(buildRequest());
+
+        // When
+        Object body = converter.read(PaymentInitiationJson.class, null, mock(HttpInputMessage.class));
+
+        // Then
+        assertTrue(body instanceof PaymentInitiationJson);
+        assertEquals("WBG-123456789", ((PaymentInitiationJson) body).getEndToEndIdentification());
+        assertEquals("WBG", ((PaymentInitiationJson) body).getCreditorName());
+    }
+
+    private MockHttpServletRequest buildRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RequestBodyHolderTest {
+    private static final String BODY = "{\"endToEndIdentification\":\"WBG-123456789\",\"creditorName\":\"WBG\"}";
+    private static final String INVALID_BODY = "{\"endToEndIdentification\":";
+
+    private ObjectMapper objectMapper;
+    private RequestBodyHolder requestBodyHolder;
+
+    @Before
+    public void setUp() {
+        objectMapper = spy(new ObjectMapper());
+        requestBodyHolder = new RequestBodyHolder(objectMapper);
+    }
+
+    @Test
+    public void getBody_calledTwice_shouldParseBodyOnce() throws IOException {
+        // Given
+        MockHttpServletRequest request = buildRequest(BODY);
+
+        // When
+        JsonNode first = requestBodyHolder.getBody(request);
+        JsonNode second = requestBodyHolder.getBody(request);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("WBG-123456789", first.get("endToEndIdentification").asText());
+        assertEquals(Optional.of(first), requestBodyHolder.getParsedBody());
+        verify(objectMapper, times(1)).readValue(any(InputStream.class), eq(JsonNode.class));
+    }
+
+    @Test
+    public void getBody_invalidBody_shouldThrowSameExceptionOnEveryCall() throws IOException {
+        // Given
+        MockHttpServletRequest request = buildRequest(INVALID_BODY);
+        IOException firstException = null;
+        IOException secondException = null;
+
+        // When
+        try {
+            requestBodyHolder.getBody(request);
+        } catch (IOException e) {
+            firstException = e;
+        }
+        try {
+            requestBodyHolder.getBody(request);
+        } catch (IOException e) {
+            secondException = e;
+        }
+
+        // Then
+        assertNotNull(firstException);
+        assertSame(firstException, secondException);
+        assertFalse(requestBodyHolder.getParsedBody().isPresent());
+        verify(objectMapper, times(1)).readValue(any(InputStream.class), eq(JsonNode.class));
+    }
+
+    @Test(expected = IOException.class)
+    public void getBody_emptyBody_shouldThrowException() throws IOException {
+        // Given
+        MockHttpServletRequest request = buildRequest("");
+
+        // When
+        requestBodyHolder.getBody(request);
+    }
+
+    @Test
+    public void getParsedBody_bodyNotParsed_shouldReturnEmpty() {
+        // When
+        Optional<JsonNode> parsedBody = requestBodyHolder.getParsedBody();
+
+        // Then
+        assertFalse(parsedBody.isPresent());
+    }
+
+    private MockHttpServletRequest buildRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
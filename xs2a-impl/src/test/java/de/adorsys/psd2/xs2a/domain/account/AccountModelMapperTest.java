@@ -16,7 +16,9 @@
 
 package de.adorsys.psd2.xs2a.domain.account;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.model.*;
+import de.adorsys.psd2.xs2a.config.ObjectMapperConfig;
 import de.adorsys.psd2.xs2a.core.profile.AccountReference;
 import de.adorsys.psd2.xs2a.domain.BalanceType;
 import de.adorsys.psd2.xs2a.domain.CashAccountType;
@@ -33,11 +35,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.IOException;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -246,6 +251,40 @@ public class AccountModelMapperTest {
         assertEquals("{" + HREF + "=" + accountReport.getLinks().getScaOAuth() + "}", links.get("scaOAuth").toString());
     }
 
+    @Test
+    public void testMapToTransactionsStreamingResponse() throws IOException {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapperConfig().objectMapper();
+        List<Transactions> bookedTransactions = Arrays.asList(createTransactions(), createTransactions(), createTransactions());
+        List<Transactions> pendingTransactions = Collections.singletonList(createTransactions());
+        List<Xs2aBalance> balances = Collections.singletonList(createBalance());
+
+        Xs2aAccountReport accountReport = new Xs2aAccountReport(bookedTransactions, pendingTransactions, null);
+        accountReport.setLinks(createLinks());
+        Xs2aTransactionsReport transactionsReport = new Xs2aTransactionsReport();
+        transactionsReport.setAccountReport(accountReport);
+        transactionsReport.setAccountReference(createAccountReference());
+        transactionsReport.setBalances(balances);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        Xs2aAccountReport streamedAccountReport = new Xs2aAccountReport(null, null, null);
+        streamedAccountReport.setLinks(createLinks());
+        streamedAccountReport.setBookedStream(bookedTransactions.stream().onClose(() -> closed.set(true)));
+        streamedAccountReport.setPendingStream(pendingTransactions.stream());
+        Xs2aTransactionsReport streamedTransactionsReport = new Xs2aTransactionsReport();
+        streamedTransactionsReport.setAccountReport(streamedAccountReport);
+        streamedTransactionsReport.setAccountReference(createAccountReference());
+        streamedTransactionsReport.setBalances(balances);
+
+        // When
+        String expected = objectMapper.writeValueAsString(accountModelMapper.mapToTransactionsResponse200Json(transactionsReport));
+        String actual = objectMapper.writeValueAsString(accountModelMapper.mapToTransactionsStreamingResponse(streamedTransactionsReport));
+
+        // Then
+        assertEquals(expected, actual);
+        assertTrue(closed.get());
+    }
+
     private Xs2aBalance createBalance() {
         Xs2aBalance balance = new Xs2aBalance();
 
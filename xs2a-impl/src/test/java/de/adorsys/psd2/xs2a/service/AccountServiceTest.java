@@ -16,6 +16,8 @@
 
 package de.adorsys.psd2.xs2a.service;
 
+import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.consent.api.ais.AisTransactionCursor;
 import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
 import de.adorsys.psd2.xs2a.core.consent.AisConsentRequestType;
@@ -27,10 +29,12 @@ import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.domain.*;
 import de.adorsys.psd2.xs2a.domain.account.*;
 import de.adorsys.psd2.xs2a.domain.consent.AccountConsent;
+import de.adorsys.psd2.xs2a.domain.consent.AccountConsentAccessContext;
 import de.adorsys.psd2.xs2a.domain.consent.Xs2aAccountAccess;
 import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.cache.AisResponseCache;
+import de.adorsys.psd2.xs2a.service.cache.InMemoryAisResponseCacheStore;
 import de.adorsys.psd2.xs2a.service.consent.AccountReferenceInConsentUpdater;
-import de.adorsys.psd2.xs2a.service.consent.AisConsentDataService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
@@ -57,12 +61,16 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.MediaType;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static de.adorsys.psd2.xs2a.domain.TppMessageInformation.of;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -89,6 +97,7 @@ public class AccountServiceTest {
     private static final MessageErrorCode FORMAT_ERROR_CODE = MessageErrorCode.FORMAT_ERROR;
     private static final MessageErrorCode CONSENT_INVALID_MESSAGE_ERROR_CODE = MessageErrorCode.CONSENT_INVALID;
     private static final MessageError CONSENT_INVALID_MESSAGE_ERROR = new MessageError(ErrorType.AIS_401, of(CONSENT_INVALID_MESSAGE_ERROR_CODE));
+    private static final String TPP_ID = "Test TppId";
     private static final AspspConsentData ASPSP_CONSENT_DATA = new AspspConsentData("Test AspspConsentData".getBytes(), CONSENT_ID);
     private static final SpiAccountConsent SPI_ACCOUNT_CONSENT = new SpiAccountConsent();
     private static final List<SpiAccountDetails> EMPTY_ACCOUNT_DETAILS_LIST = Collections.emptyList();
@@ -105,9 +114,14 @@ public class AccountServiceTest {
     @InjectMocks
     private AccountService accountService;
 
+    @Spy
+    private AisResponseCache aisResponseCache = new AisResponseCache(false, 0, 0, 0, new InMemoryAisResponseCacheStore(0));
+
     @Mock
     private AccountSpi accountSpi;
     @Mock
+    private RequestResourceService requestResourceService;
+    @Mock
     private SpiToXs2aAccountDetailsMapper accountDetailsMapper;
     @Mock
     private SpiToXs2aBalanceMapper balanceMapper;
@@ -128,8 +142,6 @@ public class AccountServiceTest {
     @Mock
     private AspspProfileServiceWrapper aspspProfileService;
     @Mock
-    private AisConsentDataService aisConsentDataService;
-    @Mock
     private SpiAccountDetails spiAccountDetails;
     @Mock
     private Xs2aAccountDetails xs2aAccountDetails;
@@ -166,9 +178,6 @@ public class AccountServiceTest {
 
     @Before
     public void setUp() {
-        doNothing()
-            .when(aisConsentDataService).updateAspspConsentData(ASPSP_CONSENT_DATA);
-
         when(spiContextDataProvider.provideWithPsuIdData(any()))
             .thenReturn(SPI_CONTEXT_DATA);
 
@@ -188,8 +197,8 @@ public class AccountServiceTest {
     public void getAccountDetailsList_Failure_AllowedAccountDataHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         when(getAccountListValidator.validate(new GetAccountListConsentObject(accountConsent, WITH_BALANCE)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
 
@@ -204,11 +213,8 @@ public class AccountServiceTest {
     public void getAccountDetailsList_Failure_SpiResponseHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(consentMapper.mapToSpiAccountConsent(any()))
             .thenReturn(SPI_ACCOUNT_CONSENT);
@@ -234,11 +240,8 @@ public class AccountServiceTest {
     public void getAccountDetailsList_Success() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         List<SpiAccountDetails> spiAccountDetailsList = Collections.singletonList(spiAccountDetails);
 
@@ -272,12 +275,10 @@ public class AccountServiceTest {
     public void getAccountDetailsList_shouldUpdateAccountReferences() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         // Given
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
 
         List<SpiAccountDetails> spiAccountDetailsList = Collections.singletonList(spiAccountDetails);
 
@@ -310,10 +311,8 @@ public class AccountServiceTest {
     @Test
     public void getAccountList_Success_ShouldRecordEvent() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         List<SpiAccountDetails> spiAccountDetailsList = Collections.singletonList(spiAccountDetails);
         when(consentMapper.mapToSpiAccountConsent(any()))
             .thenReturn(SPI_ACCOUNT_CONSENT);
@@ -334,13 +333,39 @@ public class AccountServiceTest {
         assertThat(argumentCaptor.getValue()).isEqualTo(EventType.READ_ACCOUNT_LIST_REQUEST_RECEIVED);
     }
 
+    @Test
+    public void getAccountList_Success_ShouldCompleteAisAccessInOneCall() {
+        AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
+        List<SpiAccountDetails> spiAccountDetailsList = Collections.singletonList(spiAccountDetails);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(accountSpi.requestAccountList(SPI_CONTEXT_DATA, WITH_BALANCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+            .thenReturn(buildSuccessSpiResponse(spiAccountDetailsList));
+        when(accountDetailsMapper.mapToXs2aAccountDetailsList(spiAccountDetailsList))
+            .thenReturn(Collections.singletonList(xs2aAccountDetails));
+
+        // Given
+        when(tppService.getTppId())
+            .thenReturn(TPP_ID);
+
+        // When
+        accountService.getAccountList(CONSENT_ID, WITH_BALANCE);
+
+        // Then
+        verify(aisConsentService).completeAisAccess(TPP_ID, CONSENT_ID, ASPSP_CONSENT_DATA, ActionStatus.SUCCESS, true);
+        verify(aisConsentService, never()).consentActionLog(anyString(), anyString(), any(ActionStatus.class));
+        verify(aisConsentService, never()).updateConsentStatus(anyString(), any(ConsentStatus.class));
+    }
+
     @Test
     public void getAccountList_withInvalidConsent_shouldReturnValidationError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -358,8 +383,8 @@ public class AccountServiceTest {
     public void getAccountDetails_Failure_AllowedAccountDataHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getAccountDetailsValidator.validate(new CommonAccountRequestObject(accountConsent, ACCOUNT_ID, WITH_BALANCE)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
@@ -375,11 +400,8 @@ public class AccountServiceTest {
     public void getAccountDetails_Failure_SpiResponseHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(accountSpi.requestAccountDetailForAccount(SPI_CONTEXT_DATA, WITH_BALANCE, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildErrorSpiResponse(spiAccountDetails));
@@ -408,8 +430,8 @@ public class AccountServiceTest {
     public void getAccountDetails_failure_accountReferenceNotFoundInAccountAccess() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         when(getAccountDetailsValidator.validate(new CommonAccountRequestObject(accountConsent, ACCOUNT_ID, WITH_BALANCE)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
 
@@ -424,11 +446,8 @@ public class AccountServiceTest {
     public void getAccountDetails_Success() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(accountSpi.requestAccountDetailForAccount(SPI_CONTEXT_DATA, WITH_BALANCE, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildSuccessSpiResponse(spiAccountDetails));
@@ -456,10 +475,8 @@ public class AccountServiceTest {
     @Test
     public void getAccountDetails_Success_ShouldRecordEvent() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         when(accountSpi.requestAccountDetailForAccount(SPI_CONTEXT_DATA, WITH_BALANCE, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildSuccessSpiResponse(spiAccountDetails));
         when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
@@ -485,8 +502,8 @@ public class AccountServiceTest {
         // Given
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getAccountDetailsValidator.validate(any(CommonAccountRequestObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -505,8 +522,8 @@ public class AccountServiceTest {
     public void getBalancesReport_Failure_AllowedAccountDataHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         when(getBalancesReportValidator.validate(new CommonConsentObject(accountConsent)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
 
@@ -521,11 +538,8 @@ public class AccountServiceTest {
     public void getBalancesReport_Failure_SpiResponseHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
             .thenReturn(SPI_ACCOUNT_REFERENCE);
@@ -554,8 +568,8 @@ public class AccountServiceTest {
     public void getBalancesReport_Failure_ConsentNotContainsAccountReference() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         ResponseObject<Xs2aBalancesReport> actualResponse = accountService.getBalancesReport(CONSENT_ID, ACCOUNT_ID);
 
@@ -569,11 +583,8 @@ public class AccountServiceTest {
     public void getBalancesReport_Success() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(accountSpi.requestBalancesForAccount(SPI_CONTEXT_DATA, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildSuccessSpiResponse(Collections.emptyList()));
@@ -604,10 +615,8 @@ public class AccountServiceTest {
     @Test
     public void getBalancesReport_Success_ShouldRecordEvent() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         when(accountSpi.requestBalancesForAccount(SPI_CONTEXT_DATA, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildSuccessSpiResponse(Collections.emptyList()));
         when(balanceReportMapper.mapToXs2aBalancesReport(Collections.emptyList(), SPI_ACCOUNT_REFERENCE))
@@ -633,8 +642,8 @@ public class AccountServiceTest {
         // Given
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getBalancesReportValidator.validate(any(CommonConsentObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -653,13 +662,13 @@ public class AccountServiceTest {
     public void getTransactionsReportByPeriod_Failure_AllowedAccountDataHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getTransactionsReportValidator.validate(new CommonAccountRequestObject(accountConsent, ACCOUNT_ID, WITH_BALANCE)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
 
-        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS);
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
 
         assertThat(actualResponse).isNotNull();
         assertThat(actualResponse.hasError()).isTrue();
@@ -670,8 +679,8 @@ public class AccountServiceTest {
     public void getTransactionsReportByPeriod_Failure_SpiResponseHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         doNothing()
             .when(validatorService).validateAccountIdPeriod(ACCOUNT_ID, DATE_FROM, DATE_TO);
@@ -679,22 +688,19 @@ public class AccountServiceTest {
         when(aspspProfileService.isTransactionsWithoutBalancesSupported())
             .thenReturn(true);
 
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
-
         when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
             .thenReturn(SPI_ACCOUNT_REFERENCE);
 
         when(consentMapper.mapToSpiAccountConsent(any()))
             .thenReturn(SPI_ACCOUNT_CONSENT);
 
-        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildErrorSpiResponse(SPI_TRANSACTION_REPORT));
 
         when(spiErrorMapper.mapToErrorHolder(buildErrorSpiResponse(SPI_TRANSACTION_REPORT), ServiceType.AIS))
             .thenReturn(ErrorHolder.builder(FORMAT_ERROR_CODE).errorType(ErrorType.AIS_400).build());
 
-        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS);
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
 
         assertThat(actualResponse).isNotNull();
         assertThat(actualResponse.hasError()).isTrue();
@@ -709,13 +715,13 @@ public class AccountServiceTest {
     public void getTransactionsReportByPeriod_failure_accountReferenceNotFoundInAccountAccess() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getTransactionsReportValidator.validate(new CommonAccountRequestObject(accountConsent, ACCOUNT_ID, WITH_BALANCE)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
 
-        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS);
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
 
         assertThat(actualResponse).isNotNull();
         assertThat(actualResponse.hasError()).isTrue();
@@ -726,8 +732,8 @@ public class AccountServiceTest {
     public void getTransactionsReportByPeriod_Success() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         doNothing()
             .when(validatorService).validateAccountIdPeriod(ACCOUNT_ID, DATE_FROM, DATE_TO);
@@ -735,10 +741,7 @@ public class AccountServiceTest {
         when(aspspProfileService.isTransactionsWithoutBalancesSupported())
             .thenReturn(true);
 
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
-
-        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildSuccessSpiResponse(SPI_TRANSACTION_REPORT));
 
         Xs2aAccountReport xs2aAccountReport = new Xs2aAccountReport(Collections.emptyList(), Collections.emptyList(), null);
@@ -758,7 +761,7 @@ public class AccountServiceTest {
         when(consentMapper.mapToSpiAccountConsent(any()))
             .thenReturn(SPI_ACCOUNT_CONSENT);
 
-        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS);
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
 
         assertThat(actualResponse).isNotNull();
         assertThat(actualResponse.hasError()).isFalse();
@@ -771,19 +774,146 @@ public class AccountServiceTest {
         assertThat(CollectionUtils.isEqualCollection(body.getBalances(), Collections.emptyList())).isTrue();
     }
 
+    @Test
+    public void getTransactionsReportByPeriod_Success_Streamed() {
+        // Given
+        AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
+        Stream<SpiTransaction> bookedStream = Stream.empty();
+        Stream<SpiTransaction> pendingStream = Stream.empty();
+        SpiTransactionReport streamedReport = SpiTransactionReport.streamed(bookedStream, pendingStream, Collections.emptyList());
+
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+            .thenReturn(buildSuccessSpiResponse(streamedReport));
+
+        Xs2aAccountReport xs2aAccountReport = new Xs2aAccountReport(null, null, null);
+        xs2aAccountReport.setBookedStream(Stream.empty());
+        xs2aAccountReport.setPendingStream(Stream.empty());
+
+        when(transactionsToAccountReportMapper.mapToStreamedXs2aAccountReport(streamedReport))
+            .thenReturn(xs2aAccountReport);
+        when(referenceMapper.mapToXs2aAccountReference(SPI_ACCOUNT_REFERENCE))
+            .thenReturn(Optional.of(XS2A_ACCOUNT_REFERENCE));
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
+
+        // Then
+        assertThat(actualResponse.hasError()).isFalse();
+        assertThat(actualResponse.getBody().getAccountReport()).isSameAs(xs2aAccountReport);
+        assertThat(actualResponse.getBody().getAccountReport().isStreamed()).isTrue();
+        verify(transactionsToAccountReportMapper, never()).mapToXs2aAccountReport(any(), any());
+        verify(requestResourceService).closeOnRequestCompletion(bookedStream);
+        verify(requestResourceService).closeOnRequestCompletion(pendingStream);
+    }
+
+    @Test
+    public void getTransactionsReportByPeriod_SpiResponseHasErrorWithStreamedReport_shouldCloseStreamOnRequestCompletion() {
+        // Given
+        AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
+        InputStream rawStream = new ByteArrayInputStream(new byte[0]);
+        SpiTransactionReport streamedReport = SpiTransactionReport.streamedRaw(rawStream, Collections.emptyList(), MediaType.APPLICATION_XML_VALUE);
+
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_XML_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+            .thenReturn(buildErrorSpiResponse(streamedReport));
+        when(spiErrorMapper.mapToErrorHolder(any(), eq(ServiceType.AIS)))
+            .thenReturn(ErrorHolder.builder(FORMAT_ERROR_CODE).errorType(ErrorType.AIS_400).build());
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_XML_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
+
+        // Then
+        assertThat(actualResponse.hasError()).isTrue();
+        verify(requestResourceService).closeOnRequestCompletion(rawStream);
+    }
+
+    @Test
+    public void getTransactionsReportByPeriod_DeltaList_ShouldUseStoredCursorAndMoveItForward() {
+        // Given
+        AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
+        LocalDate storedBookingDate = LocalDate.of(2019, 1, 1);
+        LocalDate lastBookingDate = LocalDate.of(2019, 1, 3);
+        List<SpiTransaction> transactions = Arrays.asList(buildSpiTransaction("ref-3", lastBookingDate),
+                                                          buildSpiTransaction("ref-2", LocalDate.of(2019, 1, 2)),
+                                                          buildSpiTransaction("ref-pending", null));
+        SpiTransactionReport report = new SpiTransactionReport(transactions, Collections.emptyList(), SpiTransactionReport.RESPONSE_TYPE_JSON, null);
+
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
+        when(aisConsentService.getTransactionCursor(CONSENT_ID, ACCOUNT_ID))
+            .thenReturn(Optional.of(new AisTransactionCursor("ref-1", storedBookingDate)));
+        when(tppService.getTppId())
+            .thenReturn(TPP_ID);
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, true, DATE_FROM, DATE_TO, BOOKING_STATUS, new SpiTransactionCursor("ref-1", storedBookingDate), SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+            .thenReturn(buildSuccessSpiResponse(report));
+        when(transactionsToAccountReportMapper.mapToXs2aAccountReport(transactions, null))
+            .thenReturn(Optional.of(new Xs2aAccountReport(Collections.emptyList(), Collections.emptyList(), null)));
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, true);
+
+        // Then
+        assertThat(actualResponse.hasError()).isFalse();
+        verify(aisConsentService).completeAisAccess(TPP_ID, CONSENT_ID, ASPSP_CONSENT_DATA, ActionStatus.SUCCESS, true,
+                                                    ACCOUNT_ID, new AisTransactionCursor("ref-3", lastBookingDate));
+    }
+
+    @Test
+    public void getTransactionsReportByPeriod_EntryReferenceFrom_ShouldPassCursorWithoutReadingStoredOne() {
+        // Given
+        AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
+
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, true, DATE_FROM, DATE_TO, BOOKING_STATUS, new SpiTransactionCursor("ref-1", null), SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+            .thenReturn(buildSuccessSpiResponse(SPI_TRANSACTION_REPORT));
+        when(transactionsToAccountReportMapper.mapToXs2aAccountReport(Collections.emptyList(), null))
+            .thenReturn(Optional.empty());
+        when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
+            .thenReturn(SPI_ACCOUNT_REFERENCE);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, "ref-1", true);
+
+        // Then
+        assertThat(actualResponse.hasError()).isFalse();
+        verify(aisConsentService, never()).getTransactionCursor(anyString(), anyString());
+        verify(aisConsentService).completeAisAccess(any(), eq(CONSENT_ID), eq(ASPSP_CONSENT_DATA), eq(ActionStatus.SUCCESS), anyBoolean(),
+                                                    eq(ACCOUNT_ID), isNull());
+    }
+
     @Test
     public void getTransactionsReportByPeriod_Success_ShouldRecordEvent() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         doNothing()
             .when(validatorService).validateAccountIdPeriod(ACCOUNT_ID, DATE_FROM, DATE_TO);
 
         when(aspspProfileService.isTransactionsWithoutBalancesSupported())
             .thenReturn(true);
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
-        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, SPI_ACCOUNT_REFERENCE, SPI_ACCOUNT_CONSENT, ASPSP_CONSENT_DATA))
             .thenReturn(buildSuccessSpiResponse(SPI_TRANSACTION_REPORT));
         Xs2aAccountReport xs2aAccountReport = new Xs2aAccountReport(Collections.emptyList(), Collections.emptyList(), null);
         when(transactionsToAccountReportMapper.mapToXs2aAccountReport(Collections.emptyList(), null))
@@ -801,7 +931,7 @@ public class AccountServiceTest {
         ArgumentCaptor<EventType> argumentCaptor = ArgumentCaptor.forClass(EventType.class);
 
         // When
-        accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS);
+        accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
 
         // Then
         verify(xs2aEventService, times(1)).recordAisTppRequest(eq(CONSENT_ID), argumentCaptor.capture());
@@ -813,14 +943,14 @@ public class AccountServiceTest {
         // Given
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getTransactionsReportValidator.validate(any(CommonAccountRequestObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
 
         // When
-        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS);
+        ResponseObject<Xs2aTransactionsReport> actualResponse = accountService.getTransactionsReportByPeriod(CONSENT_ID, ACCOUNT_ID, MediaType.APPLICATION_JSON_VALUE, WITH_BALANCE, DATE_FROM, DATE_TO, BOOKING_STATUS, null, false);
 
         // Then
         verify(getTransactionsReportValidator).validate(new CommonAccountRequestObject(accountConsent, ACCOUNT_ID, WITH_BALANCE));
@@ -833,8 +963,8 @@ public class AccountServiceTest {
     public void getTransactionDetails_Failure_AllowedAccountDataHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getTransactionDetailsValidator.validate(new CommonConsentObject(accountConsent)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
@@ -850,15 +980,12 @@ public class AccountServiceTest {
     public void getTransactionDetails_Failure_SpiResponseHasError() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         doNothing()
             .when(validatorService).validateAccountIdTransactionId(ACCOUNT_ID, TRANSACTION_ID);
 
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
-
         when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
             .thenReturn(SPI_ACCOUNT_REFERENCE);
 
@@ -886,8 +1013,8 @@ public class AccountServiceTest {
     public void getTransactionDetails_failure_accountReferenceNotFoundInAccountAccess() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getTransactionDetailsValidator.validate(new CommonConsentObject(accountConsent)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_MESSAGE_ERROR));
@@ -899,20 +1026,16 @@ public class AccountServiceTest {
         assertThat(actualResponse.getError()).isEqualTo(CONSENT_INVALID_MESSAGE_ERROR);
     }
 
-
     @Test
     public void getTransactionDetails_Success() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         doNothing()
             .when(validatorService).validateAccountIdTransactionId(ACCOUNT_ID, TRANSACTION_ID);
 
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
-
         when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
             .thenReturn(SPI_ACCOUNT_REFERENCE);
 
@@ -938,12 +1061,10 @@ public class AccountServiceTest {
     @Test
     public void getTransactionDetails_Success_ShouldRecordEvent() {
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
         doNothing()
             .when(validatorService).validateAccountIdTransactionId(ACCOUNT_ID, TRANSACTION_ID);
-        when(aisConsentDataService.getAspspConsentDataByConsentId(CONSENT_ID))
-            .thenReturn(ASPSP_CONSENT_DATA);
         when(xs2aToSpiAccountReferenceMapper.mapToSpiAccountReference(XS2A_ACCOUNT_REFERENCE))
             .thenReturn(SPI_ACCOUNT_REFERENCE);
         when(consentMapper.mapToSpiAccountConsent(any()))
@@ -969,8 +1090,8 @@ public class AccountServiceTest {
         // Given
         AccountConsent accountConsent = createConsent(CONSENT_ID, createAccountAccess(XS2A_ACCOUNT_REFERENCE));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(accountConsent));
+        when(aisConsentService.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AccountConsentAccessContext(accountConsent, ASPSP_CONSENT_DATA)));
 
         when(getTransactionDetailsValidator.validate(any(CommonConsentObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -1015,6 +1136,11 @@ public class AccountServiceTest {
         return new SpiTransactionReport(Collections.emptyList(), Collections.emptyList(), SpiTransactionReport.RESPONSE_TYPE_JSON, null);
     }
 
+    private static SpiTransaction buildSpiTransaction(String entryReference, LocalDate bookingDate) {
+        return new SpiTransaction(entryReference, entryReference, null, null, null, null, bookingDate, null, null, null,
+                                  null, null, null, null, null, null, null, null, null, null, null);
+    }
+
     // Needed because ResponseObject is final, so it's impossible to mock it
     private static ResponseObject<AccountConsent> buildSuccessAllowedAccountDataResponse() {
         return ResponseObject.<AccountConsent>builder()
@@ -181,6 +181,8 @@ public class ConsentServiceTest {
     private GetConsentAuthorisationsValidator getConsentAuthorisationsValidator;
     @Mock
     private GetConsentAuthorisationScaStatusValidator getConsentAuthorisationScaStatusValidator;
+    @Mock
+    private RequestProviderService requestProviderService;
 
     @Before
     public void setUp() {
@@ -18,6 +18,7 @@ package de.adorsys.psd2.xs2a.service;
 
 import de.adorsys.psd2.consent.api.pis.PisPayment;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.xs2a.config.factory.ReadPaymentFactory;
 import de.adorsys.psd2.xs2a.config.factory.ReadPaymentStatusFactory;
 import de.adorsys.psd2.xs2a.core.event.EventType;
@@ -36,7 +37,6 @@ import de.adorsys.psd2.xs2a.domain.consent.Xs2aPisCommonPayment;
 import de.adorsys.psd2.xs2a.domain.pis.*;
 import de.adorsys.psd2.xs2a.exception.MessageError;
 import de.adorsys.psd2.xs2a.service.consent.PisAspspDataService;
-import de.adorsys.psd2.xs2a.service.consent.PisPsuDataService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
@@ -60,6 +60,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -89,6 +90,7 @@ public class PaymentServiceTest {
     private static final Currency CURRENCY = Currency.getInstance("EUR");
     private static final PsuIdData PSU_ID_DATA = new PsuIdData(null, null, null, null);
     private static final SpiPsuData SPI_PSU_DATA = new SpiPsuData(null, null, null, null);
+    private static final long CACHE_VERSION = 7;
     private static final MessageError VALIDATION_ERROR = new MessageError(ErrorType.PIS_401, TppMessageInformation.of(UNAUTHORIZED));
     private static final SpiContextData SPI_CONTEXT_DATA = new SpiContextData(SPI_PSU_DATA, new TppInfo(), UUID.randomUUID());
 
@@ -125,8 +127,6 @@ public class PaymentServiceTest {
     @Mock
     private Xs2aToSpiPsuDataMapper psuDataMapper;
     @Mock
-    private PisPsuDataService pisPsuDataService;
-    @Mock
     private Xs2aEventService xs2aEventService;
     @Mock
     private ReadPaymentService<PaymentInformationResponse> readPaymentService;
@@ -159,6 +159,10 @@ public class PaymentServiceTest {
     @Mock
     private CancelPaymentValidator cancelPaymentValidator;
     @Mock
+    private TransactionStatusCache transactionStatusCache;
+    @Mock
+    private RequestProviderService requestProviderService;
+    @Mock
     private InitialSpiAspspConsentDataProvider initialSpiAspspConsentDataProvider;
 
     @Before
@@ -379,12 +383,13 @@ public class PaymentServiceTest {
     public void getPaymentStatusById_Success_ShouldRecordEvent() {
         // Given
         SpiResponse<TransactionStatus> spiResponse = buildSpiResponseTransactionStatus();
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(anyString())).thenReturn(Optional.of(buildPisCommonPaymentStatusInfo(RCVD)));
         when(xs2aPisCommonPaymentService.getPisCommonPaymentById(anyString())).thenReturn(Optional.of(pisCommonPaymentResponse));
         when(pisCommonPaymentResponse.getPayments()).thenReturn(Collections.singletonList(pisPayment));
         when(pisCommonPaymentResponse.getPaymentProduct()).thenReturn(PAYMENT_PRODUCT);
         when(readPaymentStatusService.readPaymentStatus(eq(Collections.singletonList(pisPayment)), eq(PAYMENT_PRODUCT), any(SpiContextData.class), any(String.class)))
             .thenReturn(new ReadPaymentStatusResponse(RCVD));
-        when(updatePaymentStatusAfterSpiService.updatePaymentStatus(anyString(), any(TransactionStatus.class)))
+        when(updatePaymentStatusAfterSpiService.updatePaymentStatusAfterRead(anyString(), any(TransactionStatus.class), anyLong()))
             .thenReturn(true);
         ArgumentCaptor<EventType> argumentCaptor = ArgumentCaptor.forClass(EventType.class);
         when(spiContextDataProvider.provideWithPsuIdData(any())).thenReturn(SPI_CONTEXT_DATA);
@@ -402,24 +407,44 @@ public class PaymentServiceTest {
         // Given
         when(getPaymentStatusByIdValidator.validate(any(GetPaymentStatusByIdPO.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
-        when(xs2aPisCommonPaymentService.getPisCommonPaymentById(anyString())).thenReturn(Optional.of(invalidPisCommonPaymentResponse));
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo(RCVD);
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(anyString())).thenReturn(Optional.of(statusInfo));
         PaymentType paymentType = PaymentType.SINGLE;
 
         // When
         ResponseObject actualResponse = paymentService.getPaymentStatusById(paymentType, PAYMENT_PRODUCT, PAYMENT_ID);
 
         // Then
-        verify(getPaymentStatusByIdValidator).validate(new GetPaymentStatusByIdPO(invalidPisCommonPaymentResponse, paymentType, PAYMENT_PRODUCT));
+        verify(getPaymentStatusByIdValidator).validate(new GetPaymentStatusByIdPO(statusInfo, paymentType, PAYMENT_PRODUCT));
+        verify(xs2aPisCommonPaymentService, never()).getPisCommonPaymentById(anyString());
         assertThat(actualResponse).isNotNull();
         assertThat(actualResponse.hasError()).isTrue();
         assertThat(actualResponse.getError()).isEqualTo(VALIDATION_ERROR);
     }
 
+    @Test
+    public void getPaymentStatusById_paymentWithoutTppInfo_shouldReturnValidationError() {
+        // Given
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo(RCVD);
+        statusInfo.setTppInfo(null);
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(PAYMENT_ID)).thenReturn(Optional.of(statusInfo));
+        when(getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(statusInfo, PaymentType.SINGLE, PAYMENT_PRODUCT)))
+            .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
+
+        // When
+        ResponseObject actualResponse = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertThat(actualResponse.hasError()).isTrue();
+        assertThat(actualResponse.getError()).isEqualTo(VALIDATION_ERROR);
+        verify(xs2aPisCommonPaymentService, never()).getPisCommonPaymentById(anyString());
+    }
+
     @Test
     public void getPaymentStatusById_Failure_WrongId() {
         // Given
         TppMessageInformation errorMessages = of(RESOURCE_UNKNOWN_404);
-        when(xs2aPisCommonPaymentService.getPisCommonPaymentById(WRONG_PAYMENT_ID))
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(WRONG_PAYMENT_ID))
             .thenReturn(Optional.empty());
 
         // When
@@ -429,6 +454,121 @@ public class PaymentServiceTest {
         assertThat(actualResult.hasError()).isTrue();
         assertThat(actualResult.getError().getErrorType()).isEqualTo(PIS_404);
         assertThat(actualResult.getError().getTppMessages().contains(of(RESOURCE_UNKNOWN_404, WRONG_PAYMENT_ID_TEXT))).isTrue();
+        verify(xs2aPisCommonPaymentService, never()).getPisCommonPaymentById(anyString());
+    }
+
+    @Test
+    public void getPaymentStatusById_rejectedPayment_shouldNotReadPaymentData() {
+        // Given
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(PAYMENT_ID))
+            .thenReturn(Optional.of(buildPisCommonPaymentStatusInfo(RJCT)));
+
+        // When
+        ResponseObject<TransactionStatus> actualResult = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertThat(actualResult.hasError()).isFalse();
+        assertThat(actualResult.getBody()).isEqualTo(RJCT);
+        verify(xs2aPisCommonPaymentService, never()).getPisCommonPaymentById(anyString());
+        verify(readPaymentStatusService, never()).readPaymentStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    public void getPaymentStatusById_shouldUsePsuDataFromStatusInfo() {
+        // Given
+        PsuIdData psuIdData = new PsuIdData("psu id", null, null, null);
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo(RCVD);
+        statusInfo.setPsuData(Collections.singletonList(psuIdData));
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(PAYMENT_ID))
+            .thenReturn(Optional.of(statusInfo));
+        when(spiContextDataProvider.provideWithPsuIdData(psuIdData)).thenReturn(SPI_CONTEXT_DATA);
+        when(readPaymentStatusService.readPaymentStatus(any(), eq(PAYMENT_PRODUCT), eq(SPI_CONTEXT_DATA), eq(PAYMENT_ID)))
+            .thenReturn(new ReadPaymentStatusResponse(ACSP));
+        when(updatePaymentStatusAfterSpiService.updatePaymentStatusAfterRead(eq(PAYMENT_ID), eq(ACSP), anyLong()))
+            .thenReturn(true);
+
+        // When
+        ResponseObject<TransactionStatus> actualResult = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertThat(actualResult.hasError()).isFalse();
+        assertThat(actualResult.getBody()).isEqualTo(ACSP);
+        verify(spiContextDataProvider).provideWithPsuIdData(psuIdData);
+    }
+
+    @Test
+    public void getPaymentStatusById_terminalStatus_shouldBeReadFromCms() {
+        // Given
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(PAYMENT_ID))
+            .thenReturn(Optional.of(buildPisCommonPaymentStatusInfo(ACSC)));
+        when(aspspProfileService.getTerminalTransactionStatuses())
+            .thenReturn(Arrays.asList(ACCC, ACSC, RJCT, CANC));
+
+        // When
+        ResponseObject<TransactionStatus> actualResult = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertThat(actualResult.hasError()).isFalse();
+        assertThat(actualResult.getBody()).isEqualTo(ACSC);
+        verify(xs2aPisCommonPaymentService, never()).getPisCommonPaymentById(anyString());
+        verify(readPaymentStatusService, never()).readPaymentStatus(any(), any(), any(), any());
+        verify(updatePaymentStatusAfterSpiService, never()).updatePaymentStatusAfterRead(anyString(), any(TransactionStatus.class), anyLong());
+    }
+
+    @Test
+    public void getPaymentStatusById_cachedStatus_shouldNotCallSpi() {
+        // Given
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(PAYMENT_ID))
+            .thenReturn(Optional.of(buildPisCommonPaymentStatusInfo(RCVD)));
+        when(transactionStatusCache.get(PAYMENT_ID)).thenReturn(Optional.of(ACSP));
+
+        // When
+        ResponseObject<TransactionStatus> actualResult = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertThat(actualResult.hasError()).isFalse();
+        assertThat(actualResult.getBody()).isEqualTo(ACSP);
+        verify(xs2aPisCommonPaymentService, never()).getPisCommonPaymentById(anyString());
+        verify(readPaymentStatusService, never()).readPaymentStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    public void getPaymentStatusById_statusFromSpi_shouldBeCached() {
+        // Given
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(PAYMENT_ID))
+            .thenReturn(Optional.of(buildPisCommonPaymentStatusInfo(RCVD)));
+        when(spiContextDataProvider.provideWithPsuIdData(any())).thenReturn(SPI_CONTEXT_DATA);
+        when(readPaymentStatusService.readPaymentStatus(any(), eq(PAYMENT_PRODUCT), eq(SPI_CONTEXT_DATA), eq(PAYMENT_ID)))
+            .thenReturn(new ReadPaymentStatusResponse(ACSP));
+        when(transactionStatusCache.getVersion()).thenReturn(CACHE_VERSION);
+        when(updatePaymentStatusAfterSpiService.updatePaymentStatusAfterRead(PAYMENT_ID, ACSP, CACHE_VERSION))
+            .thenReturn(true);
+
+        // When
+        ResponseObject<TransactionStatus> actualResult = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertThat(actualResult.getBody()).isEqualTo(ACSP);
+        // The version must be taken before the ASPSP is asked for the status
+        InOrder inOrder = inOrder(transactionStatusCache, readPaymentStatusService);
+        inOrder.verify(transactionStatusCache).getVersion();
+        inOrder.verify(readPaymentStatusService).readPaymentStatus(any(), eq(PAYMENT_PRODUCT), eq(SPI_CONTEXT_DATA), eq(PAYMENT_ID));
+    }
+
+    @Test
+    public void getPaymentStatusById_paymentRemovedAfterValidation_shouldReturn404() {
+        // Given
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentStatusInfoById(WRONG_PAYMENT_ID))
+            .thenReturn(Optional.of(buildPisCommonPaymentStatusInfo(RCVD)));
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentById(WRONG_PAYMENT_ID))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject actualResult = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, WRONG_PAYMENT_ID);
+
+        // Then
+        assertThat(actualResult.hasError()).isTrue();
+        assertThat(actualResult.getError().getErrorType()).isEqualTo(PIS_404);
     }
 
     @Test
@@ -664,6 +804,16 @@ public class PaymentServiceTest {
         return response;
     }
 
+    private PisCommonPaymentStatusInfo buildPisCommonPaymentStatusInfo(TransactionStatus transactionStatus) {
+        PisCommonPaymentStatusInfo statusInfo = new PisCommonPaymentStatusInfo();
+        statusInfo.setExternalId(PAYMENT_ID);
+        statusInfo.setPaymentType(PaymentType.SINGLE);
+        statusInfo.setPaymentProduct(PAYMENT_PRODUCT);
+        statusInfo.setTransactionStatus(transactionStatus);
+        statusInfo.setPsuData(Collections.singletonList(PSU_ID_DATA));
+        return statusInfo;
+    }
+
     private Optional<PisCommonPaymentResponse> getPisCommonPayment() {
         PisCommonPaymentResponse response = new PisCommonPaymentResponse();
         response.setPayments(Collections.singletonList(getPisPayment()));
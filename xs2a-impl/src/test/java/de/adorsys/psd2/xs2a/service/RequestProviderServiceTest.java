@@ -41,11 +41,13 @@ public class RequestProviderServiceTest {
     private static final String PSU_ID_TYPE_HEADER = "psu-id-type";
     private static final String PSU_CORPORATE_ID_HEADER = "psu-corporate-id";
     private static final String PSU_CORPORATE_ID_TYPE_HEADER = "psu-corporate-id-type";
+    private static final String TPP_NOTIFICATION_URI_HEADER = "tpp-notification-uri";
 
     private static final String PSU_ID = "ID";
     private static final String PSU_ID_TYPE = "TYPE";
     private static final String PSU_CORPORATE_ID = "CORPORATE_ID";
     private static final String PSU_CORPORATE_ID_TYPE = "CORPORATE_ID_TYPE";
+    private static final String TPP_NOTIFICATION_URI = "https://tpp.example.com/notifications";
 
     private static PsuIdData PSU_ID_DATA;
 
@@ -80,12 +82,21 @@ public class RequestProviderServiceTest {
         assertEquals(HEADERS, requestData.getHeaders());
     }
 
+    @Test
+    public void getTppNotificationUri() {
+        //When
+        String tppNotificationUri = requestProviderService.getTppNotificationUri();
+        //Then
+        assertEquals(TPP_NOTIFICATION_URI, tppNotificationUri);
+    }
+
     private void buildHeaders() {
         HEADERS.put(X_REQUEST_ID_HEADER, X_REQUEST_ID);
         HEADERS.put(PSU_ID_HEADER, PSU_ID);
         HEADERS.put(PSU_ID_TYPE_HEADER, PSU_ID_TYPE);
         HEADERS.put(PSU_CORPORATE_ID_HEADER, PSU_CORPORATE_ID);
         HEADERS.put(PSU_CORPORATE_ID_TYPE_HEADER, PSU_CORPORATE_ID_TYPE);
+        HEADERS.put(TPP_NOTIFICATION_URI_HEADER, TPP_NOTIFICATION_URI);
     }
 
     private PsuIdData buildPsuIdData() {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import de.adorsys.psd2.xs2a.component.RequestResources;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestResourceServiceTest {
+    @InjectMocks
+    private RequestResourceService requestResourceService;
+
+    @Mock
+    private HttpServletRequest httpServletRequest;
+    @Mock
+    private AutoCloseable resource;
+
+    @Test
+    public void closeOnRequestCompletion_activeRequest_shouldCloseResourceOnCompletion() throws Exception {
+        // Given
+        RequestResources requestResources = new RequestResources();
+        when(httpServletRequest.getAttribute(RequestResources.ATTRIBUTE_NAME)).thenReturn(requestResources);
+
+        // When
+        requestResourceService.closeOnRequestCompletion(resource);
+
+        // Then
+        verify(resource, never()).close();
+        requestResources.close();
+        verify(resource).close();
+    }
+
+    @Test
+    public void closeOnRequestCompletion_recycledRequest_shouldCloseResourceImmediately() throws Exception {
+        // Given
+        when(httpServletRequest.getAttribute(RequestResources.ATTRIBUTE_NAME)).thenThrow(new IllegalStateException("Request has been recycled"));
+
+        // When
+        requestResourceService.closeOnRequestCompletion(resource);
+
+        // Then
+        verify(resource).close();
+    }
+
+    @Test
+    public void closeOnRequestCompletion_requestWithoutResources_shouldNotCloseResource() throws Exception {
+        // When
+        requestResourceService.closeOnRequestCompletion(resource);
+
+        // Then
+        verify(resource, never()).close();
+    }
+}
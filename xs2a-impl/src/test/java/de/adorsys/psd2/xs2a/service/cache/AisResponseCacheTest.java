@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.cache;
+
+import de.adorsys.psd2.xs2a.spi.domain.response.SpiResponse;
+import de.adorsys.psd2.xs2a.spi.domain.response.SpiResponseStatus;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AisResponseCacheTest {
+    private static final String CONSENT_ID = "consent id";
+    private static final String ANOTHER_CONSENT_ID = "another consent id";
+    private static final String ACCOUNT_ID = "account id";
+    private static final long TTL_MS = 60000;
+
+    private final AtomicInteger spiCalls = new AtomicInteger();
+
+    @Test
+    public void getOrLoad_disabled_shouldAlwaysCallSpi() {
+        // Given
+        AisResponseCache cache = new AisResponseCache(false, TTL_MS, TTL_MS, TTL_MS, new InMemoryAisResponseCacheStore(10));
+
+        // When
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall);
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall);
+
+        // Then
+        assertThat(spiCalls.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void getOrLoad_sameRequest_shouldBeServedFromCache() {
+        // Given
+        AisResponseCache cache = new AisResponseCache(true, TTL_MS, TTL_MS, TTL_MS, new InMemoryAisResponseCacheStore(10));
+
+        // When
+        SpiResponse<String> first = cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.TRANSACTIONS, this::successfulSpiCall, "booked");
+        SpiResponse<String> second = cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.TRANSACTIONS, this::successfulSpiCall, "booked");
+
+        // Then
+        assertThat(spiCalls.get()).isEqualTo(1);
+        assertThat(second.isSuccessful()).isTrue();
+        assertThat(second.getPayload()).isEqualTo(first.getPayload());
+        assertThat(second.getAspspConsentData()).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void getOrLoad_differentParameters_shouldCallSpi() {
+        // Given
+        AisResponseCache cache = new AisResponseCache(true, TTL_MS, TTL_MS, TTL_MS, new InMemoryAisResponseCacheStore(10));
+
+        // When
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.TRANSACTIONS, this::successfulSpiCall, "booked");
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.TRANSACTIONS, this::successfulSpiCall, "pending");
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall, "booked");
+        cache.getOrLoad(ANOTHER_CONSENT_ID, ACCOUNT_ID, AisCacheOperation.TRANSACTIONS, this::successfulSpiCall, "booked");
+
+        // Then
+        assertThat(spiCalls.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void getOrLoad_zeroTimeToLive_shouldNotCacheOperation() {
+        // Given
+        AisResponseCache cache = new AisResponseCache(true, TTL_MS, 0, TTL_MS, new InMemoryAisResponseCacheStore(10));
+
+        // When
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall);
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall);
+
+        // Then
+        assertThat(spiCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getOrLoad_errorOrNotCacheablePayload_shouldNotBeCached() {
+        // Given
+        AisResponseCache cache = new AisResponseCache(true, TTL_MS, TTL_MS, TTL_MS, new InMemoryAisResponseCacheStore(10));
+
+        // When
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::failedSpiCall);
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::failedSpiCall);
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.TRANSACTIONS, this::successfulSpiCall, payload -> false);
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.TRANSACTIONS, this::successfulSpiCall, payload -> false);
+
+        // Then
+        assertThat(spiCalls.get()).isEqualTo(4);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void invalidateConsent_shouldRemoveOnlyEntriesOfConsent() {
+        // Given
+        AisResponseCache cache = new AisResponseCache(true, TTL_MS, TTL_MS, TTL_MS, new InMemoryAisResponseCacheStore(10));
+        cache.getOrLoad(CONSENT_ID, null, AisCacheOperation.ACCOUNT_LIST, this::successfulSpiCall, true);
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall);
+        cache.getOrLoad(ANOTHER_CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall);
+
+        // When
+        cache.invalidateConsent(CONSENT_ID);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+        cache.getOrLoad(CONSENT_ID, ACCOUNT_ID, AisCacheOperation.BALANCES, this::successfulSpiCall);
+        assertThat(spiCalls.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void inMemoryStore_shouldEvictLeastRecentlyUsedEntries() {
+        // Given
+        AisResponseCache cache = new AisResponseCache(true, TTL_MS, TTL_MS, TTL_MS, new InMemoryAisResponseCacheStore(2));
+
+        // When
+        cache.getOrLoad(CONSENT_ID, "1", AisCacheOperation.BALANCES, this::successfulSpiCall);
+        cache.getOrLoad(CONSENT_ID, "2", AisCacheOperation.BALANCES, this::successfulSpiCall);
+        cache.getOrLoad(CONSENT_ID, "3", AisCacheOperation.BALANCES, this::successfulSpiCall);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private SpiResponse<String> successfulSpiCall() {
+        return SpiResponse.<String>builder()
+                   .payload("payload " + spiCalls.incrementAndGet())
+                   .success();
+    }
+
+    private SpiResponse<String> failedSpiCall() {
+        spiCalls.incrementAndGet();
+        return SpiResponse.<String>builder()
+                   .fail(SpiResponseStatus.TECHNICAL_FAILURE);
+    }
+}
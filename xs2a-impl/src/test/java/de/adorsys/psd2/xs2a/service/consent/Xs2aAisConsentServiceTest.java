@@ -16,12 +16,14 @@
 
 package de.adorsys.psd2.xs2a.service.consent;
 
+import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsScaMethod;
 import de.adorsys.psd2.consent.api.ais.*;
 import de.adorsys.psd2.consent.api.service.AisConsentAuthorisationServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
 import de.adorsys.psd2.xs2a.core.consent.AisConsentRequestType;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -30,6 +32,7 @@ import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
 import de.adorsys.psd2.xs2a.domain.consent.*;
 import de.adorsys.psd2.xs2a.service.ScaApproachResolver;
+import de.adorsys.psd2.xs2a.service.cache.AisResponseCache;
 import de.adorsys.psd2.xs2a.service.mapper.consent.Xs2aAisConsentAuthorisationMapper;
 import de.adorsys.psd2.xs2a.service.mapper.consent.Xs2aAisConsentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.consent.Xs2aAuthenticationObjectToCmsScaMethodMapper;
@@ -47,7 +50,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class Xs2aAisConsentServiceTest {
@@ -78,6 +83,8 @@ public class Xs2aAisConsentServiceTest {
     @Mock
     private AisConsentServiceEncrypted aisConsentServiceEncrypted;
     @Mock
+    private AisResponseCache aisResponseCache;
+    @Mock
     private AisConsentAuthorisationServiceEncrypted aisConsentAuthorisationServiceEncrypted;
     @Mock
     private Xs2aAisConsentMapper aisConsentMapper;
@@ -108,6 +115,76 @@ public class Xs2aAisConsentServiceTest {
         assertThat(actualResponse).isEqualTo(CONSENT_ID);
     }
 
+    @Test
+    public void prepareAisAccess_success() {
+        //Given
+        byte[] aspspConsentData = "data".getBytes();
+        when(aisConsentServiceEncrypted.prepareAisAccess(CONSENT_ID))
+            .thenReturn(Optional.of(new AisConsentAccessContext(AIS_ACCOUNT_CONSENT, aspspConsentData)));
+        when(aisConsentMapper.mapToAccountConsent(AIS_ACCOUNT_CONSENT))
+            .thenReturn(ACCOUNT_CONSENT);
+
+        //When
+        Optional<AccountConsentAccessContext> actualResponse = xs2aAisConsentService.prepareAisAccess(CONSENT_ID);
+
+        //Then
+        assertThat(actualResponse.isPresent()).isTrue();
+        assertThat(actualResponse.get().getAccountConsent()).isEqualTo(ACCOUNT_CONSENT);
+        assertThat(actualResponse.get().getAspspConsentData()).isEqualTo(new AspspConsentData(aspspConsentData, CONSENT_ID));
+    }
+
+    @Test
+    public void completeAisAccess_success() {
+        //Given
+        byte[] aspspConsentData = "data".getBytes();
+
+        //When
+        xs2aAisConsentService.completeAisAccess("tpp id", CONSENT_ID, new AspspConsentData(aspspConsentData, CONSENT_ID), ActionStatus.SUCCESS, true);
+
+        //Then
+        verify(aisConsentServiceEncrypted).completeAisAccess(CONSENT_ID, new AisConsentAccessCompletionRequest("tpp id", ActionStatus.SUCCESS, true, aspspConsentData, true));
+    }
+
+    @Test
+    public void completeAisAccess_transactionCursorOnly() {
+        //Given
+        AisTransactionCursor cursor = new AisTransactionCursor("entry reference", LocalDate.of(2019, 1, 1));
+
+        //When
+        xs2aAisConsentService.completeAisAccess(null, CONSENT_ID, AspspConsentData.emptyConsentData(), null, false, "account id", cursor);
+
+        //Then
+        verify(aisConsentServiceEncrypted).completeAisAccess(CONSENT_ID, new AisConsentAccessCompletionRequest(null, null, false, null, false, "account id", cursor));
+    }
+
+    @Test
+    public void completeAisAccess_expireConsent_shouldInvalidateResponseCache() {
+        //When
+        xs2aAisConsentService.completeAisAccess("tpp id", CONSENT_ID, AspspConsentData.emptyConsentData(), ActionStatus.SUCCESS, true);
+
+        //Then
+        verify(aisResponseCache).invalidateConsent(CONSENT_ID);
+    }
+
+    @Test
+    public void updateConsentStatus_shouldInvalidateResponseCache() {
+        //When
+        xs2aAisConsentService.updateConsentStatus(CONSENT_ID, ConsentStatus.REVOKED_BY_PSU);
+
+        //Then
+        verify(aisConsentServiceEncrypted).updateConsentStatusById(CONSENT_ID, ConsentStatus.REVOKED_BY_PSU);
+        verify(aisResponseCache).invalidateConsent(CONSENT_ID);
+    }
+
+    @Test
+    public void completeAisAccess_nothingToComplete() {
+        //When
+        xs2aAisConsentService.completeAisAccess(CONSENT_ID, AspspConsentData.emptyConsentData());
+
+        //Then
+        verify(aisConsentServiceEncrypted, never()).completeAisAccess(anyString(), any(AisConsentAccessCompletionRequest.class));
+    }
+
     @Test
     public void createConsent_failed() {
         //Given
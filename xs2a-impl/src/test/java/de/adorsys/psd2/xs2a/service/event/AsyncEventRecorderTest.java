@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.consent.api.service.EventServiceEncrypted;
+import de.adorsys.psd2.xs2a.core.event.Event;
+import de.adorsys.psd2.xs2a.core.event.EventType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncEventRecorderTest {
+    private static final long FLUSH_INTERVAL_MS = 50;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    @Mock
+    private EventServiceEncrypted eventService;
+
+    private AsyncEventRecorder asyncEventRecorder;
+
+    @Before
+    public void setUp() {
+        when(eventService.recordEvents(anyListOf(Event.class))).thenReturn(true);
+    }
+
+    @After
+    public void tearDown() {
+        if (asyncEventRecorder != null) {
+            asyncEventRecorder.shutdown();
+        }
+    }
+
+    @Test
+    public void offer_disabled_shouldBeRecordedByCaller() {
+        // Given
+        asyncEventRecorder = buildRecorder(false, 10, 10, EventBackpressurePolicy.BLOCK);
+
+        // When
+        boolean actual = asyncEventRecorder.offer(buildEvent());
+
+        // Then
+        assertThat(actual).isFalse();
+        assertThat(asyncEventRecorder.isRunning()).isFalse();
+        verifyZeroInteractions(eventService);
+    }
+
+    @Test
+    public void offer_enabled_shouldRecordEventsInBatches() throws InterruptedException {
+        // Given
+        CountDownLatch latch = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            latch.countDown();
+            return true;
+        }).when(eventService).recordEvents(anyListOf(Event.class));
+        asyncEventRecorder = buildRecorder(true, 10, 2, EventBackpressurePolicy.BLOCK);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThat(asyncEventRecorder.offer(buildEvent())).isTrue();
+        }
+
+        // Then
+        assertThat(latch.await(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, times(2)).recordEvents(captor.capture());
+        for (List batch : captor.getAllValues()) {
+            assertThat(batch).hasSize(2);
+        }
+        verify(eventService, never()).recordEvent(any(Event.class));
+        assertThat(asyncEventRecorder.getQueuedEventCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void shutdown_shouldDrainQueue() {
+        // Given
+        asyncEventRecorder = buildRecorder(true, 100, 100, EventBackpressurePolicy.BLOCK);
+        for (int i = 0; i < 5; i++) {
+            asyncEventRecorder.offer(buildEvent());
+        }
+
+        // When
+        asyncEventRecorder.shutdown();
+
+        // Then
+        assertThat(asyncEventRecorder.getQueueSize()).isZero();
+        assertThat(asyncEventRecorder.getRecordedEventCount()).isEqualTo(5);
+        assertThat(asyncEventRecorder.offer(buildEvent())).isFalse();
+    }
+
+    @Test
+    public void shutdown_concurrentOffers_shouldRecordAllAcceptedEvents() throws Exception {
+        // Given
+        asyncEventRecorder = buildRecorder(true, 10000, 10, EventBackpressurePolicy.BLOCK);
+        int threads = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> {
+                int accepted = 0;
+                started.countDown();
+                while (asyncEventRecorder.offer(buildEvent())) {
+                    accepted++;
+                }
+                return accepted;
+            }));
+        }
+        assertThat(started.await(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+
+        // When
+        asyncEventRecorder.shutdown();
+
+        // Then
+        int accepted = 0;
+        for (Future<Integer> future : futures) {
+            accepted += future.get(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        executorService.shutdown();
+        assertThat(accepted).isPositive();
+        assertThat(asyncEventRecorder.getQueueSize()).isZero();
+        assertThat(asyncEventRecorder.getRecordedEventCount()).isEqualTo(accepted);
+    }
+
+    @Test
+    public void offer_queueFull_dropPolicy_shouldDropEvent() throws InterruptedException {
+        // Given
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushStarted.countDown();
+            release.await(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        }).when(eventService).recordEvents(anyListOf(Event.class));
+        asyncEventRecorder = buildRecorder(true, 1, 1, EventBackpressurePolicy.DROP);
+        asyncEventRecorder.offer(buildEvent());
+        assertThat(flushStarted.await(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        asyncEventRecorder.offer(buildEvent());
+
+        // When
+        boolean actual = asyncEventRecorder.offer(buildEvent());
+        release.countDown();
+
+        // Then
+        assertThat(actual).isTrue();
+        assertThat(asyncEventRecorder.getDroppedEventCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void offer_queueFull_synchronousPolicy_shouldBeRecordedByCaller() throws InterruptedException {
+        // Given
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushStarted.countDown();
+            release.await(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        }).when(eventService).recordEvents(anyListOf(Event.class));
+        asyncEventRecorder = buildRecorder(true, 1, 1, EventBackpressurePolicy.SYNCHRONOUS);
+        asyncEventRecorder.offer(buildEvent());
+        assertThat(flushStarted.await(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+        asyncEventRecorder.offer(buildEvent());
+
+        // When
+        boolean actual = asyncEventRecorder.offer(buildEvent());
+        release.countDown();
+
+        // Then
+        assertThat(actual).isFalse();
+        assertThat(asyncEventRecorder.getSynchronousFallbackCount()).isEqualTo(1);
+    }
+
+    private AsyncEventRecorder buildRecorder(boolean enabled, int queueCapacity, int flushSize, EventBackpressurePolicy policy) {
+        AsyncEventRecorder recorder = new AsyncEventRecorder(eventService, enabled, queueCapacity, flushSize, FLUSH_INTERVAL_MS,
+                                                             policy, 10, SHUTDOWN_TIMEOUT_MS);
+        recorder.start();
+        return recorder;
+    }
+
+    private Event buildEvent() {
+        return Event.builder()
+                   .eventType(EventType.PAYMENT_INITIATION_REQUEST_RECEIVED)
+                   .build();
+    }
+}
@@ -38,6 +38,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -58,6 +59,8 @@ public class Xs2aEventServiceTest {
     private EventServiceEncrypted eventService;
     @Mock
     private RequestProviderService requestProviderService;
+    @Mock
+    private AsyncEventRecorder asyncEventRecorder;
 
     @InjectMocks
     private Xs2aEventService xs2aEventService;
@@ -130,6 +133,19 @@ public class Xs2aEventServiceTest {
         assertThat(capturedEvent.getXRequestId()).isEqualTo(REQUEST_ID);
     }
 
+    @Test
+    public void recordTppRequest_asyncRecorderTakesOver() {
+        // Given
+        when(asyncEventRecorder.offer(any(Event.class))).thenReturn(true);
+
+        // When
+        xs2aEventService.recordTppRequest(EVENT_TYPE, null);
+
+        // Then
+        verify(asyncEventRecorder).offer(any(Event.class));
+        verify(eventService, never()).recordEvent(any(Event.class));
+    }
+
     private RequestData buildRequestData() {
         return new RequestData(URI, REQUEST_ID, TPP_IP, Collections.emptyMap(), buildPsuIdData());
     }
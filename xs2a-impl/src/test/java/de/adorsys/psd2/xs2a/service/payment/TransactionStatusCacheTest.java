@@ -0,0 +1,212 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.payment;
+
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class TransactionStatusCacheTest {
+    private static final String PAYMENT_ID = "payment id";
+    private static final String OTHER_PAYMENT_ID = "other payment id";
+    private static final Instant NOW = Instant.parse("2019-06-01T00:00:00Z");
+    private static final long TTL_MS = 2000;
+    private static final int MAX_SIZE = 10;
+
+    private MutableClock clock;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock(NOW);
+    }
+
+    @Test
+    public void get_withinTimeToLive_shouldReturnCachedStatus() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(MAX_SIZE, TTL_MS, clock);
+        cache.put(PAYMENT_ID, TransactionStatus.ACSP, cache.getVersion());
+        clock.setInstant(NOW.plusMillis(TTL_MS - 1));
+
+        // When
+        Optional<TransactionStatus> actual = cache.get(PAYMENT_ID);
+
+        // Then
+        assertEquals(Optional.of(TransactionStatus.ACSP), actual);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void get_afterTimeToLive_shouldReturnEmpty() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(MAX_SIZE, TTL_MS, clock);
+        cache.put(PAYMENT_ID, TransactionStatus.ACSP, cache.getVersion());
+        clock.setInstant(NOW.plusMillis(TTL_MS));
+
+        // When
+        Optional<TransactionStatus> actual = cache.get(PAYMENT_ID);
+
+        // Then
+        assertFalse(actual.isPresent());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evict_shouldRemoveStatus() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(MAX_SIZE, TTL_MS, clock);
+        cache.put(PAYMENT_ID, TransactionStatus.ACSP, cache.getVersion());
+
+        // When
+        cache.evict(PAYMENT_ID);
+
+        // Then
+        assertFalse(cache.get(PAYMENT_ID).isPresent());
+    }
+
+    @Test
+    public void put_readBeforeEviction_shouldNotCacheStaleStatus() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(MAX_SIZE, TTL_MS, clock);
+        long readVersion = cache.getVersion();
+        // Status is updated by another flow, while the ASPSP is asked for the status
+        cache.evict(PAYMENT_ID);
+
+        // When
+        cache.put(PAYMENT_ID, TransactionStatus.ACTC, readVersion);
+
+        // Then
+        assertFalse(cache.get(PAYMENT_ID).isPresent());
+        assertEquals(1, cache.getStalePutCount());
+    }
+
+    @Test
+    public void put_readAfterEviction_shouldCacheStatus() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(MAX_SIZE, TTL_MS, clock);
+        long staleReadVersion = cache.getVersion();
+        cache.evict(PAYMENT_ID);
+        long readVersion = cache.getVersion();
+
+        // When
+        cache.put(PAYMENT_ID, TransactionStatus.ACSP, readVersion);
+        cache.put(PAYMENT_ID, TransactionStatus.ACTC, staleReadVersion);
+
+        // Then
+        assertEquals(Optional.of(TransactionStatus.ACSP), cache.get(PAYMENT_ID));
+        assertEquals(1, cache.getStalePutCount());
+    }
+
+    @Test
+    public void put_readBeforeEvictionOfExpiredStatus_shouldNotCacheStaleStatus() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(MAX_SIZE, TTL_MS, clock);
+        long staleReadVersion = cache.getVersion();
+        cache.evict(PAYMENT_ID);
+        cache.put(PAYMENT_ID, TransactionStatus.ACSP, cache.getVersion());
+        clock.setInstant(NOW.plusMillis(TTL_MS));
+        assertFalse(cache.get(PAYMENT_ID).isPresent());
+
+        // When
+        cache.put(PAYMENT_ID, TransactionStatus.ACTC, staleReadVersion);
+
+        // Then
+        assertFalse(cache.get(PAYMENT_ID).isPresent());
+    }
+
+    @Test
+    public void put_readBeforeEvictionRemovedFromCache_shouldNotCacheStaleStatus() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(1, TTL_MS, clock);
+        long staleReadVersion = cache.getVersion();
+        cache.evict(PAYMENT_ID);
+        // Eviction of the payment is removed as the least recently used entry
+        cache.evict(OTHER_PAYMENT_ID);
+
+        // When
+        cache.put(PAYMENT_ID, TransactionStatus.ACTC, staleReadVersion);
+
+        // Then
+        assertFalse(cache.get(PAYMENT_ID).isPresent());
+    }
+
+    @Test
+    public void put_overMaxSize_shouldEvictLeastRecentlyUsed() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(1, TTL_MS, clock);
+        cache.put(PAYMENT_ID, TransactionStatus.ACSP, cache.getVersion());
+
+        // When
+        cache.put(OTHER_PAYMENT_ID, TransactionStatus.PATC, cache.getVersion());
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertFalse(cache.get(PAYMENT_ID).isPresent());
+        assertEquals(Optional.of(TransactionStatus.PATC), cache.get(OTHER_PAYMENT_ID));
+    }
+
+    @Test
+    public void put_disabledCache_shouldNotCache() {
+        // Given
+        TransactionStatusCache cache = new TransactionStatusCache(MAX_SIZE, 0, clock);
+
+        // When
+        cache.put(PAYMENT_ID, TransactionStatus.ACSP, cache.getVersion());
+
+        // Then
+        assertFalse(cache.get(PAYMENT_ID).isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
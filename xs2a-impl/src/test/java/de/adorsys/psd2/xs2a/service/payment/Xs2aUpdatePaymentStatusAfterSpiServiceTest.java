@@ -4,12 +4,20 @@ import de.adorsys.psd2.consent.api.service.UpdatePaymentStatusAfterSpiServiceEnc
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 
 @RunWith(MockitoJUnitRunner.class)
@@ -21,6 +29,8 @@ public class Xs2aUpdatePaymentStatusAfterSpiServiceTest {
     private Xs2aUpdatePaymentStatusAfterSpiService xs2aUpdatePaymentStatusAfterSpiService;
     @Mock
     private UpdatePaymentStatusAfterSpiServiceEncrypted updatePaymentStatusAfterSpiService;
+    @Mock
+    private TransactionStatusCache transactionStatusCache;
 
 
     @Test
@@ -34,6 +44,10 @@ public class Xs2aUpdatePaymentStatusAfterSpiServiceTest {
 
         //Then
         assertThat(actualResponse).isTrue();
+        InOrder inOrder = inOrder(transactionStatusCache, updatePaymentStatusAfterSpiService);
+        inOrder.verify(transactionStatusCache).evict(PAYMENT_ID);
+        inOrder.verify(updatePaymentStatusAfterSpiService).updatePaymentStatus(PAYMENT_ID, TRANSACTION_STATUS);
+        inOrder.verify(transactionStatusCache).evict(PAYMENT_ID);
     }
 
     @Test
@@ -46,4 +60,46 @@ public class Xs2aUpdatePaymentStatusAfterSpiServiceTest {
         //Then
         assertThat(actualResponse).isFalse();
     }
+
+    @Test
+    public void updatePaymentStatusAfterRead_shouldCacheStatusWithReadVersion() {
+        //Given
+        when(updatePaymentStatusAfterSpiService.updatePaymentStatus(PAYMENT_ID, TRANSACTION_STATUS))
+            .thenReturn(true);
+
+        //When
+        boolean actualResponse = xs2aUpdatePaymentStatusAfterSpiService.updatePaymentStatusAfterRead(PAYMENT_ID, TRANSACTION_STATUS, 7);
+
+        //Then
+        assertThat(actualResponse).isTrue();
+        verify(transactionStatusCache).put(PAYMENT_ID, TRANSACTION_STATUS, 7);
+        verify(transactionStatusCache, never()).evict(PAYMENT_ID);
+    }
+
+    @Test
+    public void updatePaymentStatus_duringStatusRead_shouldPreventStaleStatusInCache() throws Exception {
+        //Given
+        TransactionStatusCache cache = new TransactionStatusCache(10, 60000);
+        Xs2aUpdatePaymentStatusAfterSpiService service = new Xs2aUpdatePaymentStatusAfterSpiService(updatePaymentStatusAfterSpiService, cache);
+        CountDownLatch statusRequested = new CountDownLatch(1);
+        CountDownLatch statusUpdated = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        //When
+        Future<?> poll = executorService.submit(() -> {
+            long readVersion = cache.getVersion();
+            statusRequested.countDown();
+            // The ASPSP answers with the old status after the authorisation has updated it
+            statusUpdated.await(5, TimeUnit.SECONDS);
+            return service.updatePaymentStatusAfterRead(PAYMENT_ID, TransactionStatus.RCVD, readVersion);
+        });
+        statusRequested.await(5, TimeUnit.SECONDS);
+        service.updatePaymentStatus(PAYMENT_ID, TRANSACTION_STATUS);
+        statusUpdated.countDown();
+        poll.get(5, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //Then
+        assertThat(cache.get(PAYMENT_ID)).isEqualTo(Optional.empty());
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.tpp;
+
+import de.adorsys.psd2.consent.api.TppStopListChanges;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
+import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
+import de.adorsys.psd2.xs2a.core.tpp.TppUniqueParamsHolder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TppStopListReplicaTest {
+    private static final String AUTHORISATION_NUMBER = "authorisation number";
+    private static final String ANOTHER_AUTHORISATION_NUMBER = "another authorisation number";
+    private static final String AUTHORITY_ID = "authority id";
+    private static final TppUniqueParamsHolder TPP_UNIQUE_PARAMS = new TppUniqueParamsHolder(AUTHORISATION_NUMBER, AUTHORITY_ID);
+    private static final TppUniqueParamsHolder ANOTHER_TPP_UNIQUE_PARAMS = new TppUniqueParamsHolder(ANOTHER_AUTHORISATION_NUMBER, AUTHORITY_ID);
+    private static final OffsetDateTime CHANGES_TIMESTAMP = OffsetDateTime.parse("2019-05-20T10:00:00Z");
+    private static final long REFRESH_INTERVAL_MS = 30000;
+    private static final long MAX_STALENESS_MS = 120000;
+    private static final long CHANGE_OVERLAP_MS = 60000;
+
+    @Mock
+    private TppStopListService tppStopListService;
+
+    @Test
+    public void checkIfTppBlocked_disabled_shouldDelegateToCms() {
+        // Given
+        TppStopListReplica replica = new TppStopListReplica(tppStopListService, false, REFRESH_INTERVAL_MS, MAX_STALENESS_MS, CHANGE_OVERLAP_MS);
+        when(tppStopListService.checkIfTppBlocked(TPP_UNIQUE_PARAMS)).thenReturn(true);
+
+        // When
+        boolean blocked = replica.checkIfTppBlocked(TPP_UNIQUE_PARAMS);
+
+        // Then
+        assertThat(blocked).isTrue();
+        assertThat(replica.getDelegatedCheckCount()).isEqualTo(1);
+        verify(tppStopListService, never()).getTppStopListChanges(any());
+    }
+
+    @Test
+    public void checkIfTppBlocked_notLoaded_shouldDelegateToCms() {
+        // Given
+        TppStopListReplica replica = new TppStopListReplica(tppStopListService, true, REFRESH_INTERVAL_MS, MAX_STALENESS_MS, CHANGE_OVERLAP_MS);
+        when(tppStopListService.checkIfTppBlocked(TPP_UNIQUE_PARAMS)).thenReturn(false);
+
+        // When
+        boolean blocked = replica.checkIfTppBlocked(TPP_UNIQUE_PARAMS);
+
+        // Then
+        assertThat(blocked).isFalse();
+        assertThat(replica.isUpToDate()).isFalse();
+        verify(tppStopListService).checkIfTppBlocked(TPP_UNIQUE_PARAMS);
+    }
+
+    @Test
+    public void checkIfTppBlocked_loaded_shouldBeCheckedLocally() {
+        // Given
+        TppStopListReplica replica = new TppStopListReplica(tppStopListService, true, REFRESH_INTERVAL_MS, MAX_STALENESS_MS, CHANGE_OVERLAP_MS);
+        when(tppStopListService.getTppStopListChanges(isNull()))
+            .thenReturn(new TppStopListChanges(CHANGES_TIMESTAMP, Collections.singletonList(buildRecord(AUTHORISATION_NUMBER, TppStatus.BLOCKED))));
+
+        // When
+        replica.synchronise();
+
+        // Then
+        assertThat(replica.isUpToDate()).isTrue();
+        assertThat(replica.size()).isEqualTo(1);
+        assertThat(replica.checkIfTppBlocked(TPP_UNIQUE_PARAMS)).isTrue();
+        assertThat(replica.checkIfTppBlocked(ANOTHER_TPP_UNIQUE_PARAMS)).isFalse();
+        assertThat(replica.getLocalCheckCount()).isEqualTo(2);
+        verify(tppStopListService, never()).checkIfTppBlocked(any());
+    }
+
+    @Test
+    public void synchronise_changes_shouldBeRequestedWithOverlapAndApplied() {
+        // Given
+        TppStopListReplica replica = new TppStopListReplica(tppStopListService, true, REFRESH_INTERVAL_MS, MAX_STALENESS_MS, CHANGE_OVERLAP_MS);
+        when(tppStopListService.getTppStopListChanges(isNull()))
+            .thenReturn(new TppStopListChanges(CHANGES_TIMESTAMP, Collections.singletonList(buildRecord(AUTHORISATION_NUMBER, TppStatus.BLOCKED))));
+        OffsetDateTime expectedChangedSince = CHANGES_TIMESTAMP.minusMinutes(1);
+        when(tppStopListService.getTppStopListChanges(expectedChangedSince))
+            .thenReturn(new TppStopListChanges(CHANGES_TIMESTAMP.plusMinutes(1), Arrays.asList(buildRecord(AUTHORISATION_NUMBER, TppStatus.ENABLED),
+                                                                                               buildRecord(ANOTHER_AUTHORISATION_NUMBER, TppStatus.BLOCKED))));
+        replica.synchronise();
+
+        // When
+        replica.synchronise();
+
+        // Then
+        verify(tppStopListService).getTppStopListChanges(expectedChangedSince);
+        assertThat(replica.checkIfTppBlocked(TPP_UNIQUE_PARAMS)).isFalse();
+        assertThat(replica.checkIfTppBlocked(ANOTHER_TPP_UNIQUE_PARAMS)).isTrue();
+    }
+
+    @Test
+    public void synchronise_failed_shouldKeepReplica() {
+        // Given
+        TppStopListReplica replica = new TppStopListReplica(tppStopListService, true, REFRESH_INTERVAL_MS, MAX_STALENESS_MS, CHANGE_OVERLAP_MS);
+        when(tppStopListService.getTppStopListChanges(any()))
+            .thenReturn(new TppStopListChanges(CHANGES_TIMESTAMP, Collections.singletonList(buildRecord(AUTHORISATION_NUMBER, TppStatus.BLOCKED))))
+            .thenThrow(new IllegalStateException("CMS is not available"));
+        replica.synchronise();
+
+        // When
+        replica.synchronise();
+
+        // Then
+        assertThat(replica.getFailedSynchronisationCount()).isEqualTo(1);
+        assertThat(replica.isUpToDate()).isTrue();
+        assertThat(replica.checkIfTppBlocked(TPP_UNIQUE_PARAMS)).isTrue();
+    }
+
+    @Test
+    public void checkIfTppBlocked_stale_shouldDelegateToCms() {
+        // Given
+        TppStopListReplica replica = new TppStopListReplica(tppStopListService, true, REFRESH_INTERVAL_MS, -1, CHANGE_OVERLAP_MS);
+        when(tppStopListService.getTppStopListChanges(isNull()))
+            .thenReturn(new TppStopListChanges(CHANGES_TIMESTAMP, Collections.singletonList(buildRecord(AUTHORISATION_NUMBER, TppStatus.BLOCKED))));
+        when(tppStopListService.checkIfTppBlocked(TPP_UNIQUE_PARAMS)).thenReturn(false);
+        replica.synchronise();
+
+        // When
+        boolean blocked = replica.checkIfTppBlocked(TPP_UNIQUE_PARAMS);
+
+        // Then
+        assertThat(blocked).isFalse();
+        assertThat(replica.isUpToDate()).isFalse();
+        verify(tppStopListService).checkIfTppBlocked(TPP_UNIQUE_PARAMS);
+    }
+
+    private TppStopListRecord buildRecord(String authorisationNumber, TppStatus status) {
+        TppStopListRecord record = new TppStopListRecord();
+        record.setTppAuthorisationNumber(authorisationNumber);
+        record.setNationalAuthorityId(AUTHORITY_ID);
+        record.setStatus(status);
+        return record;
+    }
+}
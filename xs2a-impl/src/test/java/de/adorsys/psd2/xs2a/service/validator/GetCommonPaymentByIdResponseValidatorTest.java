@@ -17,11 +17,15 @@
 package de.adorsys.psd2.xs2a.service.validator;
 
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
@@ -32,6 +36,8 @@ public class GetCommonPaymentByIdResponseValidatorTest {
     private static final String PAYMENT_PRODUCT = "payment product";
     private static final String TPP_AUTHORISATION_NUMBER = "authorisation number";
 
+    @Mock
+    private RequestProviderService requestProviderService;
     @InjectMocks
     private GetCommonPaymentByIdResponseValidator getCommonPaymentByIdResponseValidator;
 
@@ -49,6 +55,53 @@ public class GetCommonPaymentByIdResponseValidatorTest {
         assertNull(validationResult.getMessageError());
     }
 
+    @Test
+    public void validateRequest_withValidStatusInfo_shouldReturnValid() {
+        // Given
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo();
+
+        // When
+        ValidationResult validationResult = getCommonPaymentByIdResponseValidator.validateRequest(statusInfo, PAYMENT_TYPE, PAYMENT_PRODUCT);
+
+        // Then
+        assertNotNull(validationResult);
+        assertTrue(validationResult.isValid());
+        assertNull(validationResult.getMessageError());
+    }
+
+    @Test
+    public void validateRequest_withStatusInfoAndWrongPaymentProduct_shouldReturnProductError() {
+        // Given
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo();
+
+        // When
+        ValidationResult validationResult = getCommonPaymentByIdResponseValidator.validateRequest(statusInfo, PAYMENT_TYPE, "wrong product");
+
+        // Then
+        assertNotNull(validationResult);
+        assertTrue(validationResult.isNotValid());
+        assertEquals(ErrorType.PIS_403, validationResult.getMessageError().getErrorType());
+    }
+
+    @Test
+    public void validateRequest_withoutStatusInfo_shouldReturnNotFound() {
+        // When
+        ValidationResult validationResult = getCommonPaymentByIdResponseValidator.validateRequest((PisCommonPaymentStatusInfo) null, PAYMENT_TYPE, PAYMENT_PRODUCT);
+
+        // Then
+        assertNotNull(validationResult);
+        assertTrue(validationResult.isNotValid());
+        assertEquals(ErrorType.PIS_404, validationResult.getMessageError().getErrorType());
+    }
+
+    private PisCommonPaymentStatusInfo buildPisCommonPaymentStatusInfo() {
+        PisCommonPaymentStatusInfo statusInfo = new PisCommonPaymentStatusInfo();
+        statusInfo.setPaymentType(PAYMENT_TYPE);
+        statusInfo.setPaymentProduct(PAYMENT_PRODUCT);
+        statusInfo.setTppInfo(buildTppInfo());
+        return statusInfo;
+    }
+
     private PisCommonPaymentResponse buildPisCommonPaymentResponse() {
         PisCommonPaymentResponse pisCommonPaymentResponse = new PisCommonPaymentResponse();
         pisCommonPaymentResponse.setPaymentType(PAYMENT_TYPE);
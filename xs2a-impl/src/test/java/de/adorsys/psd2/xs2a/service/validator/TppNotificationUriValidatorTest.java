@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.validator;
+
+import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
+import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
+import de.adorsys.psd2.xs2a.service.TppService;
+import de.adorsys.psd2.xs2a.service.discovery.ServiceTypeDiscoveryService;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceType;
+import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceTypeToErrorTypeMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static de.adorsys.psd2.xs2a.domain.MessageErrorCode.FORMAT_ERROR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TppNotificationUriValidatorTest {
+    private static final MessageError NOTIFICATION_URI_INVALID_ERROR =
+        new MessageError(ErrorType.PIS_400, TppMessageInformation.of(FORMAT_ERROR, "TPP-Notification-URI is invalid"));
+    private static final ServiceType SERVICE_TYPE = ServiceType.PIS;
+
+    @Mock
+    private RequestProviderService requestProviderService;
+    @Mock
+    private TppService tppService;
+    @Mock
+    private ServiceTypeDiscoveryService serviceTypeDiscoveryService;
+    @Mock
+    private ServiceTypeToErrorTypeMapper errorTypeMapper;
+
+    @InjectMocks
+    private TppNotificationUriValidator tppNotificationUriValidator;
+
+    @Before
+    public void setUp() {
+        when(serviceTypeDiscoveryService.getServiceType()).thenReturn(SERVICE_TYPE);
+        when(errorTypeMapper.mapToErrorType(SERVICE_TYPE, FORMAT_ERROR.getCode())).thenReturn(ErrorType.PIS_400);
+        when(tppService.getTppDomains()).thenReturn(Arrays.asList("tpp.example.com", "*.tpp-notifications.com"));
+    }
+
+    @Test
+    public void validate_withoutNotificationUri_shouldReturnValid() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate(null);
+
+        //Then
+        assertTrue(validationResult.isValid());
+        verify(tppService, never()).getTppDomains();
+    }
+
+    @Test
+    public void validate_withHostFromCertificate_shouldReturnValid() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("https://TPP.example.com/notifications?id=1");
+
+        //Then
+        assertTrue(validationResult.isValid());
+    }
+
+    @Test
+    public void validate_withSubdomainOfCertificateDomain_shouldReturnValid() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("https://hooks.tpp.example.com:8443/notifications");
+
+        //Then
+        assertTrue(validationResult.isValid());
+    }
+
+    @Test
+    public void validate_withHostMatchingWildcardDomain_shouldReturnValid() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("https://eu.tpp-notifications.com/notifications");
+
+        //Then
+        assertTrue(validationResult.isValid());
+    }
+
+    @Test
+    public void validate_withHttpScheme_shouldReturnFormatError() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("http://tpp.example.com/notifications");
+
+        //Then
+        assertTrue(validationResult.isNotValid());
+        assertEquals(NOTIFICATION_URI_INVALID_ERROR, validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withRelativeUri_shouldReturnFormatError() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("/notifications");
+
+        //Then
+        assertTrue(validationResult.isNotValid());
+        assertEquals(NOTIFICATION_URI_INVALID_ERROR, validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withUnparsableUri_shouldReturnFormatError() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("https://tpp.example.com/not ifications");
+
+        //Then
+        assertTrue(validationResult.isNotValid());
+        assertEquals(NOTIFICATION_URI_INVALID_ERROR, validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withTooLongUri_shouldReturnFormatError() {
+        //Given
+        String notificationUri = "https://tpp.example.com/" + StringUtils.repeat("a", 232);
+
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate(notificationUri);
+
+        //Then
+        assertEquals(256, notificationUri.length());
+        assertTrue(validationResult.isNotValid());
+        assertEquals(NOTIFICATION_URI_INVALID_ERROR, validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withUriOfMaxLength_shouldReturnValid() {
+        //Given
+        String notificationUri = "https://tpp.example.com/" + StringUtils.repeat("a", 231);
+
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate(notificationUri);
+
+        //Then
+        assertEquals(255, notificationUri.length());
+        assertTrue(validationResult.isValid());
+    }
+
+    @Test
+    public void validate_withForeignHost_shouldReturnFormatError() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("https://169.254.169.254/latest/meta-data");
+
+        //Then
+        assertTrue(validationResult.isNotValid());
+        assertEquals(NOTIFICATION_URI_INVALID_ERROR, validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withHostEndingWithCertificateDomain_shouldReturnFormatError() {
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("https://eviltpp.example.com/notifications");
+
+        //Then
+        assertTrue(validationResult.isNotValid());
+        assertEquals(NOTIFICATION_URI_INVALID_ERROR, validationResult.getMessageError());
+    }
+
+    @Test
+    public void validate_withoutDomainsInCertificate_shouldReturnFormatError() {
+        //Given
+        when(tppService.getTppDomains()).thenReturn(Collections.emptyList());
+
+        //When
+        ValidationResult validationResult = tppNotificationUriValidator.validate("https://tpp.example.com/notifications");
+
+        //Then
+        assertTrue(validationResult.isNotValid());
+        assertEquals(NOTIFICATION_URI_INVALID_ERROR, validationResult.getMessageError());
+    }
+}
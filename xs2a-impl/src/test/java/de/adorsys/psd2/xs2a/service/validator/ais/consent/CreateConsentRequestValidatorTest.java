@@ -25,11 +25,13 @@ import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.domain.consent.CreateConsentReq;
 import de.adorsys.psd2.xs2a.domain.consent.Xs2aAccountAccess;
 import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.ScaApproachResolver;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.service.validator.PsuDataInInitialRequestValidator;
 import de.adorsys.psd2.xs2a.service.validator.SupportedAccountReferenceValidator;
+import de.adorsys.psd2.xs2a.service.validator.TppNotificationUriValidator;
 import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
 import de.adorsys.psd2.xs2a.service.validator.ais.consent.dto.CreateConsentRequestObject;
 import org.jetbrains.annotations.NotNull;
@@ -49,6 +51,7 @@ import static de.adorsys.psd2.xs2a.domain.MessageErrorCode.SESSIONS_NOT_SUPPORTE
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -60,6 +63,9 @@ public class CreateConsentRequestValidatorTest {
         new MessageError(ErrorType.AIS_400, TppMessageInformation.of(FORMAT_ERROR));
     private static final MessageError SUPPORTED_ACCOUNT_REFERENCE_VALIDATION_ERROR =
         new MessageError(ErrorType.AIS_400, TppMessageInformation.of(FORMAT_ERROR));
+    private static final MessageError TPP_NOTIFICATION_URI_VALIDATION_ERROR =
+        new MessageError(ErrorType.AIS_400, TppMessageInformation.of(FORMAT_ERROR));
+    private static final String TPP_NOTIFICATION_URI = "http://tpp.example.com/notifications";
     private static final PsuIdData EMPTY_PSU_DATA = new PsuIdData(null, null, null, null);
 
     @InjectMocks
@@ -72,6 +78,10 @@ public class CreateConsentRequestValidatorTest {
     private PsuDataInInitialRequestValidator psuDataInInitialRequestValidator;
     @Mock
     private SupportedAccountReferenceValidator supportedAccountReferenceValidator;
+    @Mock
+    private TppNotificationUriValidator tppNotificationUriValidator;
+    @Mock
+    private RequestProviderService requestProviderService;
 
     @Before
     public void setUp() {
@@ -82,6 +92,8 @@ public class CreateConsentRequestValidatorTest {
             .thenReturn(ValidationResult.valid());
         when(supportedAccountReferenceValidator.validate(anyCollection()))
             .thenReturn(ValidationResult.valid());
+        when(tppNotificationUriValidator.validate(any()))
+            .thenReturn(ValidationResult.valid());
     }
 
     @Test
@@ -100,6 +112,24 @@ public class CreateConsentRequestValidatorTest {
         assertThat(validationResult.getMessageError()).isEqualTo(PSU_DATA_VALIDATION_ERROR);
     }
 
+    @Test
+    public void validate_withInvalidTppNotificationUri_shouldReturnErrorFromValidator() {
+        //Given
+        when(requestProviderService.getTppNotificationUri()).thenReturn(TPP_NOTIFICATION_URI);
+        when(tppNotificationUriValidator.validate(TPP_NOTIFICATION_URI))
+            .thenReturn(ValidationResult.invalid(TPP_NOTIFICATION_URI_VALIDATION_ERROR));
+        CreateConsentReq createConsentReq = buildCreateConsentReqWithCombinedServiceIndicator(false);
+
+        //When
+        ValidationResult validationResult = createConsentRequestValidator.validate(new CreateConsentRequestObject(createConsentReq, EMPTY_PSU_DATA));
+
+        //Then
+        verify(tppNotificationUriValidator).validate(TPP_NOTIFICATION_URI);
+        verify(supportedAccountReferenceValidator, never()).validate(anyCollection());
+        assertThat(validationResult.isNotValid()).isTrue();
+        assertThat(validationResult.getMessageError()).isEqualTo(TPP_NOTIFICATION_URI_VALIDATION_ERROR);
+    }
+
     @Test
     public void validate_withUnsupportedAccountReference_shouldReturnErrorFromValidator() {
         //Given
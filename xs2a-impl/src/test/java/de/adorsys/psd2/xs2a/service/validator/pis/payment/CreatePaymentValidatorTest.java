@@ -26,10 +26,12 @@ import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationParameters;
 import de.adorsys.psd2.xs2a.domain.pis.PeriodicPayment;
 import de.adorsys.psd2.xs2a.domain.pis.SinglePayment;
 import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.service.profile.StandardPaymentProductsResolver;
 import de.adorsys.psd2.xs2a.service.validator.PsuDataInInitialRequestValidator;
 import de.adorsys.psd2.xs2a.service.validator.SupportedAccountReferenceValidator;
+import de.adorsys.psd2.xs2a.service.validator.TppNotificationUriValidator;
 import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
 import de.adorsys.psd2.xs2a.service.validator.pis.payment.dto.CreatePaymentRequestObject;
 import org.junit.Before;
@@ -49,6 +51,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,6 +65,9 @@ public class CreatePaymentValidatorTest {
         new MessageError(ErrorType.AIS_400, TppMessageInformation.of(FORMAT_ERROR));
     private static final MessageError SUPPORTED_ACCOUNT_REFERENCE_VALIDATION_ERROR =
         new MessageError(ErrorType.AIS_400, TppMessageInformation.of(FORMAT_ERROR));
+    private static final MessageError TPP_NOTIFICATION_URI_VALIDATION_ERROR =
+        new MessageError(ErrorType.AIS_400, TppMessageInformation.of(FORMAT_ERROR));
+    private static final String TPP_NOTIFICATION_URI = "http://tpp.example.com/notifications";
     private static final AccountReference DEBTOR_ACCOUNT =
         new AccountReference(AccountReferenceType.IBAN, "debtor account", Currency.getInstance("EUR"));
     private static final AccountReference CREDITOR_ACCOUNT =
@@ -73,6 +79,10 @@ public class CreatePaymentValidatorTest {
     private SupportedAccountReferenceValidator supportedAccountReferenceValidator;
     @Mock
     private StandardPaymentProductsResolver standardPaymentProductsResolver;
+    @Mock
+    private TppNotificationUriValidator tppNotificationUriValidator;
+    @Mock
+    private RequestProviderService requestProviderService;
 
     @InjectMocks
     private CreatePaymentValidator createPaymentValidator;
@@ -82,6 +92,8 @@ public class CreatePaymentValidatorTest {
         when(supportedAccountReferenceValidator.validate(anyCollection()))
             .thenReturn(ValidationResult.valid());
         when(psuDataInInitialRequestValidator.validate(any(PsuIdData.class))).thenReturn(ValidationResult.valid());
+        when(tppNotificationUriValidator.validate(any()))
+            .thenReturn(ValidationResult.valid());
     }
 
     @Test
@@ -179,6 +191,26 @@ public class CreatePaymentValidatorTest {
         assertThat(validationResult.getMessageError()).isEqualTo(PSU_DATA_VALIDATION_ERROR);
     }
 
+    @Test
+    public void validate_withInvalidTppNotificationUri_shouldReturnErrorFromValidator() {
+        //Given
+        when(requestProviderService.getTppNotificationUri()).thenReturn(TPP_NOTIFICATION_URI);
+        when(tppNotificationUriValidator.validate(TPP_NOTIFICATION_URI))
+            .thenReturn(ValidationResult.invalid(TPP_NOTIFICATION_URI_VALIDATION_ERROR));
+
+        PaymentInitiationParameters paymentInitiationParameters = buildPaymentInitiationParameters(PSU_DATA, PaymentType.SINGLE);
+        SinglePayment payment = buildSinglePayment(DEBTOR_ACCOUNT, CREDITOR_ACCOUNT);
+
+        //When
+        ValidationResult validationResult = createPaymentValidator.validate(new CreatePaymentRequestObject(payment, paymentInitiationParameters));
+
+        //Then
+        verify(tppNotificationUriValidator).validate(TPP_NOTIFICATION_URI);
+        verify(supportedAccountReferenceValidator, never()).validate(anyCollection());
+        assertThat(validationResult.isNotValid()).isTrue();
+        assertThat(validationResult.getMessageError()).isEqualTo(TPP_NOTIFICATION_URI_VALIDATION_ERROR);
+    }
+
     @Test
     public void validate_withUnsupportedAccountReference_shouldReturnErrorFromValidator() {
         //Given
@@ -16,7 +16,7 @@
 
 package de.adorsys.psd2.xs2a.service.validator.pis.payment;
 
-import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentStatusInfo;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.domain.TppMessageInformation;
@@ -71,24 +71,24 @@ public class GetPaymentStatusByIdValidatorTest {
         when(pisTppInfoValidator.validateTpp(INVALID_TPP_INFO))
             .thenReturn(ValidationResult.invalid(TPP_VALIDATION_ERROR));
 
-        when(getCommonPaymentByIdResponseValidator.validateRequest(buildPisCommonPaymentResponse(TPP_INFO), PAYMENT_TYPE, PAYMENT_PRODUCT))
+        when(getCommonPaymentByIdResponseValidator.validateRequest(buildPisCommonPaymentStatusInfo(TPP_INFO), PAYMENT_TYPE, PAYMENT_PRODUCT))
             .thenReturn(ValidationResult.valid());
 
-        when(getCommonPaymentByIdResponseValidator.validateRequest(buildPisCommonPaymentResponse(TPP_INFO), INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT))
+        when(getCommonPaymentByIdResponseValidator.validateRequest(buildPisCommonPaymentStatusInfo(TPP_INFO), INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT))
             .thenReturn(ValidationResult.invalid(GET_COMMON_PAYMENT_VALIDATION_ERROR));
     }
 
     @Test
     public void validate_withValidPaymentObject_shouldReturnValid() {
         // Given
-        PisCommonPaymentResponse commonPaymentResponse = buildPisCommonPaymentResponse(TPP_INFO);
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo(TPP_INFO);
 
         // When
-        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(commonPaymentResponse, PAYMENT_TYPE, PAYMENT_PRODUCT));
+        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(statusInfo, PAYMENT_TYPE, PAYMENT_PRODUCT));
 
         // Then
-        verify(pisTppInfoValidator).validateTpp(commonPaymentResponse.getTppInfo());
-        verify(getCommonPaymentByIdResponseValidator).validateRequest(commonPaymentResponse, PAYMENT_TYPE, PAYMENT_PRODUCT);
+        verify(pisTppInfoValidator).validateTpp(statusInfo.getTppInfo());
+        verify(getCommonPaymentByIdResponseValidator).validateRequest(statusInfo, PAYMENT_TYPE, PAYMENT_PRODUCT);
 
         assertNotNull(validationResult);
         assertTrue(validationResult.isValid());
@@ -98,13 +98,13 @@ public class GetPaymentStatusByIdValidatorTest {
     @Test
     public void validate_withInvalidTppInPayment_shouldReturnTppValidationError() {
         // Given
-        PisCommonPaymentResponse commonPaymentResponse = buildPisCommonPaymentResponse(INVALID_TPP_INFO);
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo(INVALID_TPP_INFO);
 
         // When
-        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(commonPaymentResponse, PAYMENT_TYPE, PAYMENT_PRODUCT));
+        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(statusInfo, PAYMENT_TYPE, PAYMENT_PRODUCT));
 
         // Then
-        verify(pisTppInfoValidator).validateTpp(commonPaymentResponse.getTppInfo());
+        verify(pisTppInfoValidator).validateTpp(statusInfo.getTppInfo());
 
         assertNotNull(validationResult);
         assertTrue(validationResult.isNotValid());
@@ -114,14 +114,14 @@ public class GetPaymentStatusByIdValidatorTest {
     @Test
     public void validate_withInvalidPaymentObject_shouldReturnGetCommonPaymentValidationError() {
         // Given
-        PisCommonPaymentResponse commonPaymentResponse = buildPisCommonPaymentResponse(TPP_INFO);
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo(TPP_INFO);
 
         // When
-        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(commonPaymentResponse, INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT));
+        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(statusInfo, INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT));
 
         // Then
-        verify(pisTppInfoValidator).validateTpp(commonPaymentResponse.getTppInfo());
-        verify(getCommonPaymentByIdResponseValidator).validateRequest(commonPaymentResponse, INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT);
+        verify(pisTppInfoValidator).validateTpp(statusInfo.getTppInfo());
+        verify(getCommonPaymentByIdResponseValidator).validateRequest(statusInfo, INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT);
 
         assertNotNull(validationResult);
         assertTrue(validationResult.isNotValid());
@@ -131,13 +131,13 @@ public class GetPaymentStatusByIdValidatorTest {
     @Test
     public void validate_withInvalidTppAndPaymentObject_shouldReturnTppValidationErrorFirst() {
         // Given
-        PisCommonPaymentResponse commonPaymentResponse = buildPisCommonPaymentResponse(INVALID_TPP_INFO);
+        PisCommonPaymentStatusInfo statusInfo = buildPisCommonPaymentStatusInfo(INVALID_TPP_INFO);
 
         // When
-        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(commonPaymentResponse, INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT));
+        ValidationResult validationResult = getPaymentStatusByIdValidator.validate(new GetPaymentStatusByIdPO(statusInfo, INVALID_PAYMENT_TYPE, INVALID_PAYMENT_PRODUCT));
 
         // Then
-        verify(pisTppInfoValidator).validateTpp(commonPaymentResponse.getTppInfo());
+        verify(pisTppInfoValidator).validateTpp(statusInfo.getTppInfo());
 
         assertNotNull(validationResult);
         assertTrue(validationResult.isNotValid());
@@ -150,9 +150,9 @@ public class GetPaymentStatusByIdValidatorTest {
         return tppInfo;
     }
 
-    private PisCommonPaymentResponse buildPisCommonPaymentResponse(TppInfo tppInfo) {
-        PisCommonPaymentResponse pisCommonPaymentResponse = new PisCommonPaymentResponse();
-        pisCommonPaymentResponse.setTppInfo(tppInfo);
-        return pisCommonPaymentResponse;
+    private PisCommonPaymentStatusInfo buildPisCommonPaymentStatusInfo(TppInfo tppInfo) {
+        PisCommonPaymentStatusInfo statusInfo = new PisCommonPaymentStatusInfo();
+        statusInfo.setTppInfo(tppInfo);
+        return statusInfo;
     }
 }
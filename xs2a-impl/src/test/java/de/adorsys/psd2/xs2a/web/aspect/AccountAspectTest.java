@@ -37,6 +37,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -77,6 +78,8 @@ public class AccountAspectTest {
     private AspspProfileService aspspProfileService;
     @Mock
     private MessageService messageService;
+    @Spy
+    private LinkTemplateRegistry linkTemplateRegistry = new LinkTemplateRegistry();
 
     @Before
     public void setUp() {
@@ -195,7 +198,7 @@ public class AccountAspectTest {
                                  false, false, false, 1,
                                  null, 1, 1,
                                  null, 1, false,
-                                 false, false, false, FORCED_BASE_URL,null);
+                                 false, false, false, FORCED_BASE_URL,null, null, 0);
     }
 
     private MockHttpServletRequest buildMockHttpServletRequest() {
@@ -33,6 +33,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -67,6 +68,8 @@ public class ConsentAspectTest {
     private AuthorisationMethodDecider authorisationMethodDecider;
     @Mock
     private RedirectLinkBuilder redirectLinkBuilder;
+    @Spy
+    private LinkTemplateRegistry linkTemplateRegistry = new LinkTemplateRegistry();
 
     @Before
     public void setUp() {
@@ -477,7 +480,7 @@ public class ConsentAspectTest {
                                  false, false, false, 1,
                                  null, 1, 1,
                                  null, 1, false,
-                                 false, false, forceBaseUrl, FORCED_BASE_URL, ScaRedirectFlow.REDIRECT);
+                                 false, false, forceBaseUrl, FORCED_BASE_URL, ScaRedirectFlow.REDIRECT, null, 0);
     }
 
     private MockHttpServletRequest buildMockHttpServletRequest() {
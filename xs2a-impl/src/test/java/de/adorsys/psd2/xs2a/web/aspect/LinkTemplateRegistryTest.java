@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.aspect;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class LinkTemplateRegistryTest {
+    private static final String BASE_URL = "http://base.url";
+    private static final String BASE_URL_WITH_PATH = "https://base.url:8443/xs2a/";
+    private static final String ANOTHER_BASE_URL = "http://another.base.url";
+    private static final Object[] PARAMS = {"payments", "sepa-credit-transfers", "a b/c", "authorisation id"};
+
+    private LinkTemplateRegistry linkTemplateRegistry;
+
+    @Before
+    public void setUp() {
+        linkTemplateRegistry = new LinkTemplateRegistry();
+    }
+
+    @Test
+    public void expand_allUrlHolderTemplates_shouldBuildSameLinksAsUriComponentsBuilder() throws IllegalAccessException {
+        for (Field field : UrlHolder.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                String path = (String) field.get(null);
+                for (String baseUrl : new String[]{BASE_URL, BASE_URL_WITH_PATH}) {
+                    // Given
+                    String expected = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                                          .path(path)
+                                          .buildAndExpand(PARAMS)
+                                          .toUriString();
+
+                    // When
+                    String actual = linkTemplateRegistry.expand(linkTemplateRegistry.normaliseBaseUrl(baseUrl), path, PARAMS);
+
+                    // Then
+                    assertEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void expand_nullParameter_shouldExpandToEmptyString() {
+        // When
+        String actual = linkTemplateRegistry.expand(BASE_URL, UrlHolder.ACCOUNT_BALANCES_URL, (Object) null);
+
+        // Then
+        assertEquals("http://base.url/v1/accounts//balances", actual);
+    }
+
+    @Test
+    public void expand_unknownTemplate_shouldParseTemplate() {
+        // When
+        String actual = linkTemplateRegistry.expand(BASE_URL, "/v1/funds-confirmations/{id}", "123");
+
+        // Then
+        assertEquals("http://base.url/v1/funds-confirmations/123", actual);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expand_notEnoughParameters_shouldThrowException() {
+        linkTemplateRegistry.expand(BASE_URL, UrlHolder.PAYMENT_LINK_URL, "payments", "sepa-credit-transfers");
+    }
+
+    @Test
+    public void getForcedBaseUrl_sameProfileValue_shouldReuseNormalisedUrl() {
+        // Given
+        String first = linkTemplateRegistry.getForcedBaseUrl(BASE_URL_WITH_PATH);
+
+        // When
+        String second = linkTemplateRegistry.getForcedBaseUrl(BASE_URL_WITH_PATH);
+
+        // Then
+        assertEquals("https://base.url:8443/xs2a", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void getForcedBaseUrl_changedProfileValue_shouldNormaliseNewUrl() {
+        // Given
+        linkTemplateRegistry.getForcedBaseUrl(BASE_URL);
+
+        // When
+        String actual = linkTemplateRegistry.getForcedBaseUrl(ANOTHER_BASE_URL);
+
+        // Then
+        assertEquals(ANOTHER_BASE_URL, actual);
+    }
+}
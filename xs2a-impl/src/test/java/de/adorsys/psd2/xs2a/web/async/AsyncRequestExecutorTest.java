@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.async;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncRequestExecutorTest {
+    private AsyncRequestExecutor asyncRequestExecutor;
+
+    @After
+    public void tearDown() {
+        asyncRequestExecutor.shutdown();
+    }
+
+    @Test
+    public void execute_disabled_shouldExecuteHandlerSynchronously() {
+        // Given
+        asyncRequestExecutor = new AsyncRequestExecutor(false, 2, 10, 1000);
+        asyncRequestExecutor.start();
+
+        // When
+        ResponseEntity actual = asyncRequestExecutor.execute(() -> ResponseEntity.ok("body"));
+
+        // Then
+        assertThat(asyncRequestExecutor.isRunning()).isFalse();
+        assertThat(actual).isNotInstanceOf(AsyncResponseEntity.class);
+        assertThat(actual.getBody()).isEqualTo("body");
+        assertThat(asyncRequestExecutor.getSubmittedRequestCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void execute_enabled_shouldReturnAsyncResponse() throws Exception {
+        // Given
+        asyncRequestExecutor = new AsyncRequestExecutor(true, 2, 10, 1000);
+        asyncRequestExecutor.start();
+
+        // When
+        ResponseEntity actual = asyncRequestExecutor.execute(() -> ResponseEntity.status(HttpStatus.CREATED).body("body"));
+
+        // Then
+        assertThat(actual).isInstanceOf(AsyncResponseEntity.class);
+        AsyncResponseEntity asyncResponse = (AsyncResponseEntity) actual;
+        assertThat(asyncResponse.getTask().getTimeout()).isEqualTo(1000L);
+        assertThat(asyncResponse.getTask().getExecutor()).isNotNull();
+        assertThat(asyncRequestExecutor.getSubmittedRequestCount()).isEqualTo(1);
+
+        Callable<?> callable = asyncResponse.getTask().getCallable();
+        ResponseEntity result = (ResponseEntity) callable.call();
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.getBody()).isEqualTo("body");
+        assertThat(asyncRequestExecutor.getCompletedRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shutdown_shouldFallBackToSynchronousExecution() {
+        // Given
+        asyncRequestExecutor = new AsyncRequestExecutor(true, 2, 10, 1000);
+        asyncRequestExecutor.start();
+        asyncRequestExecutor.shutdown();
+
+        // When
+        ResponseEntity actual = asyncRequestExecutor.execute(() -> ResponseEntity.ok("body"));
+
+        // Then
+        assertThat(actual).isNotInstanceOf(AsyncResponseEntity.class);
+        assertThat(asyncRequestExecutor.getActiveCount()).isEqualTo(0);
+        assertThat(asyncRequestExecutor.getQueueSize()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.async;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncResponseEntityReturnValueHandlerTest {
+    private AsyncResponseEntityReturnValueHandler returnValueHandler = new AsyncResponseEntityReturnValueHandler();
+    private MethodParameter responseEntityReturnType;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        responseEntityReturnType = new MethodParameter(getClass().getDeclaredMethod("handle"), -1);
+        request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void isAsyncReturnValue() {
+        assertThat(returnValueHandler.isAsyncReturnValue(asyncResponse(), responseEntityReturnType)).isTrue();
+        assertThat(returnValueHandler.isAsyncReturnValue(ResponseEntity.ok().build(), responseEntityReturnType)).isFalse();
+    }
+
+    @Test
+    public void supportsReturnType() {
+        assertThat(returnValueHandler.supportsReturnType(responseEntityReturnType)).isTrue();
+    }
+
+    @Test
+    public void handleReturnValue_shouldCompleteRequestWithResultOfTask() throws Exception {
+        // Given
+        NativeWebRequest webRequest = new ServletWebRequest(request, response);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(webRequest);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+
+        // When
+        returnValueHandler.handleReturnValue(asyncResponse(), responseEntityReturnType, new ModelAndViewContainer(), webRequest);
+
+        // Then
+        assertThat(asyncManager.hasConcurrentResult()).isTrue();
+        ResponseEntity result = (ResponseEntity) asyncManager.getConcurrentResult();
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void handleReturnValue_synchronousResponse() throws Exception {
+        returnValueHandler.handleReturnValue(ResponseEntity.ok().build(), responseEntityReturnType, new ModelAndViewContainer(), new ServletWebRequest(request, response));
+    }
+
+    private AsyncResponseEntity asyncResponse() {
+        return new AsyncResponseEntity(new WebAsyncTask<>(1000L, new ConcurrentTaskExecutor(Runnable::run), () -> ResponseEntity.status(HttpStatus.CREATED).build()));
+    }
+
+    @SuppressWarnings("unused")
+    private ResponseEntity handle() {
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.async;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InitialDispatchInterceptorTest {
+    private static final Object HANDLER = new Object();
+
+    @InjectMocks
+    private InitialDispatchInterceptor initialDispatchInterceptor;
+    @Mock
+    private HandlerInterceptor delegate;
+
+    @Test
+    public void preHandle_initialDispatch_shouldInvokeDelegate() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(delegate.preHandle(request, response, HANDLER)).thenReturn(false);
+
+        // When
+        boolean actual = initialDispatchInterceptor.preHandle(request, response, HANDLER);
+
+        // Then
+        assertThat(actual).isFalse();
+        verify(delegate).preHandle(request, response, HANDLER);
+    }
+
+    @Test
+    public void preHandle_asyncDispatch_shouldSkipDelegate() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setDispatcherType(DispatcherType.ASYNC);
+
+        // When
+        boolean actual = initialDispatchInterceptor.preHandle(request, new MockHttpServletResponse(), HANDLER);
+
+        // Then
+        assertThat(actual).isTrue();
+        verify(delegate, never()).preHandle(any(), any(), any());
+    }
+
+    @Test
+    public void afterCompletion_asyncDispatch_shouldInvokeDelegate() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        initialDispatchInterceptor.afterCompletion(request, response, HANDLER, null);
+
+        // Then
+        verify(delegate).afterCompletion(request, response, HANDLER, null);
+    }
+}
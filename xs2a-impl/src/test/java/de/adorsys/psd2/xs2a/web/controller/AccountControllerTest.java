@@ -35,12 +35,14 @@ import de.adorsys.psd2.xs2a.service.mapper.AccountModelMapper;
 import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
+import de.adorsys.psd2.xs2a.web.async.AsyncRequestExecutor;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -87,6 +89,8 @@ public class AccountControllerTest {
     private HttpServletRequest request;
     @Mock
     private ResponseErrorMapper responseErrorMapper;
+    @Spy
+    private AsyncRequestExecutor asyncRequestExecutor = new AsyncRequestExecutor(false, 1, 0, 1000);
 
     @Before
     public void setUp() {
@@ -228,7 +232,7 @@ public class AccountControllerTest {
         ;
 
         doReturn(ResponseObject.<Xs2aTransactionsReport>builder().body(transactionsReport).build())
-            .when(accountService).getTransactionsReportByPeriod(any(), eq(ACCOUNT_ID), any(), anyBoolean(), any(), any(), eq(BookingStatus.PENDING));
+            .when(accountService).getTransactionsReportByPeriod(any(), eq(ACCOUNT_ID), any(), anyBoolean(), any(), any(), eq(BookingStatus.PENDING), any(), anyBoolean());
 
         //When
         AccountReport result = (AccountReport) accountController.getTransactionList(ACCOUNT_ID, "pending",
@@ -252,7 +256,7 @@ public class AccountControllerTest {
         Xs2aTransactionsReport transactionsReport = new Xs2aTransactionsReport();
         transactionsReport.setAccountReport(new Xs2aAccountReport(Collections.emptyList(), Collections.emptyList(), null));
         doReturn(ResponseObject.<Xs2aTransactionsReport>builder().fail(MESSAGE_ERROR_AIS_404).body(transactionsReport).build())
-            .when(accountService).getTransactionsReportByPeriod(any(), eq(ACCOUNT_ID), any(), anyBoolean(), any(), any(), eq(BookingStatus.PENDING));
+            .when(accountService).getTransactionsReportByPeriod(any(), eq(ACCOUNT_ID), any(), anyBoolean(), any(), any(), eq(BookingStatus.PENDING), any(), anyBoolean());
 
 
         // When
@@ -278,7 +282,7 @@ public class AccountControllerTest {
         transactionsReport.setAccountReport(new Xs2aAccountReport(Collections.emptyList(), Collections.emptyList(), null));
         transactionsReport.setResponseContentType("application/json");
         doReturn(ResponseObject.<Xs2aTransactionsReport>builder().body(transactionsReport).build())
-            .when(accountService).getTransactionsReportByPeriod(any(), eq(ACCOUNT_ID), any(), anyBoolean(), any(), any(), eq(BookingStatus.PENDING));
+            .when(accountService).getTransactionsReportByPeriod(any(), eq(ACCOUNT_ID), any(), anyBoolean(), any(), any(), eq(BookingStatus.PENDING), any(), anyBoolean());
 
 
         // When
@@ -36,6 +36,7 @@ import de.adorsys.psd2.xs2a.service.PaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
+import de.adorsys.psd2.xs2a.web.async.AsyncRequestExecutor;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.service.validator.ValidationResult;
 import de.adorsys.psd2.xs2a.web.mapper.AuthorisationMapper;
@@ -48,6 +49,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -119,6 +121,8 @@ public class PaymentControllerTest {
     private ResponseErrorMapper responseErrorMapper;
     @Mock
     private PaymentService xs2aPaymentService;
+    @Spy
+    private AsyncRequestExecutor asyncRequestExecutor = new AsyncRequestExecutor(false, 1, 0, 1000);
 
     @Mock
     private PaymentInitiationParameters paymentInitiationParameters;
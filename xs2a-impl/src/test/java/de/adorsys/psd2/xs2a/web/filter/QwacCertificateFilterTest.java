@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.web.filter;
 
+import de.adorsys.psd2.validator.certificate.util.TppCertificateDataCache;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppRoleValidationService;
 import org.junit.Test;
@@ -23,6 +24,7 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import javax.servlet.FilterChain;
@@ -53,6 +55,8 @@ public class QwacCertificateFilterTest {
     private HttpServletResponse response;
     @Mock
     private FilterChain chain;
+    @Spy
+    private TppCertificateDataCache tppCertificateDataCache = new TppCertificateDataCache(10);
 
     @Test
     public void doFilterInternal_success() throws IOException, ServletException {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.filter;
+
+import de.adorsys.psd2.xs2a.component.RequestResources;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestResourcesFilterTest {
+    private final RequestResourcesFilter requestResourcesFilter = new RequestResourcesFilter();
+
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private FilterChain chain;
+    @Mock
+    private AsyncContext asyncContext;
+    @Mock
+    private AutoCloseable resource;
+
+    @Test
+    public void doFilterInternal_syncRequest_shouldCloseResourcesAfterChain() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            registerResource();
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        // When
+        requestResourcesFilter.doFilterInternal(request, response, chain);
+
+        // Then
+        verify(resource).close();
+    }
+
+    @Test
+    public void doFilterInternal_chainFailed_shouldCloseResources() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            registerResource();
+            throw new ServletException("Handler failed");
+        }).when(chain).doFilter(request, response);
+
+        // When
+        try {
+            requestResourcesFilter.doFilterInternal(request, response, chain);
+            fail("ServletException expected");
+        } catch (ServletException e) {
+            // Then
+            verify(resource).close();
+        }
+    }
+
+    @Test
+    public void doFilterInternal_asyncRequest_shouldCloseResourcesOnAsyncTimeout() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            registerResource();
+            return null;
+        }).when(chain).doFilter(request, response);
+        when(request.isAsyncStarted()).thenReturn(true);
+        when(request.getAsyncContext()).thenReturn(asyncContext);
+        ArgumentCaptor<AsyncListener> listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+
+        // When
+        requestResourcesFilter.doFilterInternal(request, response, chain);
+
+        // Then
+        verify(resource, never()).close();
+        verify(asyncContext).addListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onTimeout(new AsyncEvent(asyncContext));
+        verify(resource).close();
+    }
+
+    @Test
+    public void doFilterInternal_resourceRegisteredAfterCompletion_shouldCloseResourceImmediately() throws Exception {
+        // Given
+        ArgumentCaptor<RequestResources> requestResourcesCaptor = ArgumentCaptor.forClass(RequestResources.class);
+        requestResourcesFilter.doFilterInternal(request, response, chain);
+        verify(request).setAttribute(eq(RequestResources.ATTRIBUTE_NAME), requestResourcesCaptor.capture());
+
+        // When
+        requestResourcesCaptor.getValue().register(resource);
+
+        // Then
+        verify(resource).close();
+    }
+
+    private void registerResource() {
+        ArgumentCaptor<RequestResources> requestResourcesCaptor = ArgumentCaptor.forClass(RequestResources.class);
+        verify(request).setAttribute(eq(RequestResources.ATTRIBUTE_NAME), requestResourcesCaptor.capture());
+        RequestResources requestResources = requestResourcesCaptor.getValue();
+        assertNotNull(requestResources);
+        requestResources.register(resource);
+    }
+}
@@ -17,12 +17,15 @@
 package de.adorsys.psd2.xs2a.web.validator.body.payment.type;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.domain.MessageErrorCode;
 import de.adorsys.psd2.xs2a.domain.Xs2aAmount;
 import de.adorsys.psd2.xs2a.domain.pis.BulkPayment;
 import de.adorsys.psd2.xs2a.domain.pis.SinglePayment;
 import de.adorsys.psd2.xs2a.exception.MessageError;
+import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorType;
 import de.adorsys.psd2.xs2a.util.reader.JsonReader;
 import de.adorsys.psd2.xs2a.web.validator.body.payment.mapper.PaymentMapper;
@@ -31,35 +34,44 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.time.LocalDate;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class BulkPaymentTypeValidatorImplTest {
 
     private static final String VALUE_36_LENGHT = "QWERTYUIOPQWERTYUIOPQWERTYUIOPDFGHJK";
     private static final String VALUE_71_LENGHT = "QWERTYUIOPQWERTYUIOPQWERTYUIOPDFGHJKQWERTYUIOPQWERTYUIOPQWERTYUIOPDFGHJ";
+    private static final int MAX_BULK_PAYMENT_SIZE = 2;
 
     private BulkPaymentTypeValidatorImpl validator;
     private MessageError messageError;
+    private ObjectMapper objectMapper;
+    private JsonReader jsonReader;
 
     private BulkPayment bulkPayment;
     private SinglePayment singlePayment;
 
     @Before
     public void setUp() {
-        JsonReader jsonReader = new JsonReader();
+        jsonReader = new JsonReader();
         messageError = new MessageError();
         bulkPayment = jsonReader.getObjectFromFile("json/validation/bulk-payment.json", BulkPayment.class);
         bulkPayment.setRequestedExecutionDate(LocalDate.now().plusDays(1));
         assertTrue(CollectionUtils.isNotEmpty(bulkPayment.getPayments()));
         singlePayment = bulkPayment.getPayments().get(0);
 
-        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        AspspProfileServiceWrapper aspspProfileServiceWrapper = mock(AspspProfileServiceWrapper.class);
+        when(aspspProfileServiceWrapper.getMaxBulkPaymentSize()).thenReturn(MAX_BULK_PAYMENT_SIZE);
         validator = new BulkPaymentTypeValidatorImpl(new ErrorBuildingServiceMock(ErrorType.AIS_400),
                                                      objectMapper,
-                                                     new PaymentMapper(objectMapper));
+                                                     new PaymentMapper(objectMapper),
+                                                     aspspProfileServiceWrapper);
     }
 
     @Test
@@ -167,4 +179,68 @@ public class BulkPaymentTypeValidatorImplTest {
         assertEquals(MessageErrorCode.PERIOD_INVALID, messageError.getTppMessage().getMessageErrorCode());
         assertEquals("Value 'requestedExecutionDate' should not be in the past", messageError.getTppMessage().getText());
     }
+
+    @Test
+    public void validate_parsedBody_success() throws IOException {
+        // Given
+        ObjectNode body = getParsedBulkPaymentBody();
+
+        // When
+        validator.validate(body, messageError);
+
+        // Then
+        assertTrue(messageError.getTppMessages().isEmpty());
+    }
+
+    @Test
+    public void validate_parsedBody_invalidElement_error() throws IOException {
+        // Given
+        ObjectNode body = getParsedBulkPaymentBody();
+        ((ObjectNode) body.withArray("payments").get(1)).put("creditorName", VALUE_71_LENGHT);
+
+        // When
+        validator.validate(body, messageError);
+
+        // Then
+        assertEquals(MessageErrorCode.FORMAT_ERROR, messageError.getTppMessage().getMessageErrorCode());
+        assertEquals(String.format("Value '%s' should not be more than %s symbols", "creditorName", 70),
+                     messageError.getTppMessage().getText());
+    }
+
+    @Test
+    public void validate_parsedBody_requestedExecutionDate_error() throws IOException {
+        // Given
+        ObjectNode body = getParsedBulkPaymentBody();
+        body.put("requestedExecutionDate", LocalDate.now().minusDays(1).toString());
+
+        // When
+        validator.validate(body, messageError);
+
+        // Then
+        assertEquals(MessageErrorCode.PERIOD_INVALID, messageError.getTppMessage().getMessageErrorCode());
+        assertEquals("Value 'requestedExecutionDate' should not be in the past", messageError.getTppMessage().getText());
+    }
+
+    @Test
+    public void validate_parsedBody_maxBulkPaymentSizeExceeded_error() throws IOException {
+        // Given
+        ObjectNode body = getParsedBulkPaymentBody();
+        ArrayNode payments = body.withArray("payments");
+        payments.add(payments.get(0).deepCopy());
+
+        // When
+        validator.validate(body, messageError);
+
+        // Then
+        assertEquals(1, messageError.getTppMessages().size());
+        assertEquals(MessageErrorCode.FORMAT_ERROR, messageError.getTppMessage().getMessageErrorCode());
+        assertEquals(String.format("Number of payments in bulk payment should not be more than %s", MAX_BULK_PAYMENT_SIZE),
+                     messageError.getTppMessage().getText());
+    }
+
+    private ObjectNode getParsedBulkPaymentBody() throws IOException {
+        ObjectNode body = (ObjectNode) objectMapper.readTree(jsonReader.getStringFromFile("json/validation/bulk-payment-initiation.json"));
+        body.put("requestedExecutionDate", LocalDate.now().plusDays(1).toString());
+        return body;
+    }
 }
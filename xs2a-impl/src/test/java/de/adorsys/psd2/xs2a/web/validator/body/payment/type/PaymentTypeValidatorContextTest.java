@@ -33,7 +33,7 @@ public class PaymentTypeValidatorContextTest {
         List<PaymentTypeValidator> paymentTypeValidators = new ArrayList<>();
         paymentTypeValidators.add(new SinglePaymentTypeValidatorImpl(null, null, null));
         paymentTypeValidators.add(new PeriodicPaymentTypeValidatorImpl(null, null, null));
-        paymentTypeValidators.add(new BulkPaymentTypeValidatorImpl(null, null, null));
+        paymentTypeValidators.add(new BulkPaymentTypeValidatorImpl(null, null, null, null));
         PaymentTypeValidatorContext context = new PaymentTypeValidatorContext(paymentTypeValidators);
 
         Optional<PaymentTypeValidator> paymentTypeValidator = context.getValidator(PaymentType.SINGLE.getValue());
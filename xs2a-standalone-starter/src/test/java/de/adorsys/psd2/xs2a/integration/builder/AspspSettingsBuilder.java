@@ -21,6 +21,7 @@ import de.adorsys.psd2.aspsp.profile.domain.MulticurrencyAccountLevel;
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 
 import java.util.*;
@@ -58,6 +59,8 @@ public class AspspSettingsBuilder {
     private static final boolean FORCE_XS2A_BASE_URL = false;
     private static final String XS2A_BASEURL = "http://myhost.com/";
     private static final ScaRedirectFlow SCA_REDIRECT_FLOW = ScaRedirectFlow.REDIRECT;
+    private static final List<TransactionStatus> TERMINAL_TRANSACTION_STATUSES = Arrays.asList(TransactionStatus.ACCC, TransactionStatus.ACSC, TransactionStatus.RJCT, TransactionStatus.CANC);
+    private static final int MAX_BULK_PAYMENT_SIZE = 10000;
     private static final ScaRedirectFlow SCA_REDIRECT_FLOW_OAUTH = ScaRedirectFlow.OAUTH;
 
     public static AspspSettings buildAspspSettings() {
@@ -90,7 +93,9 @@ public class AspspSettingsBuilder {
             PSU_IN_INITIAL_REQUEST_MANDATED,
             FORCE_XS2A_BASE_URL,
             XS2A_BASEURL,
-            SCA_REDIRECT_FLOW);
+            SCA_REDIRECT_FLOW,
+            TERMINAL_TRANSACTION_STATUSES,
+            MAX_BULK_PAYMENT_SIZE);
     }
 
     private static List<SupportedAccountReferenceField> getSupportedAccountReferenceFields() {